@@ -48,11 +48,16 @@ public class ArmsAutoConfiguration {
 	@ConditionalOnProperty(prefix = ArmsCommonProperties.CONFIG_PREFIX, name = "tool.enabled", havingValue = "true")
 	ToolCallingManager toolCallingManager(ToolCallbackResolver toolCallbackResolver,
 			ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
-			ObjectProvider<ObservationRegistry> observationRegistry) {
+			ObjectProvider<ObservationRegistry> observationRegistry, ArmsCommonProperties properties) {
+		ArmsCommonProperties.ToolProperties toolProperties = properties.getTool();
 		return ObservableToolCallingManager.builder()
 			.observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
 			.toolCallbackResolver(toolCallbackResolver)
 			.toolExecutionExceptionProcessor(toolExecutionExceptionProcessor)
+			.parallelToolExecution(toolProperties.isParallel())
+			.maxConcurrency(toolProperties.getMaxConcurrency())
+			.defaultToolTimeout(toolProperties.getTimeout())
+			.toolTimeouts(toolProperties.getTimeouts())
 			.build();
 	}
 
@@ -18,6 +18,10 @@ package com.alibaba.cloud.ai.autoconfigure.arms;
 import com.alibaba.cloud.ai.observation.model.semconv.MessageMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @author Lumian
  */
@@ -109,6 +113,28 @@ public class ArmsCommonProperties {
 
 		private boolean enabled = true;
 
+		/**
+		 * Execute the tool calls of one assistant message concurrently.
+		 */
+		private boolean parallel = false;
+
+		/**
+		 * Maximum number of tool calls running at the same time in parallel mode.
+		 */
+		private int maxConcurrency = 8;
+
+		/**
+		 * Timeout of a single tool call, no timeout when not set. Applies to parallel,
+		 * sequential and single tool calls; with a timeout configured, calls run on the tool
+		 * executor so that they can be abandoned.
+		 */
+		private Duration timeout;
+
+		/**
+		 * Per tool name timeouts overriding {@link #timeout}.
+		 */
+		private Map<String, Duration> timeouts = new HashMap<>();
+
 		public boolean isEnabled() {
 			return enabled;
 		}
@@ -117,6 +143,38 @@ public class ArmsCommonProperties {
 			this.enabled = enabled;
 		}
 
+		public boolean isParallel() {
+			return parallel;
+		}
+
+		public void setParallel(boolean parallel) {
+			this.parallel = parallel;
+		}
+
+		public int getMaxConcurrency() {
+			return maxConcurrency;
+		}
+
+		public void setMaxConcurrency(int maxConcurrency) {
+			this.maxConcurrency = maxConcurrency;
+		}
+
+		public Duration getTimeout() {
+			return timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public Map<String, Duration> getTimeouts() {
+			return timeouts;
+		}
+
+		public void setTimeouts(Map<String, Duration> timeouts) {
+			this.timeouts = timeouts;
+		}
+
 	}
 
 }
@@ -18,6 +18,7 @@ package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeAudioTranscriptionApi;
 import com.alibaba.cloud.ai.dashscope.audio.DashScopeAudioTranscriptionModel;
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller;
 import com.alibaba.cloud.ai.model.SpringAIAlibabaModels;
 import org.springframework.ai.model.SimpleApiKey;
 import org.springframework.ai.model.SpringAIModelProperties;
@@ -46,7 +47,8 @@ import static com.alibaba.cloud.ai.autoconfigure.dashscope.DashScopeConnectionUt
 @ConditionalOnDashScopeEnabled
 @AutoConfiguration(after = {
 		RestClientAutoConfiguration.class,
-		SpringAiRetryAutoConfiguration.class })
+		SpringAiRetryAutoConfiguration.class,
+		DashScopeTaskPollerAutoConfiguration.class })
 @ConditionalOnProperty(name = SpringAIModelProperties.AUDIO_TRANSCRIPTION_MODEL, havingValue = SpringAIAlibabaModels.DASHSCOPE,
 		matchIfMissing = true)
 @EnableConfigurationProperties({
@@ -63,10 +65,8 @@ public class DashScopeAudioTranscriptionAutoConfiguration {
 	public DashScopeAudioTranscriptionModel dashScopeAudioTranscriptionModel(
 			DashScopeConnectionProperties commonProperties,
 			DashScopeAudioTranscriptionProperties audioTranscriptionProperties,
-			ObjectProvider<RestClient.Builder> restClientBuilderProvider, ResponseErrorHandler responseErrorHandle
-	// todo Instead of using retryTemplate, use webSocket
-	// RetryTemplate retryTemplate
-	) {
+			ObjectProvider<RestClient.Builder> restClientBuilderProvider, ResponseErrorHandler responseErrorHandle,
+			ObjectProvider<DashScopeTaskPoller> taskPoller) {
 
 		ResolvedConnectionProperties resolved = resolveConnectionProperties(commonProperties,
 				audioTranscriptionProperties, "audio.transcription");
@@ -82,7 +82,7 @@ public class DashScopeAudioTranscriptionAutoConfiguration {
 			.build();
 
 		return new DashScopeAudioTranscriptionModel(dashScopeAudioTranscriptionApi,
-				audioTranscriptionProperties.getOptions());
+				audioTranscriptionProperties.getOptions(), taskPoller.getIfUnique());
 	}
 
 }
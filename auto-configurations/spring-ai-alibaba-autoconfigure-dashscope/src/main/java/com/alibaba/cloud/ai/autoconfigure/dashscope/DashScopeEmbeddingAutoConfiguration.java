@@ -17,6 +17,7 @@
 package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingBatchingStrategy;
 import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingModel;
 import com.alibaba.cloud.ai.model.SpringAIAlibabaModels;
 import io.micrometer.observation.ObservationRegistry;
@@ -72,7 +73,10 @@ public class DashScopeEmbeddingAutoConfiguration {
 
 		var embeddingModel = new DashScopeEmbeddingModel(dashScopeApi, embeddingProperties.getMetadataMode(),
 				embeddingProperties.getOptions(), retryTemplate,
-				observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP));
+				observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP),
+				new DashScopeEmbeddingBatchingStrategy(embeddingProperties.getMaxTextsPerBatch(),
+						embeddingProperties.getMaxTokensPerBatch()),
+				embeddingProperties.getMaxConcurrency());
 
 		observationConvention.ifAvailable(embeddingModel::setObservationConvention);
 
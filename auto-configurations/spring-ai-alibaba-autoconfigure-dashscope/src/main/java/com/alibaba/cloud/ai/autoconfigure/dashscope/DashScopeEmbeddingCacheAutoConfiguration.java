@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.dashscope;
+
+import com.alibaba.cloud.ai.dashscope.embedding.DashScopeCachingEmbeddingModel;
+import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingModel;
+import com.alibaba.cloud.ai.dashscope.embedding.EmbeddingCache;
+import com.alibaba.cloud.ai.dashscope.embedding.InMemoryEmbeddingCache;
+import com.alibaba.cloud.ai.dashscope.embedding.RedisEmbeddingCache;
+import com.alibaba.cloud.ai.dashscope.embedding.TieredEmbeddingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * Puts a {@link DashScopeCachingEmbeddingModel} in front of the DashScope embedding
+ * model when {@code spring.ai.dashscope.embedding.cache.enabled} is set. Vectors are
+ * kept in memory, and additionally in Redis when
+ * {@code spring.ai.dashscope.embedding.cache.redis.enabled} is set and a
+ * {@link RedisConnectionFactory} is available.
+ */
+@AutoConfiguration(after = DashScopeEmbeddingAutoConfiguration.class,
+		afterName = "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration")
+@ConditionalOnClass(DashScopeCachingEmbeddingModel.class)
+@ConditionalOnBean(DashScopeEmbeddingModel.class)
+@ConditionalOnProperty(prefix = DashScopeEmbeddingCacheProperties.CONFIG_PREFIX, name = "enabled",
+		havingValue = "true")
+@EnableConfigurationProperties(DashScopeEmbeddingCacheProperties.class)
+public class DashScopeEmbeddingCacheAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public EmbeddingCache dashscopeEmbeddingCache(DashScopeEmbeddingCacheProperties cacheProperties) {
+		return inMemoryCache(cacheProperties);
+	}
+
+	@Bean
+	@Primary
+	@ConditionalOnMissingBean
+	public DashScopeCachingEmbeddingModel dashscopeCachingEmbeddingModel(DashScopeEmbeddingModel embeddingModel,
+			EmbeddingCache embeddingCache, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new DashScopeCachingEmbeddingModel(embeddingModel, embeddingCache, meterRegistry.getIfUnique());
+	}
+
+	private static InMemoryEmbeddingCache inMemoryCache(DashScopeEmbeddingCacheProperties cacheProperties) {
+		return new InMemoryEmbeddingCache(cacheProperties.getMaxSize(), cacheProperties.getTtl());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(RedisConnectionFactory.class)
+	@ConditionalOnBean(RedisConnectionFactory.class)
+	@ConditionalOnProperty(prefix = DashScopeEmbeddingCacheProperties.CONFIG_PREFIX, name = "redis.enabled",
+			havingValue = "true")
+	static class RedisTierConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		EmbeddingCache dashscopeEmbeddingCache(DashScopeEmbeddingCacheProperties cacheProperties,
+				RedisConnectionFactory connectionFactory) {
+			DashScopeEmbeddingCacheProperties.Redis redis = cacheProperties.getRedis();
+			return new TieredEmbeddingCache(inMemoryCache(cacheProperties),
+					new RedisEmbeddingCache(connectionFactory, redis.getKeyPrefix(), redis.getTtl()));
+		}
+
+	}
+
+}
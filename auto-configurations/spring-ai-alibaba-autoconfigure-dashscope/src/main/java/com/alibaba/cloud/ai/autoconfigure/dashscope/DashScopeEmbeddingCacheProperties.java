@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.dashscope;
+
+import java.time.Duration;
+
+import com.alibaba.cloud.ai.dashscope.embedding.InMemoryEmbeddingCache;
+import com.alibaba.cloud.ai.dashscope.embedding.RedisEmbeddingCache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of the cache in front of the DashScope embedding model.
+ */
+@ConfigurationProperties(DashScopeEmbeddingCacheProperties.CONFIG_PREFIX)
+public class DashScopeEmbeddingCacheProperties {
+
+	public static final String CONFIG_PREFIX = "spring.ai.dashscope.embedding.cache";
+
+	/**
+	 * Enable the embedding cache.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Maximum number of vectors kept in memory.
+	 */
+	private int maxSize = InMemoryEmbeddingCache.DEFAULT_MAX_SIZE;
+
+	/**
+	 * Time to live of vectors kept in memory, zero to keep them until evicted by size.
+	 */
+	private Duration ttl = Duration.ofHours(1);
+
+	private final Redis redis = new Redis();
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public Duration getTtl() {
+		return this.ttl;
+	}
+
+	public void setTtl(Duration ttl) {
+		this.ttl = ttl;
+	}
+
+	public Redis getRedis() {
+		return this.redis;
+	}
+
+	public static class Redis {
+
+		/**
+		 * Use Redis as second cache tier, requires a RedisConnectionFactory bean.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Prefix of the Redis keys holding vectors.
+		 */
+		private String keyPrefix = RedisEmbeddingCache.DEFAULT_KEY_PREFIX;
+
+		/**
+		 * Time to live of vectors stored in Redis, zero for no expiration.
+		 */
+		private Duration ttl = Duration.ofDays(7);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getKeyPrefix() {
+			return this.keyPrefix;
+		}
+
+		public void setKeyPrefix(String keyPrefix) {
+			this.keyPrefix = keyPrefix;
+		}
+
+		public Duration getTtl() {
+			return this.ttl;
+		}
+
+		public void setTtl(Duration ttl) {
+			this.ttl = ttl;
+		}
+
+	}
+
+}
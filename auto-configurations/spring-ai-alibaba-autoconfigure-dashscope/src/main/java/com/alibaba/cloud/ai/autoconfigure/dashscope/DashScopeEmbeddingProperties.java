@@ -16,6 +16,8 @@
 
 package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
+import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingBatchingStrategy;
+import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingModel;
 import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingOptions;
 import org.springframework.ai.document.MetadataMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -35,6 +37,21 @@ public class DashScopeEmbeddingProperties extends DashScopeParentProperties {
 
 	private MetadataMode metadataMode = MetadataMode.EMBED;
 
+	/**
+	 * Maximum number of texts sent in one embedding request, larger requests are split.
+	 */
+	private int maxTextsPerBatch = DashScopeEmbeddingBatchingStrategy.DEFAULT_MAX_TEXTS_PER_BATCH;
+
+	/**
+	 * Maximum number of estimated tokens sent in one embedding request.
+	 */
+	private int maxTokensPerBatch = DashScopeEmbeddingBatchingStrategy.DEFAULT_MAX_TOKENS_PER_BATCH;
+
+	/**
+	 * Maximum number of embedding requests of a split call sent at the same time.
+	 */
+	private int maxConcurrency = DashScopeEmbeddingModel.DEFAULT_MAX_CONCURRENCY;
+
 	@NestedConfigurationProperty
 	private DashScopeEmbeddingOptions options = DashScopeEmbeddingOptions.builder()
 		.withModel(DEFAULT_EMBEDDING_MODEL)
@@ -56,6 +73,30 @@ public class DashScopeEmbeddingProperties extends DashScopeParentProperties {
 		this.metadataMode = metadataMode;
 	}
 
+	public int getMaxTextsPerBatch() {
+		return this.maxTextsPerBatch;
+	}
+
+	public void setMaxTextsPerBatch(int maxTextsPerBatch) {
+		this.maxTextsPerBatch = maxTextsPerBatch;
+	}
+
+	public int getMaxTokensPerBatch() {
+		return this.maxTokensPerBatch;
+	}
+
+	public void setMaxTokensPerBatch(int maxTokensPerBatch) {
+		this.maxTokensPerBatch = maxTokensPerBatch;
+	}
+
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	public void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
 	public boolean isEnabled() {
 		return this.enabled;
 	}
@@ -17,6 +17,7 @@
 package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeImageApi;
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller;
 import com.alibaba.cloud.ai.dashscope.image.DashScopeImageModel;
 import com.alibaba.cloud.ai.model.SpringAIAlibabaModels;
 import io.micrometer.observation.ObservationRegistry;
@@ -45,7 +46,7 @@ import static com.alibaba.cloud.ai.autoconfigure.dashscope.DashScopeConnectionUt
  */
 
 @AutoConfiguration(after = { RestClientAutoConfiguration.class, WebClientAutoConfiguration.class,
-		SpringAiRetryAutoConfiguration.class })
+		SpringAiRetryAutoConfiguration.class, DashScopeTaskPollerAutoConfiguration.class })
 @ConditionalOnClass(DashScopeImageApi.class)
 @ConditionalOnDashScopeEnabled
 @ConditionalOnProperty(name = SpringAIModelProperties.IMAGE_MODEL, havingValue = SpringAIAlibabaModels.DASHSCOPE,
@@ -61,7 +62,8 @@ public class DashScopeImageAutoConfiguration {
 			DashScopeImageProperties imageProperties, ObjectProvider<RestClient.Builder> restClientBuilderProvider,
 			RetryTemplate retryTemplate, ResponseErrorHandler responseErrorHandler,
 			ObjectProvider<ObservationRegistry> observationRegistry,
-			ObjectProvider<ImageModelObservationConvention> observationConvention) {
+			ObjectProvider<ImageModelObservationConvention> observationConvention,
+			ObjectProvider<DashScopeTaskPoller> taskPoller) {
 
 		ResolvedConnectionProperties resolved = resolveConnectionProperties(commonProperties, imageProperties, "image");
 
@@ -75,7 +77,7 @@ public class DashScopeImageAutoConfiguration {
 
 		DashScopeImageModel dashScopeImageModel = new DashScopeImageModel(dashScopeImageApi,
 				imageProperties.getOptions(), retryTemplate,
-				observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP));
+				observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP), taskPoller.getIfUnique());
 
 		observationConvention.ifAvailable(dashScopeImageModel::setObservationConvention);
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.dashscope;
+
+import java.time.Duration;
+
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.ai.retry.autoconfigure.SpringAiRetryAutoConfiguration;
+import org.springframework.ai.retry.autoconfigure.SpringAiRetryProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the {@link DashScopeTaskPoller} shared by the DashScope image, video and
+ * transcription models, publishing its queue depth and task durations to the
+ * application's {@link MeterRegistry}.
+ *
+ * @since 1.1.0
+ */
+@AutoConfiguration(after = SpringAiRetryAutoConfiguration.class,
+		afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass(DashScopeTaskPoller.class)
+@ConditionalOnDashScopeEnabled
+@EnableConfigurationProperties(DashScopeTaskPollerProperties.class)
+@ImportAutoConfiguration(classes = SpringAiRetryAutoConfiguration.class)
+public class DashScopeTaskPollerAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public DashScopeTaskPoller dashScopeTaskPoller(DashScopeTaskPollerProperties pollerProperties,
+			SpringAiRetryProperties retryProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+		Duration timeout = pollerProperties.getTimeout() != null ? pollerProperties.getTimeout()
+				: retryDeadline(retryProperties);
+		return DashScopeTaskPoller.builder()
+			.initialInterval(pollerProperties.getInitialInterval())
+			.maxInterval(pollerProperties.getMaxInterval())
+			.backoffMultiplier(pollerProperties.getBackoffMultiplier())
+			.timeout(timeout)
+			.tickInterval(pollerProperties.getTickInterval())
+			.maxInFlight(pollerProperties.getMaxInFlight())
+			.checkConcurrency(pollerProperties.getCheckConcurrency())
+			.meterRegistry(meterRegistry.getIfUnique())
+			.build();
+	}
+
+	/**
+	 * Total time the retry template configured by {@code spring.ai.retry} waits between
+	 * its attempts, which used to bound how long a task was polled.
+	 */
+	static Duration retryDeadline(SpringAiRetryProperties retryProperties) {
+		SpringAiRetryProperties.Backoff backoff = retryProperties.getBackoff();
+		long interval = backoff.getInitialInterval().toMillis();
+		long maxInterval = backoff.getMaxInterval().toMillis();
+		long total = 0;
+		for (int attempt = 1; attempt < retryProperties.getMaxAttempts(); attempt++) {
+			total += Math.min(interval, maxInterval);
+			interval = Math.min(interval * Math.max(backoff.getMultiplier(), 1), maxInterval);
+		}
+		return Duration.ofMillis(Math.max(total, 1));
+	}
+
+}
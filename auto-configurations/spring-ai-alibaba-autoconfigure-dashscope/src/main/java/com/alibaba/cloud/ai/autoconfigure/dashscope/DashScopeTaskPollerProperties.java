@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.dashscope;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the poller that waits for DashScope image, video and
+ * transcription tasks.
+ *
+ * @since 1.1.0
+ */
+@ConfigurationProperties(DashScopeTaskPollerProperties.CONFIG_PREFIX)
+public class DashScopeTaskPollerProperties {
+
+	public static final String CONFIG_PREFIX = "spring.ai.dashscope.task-poller";
+
+	/**
+	 * Interval between the first and the second status check of a task.
+	 */
+	private Duration initialInterval = Duration.ofSeconds(1);
+
+	/**
+	 * Upper bound of the interval between two status checks of a task.
+	 */
+	private Duration maxInterval = Duration.ofSeconds(10);
+
+	/**
+	 * Factor applied to the interval after every pending status.
+	 */
+	private double backoffMultiplier = 1.5;
+
+	/**
+	 * How long to wait for a task before giving up. When not set, the total back-off
+	 * time allowed by the spring.ai.retry settings is used, as when tasks were awaited
+	 * through the retry template.
+	 */
+	private Duration timeout;
+
+	/**
+	 * Resolution of the scheduler that dispatches due status checks.
+	 */
+	private Duration tickInterval = Duration.ofMillis(100);
+
+	/**
+	 * Maximum number of tasks polled at the same time, others wait in a queue.
+	 */
+	private int maxInFlight = 512;
+
+	/**
+	 * Number of threads issuing status requests.
+	 */
+	private int checkConcurrency = 8;
+
+	public Duration getInitialInterval() {
+		return this.initialInterval;
+	}
+
+	public void setInitialInterval(Duration initialInterval) {
+		this.initialInterval = initialInterval;
+	}
+
+	public Duration getMaxInterval() {
+		return this.maxInterval;
+	}
+
+	public void setMaxInterval(Duration maxInterval) {
+		this.maxInterval = maxInterval;
+	}
+
+	public double getBackoffMultiplier() {
+		return this.backoffMultiplier;
+	}
+
+	public void setBackoffMultiplier(double backoffMultiplier) {
+		this.backoffMultiplier = backoffMultiplier;
+	}
+
+	public Duration getTimeout() {
+		return this.timeout;
+	}
+
+	public void setTimeout(Duration timeout) {
+		this.timeout = timeout;
+	}
+
+	public Duration getTickInterval() {
+		return this.tickInterval;
+	}
+
+	public void setTickInterval(Duration tickInterval) {
+		this.tickInterval = tickInterval;
+	}
+
+	public int getMaxInFlight() {
+		return this.maxInFlight;
+	}
+
+	public void setMaxInFlight(int maxInFlight) {
+		this.maxInFlight = maxInFlight;
+	}
+
+	public int getCheckConcurrency() {
+		return this.checkConcurrency;
+	}
+
+	public void setCheckConcurrency(int checkConcurrency) {
+		this.checkConcurrency = checkConcurrency;
+	}
+
+}
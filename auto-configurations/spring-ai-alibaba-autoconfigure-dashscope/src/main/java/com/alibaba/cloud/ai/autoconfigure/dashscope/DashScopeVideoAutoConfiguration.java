@@ -16,6 +16,7 @@
 package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeVideoApi;
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller;
 import com.alibaba.cloud.ai.dashscope.video.DashScopeVideoModel;
 import com.alibaba.cloud.ai.model.SpringAIAlibabaModelProperties;
 import com.alibaba.cloud.ai.model.SpringAIAlibabaModels;
@@ -29,7 +30,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.web.client.RestClientAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
-import org.springframework.retry.support.RetryTemplate;
 import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
 
@@ -43,7 +43,8 @@ import static com.alibaba.cloud.ai.autoconfigure.dashscope.DashScopeConnectionUt
  * @since 1.0.0.3
  */
 
-@AutoConfiguration(after = { RestClientAutoConfiguration.class, SpringAiRetryAutoConfiguration.class })
+@AutoConfiguration(after = { RestClientAutoConfiguration.class, SpringAiRetryAutoConfiguration.class,
+		DashScopeTaskPollerAutoConfiguration.class })
 @ConditionalOnDashScopeEnabled
 @ConditionalOnClass({ DashScopeVideoApi.class })
 @ConditionalOnProperty(name = SpringAIAlibabaModelProperties.VIDEO_MODEL, havingValue = SpringAIAlibabaModels.DASHSCOPE,
@@ -56,7 +57,7 @@ public class DashScopeVideoAutoConfiguration {
 	@ConditionalOnMissingBean
 	public DashScopeVideoModel dashScopeVideoModel(DashScopeConnectionProperties commonProperties,
 			DashScopeVideoProperties videoProperties, ObjectProvider<RestClient.Builder> restClientBuilderProvider,
-			RetryTemplate retryTemplate, ResponseErrorHandler responseErrorHandler) {
+			ResponseErrorHandler responseErrorHandler, ObjectProvider<DashScopeTaskPoller> taskPoller) {
 
 		ResolvedConnectionProperties resolved = resolveConnectionProperties(commonProperties, videoProperties, "image");
 
@@ -72,7 +73,7 @@ public class DashScopeVideoAutoConfiguration {
 		return DashScopeVideoModel.builder()
 			.videoApi(videoApi)
 			.defaultOptions(videoProperties.getOptions())
-			.retryTemplate(retryTemplate)
+			.taskPoller(taskPoller.getIfUnique())
 			.build();
 	}
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.dashscope;
+
+import java.time.Duration;
+
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashScopeTaskPollerAutoConfigurationTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withPropertyValues("spring.ai.dashscope.api-key=API_KEY")
+		.withConfiguration(AutoConfigurations.of(DashScopeTaskPollerAutoConfiguration.class));
+
+	@Test
+	void timeoutFollowsRetrySettings() {
+		this.contextRunner
+			.withPropertyValues("spring.ai.retry.max-attempts=4", "spring.ai.retry.backoff.initial-interval=1s",
+					"spring.ai.retry.backoff.multiplier=3", "spring.ai.retry.backoff.max-interval=5s")
+			.run(context -> assertThat(context.getBean(DashScopeTaskPoller.class).getDefaultTimeout())
+				.isEqualTo(Duration.ofSeconds(1 + 3 + 5)));
+	}
+
+	@Test
+	void explicitTimeoutWins() {
+		this.contextRunner.withPropertyValues("spring.ai.dashscope.task-poller.timeout=2m")
+			.run(context -> assertThat(context.getBean(DashScopeTaskPoller.class).getDefaultTimeout())
+				.isEqualTo(Duration.ofMinutes(2)));
+	}
+
+	@Test
+	void publishesMetricsToMeterRegistry() {
+		this.contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new).run(context -> {
+			MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+			assertThat(meterRegistry.find("dashscope.task.poll.queue").gauge()).isNotNull();
+			assertThat(meterRegistry.find("dashscope.task.poll.inflight").gauge()).isNotNull();
+		});
+	}
+
+}
@@ -16,14 +16,20 @@
 
 package com.alibaba.cloud.ai.autoconfigure.mcp.discovery.client;
 
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointBalancer;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointCircuitBreakerProperties;
 import com.alibaba.cloud.ai.mcp.nacos.NacosMcpClientProperties;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
 import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.utils.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Scope;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,7 +43,7 @@ import static com.alibaba.cloud.ai.mcp.nacos.NacosMcpProperties.DEFAULT_ADDRESS;
  * @since 2025/6/4 19:16
  */
 @AutoConfiguration
-@EnableConfigurationProperties({ NacosMcpClientProperties.class })
+@EnableConfigurationProperties({ NacosMcpClientProperties.class, McpEndpointCircuitBreakerProperties.class })
 public class NacosMcpAutoConfiguration {
 
 	@Bean
@@ -76,4 +82,24 @@ public class NacosMcpAutoConfiguration {
 		return map;
 	}
 
+	/**
+	 * The services held by {@link #nacosMcpOperationServiceMap} are not beans themselves, so
+	 * their Nacos clients and poll threads are released here.
+	 */
+	@Bean
+	public DisposableBean nacosMcpOperationServiceMapCloser(
+			Map<String, NacosMcpOperationService> nacosMcpOperationServiceMap) {
+		return () -> nacosMcpOperationServiceMap.values().forEach(NacosMcpOperationService::close);
+	}
+
+	/**
+	 * Balancers keep per-server state, so every distributed client gets its own instance.
+	 */
+	@Bean
+	@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+	@ConditionalOnMissingBean
+	public McpEndpointBalancer mcpEndpointBalancer(NacosMcpClientProperties nacosMcpClientProperties) {
+		return McpEndpointBalancer.of(nacosMcpClientProperties.getLoadBalancer());
+	}
+
 }
@@ -20,6 +20,7 @@ import com.alibaba.cloud.ai.mcp.discovery.client.tool.DistributedAsyncMcpToolCal
 import com.alibaba.cloud.ai.mcp.discovery.client.tool.DistributedSyncMcpToolCallbackProvider;
 import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedAsyncMcpClient;
 import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedSyncMcpClient;
+import com.alibaba.cloud.ai.mcp.nacos.NacosMcpClientProperties;
 import com.alibaba.cloud.ai.mcp.nacos.NacosMcpProperties;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.beans.factory.ObjectProvider;
@@ -35,26 +36,30 @@ import java.util.List;
  * @since 2025/10/25
  */
 @AutoConfiguration(after = NacosMcpAutoConfiguration.class)
-@EnableConfigurationProperties({ NacosMcpProperties.class })
+@EnableConfigurationProperties({ NacosMcpProperties.class, NacosMcpClientProperties.class })
 public class NacosMcpToolCallbackAutoConfiguration {
 
     @Bean(name = "distributedSyncToolCallback")
     @ConditionalOnProperty(prefix = "spring.ai.mcp.client", name = { "type" }, havingValue = "SYNC",
             matchIfMissing = true)
-    public ToolCallbackProvider distributedSyncToolCallback(ObjectProvider<List<DistributedSyncMcpClient>> distributedSyncMcpClients) {
+    public ToolCallbackProvider distributedSyncToolCallback(ObjectProvider<List<DistributedSyncMcpClient>> distributedSyncMcpClients,
+            NacosMcpClientProperties nacosMcpClientProperties) {
         List<DistributedSyncMcpClient> mcpClients = distributedSyncMcpClients.stream()
                 .flatMap(List::stream)
                 .toList();
-        return new DistributedSyncMcpToolCallbackProvider(mcpClients);
+        return new DistributedSyncMcpToolCallbackProvider((mcpClient, tool) -> true, mcpClients,
+                nacosMcpClientProperties.getListToolsTimeout());
     }
 
     @Bean(name = "distributedAsyncToolCallback")
     @ConditionalOnProperty(prefix = "spring.ai.mcp.client", name = { "type" }, havingValue = "ASYNC",
     matchIfMissing = false)
-    public ToolCallbackProvider distributedAsyncToolCallback(ObjectProvider<List<DistributedAsyncMcpClient>> distributedAsyncMcpClients) {
+    public ToolCallbackProvider distributedAsyncToolCallback(ObjectProvider<List<DistributedAsyncMcpClient>> distributedAsyncMcpClients,
+            NacosMcpClientProperties nacosMcpClientProperties) {
         List<DistributedAsyncMcpClient> mcpClients = distributedAsyncMcpClients.stream()
                 .flatMap(List::stream)
                 .toList();
-        return new DistributedAsyncMcpToolCallbackProvider(mcpClients);
+        return new DistributedAsyncMcpToolCallbackProvider((mcpClient, tool) -> true, mcpClients,
+                nacosMcpClientProperties.getListToolsTimeout());
     }
 }
@@ -18,6 +18,9 @@ package com.alibaba.cloud.ai.autoconfigure.mcp.gateway.nacos;
 
 import com.alibaba.cloud.ai.autoconfigure.mcp.gateway.core.McpGatewayServerAutoConfiguration;
 import com.alibaba.cloud.ai.autoconfigure.mcp.gateway.security.McpGatewayOAuthAutoConfiguration;
+import com.alibaba.cloud.ai.mcp.common.pool.McpSyncClientPool;
+import com.alibaba.cloud.ai.mcp.common.pool.McpSyncClientPoolProperties;
+import com.alibaba.cloud.ai.mcp.common.watch.McpWatcherProperties;
 import com.alibaba.cloud.ai.mcp.gateway.core.McpGatewayToolManager;
 import com.alibaba.cloud.ai.mcp.gateway.core.McpGatewayToolsInitializer;
 import com.alibaba.cloud.ai.mcp.gateway.nacos.properties.NacosMcpGatewayProperties;
@@ -45,7 +48,8 @@ import java.util.Properties;
 /**
  * @author aias00
  */
-@EnableConfigurationProperties({ NacosMcpGatewayProperties.class, NacosMcpProperties.class, McpServerProperties.class })
+@EnableConfigurationProperties({ NacosMcpGatewayProperties.class, NacosMcpProperties.class, McpServerProperties.class,
+		McpSyncClientPoolProperties.class, McpWatcherProperties.class })
 @AutoConfiguration(after = { McpGatewayServerAutoConfiguration.class, McpGatewayOAuthAutoConfiguration.class })
 @ConditionalOnProperty(prefix = "spring.ai.alibaba.mcp.gateway", name = "registry", havingValue = "nacos",
 		matchIfMissing = true)
@@ -65,6 +69,12 @@ public class NacosMcpGatewayAutoConfiguration {
 		}
 	}
 
+	@Bean(destroyMethod = "close")
+	@ConditionalOnMissingBean(McpSyncClientPool.class)
+	public McpSyncClientPool mcpSyncClientPool(McpSyncClientPoolProperties mcpSyncClientPoolProperties) {
+		return new McpSyncClientPool(mcpSyncClientPoolProperties);
+	}
+
 	@Bean
 	@ConditionalOnProperty(prefix = "spring.ai.alibaba.mcp.gateway", name = "enabled", havingValue = "true",
 			matchIfMissing = false)
@@ -77,9 +87,10 @@ public class NacosMcpGatewayAutoConfiguration {
 	@ConditionalOnProperty(prefix = "spring.ai.alibaba.mcp.gateway", name = "enabled", havingValue = "true",
 			matchIfMissing = false)
 	public NacosMcpGatewayToolsWatcher nacosInstanceWatcher(final McpGatewayToolManager mcpGatewayToolManager,
-			NacosMcpOperationService nacosMcpOperationService, NacosMcpGatewayProperties nacosMcpGatewayProperties) {
+			NacosMcpOperationService nacosMcpOperationService, NacosMcpGatewayProperties nacosMcpGatewayProperties,
+			McpWatcherProperties mcpWatcherProperties) {
 		return new NacosMcpGatewayToolsWatcher(mcpGatewayToolManager, nacosMcpOperationService,
-				nacosMcpGatewayProperties);
+				nacosMcpGatewayProperties, mcpWatcherProperties);
 	}
 
 	@Bean
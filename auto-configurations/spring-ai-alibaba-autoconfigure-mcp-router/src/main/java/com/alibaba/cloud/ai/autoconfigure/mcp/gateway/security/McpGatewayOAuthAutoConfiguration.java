@@ -20,8 +20,10 @@ import com.alibaba.cloud.ai.mcp.gateway.core.security.McpGatewayOAuthConfigValid
 import com.alibaba.cloud.ai.mcp.gateway.core.security.McpGatewayOAuthInterceptor;
 import com.alibaba.cloud.ai.mcp.gateway.core.security.McpGatewayOAuthProperties;
 import com.alibaba.cloud.ai.mcp.gateway.core.security.McpGatewayOAuthTokenManager;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -46,7 +48,7 @@ public class McpGatewayOAuthAutoConfiguration {
 	@ConditionalOnBean(WebClient.Builder.class)
 	@ConditionalOnMissingBean(McpGatewayOAuthTokenManager.class)
 	public McpGatewayOAuthTokenManager mcpGatewayOAuthTokenManager(WebClient.Builder webClientBuilder,
-			McpGatewayOAuthProperties oauthProperties) {
+			McpGatewayOAuthProperties oauthProperties, ObjectProvider<MeterRegistry> meterRegistry) {
 
 		McpGatewayOAuthConfigValidator.ValidationResult validation = McpGatewayOAuthConfigValidator
 			.validateOAuthProperties(oauthProperties);
@@ -59,7 +61,7 @@ public class McpGatewayOAuthAutoConfiguration {
 			validation.logResults();
 		}
 
-		return new McpGatewayOAuthTokenManager(webClientBuilder, oauthProperties);
+		return new McpGatewayOAuthTokenManager(webClientBuilder, oauthProperties, meterRegistry.getIfAvailable());
 	}
 
 	@Bean
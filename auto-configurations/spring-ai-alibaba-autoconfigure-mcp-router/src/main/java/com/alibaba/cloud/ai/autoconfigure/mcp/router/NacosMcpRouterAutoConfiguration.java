@@ -19,6 +19,9 @@ package com.alibaba.cloud.ai.autoconfigure.mcp.router;
 import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
 import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingModel;
 import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingOptions;
+import com.alibaba.cloud.ai.mcp.common.pool.McpSyncClientPool;
+import com.alibaba.cloud.ai.mcp.common.pool.McpSyncClientPoolProperties;
+import com.alibaba.cloud.ai.mcp.common.watch.McpWatcherProperties;
 import com.alibaba.cloud.ai.mcp.nacos.NacosMcpProperties;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
 import com.alibaba.cloud.ai.mcp.router.config.McpRouterProperties;
@@ -54,7 +57,8 @@ import java.util.Properties;
  * @author aias00
  */
 @AutoConfigureAfter(McpServiceDiscoveryAutoConfiguration.class)
-@EnableConfigurationProperties({ McpRouterProperties.class, NacosMcpProperties.class, McpServerProperties.class })
+@EnableConfigurationProperties({ McpRouterProperties.class, NacosMcpProperties.class, McpServerProperties.class,
+		McpSyncClientPoolProperties.class, McpWatcherProperties.class })
 @ConditionalOnProperty(prefix = McpRouterProperties.CONFIG_PREFIX, name = "enabled", havingValue = "true",
 		matchIfMissing = false)
 public class NacosMcpRouterAutoConfiguration {
@@ -104,13 +108,23 @@ public class NacosMcpRouterAutoConfiguration {
 		return new SimpleMcpServerVectorStore(embeddingModel);
 	}
 
+	/**
+	 * 配置 MCP 客户端会话池
+	 */
+	@Bean(destroyMethod = "close")
+	@ConditionalOnMissingBean
+	public McpSyncClientPool mcpSyncClientPool(McpSyncClientPoolProperties mcpSyncClientPoolProperties) {
+		return new McpSyncClientPool(mcpSyncClientPoolProperties);
+	}
+
 	/**
 	 * 配置 MCP 代理服务
 	 */
 	@Bean
 	@ConditionalOnMissingBean
-	public McpProxyService mcpProxyService(NacosMcpOperationService nacosMcpOperationService) {
-		return new McpProxyService(nacosMcpOperationService);
+	public McpProxyService mcpProxyService(NacosMcpOperationService nacosMcpOperationService,
+			McpSyncClientPool mcpSyncClientPool) {
+		return new McpProxyService(nacosMcpOperationService, mcpSyncClientPool);
 	}
 
 	/**
@@ -138,8 +152,10 @@ public class NacosMcpRouterAutoConfiguration {
 	 */
 	@Bean(initMethod = "startScheduledPolling", destroyMethod = "stop")
 	public McpRouterWatcher mcpRouterWatcher(McpServiceDiscovery mcpServiceDiscovery,
-			McpServerVectorStore mcpServerVectorStore, McpRouterProperties mcpRouterProperties) {
-		return new McpRouterWatcher(mcpServiceDiscovery, mcpServerVectorStore, mcpRouterProperties.getServiceNames());
+			McpServerVectorStore mcpServerVectorStore, McpRouterProperties mcpRouterProperties,
+			McpWatcherProperties mcpWatcherProperties) {
+		return new McpRouterWatcher(mcpServiceDiscovery, mcpServerVectorStore, mcpRouterProperties.getServiceNames(),
+				mcpWatcherProperties);
 	}
 
 	/**
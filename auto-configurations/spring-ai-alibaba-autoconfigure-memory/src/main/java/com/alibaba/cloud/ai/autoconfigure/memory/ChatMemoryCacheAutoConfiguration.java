@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.memory;
+
+import com.alibaba.cloud.ai.memory.common.CachingChatMemoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.Assert;
+
+/**
+ * Registers a {@link CachingChatMemoryRepository} named
+ * {@code cachingChatMemoryRepository} in front of the repository bean named by
+ * {@code spring.ai.memory.cache.delegate}. The delegate bean is left untouched; inject
+ * the caching repository where reads and writes should go through the cache.
+ *
+ * @since 1.1.0
+ */
+@AutoConfiguration(after = ChatMemoryAutoConfiguration.class)
+@ConditionalOnClass(CachingChatMemoryRepository.class)
+@ConditionalOnProperty(prefix = ChatMemoryCacheProperties.CONFIG_PREFIX, name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ChatMemoryCacheProperties.class)
+public class ChatMemoryCacheAutoConfiguration {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChatMemoryCacheAutoConfiguration.class);
+
+	@Bean
+	@ConditionalOnMissingBean
+	CachingChatMemoryRepository cachingChatMemoryRepository(ChatMemoryCacheProperties properties,
+			BeanFactory beanFactory, ObjectProvider<MeterRegistry> meterRegistry) {
+		Assert.hasText(properties.getDelegate(),
+				ChatMemoryCacheProperties.CONFIG_PREFIX + ".delegate must name the repository bean to cache");
+		ChatMemoryRepository delegate = beanFactory.getBean(properties.getDelegate(), ChatMemoryRepository.class);
+		logger.info("Caching chat memory repository '{}' with durability {}", properties.getDelegate(),
+				properties.getDurability());
+		return CachingChatMemoryRepository.builder()
+			.delegate(delegate)
+			.durability(properties.getDurability())
+			.maxConversations(properties.getMaxConversations())
+			.flushInterval(properties.getFlushInterval())
+			.batchSize(properties.getBatchSize())
+			.maxPending(properties.getMaxPending())
+			.walDirectory(properties.getWalDirectory())
+			.meterRegistry(meterRegistry.getIfAvailable())
+			.build();
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.memory;
+
+import com.alibaba.cloud.ai.memory.common.CachingChatMemoryRepository;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the chat memory cache.
+ *
+ * @since 1.1.0
+ */
+@ConfigurationProperties(prefix = ChatMemoryCacheProperties.CONFIG_PREFIX)
+public class ChatMemoryCacheProperties {
+
+	public static final String CONFIG_PREFIX = "spring.ai.memory.cache";
+
+	/**
+	 * Whether to register a caching repository in front of the delegate repository.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Bean name of the chat memory repository to cache, for example
+	 * "redisChatMemoryRepository".
+	 */
+	private String delegate;
+
+	/**
+	 * How saves reach the delegate repository.
+	 */
+	private CachingChatMemoryRepository.Durability durability = CachingChatMemoryRepository.Durability.WRITE_BEHIND;
+
+	/**
+	 * Conversations kept in the cache.
+	 */
+	private int maxConversations = CachingChatMemoryRepository.DEFAULT_MAX_CONVERSATIONS;
+
+	/**
+	 * Delay between background flushes.
+	 */
+	private Duration flushInterval = CachingChatMemoryRepository.DEFAULT_FLUSH_INTERVAL;
+
+	/**
+	 * Queued conversations that trigger a flush before the interval elapses.
+	 */
+	private int batchSize = CachingChatMemoryRepository.DEFAULT_BATCH_SIZE;
+
+	/**
+	 * Queued conversations at which saves wait for a flush.
+	 */
+	private int maxPending = CachingChatMemoryRepository.DEFAULT_MAX_PENDING;
+
+	/**
+	 * Directory of the write-ahead log, required when durability is write-behind-wal.
+	 */
+	private Path walDirectory;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getDelegate() {
+		return delegate;
+	}
+
+	public void setDelegate(String delegate) {
+		this.delegate = delegate;
+	}
+
+	public CachingChatMemoryRepository.Durability getDurability() {
+		return durability;
+	}
+
+	public void setDurability(CachingChatMemoryRepository.Durability durability) {
+		this.durability = durability;
+	}
+
+	public int getMaxConversations() {
+		return maxConversations;
+	}
+
+	public void setMaxConversations(int maxConversations) {
+		this.maxConversations = maxConversations;
+	}
+
+	public Duration getFlushInterval() {
+		return flushInterval;
+	}
+
+	public void setFlushInterval(Duration flushInterval) {
+		this.flushInterval = flushInterval;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public int getMaxPending() {
+		return maxPending;
+	}
+
+	public void setMaxPending(int maxPending) {
+		this.maxPending = maxPending;
+	}
+
+	public Path getWalDirectory() {
+		return walDirectory;
+	}
+
+	public void setWalDirectory(Path walDirectory) {
+		this.walDirectory = walDirectory;
+	}
+
+}
@@ -61,7 +61,7 @@ public class JedisRedisChatMemoryConnectionAutoConfiguration
 	protected JedisRedisChatMemoryRepository createStandaloneChatMemoryRepository(
 			RedisChatMemoryStandaloneConfiguration standaloneConfiguration) {
 		logger.info("Configuring Redis Standalone chat memory repository using Jedis");
-		return JedisRedisChatMemoryRepository.builder()
+		return applyCommonProperties(JedisRedisChatMemoryRepository.builder())
 			.host(standaloneConfiguration.hostName())
 			.port(standaloneConfiguration.port())
 			.username(standaloneConfiguration.username())
@@ -77,7 +77,7 @@ public class JedisRedisChatMemoryConnectionAutoConfiguration
 	protected JedisRedisChatMemoryRepository createClusterChatMemoryRepository(
 			RedisChatMemoryClusterConfiguration clusterConfiguration) {
 		logger.info("Configuring Redis Cluster chat memory repository using Jedis");
-		return JedisRedisChatMemoryRepository.builder()
+		return applyCommonProperties(JedisRedisChatMemoryRepository.builder())
 			.nodes(clusterConfiguration.nodeAddresses())
 			.username(clusterConfiguration.username())
 			.password(clusterConfiguration.password())
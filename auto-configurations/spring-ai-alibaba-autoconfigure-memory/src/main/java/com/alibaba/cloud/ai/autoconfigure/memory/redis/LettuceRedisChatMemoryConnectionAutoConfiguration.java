@@ -61,7 +61,7 @@ public class LettuceRedisChatMemoryConnectionAutoConfiguration
 	protected LettuceRedisChatMemoryRepository createStandaloneChatMemoryRepository(
 			RedisChatMemoryStandaloneConfiguration standaloneConfiguration) {
 		logger.info("Configuring Redis Standalone chat memory repository using Lettuce");
-		return LettuceRedisChatMemoryRepository.builder()
+		return applyCommonProperties(LettuceRedisChatMemoryRepository.builder())
 			.host(standaloneConfiguration.hostName())
 			.port(standaloneConfiguration.port())
 			.username(standaloneConfiguration.username())
@@ -77,7 +77,7 @@ public class LettuceRedisChatMemoryConnectionAutoConfiguration
 	protected LettuceRedisChatMemoryRepository createClusterChatMemoryRepository(
 			RedisChatMemoryClusterConfiguration clusterConfiguration) {
 		logger.info("Configuring Redis Cluster chat memory repository using Lettuce");
-		return LettuceRedisChatMemoryRepository.builder()
+		return applyCommonProperties(LettuceRedisChatMemoryRepository.builder())
 			.nodes(clusterConfiguration.nodeAddresses())
 			.username(clusterConfiguration.username())
 			.password(clusterConfiguration.password())
@@ -15,6 +15,8 @@
  */
 package com.alibaba.cloud.ai.autoconfigure.memory.redis;
 
+import com.alibaba.cloud.ai.memory.redis.builder.RedisChatMemoryBuilder;
+import com.alibaba.cloud.ai.memory.redis.serializer.JacksonMessageCodec;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.ssl.SslBundles;
@@ -100,6 +102,18 @@ public abstract class RedisChatMemoryConnectionAutoConfiguration<T extends ChatM
 		return properties.getMode();
 	}
 
+	/**
+	 * Applies the key layout and expiry settings shared by every client type.
+	 * @param builder the client specific repository builder
+	 * @return the same builder
+	 */
+	protected final <B extends RedisChatMemoryBuilder<B>> B applyCommonProperties(B builder) {
+		return builder.hashTags(properties.isHashTags())
+			.ttl(properties.getTtl())
+			.codec(properties.getCodec() == RedisChatMemoryProperties.Codec.SMILE ? JacksonMessageCodec.smile()
+					: JacksonMessageCodec.json());
+	}
+
 	/**
 	 * Constructs and returns the standalone Redis configuration for chat memory
 	 * @return Fully configured standalone Redis chat memory configuration
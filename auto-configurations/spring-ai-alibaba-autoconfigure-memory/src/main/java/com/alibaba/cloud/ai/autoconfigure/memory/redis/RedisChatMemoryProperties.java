@@ -18,6 +18,7 @@ package com.alibaba.cloud.ai.autoconfigure.memory.redis;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -74,6 +75,24 @@ public class RedisChatMemoryProperties {
 	 */
 	private final Ssl ssl = new Ssl();
 
+	/**
+	 * Whether to wrap conversation ids in cluster hash tags so that all keys of a
+	 * conversation live in the same slot. Changes the key layout, so existing
+	 * conversations are not visible after switching it on.
+	 */
+	private boolean hashTags = false;
+
+	/**
+	 * Expiry of a conversation, refreshed on every write. Conversations are kept until
+	 * deleted when not set.
+	 */
+	private Duration ttl;
+
+	/**
+	 * Encoding of stored messages. Either codec reads messages written by the other.
+	 */
+	private Codec codec = Codec.JSON;
+
 	public String getHost() {
 		return host;
 	}
@@ -142,6 +161,30 @@ public class RedisChatMemoryProperties {
 		return ssl;
 	}
 
+	public boolean isHashTags() {
+		return hashTags;
+	}
+
+	public void setHashTags(boolean hashTags) {
+		this.hashTags = hashTags;
+	}
+
+	public Duration getTtl() {
+		return ttl;
+	}
+
+	public void setTtl(Duration ttl) {
+		this.ttl = ttl;
+	}
+
+	public Codec getCodec() {
+		return codec;
+	}
+
+	public void setCodec(Codec codec) {
+		this.codec = codec;
+	}
+
 	/**
 	 * Type of Redis client to use.
 	 */
@@ -202,6 +245,23 @@ public class RedisChatMemoryProperties {
 
 	}
 
+	/**
+	 * Encoding of stored messages
+	 */
+	public enum Codec {
+
+		/**
+		 * UTF-8 JSON, readable by earlier versions
+		 */
+		JSON,
+
+		/**
+		 * Smile, Jackson's binary JSON
+		 */
+		SMILE
+
+	}
+
 	public static class Ssl {
 
 		/**
@@ -61,7 +61,7 @@ public class RedissonRedisChatMemoryConnectionAutoConfiguration
 	protected RedissonRedisChatMemoryRepository createStandaloneChatMemoryRepository(
 			RedisChatMemoryStandaloneConfiguration standaloneConfiguration) {
 		logger.info("Configuring Redis Standalone chat memory repository using Redisson");
-		return RedissonRedisChatMemoryRepository.builder()
+		return applyCommonProperties(RedissonRedisChatMemoryRepository.builder())
 			.host(standaloneConfiguration.hostName())
 			.port(standaloneConfiguration.port())
 			.username(standaloneConfiguration.username())
@@ -77,7 +77,7 @@ public class RedissonRedisChatMemoryConnectionAutoConfiguration
 	protected RedissonRedisChatMemoryRepository createClusterChatMemoryRepository(
 			RedisChatMemoryClusterConfiguration clusterConfiguration) {
 		logger.info("Configuring Redis Cluster chat memory repository using Redisson");
-		return RedissonRedisChatMemoryRepository.builder()
+		return applyCommonProperties(RedissonRedisChatMemoryRepository.builder())
 			.nodes(clusterConfiguration.nodeAddresses())
 			.username(clusterConfiguration.username())
 			.password(clusterConfiguration.password())
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.dashscope;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeAiStreamFunctionCallingHelper;
+import com.alibaba.cloud.ai.dashscope.api.DashScopeSseChunkDecoder;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionChunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEventHttpMessageReader;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compares the chat completion stream decoding of {@code DashScopeApi}: the previous
+ * path reads every SSE event into a {@code String}, binds it with
+ * {@link ModelOptionsUtils#jsonToObject} and windows every chunk, the current path
+ * feeds the network buffers to {@link DashScopeSseChunkDecoder} and only merges tool
+ * call segments.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks package} and
+ * {@code java -jar benchmarks/target/benchmarks.jar ChatCompletionStreamBenchmark}.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatCompletionStreamBenchmark {
+
+	/** {@code text} streams plain deltas, {@code tool} ends with a streamed tool call. */
+	@Param({ "text", "tool" })
+	public String stream;
+
+	/** Size of the network buffers the body is delivered in. */
+	@Param({ "512", "8192" })
+	public int bufferSize;
+
+	private final ServerSentEventHttpMessageReader sseReader = new ServerSentEventHttpMessageReader(
+			new Jackson2JsonDecoder());
+
+	private byte[] body;
+
+	@Setup
+	public void setup() {
+		this.body = StreamFixtures.chatStream(200, "tool".equals(this.stream) ? 100 : 0)
+			.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public void stringEvents(Blackhole blackhole) {
+		MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.OK);
+		response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+		response.setBody(buffers());
+
+		DashScopeAiStreamFunctionCallingHelper chunkMerger = new DashScopeAiStreamFunctionCallingHelper(true);
+		AtomicBoolean isInsideTool = new AtomicBoolean(false);
+		this.sseReader.read(ResolvableType.forClass(String.class), response, Map.of())
+			.cast(String.class)
+			.takeUntil("[DONE]"::equals)
+			.filter(content -> !"[DONE]".equals(content))
+			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
+			.map(chunk -> {
+				if (chunkMerger.isStreamingToolFunctionCall(chunk)) {
+					isInsideTool.set(true);
+				}
+				return chunk;
+			})
+			.windowUntil(chunk -> {
+				if (isInsideTool.get() && chunkMerger.isStreamingToolFunctionCallFinish(chunk)) {
+					isInsideTool.set(false);
+					return true;
+				}
+				return !isInsideTool.get();
+			})
+			.concatMapIterable(window -> {
+				Mono<ChatCompletionChunk> monoChunk = window.reduce(new ChatCompletionChunk(null, null, null, null),
+						chunkMerger::merge);
+				return List.of(monoChunk);
+			})
+			.flatMap(mono -> mono)
+			.doOnNext(blackhole::consume)
+			.blockLast();
+	}
+
+	@Benchmark
+	public void dataBufferDecoder(Blackhole blackhole) {
+		DashScopeAiStreamFunctionCallingHelper chunkMerger = new DashScopeAiStreamFunctionCallingHelper(true);
+		DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+		Flux<ChatCompletionChunk> chunks = buffers().<List<ChatCompletionChunk>>handle((buffer, sink) -> {
+			try {
+				sink.next(decoder.decode(buffer));
+			}
+			finally {
+				DataBufferUtils.release(buffer);
+			}
+			if (decoder.isDone()) {
+				sink.complete();
+			}
+		}).concatMapIterable(decoded -> decoded);
+		chunkMerger.mergeToolCallChunks(chunks).doOnNext(blackhole::consume).blockLast();
+	}
+
+	private Flux<DataBuffer> buffers() {
+		List<DataBuffer> buffers = new ArrayList<>(this.body.length / this.bufferSize + 1);
+		for (int offset = 0; offset < this.body.length; offset += this.bufferSize) {
+			int length = Math.min(this.bufferSize, this.body.length - offset);
+			buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(this.body, offset, length).slice()));
+		}
+		return Flux.fromIterable(buffers);
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.dashscope;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatModel;
+import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link DashScopeChatModel} end to end against {@link MockDashScopeServer}:
+ * request build, serialization, the HTTP exchange and the response or stream decoding.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatModelHttpBenchmark {
+
+	/** Transcript replayed for streaming requests. */
+	@Param({ StreamFixtures.TEXT_TRANSCRIPT, StreamFixtures.TOOL_CALL_TRANSCRIPT })
+	public String transcript;
+
+	private MockDashScopeServer server;
+
+	private DashScopeChatModel chatModel;
+
+	private Prompt prompt;
+
+	@Setup
+	public void setup() {
+		this.server = MockDashScopeServer.start();
+		this.server.streamBody(StreamFixtures.transcript(this.transcript));
+
+		DashScopeApi dashScopeApi = DashScopeApi.builder().baseUrl(this.server.baseUrl()).apiKey("benchmark").build();
+		this.chatModel = DashScopeChatModel.builder().dashScopeApi(dashScopeApi).build();
+		DashScopeChatOptions options = DashScopeChatOptions.builder()
+			.withModel(DashScopeApi.DEFAULT_CHAT_MODEL)
+			.withIncrementalOutput(true)
+			.withInternalToolExecutionEnabled(false)
+			.build();
+		this.prompt = new Prompt("杭州和上海今天的天气怎么样？", options);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.server.close();
+	}
+
+	@Benchmark
+	public ChatResponse call() {
+		return this.chatModel.call(this.prompt);
+	}
+
+	@Benchmark
+	public void stream(Blackhole blackhole) {
+		this.chatModel.stream(this.prompt).doOnNext(blackhole::consume).blockLast();
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.dashscope;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeAiStreamFunctionCallingHelper;
+import com.alibaba.cloud.ai.dashscope.api.DashScopeSseChunkDecoder;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionChunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the recorded SSE transcripts into {@link ChatCompletionChunk}s, then runs the
+ * tool call merge and {@code chunkToChatCompletion} the way the chat model consumes the
+ * stream.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkMergeBenchmark {
+
+	@Param({ StreamFixtures.TEXT_TRANSCRIPT, StreamFixtures.TOOL_CALL_TRANSCRIPT })
+	public String transcript;
+
+	private byte[] body;
+
+	private List<ChatCompletionChunk> chunks;
+
+	@Setup
+	public void setup() {
+		this.body = StreamFixtures.transcript(this.transcript);
+		this.chunks = decode();
+	}
+
+	@Benchmark
+	public List<ChatCompletionChunk> deserialize() {
+		return decode();
+	}
+
+	@Benchmark
+	public void merge(Blackhole blackhole) {
+		DashScopeAiStreamFunctionCallingHelper helper = new DashScopeAiStreamFunctionCallingHelper(true);
+		helper.mergeToolCallChunks(Flux.fromIterable(this.chunks))
+			.map(helper::chunkToChatCompletion)
+			.doOnNext(blackhole::consume)
+			.blockLast();
+	}
+
+	@Benchmark
+	public void deserializeAndMerge(Blackhole blackhole) {
+		DashScopeAiStreamFunctionCallingHelper helper = new DashScopeAiStreamFunctionCallingHelper(true);
+		helper.mergeToolCallChunks(Flux.fromIterable(decode()))
+			.map(helper::chunkToChatCompletion)
+			.doOnNext(blackhole::consume)
+			.blockLast();
+	}
+
+	private List<ChatCompletionChunk> decode() {
+		return new DashScopeSseChunkDecoder().decode(ByteBuffer.wrap(this.body));
+	}
+
+}
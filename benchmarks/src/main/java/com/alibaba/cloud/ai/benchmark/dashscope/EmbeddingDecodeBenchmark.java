@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.dashscope;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingModel;
+import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingOptions;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.EmbeddingList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.model.ModelOptionsUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes DashScope embedding responses: the bare JSON binding of
+ * {@link EmbeddingList}, and a full {@link DashScopeEmbeddingModel#call} against
+ * {@link MockDashScopeServer}.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmbeddingDecodeBenchmark {
+
+	@Param({ "1024", "1536" })
+	public int dimensions;
+
+	/** Number of texts per request, ten is the DashScope batch limit. */
+	@Param({ "1", "10" })
+	public int texts;
+
+	private byte[] body;
+
+	private MockDashScopeServer server;
+
+	private DashScopeEmbeddingModel embeddingModel;
+
+	private EmbeddingRequest request;
+
+	@Setup
+	public void setup() {
+		this.body = StreamFixtures.embeddings(this.texts, this.dimensions).getBytes(StandardCharsets.UTF_8);
+		this.server = MockDashScopeServer.start();
+		this.server.embeddingBody(this.body);
+
+		DashScopeApi dashScopeApi = DashScopeApi.builder().baseUrl(this.server.baseUrl()).apiKey("benchmark").build();
+		DashScopeEmbeddingOptions options = DashScopeEmbeddingOptions.builder()
+			.withModel(DashScopeApi.DEFAULT_EMBEDDING_MODEL)
+			.withDimensions(this.dimensions)
+			.build();
+		this.embeddingModel = new DashScopeEmbeddingModel(dashScopeApi, MetadataMode.EMBED, options);
+
+		List<String> inputs = new ArrayList<>(this.texts);
+		for (int i = 0; i < this.texts; i++) {
+			inputs.add("第 " + i + " 段：Spring AI Alibaba 为通义模型提供了统一的向量化接口。");
+		}
+		this.request = new EmbeddingRequest(inputs, null);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.server.close();
+	}
+
+	@Benchmark
+	public EmbeddingList decode() throws IOException {
+		return ModelOptionsUtils.OBJECT_MAPPER.readValue(this.body, EmbeddingList.class);
+	}
+
+	@Benchmark
+	public EmbeddingResponse callOverHttp() {
+		return this.embeddingModel.call(this.request);
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.dashscope;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the DashScope endpoints, so the benchmarks include the HTTP client
+ * and codec work without depending on the network. Responses are fixed byte arrays set
+ * by the benchmark state, the request body is read and discarded.
+ *
+ * <ul>
+ * <li>text generation: a JSON completion, or the configured SSE transcript when the
+ * request carries {@code X-DashScope-SSE: enable}</li>
+ * <li>text embedding: the configured embedding response</li>
+ * </ul>
+ *
+ * @since 1.1.0
+ */
+final class MockDashScopeServer implements AutoCloseable {
+
+	static final String COMPLETIONS_PATH = "/api/v1/services/aigc/text-generation/generation";
+
+	static final String EMBEDDINGS_PATH = "/api/v1/services/embeddings/text-embedding/text-embedding";
+
+	private final HttpServer server;
+
+	private final ExecutorService executor;
+
+	private volatile byte[] completionBody = StreamFixtures.chatCompletion().getBytes(StandardCharsets.UTF_8);
+
+	private volatile byte[] streamBody = StreamFixtures.transcript(StreamFixtures.TEXT_TRANSCRIPT);
+
+	private volatile byte[] embeddingBody = StreamFixtures.embeddings(1, 1024).getBytes(StandardCharsets.UTF_8);
+
+	private MockDashScopeServer(HttpServer server, ExecutorService executor) {
+		this.server = server;
+		this.executor = executor;
+	}
+
+	/**
+	 * Start a server on an ephemeral loopback port.
+	 * @return the running server
+	 */
+	static MockDashScopeServer start() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+			ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> {
+				Thread thread = new Thread(runnable, "mock-dashscope");
+				thread.setDaemon(true);
+				return thread;
+			});
+			MockDashScopeServer mock = new MockDashScopeServer(server, executor);
+			server.createContext(COMPLETIONS_PATH, mock::completions);
+			server.createContext(EMBEDDINGS_PATH, mock::embeddings);
+			server.setExecutor(executor);
+			server.start();
+			return mock;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	String baseUrl() {
+		return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort();
+	}
+
+	void streamBody(byte[] streamBody) {
+		this.streamBody = streamBody;
+	}
+
+	void embeddingBody(byte[] embeddingBody) {
+		this.embeddingBody = embeddingBody;
+	}
+
+	private void completions(HttpExchange exchange) throws IOException {
+		boolean stream = "enable".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("X-DashScope-SSE"));
+		if (stream) {
+			respond(exchange, "text/event-stream;charset=UTF-8", this.streamBody);
+		}
+		else {
+			respond(exchange, "application/json", this.completionBody);
+		}
+	}
+
+	private void embeddings(HttpExchange exchange) throws IOException {
+		respond(exchange, "application/json", this.embeddingBody);
+	}
+
+	private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	@Override
+	public void close() {
+		this.server.stop(0);
+		this.executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.dashscope;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * DashScope payloads shared by the benchmarks: the SSE transcripts under
+ * {@code transcripts/} and synthetic bodies shaped like the responses of the text
+ * generation and embedding endpoints.
+ *
+ * @since 1.1.0
+ */
+final class StreamFixtures {
+
+	/** A plain text answer streamed with {@code incremental_output}. */
+	static final String TEXT_TRANSCRIPT = "text-stream";
+
+	/** A short text preamble followed by a streamed {@code get_weather} tool call. */
+	static final String TOOL_CALL_TRANSCRIPT = "tool-call-stream";
+
+	private StreamFixtures() {
+	}
+
+	/**
+	 * Build an incremental chat completion event stream.
+	 * @param textDeltas number of text delta events
+	 * @param toolCallDeltas number of tool call argument delta events following the
+	 * text, zero for a plain text answer
+	 * @return the raw {@code text/event-stream} body
+	 */
+	static String chatStream(int textDeltas, int toolCallDeltas) {
+		StringBuilder body = new StringBuilder();
+		int id = 1;
+		for (int i = 0; i < textDeltas; i++) {
+			String finishReason = (i == textDeltas - 1 && toolCallDeltas == 0) ? "stop" : "null";
+			event(body, id++, """
+					{"output":{"choices":[{"message":{"content":"token %d of the answer, ","role":"assistant"},\
+					"finish_reason":"%s"}]},"usage":{"input_tokens":42,"output_tokens":%d,"total_tokens":%d},\
+					"request_id":"7ef0a5ac-5e4f-9d5c-a8d4-4c3e2b1f0d9a"}""".formatted(i, finishReason, i + 1, i + 43));
+		}
+		for (int i = 0; i < toolCallDeltas; i++) {
+			String callId = (i == 0) ? "\"id\":\"call_4f6e8b\"," : "";
+			String name = (i == 0) ? "\"name\":\"get_weather\"," : "";
+			String finishReason = (i == toolCallDeltas - 1) ? "tool_calls" : "null";
+			event(body, id++, """
+					{"output":{"choices":[{"message":{"content":"","role":"assistant","tool_calls":[{%s\
+					"type":"function","index":0,"function":{%s"arguments":"\\"arg%d\\":%d,"}}]},\
+					"finish_reason":"%s"}]},"request_id":"7ef0a5ac-5e4f-9d5c-a8d4-4c3e2b1f0d9a"}"""
+				.formatted(callId, name, i, i, finishReason));
+		}
+		return body.toString();
+	}
+
+	/**
+	 * Load a recorded event stream from the classpath.
+	 * @param name the transcript name, e.g. {@link #TEXT_TRANSCRIPT}
+	 * @return the raw {@code text/event-stream} body
+	 */
+	static byte[] transcript(String name) {
+		String location = "/transcripts/" + name + ".sse";
+		try (InputStream in = StreamFixtures.class.getResourceAsStream(location)) {
+			if (in == null) {
+				throw new IllegalArgumentException("No transcript at " + location);
+			}
+			return in.readAllBytes();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Build a non-streaming chat completion response.
+	 * @return the JSON body
+	 */
+	static String chatCompletion() {
+		return """
+				{"output":{"choices":[{"message":{"content":"杭州今天多云，气温 18 到 24 摄氏度，东南风 3 级。",\
+				"role":"assistant"},"finish_reason":"stop"}]},"usage":{"input_tokens":58,"output_tokens":27,\
+				"total_tokens":85},"request_id":"2d7c4b90-3e1a-9f85-b6c2-7a0e4d1f8c35"}""";
+	}
+
+	/**
+	 * Build an embedding response with random unit-range vectors.
+	 * @param texts number of embeddings
+	 * @param dimensions number of floats per embedding
+	 * @return the JSON body
+	 */
+	static String embeddings(int texts, int dimensions) {
+		SplittableRandom random = new SplittableRandom(42);
+		StringBuilder body = new StringBuilder(texts * dimensions * 12 + 128);
+		body.append("{\"output\":{\"embeddings\":[");
+		for (int i = 0; i < texts; i++) {
+			if (i > 0) {
+				body.append(',');
+			}
+			body.append("{\"text_index\":").append(i).append(",\"embedding\":[");
+			for (int d = 0; d < dimensions; d++) {
+				if (d > 0) {
+					body.append(',');
+				}
+				body.append(String.format(Locale.ROOT, "%.9f", random.nextDouble(-1, 1)));
+			}
+			body.append("]}");
+		}
+		body.append("]},\"usage\":{\"total_tokens\":").append(texts * 12);
+		body.append("},\"request_id\":\"9a41f0c7-2b8d-9e36-a5f1-c47d0e2b6a18\"}");
+		return body.toString();
+	}
+
+	private static void event(StringBuilder body, int id, String data) {
+		body.append("id:").append(id).append('\n');
+		body.append("event:result\n");
+		body.append(":HTTP_STATUS/200\n");
+		body.append("data:").append(data).append("\n\n");
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.dashscope;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeAiStreamFunctionCallingHelper;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionChunk;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionFinishReason;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionMessage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionMessage.ChatCompletionFunction;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionMessage.Role;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionMessage.ToolCall;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionOutput;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionOutput.Choice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assembles the arguments of one streamed tool call from its deltas with
+ * {@link DashScopeAiStreamFunctionCallingHelper}. Every merge rebuilds the argument
+ * string, so the cost grows with the number of deltas and the argument length.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolCallAssemblyBenchmark {
+
+	/** Number of argument deltas in the tool call. */
+	@Param({ "16", "256" })
+	public int deltas;
+
+	private final DashScopeAiStreamFunctionCallingHelper helper = new DashScopeAiStreamFunctionCallingHelper(true);
+
+	private List<ChatCompletionChunk> chunks;
+
+	@Setup
+	public void setup() {
+		this.chunks = new ArrayList<>(this.deltas);
+		for (int i = 0; i < this.deltas; i++) {
+			String id = (i == 0) ? "call_8f2b6c1e9d4a47f0a3e5" : null;
+			String name = (i == 0) ? "get_weather" : null;
+			String arguments = (i == 0) ? "{\"k0\":\"" : "v" + i + " ";
+			if (i == this.deltas - 1) {
+				arguments = "\"}";
+			}
+			ChatCompletionFinishReason finishReason = (i == this.deltas - 1) ? ChatCompletionFinishReason.TOOL_CALLS
+					: ChatCompletionFinishReason.NULL;
+			ToolCall toolCall = new ToolCall(id, "function", new ChatCompletionFunction(name, arguments), 0);
+			ChatCompletionMessage message = new ChatCompletionMessage("", Role.ASSISTANT, null, null,
+					List.of(toolCall), null, null, null, null, null);
+			ChatCompletionOutput output = new ChatCompletionOutput(null, List.of(new Choice(finishReason, message, null)),
+					null);
+			this.chunks.add(new ChatCompletionChunk("4c9a2e71-0b3f-9d68-a415-e2c7d5b8f603", output, null, null));
+		}
+	}
+
+	@Benchmark
+	public ChatCompletionChunk reduce() {
+		ChatCompletionChunk merged = null;
+		for (ChatCompletionChunk chunk : this.chunks) {
+			merged = this.helper.merge(merged, chunk);
+		}
+		return merged;
+	}
+
+	@Benchmark
+	public ChatCompletionChunk mergeToolCallChunks() {
+		return this.helper.mergeToolCallChunks(Flux.fromIterable(this.chunks)).blockLast();
+	}
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.memory;
+
+import com.alibaba.cloud.ai.memory.redis.BaseRedisChatMemoryRepository;
+import com.alibaba.cloud.ai.memory.redis.JedisRedisChatMemoryRepository;
+import com.alibaba.cloud.ai.memory.redis.LettuceRedisChatMemoryRepository;
+import com.alibaba.cloud.ai.memory.redis.RedissonRedisChatMemoryRepository;
+import com.alibaba.cloud.ai.memory.redis.serializer.JacksonMessageCodec;
+import com.alibaba.cloud.ai.memory.redis.serializer.MessageCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the Redis chat memory repositories against a real server through
+ * {@link RedisTrafficProxy}, and reports the round trips and bytes each operation costs
+ * as {@link Traffic} secondary results next to the JMH score.
+ * <p>
+ * {@code saveTurn} is what a message window chat memory does on every exchange: save the
+ * last 20 messages after adding a question and an answer, which trims two from the head.
+ * The server is a {@code redis:7.2-alpine} container unless
+ * {@code -Dbenchmark.redis=host:port} points at a running one.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisChatMemoryBenchmark {
+
+	private static final int WINDOW = 20;
+
+	private static final String ANSWER = "杭州今天多云转晴，气温 18 到 26 摄氏度，东南风 3 级，空气质量良。"
+			+ "上海今天小雨，气温 20 到 24 摄氏度，出门记得带伞。如果需要，我可以继续查询未来三天的预报。";
+
+	@Param({ "jedis", "lettuce", "redisson" })
+	public String client;
+
+	@Param({ "json", "smile" })
+	public String codec;
+
+	private GenericContainer<?> container;
+
+	private RedisTrafficProxy proxy;
+
+	private BaseRedisChatMemoryRepository repository;
+
+	private MessageCodec messageCodec;
+
+	private String conversationId;
+
+	private List<Message> window;
+
+	private int turn;
+
+	@Setup
+	public void setup() {
+		String address = System.getProperty("benchmark.redis");
+		String host;
+		int port;
+		if (address != null) {
+			host = address.substring(0, address.lastIndexOf(':'));
+			port = Integer.parseInt(address.substring(address.lastIndexOf(':') + 1));
+		}
+		else {
+			this.container = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine")).withExposedPorts(6379);
+			this.container.start();
+			host = this.container.getHost();
+			port = this.container.getMappedPort(6379);
+		}
+		this.proxy = RedisTrafficProxy.start(host, port);
+		this.messageCodec = "smile".equals(this.codec) ? JacksonMessageCodec.smile() : JacksonMessageCodec.json();
+		this.repository = switch (this.client) {
+			case "jedis" -> JedisRedisChatMemoryRepository.builder()
+				.port(this.proxy.port())
+				.codec(this.messageCodec)
+				.build();
+			case "lettuce" -> LettuceRedisChatMemoryRepository.builder()
+				.port(this.proxy.port())
+				.codec(this.messageCodec)
+				.build();
+			case "redisson" -> RedissonRedisChatMemoryRepository.builder()
+				.port(this.proxy.port())
+				.codec(this.messageCodec)
+				.build();
+			default -> throw new IllegalArgumentException("Unknown client: " + this.client);
+		};
+		this.conversationId = "benchmark-" + UUID.randomUUID();
+		this.window = new ArrayList<>();
+		while (this.window.size() < WINDOW) {
+			nextTurn();
+		}
+		this.repository.saveAll(this.conversationId, this.window);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		this.repository.deleteByConversationId(this.conversationId);
+		this.repository.close();
+		this.proxy.close();
+		if (this.container != null) {
+			this.container.stop();
+		}
+	}
+
+	@Benchmark
+	public List<Message> saveTurn(Traffic traffic) {
+		nextTurn();
+		this.repository.saveAll(this.conversationId, this.window);
+		traffic.operationDone();
+		return this.window;
+	}
+
+	@Benchmark
+	public List<Message> load(Traffic traffic) {
+		List<Message> messages = this.repository.findByConversationId(this.conversationId);
+		traffic.operationDone();
+		return messages;
+	}
+
+	private double storedBytesPerMessage() {
+		long encoded = this.window.stream().mapToLong(message -> this.messageCodec.encode(message).length).sum();
+		return (double) encoded / this.window.size();
+	}
+
+	private void nextTurn() {
+		this.turn++;
+		this.window.add(new UserMessage("第 " + this.turn + " 轮：杭州和上海今天的天气怎么样？"));
+		this.window.add(new AssistantMessage(this.turn + ". " + ANSWER));
+		while (this.window.size() > WINDOW) {
+			this.window.remove(0);
+		}
+	}
+
+	/**
+	 * Traffic of the current iteration per operation, read by JMH from the public
+	 * fields. Values are summed over threads, so they are per operation with the default
+	 * single benchmark thread only.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Traffic {
+
+		public double roundTripsPerOp;
+
+		public double bytesSentPerOp;
+
+		public double bytesReceivedPerOp;
+
+		public double storedBytesPerMessage;
+
+		private RedisTrafficProxy proxy;
+
+		private long operations;
+
+		private long roundTripsBefore;
+
+		private long bytesSentBefore;
+
+		private long bytesReceivedBefore;
+
+		@Setup(Level.Iteration)
+		public void reset(RedisChatMemoryBenchmark benchmark) {
+			this.proxy = benchmark.proxy;
+			this.operations = 0;
+			this.roundTripsBefore = this.proxy.roundTrips();
+			this.bytesSentBefore = this.proxy.bytesSent();
+			this.bytesReceivedBefore = this.proxy.bytesReceived();
+			this.roundTripsPerOp = 0;
+			this.bytesSentPerOp = 0;
+			this.bytesReceivedPerOp = 0;
+			this.storedBytesPerMessage = benchmark.storedBytesPerMessage();
+		}
+
+		void operationDone() {
+			double ops = ++this.operations;
+			this.roundTripsPerOp = (this.proxy.roundTrips() - this.roundTripsBefore) / ops;
+			this.bytesSentPerOp = (this.proxy.bytesSent() - this.bytesSentBefore) / ops;
+			this.bytesReceivedPerOp = (this.proxy.bytesReceived() - this.bytesReceivedBefore) / ops;
+		}
+
+	}
+
+}
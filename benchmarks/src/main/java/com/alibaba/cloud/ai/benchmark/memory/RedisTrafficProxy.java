@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.benchmark.memory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TCP relay between a Redis client and server that counts what crosses the wire, so the
+ * suite can report round trips and bytes independently of the client library.
+ * <p>
+ * A round trip is counted each time a client starts sending after the server last
+ * answered on that connection. Pipelined commands and a request split over several
+ * segments therefore count once, matching the latency a client actually waits for.
+ *
+ * @since 1.1.0
+ */
+final class RedisTrafficProxy implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+
+	private final String targetHost;
+
+	private final int targetPort;
+
+	private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "redis-traffic-proxy");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+
+	private final LongAdder roundTrips = new LongAdder();
+
+	private final LongAdder bytesSent = new LongAdder();
+
+	private final LongAdder bytesReceived = new LongAdder();
+
+	private RedisTrafficProxy(ServerSocket serverSocket, String targetHost, int targetPort) {
+		this.serverSocket = serverSocket;
+		this.targetHost = targetHost;
+		this.targetPort = targetPort;
+	}
+
+	static RedisTrafficProxy start(String targetHost, int targetPort) {
+		try {
+			ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+			RedisTrafficProxy proxy = new RedisTrafficProxy(serverSocket, targetHost, targetPort);
+			proxy.executor.execute(proxy::accept);
+			return proxy;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	int port() {
+		return this.serverSocket.getLocalPort();
+	}
+
+	long roundTrips() {
+		return this.roundTrips.sum();
+	}
+
+	long bytesSent() {
+		return this.bytesSent.sum();
+	}
+
+	long bytesReceived() {
+		return this.bytesReceived.sum();
+	}
+
+	private void accept() {
+		while (!this.serverSocket.isClosed()) {
+			try {
+				Socket client = this.serverSocket.accept();
+				Socket server = new Socket(this.targetHost, this.targetPort);
+				client.setTcpNoDelay(true);
+				server.setTcpNoDelay(true);
+				this.sockets.add(client);
+				this.sockets.add(server);
+				AtomicBoolean awaitingReply = new AtomicBoolean();
+				this.executor.execute(() -> relay(client, server, awaitingReply, true));
+				this.executor.execute(() -> relay(server, client, awaitingReply, false));
+			}
+			catch (IOException e) {
+				// closed
+			}
+		}
+	}
+
+	private void relay(Socket from, Socket to, AtomicBoolean awaitingReply, boolean request) {
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (request) {
+					if (awaitingReply.compareAndSet(false, true)) {
+						this.roundTrips.increment();
+					}
+					this.bytesSent.add(read);
+				}
+				else {
+					awaitingReply.set(false);
+					this.bytesReceived.add(read);
+				}
+				out.write(buffer, 0, read);
+				out.flush();
+			}
+		}
+		catch (IOException e) {
+			// connection closed by either side
+		}
+		finally {
+			closeQuietly(from);
+			closeQuietly(to);
+		}
+	}
+
+	@Override
+	public void close() {
+		closeQuietly(this.serverSocket);
+		this.sockets.forEach(RedisTrafficProxy::closeQuietly);
+		this.executor.shutdownNow();
+	}
+
+	private static void closeQuietly(AutoCloseable closeable) {
+		try {
+			closeable.close();
+		}
+		catch (Exception e) {
+			// ignore
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.chat;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.function.FunctionToolCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DashScopeChatModel#createRequest}, which maps the messages, resolves
+ * the tool definitions and runs {@code toDashScopeRequestParameter}, and the JSON
+ * serialization of the resulting {@link ChatCompletionRequest}.
+ * <p>
+ * The benchmark lives in the chat model's package because {@code createRequest} is
+ * package-private.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatRequestBenchmark {
+
+	/**
+	 * {@code single}: one user message, {@code conversation}: a system prompt and 20
+	 * turns, {@code tools}: the conversation plus four function tools.
+	 */
+	@Param({ "single", "conversation", "tools" })
+	public String shape;
+
+	private DashScopeChatModel chatModel;
+
+	private Prompt prompt;
+
+	@Setup
+	public void setup() {
+		DashScopeApi dashScopeApi = DashScopeApi.builder().apiKey("benchmark").build();
+		this.chatModel = DashScopeChatModel.builder().dashScopeApi(dashScopeApi).build();
+
+		List<Message> messages = new ArrayList<>();
+		if ("single".equals(this.shape)) {
+			messages.add(new UserMessage("用一句话介绍一下杭州。"));
+		}
+		else {
+			messages.add(new SystemMessage("You are a concise travel assistant. Answer in the user's language."));
+			for (int i = 0; i < 10; i++) {
+				messages.add(new UserMessage("第 " + i + " 个问题：推荐一个适合周末去的景点，并说明理由。"));
+				messages.add(new AssistantMessage("可以去西湖边的杨公堤走走，秋天的水杉很漂亮，人也比苏堤少一些。"));
+			}
+		}
+
+		DashScopeChatOptions.DashscopeChatOptionsBuilder options = DashScopeChatOptions.builder()
+			.withModel(DashScopeApi.DEFAULT_CHAT_MODEL)
+			.withTemperature(0.7)
+			.withTopP(0.8)
+			.withMaxToken(1024)
+			.withIncrementalOutput(true)
+			.withMultiModel(false);
+		if ("tools".equals(this.shape)) {
+			options.withToolCallbacks(tools()).withInternalToolExecutionEnabled(false);
+		}
+		this.prompt = new Prompt(messages, options.build());
+	}
+
+	@Benchmark
+	public ChatCompletionRequest createRequest() {
+		return this.chatModel.createRequest(this.prompt, true);
+	}
+
+	@Benchmark
+	public byte[] createAndSerialize() throws JsonProcessingException {
+		return ModelOptionsUtils.OBJECT_MAPPER.writeValueAsBytes(this.chatModel.createRequest(this.prompt, true));
+	}
+
+	private static List<ToolCallback> tools() {
+		List<ToolCallback> tools = new ArrayList<>();
+		for (String name : List.of("get_weather", "get_air_quality", "get_forecast", "get_sunrise")) {
+			tools.add(FunctionToolCallback.builder(name, (WeatherRequest request) -> "{\"temperature\":21}")
+				.description("Look up " + name.substring(4).replace('_', ' ') + " for a city")
+				.inputType(WeatherRequest.class)
+				.build());
+		}
+		return tools;
+	}
+
+	public record WeatherRequest(String location, String unit, int days, List<String> fields) {
+	}
+
+}
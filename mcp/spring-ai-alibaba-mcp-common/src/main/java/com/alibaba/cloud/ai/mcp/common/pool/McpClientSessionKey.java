@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.pool;
+
+import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Identifies one remote MCP endpoint in {@link McpSyncClientPool}.
+ *
+ * @param address the backend address
+ * @param port the backend port
+ * @param exportPath the SSE endpoint path exported by the backend
+ */
+public record McpClientSessionKey(String address, int port, String exportPath) {
+
+	public static final String DEFAULT_SSE_ENDPOINT = "/sse";
+
+	public McpClientSessionKey {
+		Assert.hasText(address, "address must not be empty");
+		exportPath = StringUtils.hasText(exportPath) ? exportPath : DEFAULT_SSE_ENDPOINT;
+	}
+
+	public static McpClientSessionKey of(McpEndpointInfo endpointInfo, String exportPath) {
+		Assert.notNull(endpointInfo, "endpointInfo must not be null");
+		return new McpClientSessionKey(endpointInfo.getAddress(), endpointInfo.getPort(), exportPath);
+	}
+
+	public String baseUrl() {
+		return "http://" + address + ":" + port;
+	}
+
+	public boolean matches(String address, int port) {
+		return this.port == port && this.address.equals(address);
+	}
+
+	@Override
+	public String toString() {
+		return baseUrl() + exportPath;
+	}
+
+}
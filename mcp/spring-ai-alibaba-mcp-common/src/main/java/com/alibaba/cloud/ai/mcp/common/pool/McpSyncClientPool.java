@@ -0,0 +1,393 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.pool;
+
+import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
+import com.alibaba.nacos.api.ai.model.mcp.McpServiceRef;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.api.naming.listener.NamingEvent;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
+import io.modelcontextprotocol.spec.McpError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keyed pool of initialized {@link McpSyncClient} sessions.
+ * <p>
+ * Sessions are created lazily per {@link McpClientSessionKey}, initialized once and then
+ * reused across tool calls so the SSE handshake is only paid when a new session is
+ * needed. Each endpoint is capped at {@code maxSessionsPerEndpoint} concurrent sessions;
+ * idle sessions are pinged periodically and closed once they fail the health check or
+ * stay unused longer than {@code maxIdleTime}. Endpoints that disappear from Nacos are
+ * invalidated through {@link #watchEndpoints(NacosMcpOperationService, McpServiceRef)}.
+ */
+public class McpSyncClientPool implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpSyncClientPool.class);
+
+	private final Map<McpClientSessionKey, EndpointSessions> endpoints = new ConcurrentHashMap<>();
+
+	private final Map<String, Set<String>> watchedServices = new ConcurrentHashMap<>();
+
+	// removes the Nacos listener of a watched service, run on close
+	private final Map<String, Runnable> subscriptions = new ConcurrentHashMap<>();
+
+	private final Function<McpClientSessionKey, McpSyncClient> clientFactory;
+
+	private final int maxSessionsPerEndpoint;
+
+	private final Duration maxIdleTime;
+
+	private final Duration borrowTimeout;
+
+	private final ScheduledExecutorService evictor;
+
+	private volatile boolean closed;
+
+	public McpSyncClientPool(McpSyncClientPoolProperties properties) {
+		this(properties, McpSyncClientPool::createSseClient);
+	}
+
+	public McpSyncClientPool(McpSyncClientPoolProperties properties,
+			Function<McpClientSessionKey, McpSyncClient> clientFactory) {
+		Assert.notNull(properties, "properties must not be null");
+		Assert.notNull(clientFactory, "clientFactory must not be null");
+		Assert.isTrue(properties.getMaxSessionsPerEndpoint() > 0, "maxSessionsPerEndpoint must be positive");
+		this.clientFactory = clientFactory;
+		this.maxSessionsPerEndpoint = properties.getMaxSessionsPerEndpoint();
+		this.maxIdleTime = properties.getMaxIdleTime();
+		this.borrowTimeout = properties.getBorrowTimeout();
+		this.evictor = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r);
+			t.setName("mcp-client-pool-evictor");
+			t.setDaemon(true);
+			return t;
+		});
+		long intervalMillis = properties.getEvictionInterval().toMillis();
+		this.evictor.scheduleWithFixedDelay(this::evictIdleSessions, intervalMillis, intervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	private static McpSyncClient createSseClient(McpClientSessionKey key) {
+		HttpClientSseClientTransport transport = HttpClientSseClientTransport.builder(key.baseUrl())
+			.sseEndpoint(key.exportPath())
+			.build();
+		return McpClient.sync(transport).build();
+	}
+
+	/**
+	 * Runs {@code action} on a pooled session for {@code key}. The session goes back to
+	 * the pool afterwards unless the action failed with a transport-level error, in which
+	 * case it is closed and the next caller gets a fresh one.
+	 * @param key the endpoint to talk to
+	 * @param action the work to run against the initialized client
+	 * @return the action result
+	 */
+	public <T> T execute(McpClientSessionKey key, Function<McpSyncClient, T> action) {
+		PooledSession session = borrow(key);
+		boolean healthy = false;
+		try {
+			T result = action.apply(session.client);
+			healthy = true;
+			return result;
+		}
+		catch (McpError e) {
+			// JSON-RPC error returned by the server, the session itself is fine
+			healthy = true;
+			throw e;
+		}
+		finally {
+			release(session, healthy);
+		}
+	}
+
+	/**
+	 * Whether at least one initialized idle session is ready for {@code key}.
+	 */
+	public boolean hasIdleSession(McpClientSessionKey key) {
+		EndpointSessions sessions = endpoints.get(key);
+		return sessions != null && !sessions.idle.isEmpty();
+	}
+
+	/**
+	 * Makes sure one initialized session is pooled for {@code key}.
+	 */
+	public void warmUp(McpClientSessionKey key) {
+		if (!hasIdleSession(key)) {
+			release(borrow(key), true);
+		}
+	}
+
+	/**
+	 * Number of initialized sessions (idle and borrowed) currently held for all endpoints.
+	 */
+	public int getSessionCount() {
+		int count = 0;
+		for (EndpointSessions sessions : endpoints.values()) {
+			count += maxSessionsPerEndpoint - sessions.permits.availablePermits() + sessions.idle.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Closes every session of {@code key}. Borrowed sessions are closed when returned.
+	 */
+	public void invalidate(McpClientSessionKey key) {
+		EndpointSessions sessions = endpoints.remove(key);
+		if (sessions != null) {
+			logger.info("Invalidating pooled MCP sessions for {}", key);
+			sessions.closeIdle();
+		}
+	}
+
+	/**
+	 * Closes every session pointing at {@code address:port}, whatever its export path.
+	 */
+	public void invalidate(String address, int port) {
+		for (McpClientSessionKey key : endpoints.keySet()) {
+			if (key.matches(address, port)) {
+				invalidate(key);
+			}
+		}
+	}
+
+	/**
+	 * Subscribes to the Nacos instance list of {@code serviceRef} so sessions to instances
+	 * that go away are invalidated. Repeated calls for the same service are no-ops. The
+	 * subscription is removed again by {@link #close()}.
+	 */
+	public void watchEndpoints(NacosMcpOperationService nacosMcpOperationService, McpServiceRef serviceRef) {
+		String serviceKey = serviceRef.getServiceName() + "@@" + serviceRef.getGroupName();
+		if (watchedServices.putIfAbsent(serviceKey, ConcurrentHashMap.newKeySet()) != null) {
+			return;
+		}
+		EventListener listener = event -> {
+			if (!closed && event instanceof NamingEvent namingEvent) {
+				onInstancesChanged(serviceKey, namingEvent);
+			}
+		};
+		try {
+			nacosMcpOperationService.subscribeService(serviceRef, listener);
+			subscriptions.put(serviceKey, () -> {
+				try {
+					nacosMcpOperationService.unsubscribeService(serviceRef, listener);
+				}
+				catch (NacosException e) {
+					logger.warn("Failed to unsubscribe endpoint changes of {}: {}", serviceKey, e.getMessage());
+				}
+			});
+		}
+		catch (NacosException e) {
+			watchedServices.remove(serviceKey);
+			logger.warn("Failed to subscribe endpoint changes of {}: {}", serviceKey, e.getMessage());
+		}
+	}
+
+	private void onInstancesChanged(String serviceKey, NamingEvent event) {
+		Set<String> current = new HashSet<>();
+		if (event.getInstances() != null) {
+			for (Instance instance : event.getInstances()) {
+				if (instance.isHealthy() && instance.isEnabled()) {
+					current.add(instance.getIp() + ":" + instance.getPort());
+				}
+			}
+		}
+		Set<String> known = watchedServices.get(serviceKey);
+		if (known == null) {
+			return;
+		}
+		for (String endpoint : known) {
+			if (!current.contains(endpoint)) {
+				int separator = endpoint.lastIndexOf(':');
+				invalidate(endpoint.substring(0, separator), Integer.parseInt(endpoint.substring(separator + 1)));
+			}
+		}
+		known.retainAll(current);
+		known.addAll(current);
+	}
+
+	private PooledSession borrow(McpClientSessionKey key) {
+		if (closed) {
+			throw new IllegalStateException("McpSyncClientPool is closed");
+		}
+		EndpointSessions sessions = endpoints.computeIfAbsent(key, EndpointSessions::new);
+		try {
+			if (!sessions.permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				throw new IllegalStateException("Timed out waiting for a free MCP session to " + key
+						+ ", maxSessionsPerEndpoint=" + maxSessionsPerEndpoint);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for an MCP session to " + key, e);
+		}
+		PooledSession session = sessions.idle.pollFirst();
+		if (session != null) {
+			return session;
+		}
+		McpSyncClient client = null;
+		try {
+			client = clientFactory.apply(key);
+			Assert.state(client != null, () -> "clientFactory returned no client for " + key);
+			logger.info("MCP Client initializing: {}", key);
+			client.initialize();
+			return new PooledSession(sessions, client);
+		}
+		catch (RuntimeException e) {
+			sessions.permits.release();
+			if (client != null) {
+				// a failed handshake still holds the transport and its connection
+				new PooledSession(sessions, client).close();
+			}
+			throw e;
+		}
+	}
+
+	private void release(PooledSession session, boolean healthy) {
+		EndpointSessions sessions = session.owner;
+		try {
+			if (healthy && !closed && endpoints.get(sessions.key) == sessions) {
+				session.lastUsedNanos = System.nanoTime();
+				sessions.idle.offerFirst(session);
+			}
+			else {
+				session.close();
+			}
+		}
+		finally {
+			sessions.permits.release();
+		}
+	}
+
+	/**
+	 * One eviction pass, run periodically by the evictor thread.
+	 */
+	void evictIdleSessions() {
+		long now = System.nanoTime();
+		for (EndpointSessions sessions : endpoints.values()) {
+			for (PooledSession session : sessions.idle) {
+				// only evaluate sessions nobody has borrowed in the meantime
+				if (!sessions.idle.remove(session)) {
+					continue;
+				}
+				if (now - session.lastUsedNanos > maxIdleTime.toNanos()) {
+					logger.debug("Evicting idle MCP session to {}", sessions.key);
+					session.close();
+				}
+				else if (!session.ping()) {
+					logger.warn("Evicting unhealthy MCP session to {}", sessions.key);
+					session.close();
+				}
+				else if (endpoints.get(sessions.key) == sessions && !closed) {
+					sessions.idle.offerLast(session);
+				}
+				else {
+					session.close();
+				}
+			}
+			if (sessions.idle.isEmpty() && sessions.permits.availablePermits() == maxSessionsPerEndpoint) {
+				endpoints.remove(sessions.key, sessions);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		evictor.shutdownNow();
+		subscriptions.values().forEach(Runnable::run);
+		subscriptions.clear();
+		watchedServices.clear();
+		for (McpClientSessionKey key : endpoints.keySet()) {
+			invalidate(key);
+		}
+	}
+
+	private final class EndpointSessions {
+
+		private final McpClientSessionKey key;
+
+		private final Semaphore permits = new Semaphore(maxSessionsPerEndpoint);
+
+		private final Deque<PooledSession> idle = new ConcurrentLinkedDeque<>();
+
+		private EndpointSessions(McpClientSessionKey key) {
+			this.key = key;
+		}
+
+		private void closeIdle() {
+			PooledSession session;
+			while ((session = idle.pollFirst()) != null) {
+				session.close();
+			}
+		}
+
+	}
+
+	private static final class PooledSession {
+
+		private final EndpointSessions owner;
+
+		private final McpSyncClient client;
+
+		private volatile long lastUsedNanos = System.nanoTime();
+
+		private PooledSession(EndpointSessions owner, McpSyncClient client) {
+			this.owner = owner;
+			this.client = client;
+		}
+
+		private boolean ping() {
+			try {
+				client.ping();
+				return true;
+			}
+			catch (Exception e) {
+				return false;
+			}
+		}
+
+		private void close() {
+			try {
+				client.close();
+			}
+			catch (Exception e) {
+				logger.warn("Failed to close MCP client of {}", owner.key, e);
+			}
+		}
+
+	}
+
+}
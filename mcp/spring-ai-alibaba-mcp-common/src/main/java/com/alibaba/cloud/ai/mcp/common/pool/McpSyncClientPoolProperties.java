@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.pool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the pooled MCP client sessions shared by the router and the gateway.
+ */
+@ConfigurationProperties(McpSyncClientPoolProperties.CONFIG_PREFIX)
+public class McpSyncClientPoolProperties {
+
+	public static final String CONFIG_PREFIX = "spring.ai.alibaba.mcp.client.pool";
+
+	/**
+	 * Maximum number of initialized sessions (idle and borrowed) kept per endpoint.
+	 */
+	private int maxSessionsPerEndpoint = 8;
+
+	/**
+	 * Idle sessions unused for longer than this are closed by the evictor.
+	 */
+	private Duration maxIdleTime = Duration.ofMinutes(5);
+
+	/**
+	 * How often idle sessions are pinged and expired ones evicted.
+	 */
+	private Duration evictionInterval = Duration.ofSeconds(30);
+
+	/**
+	 * How long a caller waits for a free session when the endpoint is at its limit.
+	 */
+	private Duration borrowTimeout = Duration.ofSeconds(10);
+
+	public int getMaxSessionsPerEndpoint() {
+		return maxSessionsPerEndpoint;
+	}
+
+	public void setMaxSessionsPerEndpoint(int maxSessionsPerEndpoint) {
+		this.maxSessionsPerEndpoint = maxSessionsPerEndpoint;
+	}
+
+	public Duration getMaxIdleTime() {
+		return maxIdleTime;
+	}
+
+	public void setMaxIdleTime(Duration maxIdleTime) {
+		this.maxIdleTime = maxIdleTime;
+	}
+
+	public Duration getEvictionInterval() {
+		return evictionInterval;
+	}
+
+	public void setEvictionInterval(Duration evictionInterval) {
+		this.evictionInterval = evictionInterval;
+	}
+
+	public Duration getBorrowTimeout() {
+		return borrowTimeout;
+	}
+
+	public void setBorrowTimeout(Duration borrowTimeout) {
+		this.borrowTimeout = borrowTimeout;
+	}
+
+}
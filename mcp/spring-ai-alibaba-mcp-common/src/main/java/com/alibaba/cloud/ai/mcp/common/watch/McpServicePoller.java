@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.watch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a watcher's poll cycle on a jittered schedule and fans the per-service lookups
+ * of one cycle out over a bounded worker pool.
+ * <p>
+ * At most {@code concurrency} lookups run at the same time and each one is cancelled,
+ * interrupting its worker thread, once it has run for {@code serviceTimeout}, so one slow
+ * service only delays its own refresh and does not keep holding a worker. Every
+ * delay between cycles is spread by {@code jitter} so that many watchers started
+ * together do not hit the registry in lockstep.
+ */
+public class McpServicePoller implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpServicePoller.class);
+
+	private final String name;
+
+	private final int concurrency;
+
+	private final Duration serviceTimeout;
+
+	private final double jitter;
+
+	/**
+	 * Runs the poll cycles on one thread and fires lookup timeouts on the other, so
+	 * timeouts still fire while a cycle blocks in {@link #fetchAll}.
+	 */
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	private final ThreadPoolExecutor workers;
+
+	private volatile boolean closed;
+
+	public McpServicePoller(String name, McpWatcherProperties properties) {
+		Assert.hasText(name, "name must not be empty");
+		Assert.notNull(properties, "properties must not be null");
+		Assert.isTrue(properties.getConcurrency() > 0, "concurrency must be positive");
+		this.name = name;
+		this.concurrency = properties.getConcurrency();
+		this.serviceTimeout = properties.getServiceTimeout();
+		this.jitter = Math.max(0.0, Math.min(1.0, properties.getJitter()));
+		this.scheduler = new ScheduledThreadPoolExecutor(2, r -> {
+			Thread t = new Thread(r);
+			t.setName(name + "-scheduler");
+			t.setDaemon(true);
+			return t;
+		});
+		this.scheduler.setRemoveOnCancelPolicy(true);
+		AtomicInteger workerIndex = new AtomicInteger();
+		this.workers = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), r -> {
+					Thread t = new Thread(r);
+					t.setName(name + "-worker-" + workerIndex.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				});
+		this.workers.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Runs {@code task} repeatedly, waiting a jittered {@code interval} between the end of
+	 * one run and the start of the next. Failures are logged and do not stop the loop.
+	 */
+	public void start(Duration interval, Runnable task) {
+		Assert.notNull(interval, "interval must not be null");
+		Assert.notNull(task, "task must not be null");
+		scheduleNext(interval, task);
+		logger.info("Started {} polling with interval {} and jitter {}", name, interval, jitter);
+	}
+
+	private void scheduleNext(Duration interval, Runnable task) {
+		if (closed) {
+			return;
+		}
+		scheduler.schedule(() -> {
+			try {
+				task.run();
+			}
+			catch (Exception e) {
+				logger.error("Error in {} poll cycle", name, e);
+			}
+			finally {
+				scheduleNext(interval, task);
+			}
+		}, jittered(interval.toMillis()), TimeUnit.MILLISECONDS);
+	}
+
+	private long jittered(long intervalMillis) {
+		if (jitter == 0.0 || intervalMillis <= 0) {
+			return Math.max(0, intervalMillis);
+		}
+		double spread = intervalMillis * jitter;
+		return Math.max(0, Math.round(intervalMillis + ThreadLocalRandom.current().nextDouble(-spread, spread)));
+	}
+
+	/**
+	 * Looks up every service concurrently and waits for the whole batch.
+	 * <p>
+	 * The returned map holds one entry per service whose lookup completed, including
+	 * services the fetcher returned {@code null} for. Services whose lookup failed or
+	 * timed out are absent, so callers can keep their previous state for them.
+	 * @param serviceNames the services to look up
+	 * @param fetcher the blocking lookup of a single service
+	 * @return lookup results keyed by service name
+	 */
+	public <T> Map<String, T> fetchAll(Collection<String> serviceNames, Fetcher<T> fetcher) {
+		Map<String, T> results = new HashMap<>();
+		if (serviceNames == null || serviceNames.isEmpty() || closed) {
+			return results;
+		}
+		Map<String, Lookup<T>> lookups = new LinkedHashMap<>();
+		for (String serviceName : new LinkedHashSet<>(serviceNames)) {
+			Lookup<T> lookup = new Lookup<>(() -> fetcher.fetch(serviceName));
+			lookups.put(serviceName, lookup);
+			try {
+				workers.execute(lookup);
+			}
+			catch (RejectedExecutionException e) {
+				lookup.cancel(false);
+			}
+		}
+		for (Map.Entry<String, Lookup<T>> entry : lookups.entrySet()) {
+			try {
+				results.put(entry.getKey(), entry.getValue().get());
+			}
+			catch (CancellationException e) {
+				logger.warn("Polling service {} in {} timed out after {}", entry.getKey(), name, serviceTimeout);
+			}
+			catch (ExecutionException e) {
+				logger.warn("Failed to poll service {} in {}: {}", entry.getKey(), name, e.getCause().toString());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				lookups.values().forEach(lookup -> lookup.cancel(true));
+				break;
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		scheduler.shutdownNow();
+		for (Runnable pending : workers.shutdownNow()) {
+			((Future<?>) pending).cancel(false);
+		}
+		logger.info("Stopped {} polling", name);
+	}
+
+	/**
+	 * Blocking lookup of one service.
+	 */
+	@FunctionalInterface
+	public interface Fetcher<T> {
+
+		T fetch(String serviceName) throws Exception;
+
+	}
+
+	/**
+	 * A single lookup whose timeout starts when a worker picks it up rather than when it
+	 * is queued, so lookups waiting for a free worker are not charged for the wait.
+	 */
+	private final class Lookup<T> extends FutureTask<T> {
+
+		Lookup(Callable<T> callable) {
+			super(callable);
+		}
+
+		@Override
+		public void run() {
+			ScheduledFuture<?> timeout;
+			try {
+				timeout = scheduler.schedule(() -> cancel(true), serviceTimeout.toMillis(), TimeUnit.MILLISECONDS);
+			}
+			catch (RejectedExecutionException e) {
+				cancel(false);
+				return;
+			}
+			try {
+				super.run();
+			}
+			finally {
+				timeout.cancel(false);
+			}
+		}
+
+	}
+
+}
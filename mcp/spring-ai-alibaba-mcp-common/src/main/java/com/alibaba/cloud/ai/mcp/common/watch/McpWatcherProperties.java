@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.watch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the polling watchers that keep the router and the gateway in sync with
+ * the MCP registry.
+ */
+@ConfigurationProperties(McpWatcherProperties.CONFIG_PREFIX)
+public class McpWatcherProperties {
+
+	public static final String CONFIG_PREFIX = "spring.ai.alibaba.mcp.watcher";
+
+	/**
+	 * Maximum number of services queried concurrently in one poll cycle.
+	 */
+	private int concurrency = 8;
+
+	/**
+	 * How long a single service lookup may take before it is skipped for this cycle.
+	 */
+	private Duration serviceTimeout = Duration.ofSeconds(10);
+
+	/**
+	 * Random spread applied to every polling delay, as a fraction of the interval.
+	 */
+	private double jitter = 0.1;
+
+	/**
+	 * How often services that receive push notifications are still re-read in full.
+	 */
+	private Duration resyncInterval = Duration.ofMinutes(10);
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	public Duration getServiceTimeout() {
+		return serviceTimeout;
+	}
+
+	public void setServiceTimeout(Duration serviceTimeout) {
+		this.serviceTimeout = serviceTimeout;
+	}
+
+	public double getJitter() {
+		return jitter;
+	}
+
+	public void setJitter(double jitter) {
+		this.jitter = jitter;
+	}
+
+	public Duration getResyncInterval() {
+		return resyncInterval;
+	}
+
+	public void setResyncInterval(Duration resyncInterval) {
+		this.resyncInterval = resyncInterval;
+	}
+
+}
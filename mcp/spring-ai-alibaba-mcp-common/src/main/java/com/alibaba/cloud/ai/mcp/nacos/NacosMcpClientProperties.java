@@ -18,6 +18,7 @@ package com.alibaba.cloud.ai.mcp.nacos;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,10 +33,62 @@ public class NacosMcpClientProperties {
 
     private final Map<String, NacosConfig> configs = new HashMap<>();
 
+    /**
+     * Strategy used to pick a backend endpoint: round-robin, least-requests or ewma.
+     */
+    private String loadBalancer = "round-robin";
+
+    /**
+     * Upper bound for listing the tools of one server when tool callbacks are (re)built.
+     */
+    private Duration listToolsTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of clients initialized concurrently when new endpoints show up.
+     */
+    private int warmUpConcurrency = 8;
+
+    /**
+     * How long a removed endpoint may finish its in-flight calls before it is closed.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
     public Map<String, NacosConfig> getConfigs() {
         return configs;
     }
 
+    public String getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public void setLoadBalancer(String loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
+
+    public Duration getListToolsTimeout() {
+        return listToolsTimeout;
+    }
+
+    public void setListToolsTimeout(Duration listToolsTimeout) {
+        this.listToolsTimeout = listToolsTimeout;
+    }
+
+    public int getWarmUpConcurrency() {
+        return warmUpConcurrency;
+    }
+
+    public void setWarmUpConcurrency(int warmUpConcurrency) {
+        this.warmUpConcurrency = warmUpConcurrency;
+    }
+
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    public void setDrainTimeout(Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+
     public record NacosConfig(String namespace, String serverAddr, String username, String password, String accessKey, String secretKey,
                                      String endpoint) {
     }
@@ -19,6 +19,10 @@ package com.alibaba.cloud.ai.mcp.nacos.service;
 import com.alibaba.cloud.ai.mcp.nacos.service.model.NacosMcpServerEndpoint;
 import com.alibaba.nacos.api.NacosFactory;
 import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.ai.AiFactory;
+import com.alibaba.nacos.api.ai.AiService;
+import com.alibaba.nacos.api.ai.listener.AbstractNacosMcpServerListener;
+import com.alibaba.nacos.api.ai.listener.NacosMcpServerEvent;
 import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
 import com.alibaba.nacos.api.ai.model.mcp.McpEndpointSpec;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerBasicInfo;
@@ -28,6 +32,7 @@ import com.alibaba.nacos.api.ai.model.mcp.McpToolSpecification;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.EventListener;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.maintainer.client.ai.AiMaintainerFactory;
 import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
@@ -47,7 +52,7 @@ import java.util.concurrent.TimeUnit;
 /**
  * @author Sunrisea
  */
-public class NacosMcpOperationService {
+public class NacosMcpOperationService implements AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(NacosMcpOperationService.class);
 
@@ -61,13 +66,29 @@ public class NacosMcpOperationService {
 
 	private final Map<String, List<NacosMcpSubscriber>> subscribers;
 
+	private final Properties nacosProperties;
+
+	private final ScheduledExecutorService executorService;
+
+	/**
+	 * Push listeners registered on the Nacos AI client, per server and subscriber, so
+	 * that they can be unsubscribed again.
+	 */
+	private final Map<String, Map<NacosMcpSubscriber, AbstractNacosMcpServerListener>> pushListeners;
+
+	private volatile AiService aiService;
+
+	private volatile boolean aiServiceUnavailable;
+
 	public NacosMcpOperationService(Properties nacosProperties) throws NacosException {
+		this.nacosProperties = nacosProperties;
 		this.aiMaintainerService = AiMaintainerFactory.createAiMaintainerService(nacosProperties);
 		this.namingService = NacosFactory.createNamingService(nacosProperties);
 		this.configService = NacosFactory.createConfigService(nacosProperties);
 		this.namespace = nacosProperties.getProperty(PropertyKeyConst.NAMESPACE, "public");
 		this.subscribers = new ConcurrentHashMap<>();
-		ScheduledExecutorService executorService = new ScheduledThreadPoolExecutor(1, r -> {
+		this.pushListeners = new ConcurrentHashMap<>();
+		this.executorService = new ScheduledThreadPoolExecutor(1, r -> {
 			Thread t = new Thread(r);
 			t.setName("nacos-mcp-operation-service");
 			t.setDaemon(true);
@@ -135,17 +156,19 @@ public class NacosMcpOperationService {
 		if (mcpNameAndVersion == null) {
 			throw new IllegalArgumentException("mcpNameAndVersion must not be null");
 		}
+		String[] nameAndVersion = splitNameAndVersion(mcpNameAndVersion);
+		return aiMaintainerService.getMcpServerDetail(this.namespace, nameAndVersion[0], nameAndVersion[1]);
+	}
+
+	private static String[] splitNameAndVersion(String mcpNameAndVersion) throws NacosException {
 		String[] nameAndVersion = mcpNameAndVersion.strip().split("::");
-		String version = null;
-		String mcpName = mcpNameAndVersion;
 		if (nameAndVersion.length > 2) {
 			throw new NacosException(NacosException.INVALID_PARAM, "mcpName is invalid");
 		}
 		if (nameAndVersion.length == 2) {
-			version = nameAndVersion[1];
-			mcpName = nameAndVersion[0];
+			return nameAndVersion;
 		}
-		return aiMaintainerService.getMcpServerDetail(this.namespace, mcpName, version);
+		return new String[] { mcpNameAndVersion, null };
 	}
 
 	public McpServerDetailInfo getServerDetail(String mcpName, String version) throws NacosException {
@@ -162,6 +185,119 @@ public class NacosMcpOperationService {
 		this.subscribers.computeIfAbsent(mcpNameAndVersion, k -> new ArrayList<>()).add(nacosMcpSubscriber);
 	}
 
+	/**
+	 * Registers a push listener for {@code mcpNameAndVersion} on the Nacos AI client, so
+	 * the subscriber is notified when the server changes instead of on every poll.
+	 * @param mcpNameAndVersion the mcp server name, optionally suffixed with
+	 * {@code ::version}
+	 * @param nacosMcpSubscriber receives the changed server detail
+	 * @return {@code false} when push notifications are not available and the caller
+	 * has to keep polling
+	 */
+	public boolean subscribeMcpServerChange(String mcpNameAndVersion, NacosMcpSubscriber nacosMcpSubscriber) {
+		if (mcpNameAndVersion == null || nacosMcpSubscriber == null) {
+			throw new IllegalArgumentException("mcpNameAndVersion and nacosMcpSubscriber must not be null");
+		}
+		AiService service = getAiService();
+		if (service == null) {
+			return false;
+		}
+		try {
+			String[] nameAndVersion = splitNameAndVersion(mcpNameAndVersion);
+			AbstractNacosMcpServerListener listener = new AbstractNacosMcpServerListener() {
+				@Override
+				public void onEvent(NacosMcpServerEvent event) {
+					if (event.getMcpServerDetailInfo() != null) {
+						nacosMcpSubscriber.receive(event.getMcpServerDetailInfo());
+					}
+				}
+			};
+			service.subscribeMcpServer(nameAndVersion[0], nameAndVersion[1], listener);
+			pushListeners.computeIfAbsent(mcpNameAndVersion, k -> new ConcurrentHashMap<>())
+				.put(nacosMcpSubscriber, listener);
+			return true;
+		}
+		catch (Exception e) {
+			logger.warn("Failed to subscribe mcp server {}, falling back to polling: {}", mcpNameAndVersion,
+					e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Removes a push listener registered by
+	 * {@link #subscribeMcpServerChange(String, NacosMcpSubscriber)}. Does nothing when the
+	 * subscriber is not subscribed to the server.
+	 * @param mcpNameAndVersion the mcp server name, optionally suffixed with
+	 * {@code ::version}
+	 * @param nacosMcpSubscriber the subscriber passed when subscribing
+	 */
+	public void unsubscribeMcpServerChange(String mcpNameAndVersion, NacosMcpSubscriber nacosMcpSubscriber) {
+		if (mcpNameAndVersion == null || nacosMcpSubscriber == null) {
+			return;
+		}
+		Map<NacosMcpSubscriber, AbstractNacosMcpServerListener> listeners = pushListeners.get(mcpNameAndVersion);
+		AbstractNacosMcpServerListener listener = listeners != null ? listeners.remove(nacosMcpSubscriber) : null;
+		if (listener == null) {
+			return;
+		}
+		pushListeners.computeIfPresent(mcpNameAndVersion, (k, v) -> v.isEmpty() ? null : v);
+		AiService service = aiService;
+		if (service == null) {
+			return;
+		}
+		try {
+			String[] nameAndVersion = splitNameAndVersion(mcpNameAndVersion);
+			service.unsubscribeMcpServer(nameAndVersion[0], nameAndVersion[1], listener);
+		}
+		catch (Exception e) {
+			logger.warn("Failed to unsubscribe mcp server {}: {}", mcpNameAndVersion, e.getMessage());
+		}
+	}
+
+	/**
+	 * Stops the change polling and shuts down the Nacos AI client created for push
+	 * subscriptions.
+	 */
+	@Override
+	public void close() {
+		executorService.shutdownNow();
+		pushListeners.clear();
+		AiService service;
+		synchronized (this) {
+			service = aiService;
+			aiService = null;
+			aiServiceUnavailable = true;
+		}
+		if (service != null) {
+			try {
+				service.shutdown();
+			}
+			catch (Exception e) {
+				logger.warn("Failed to shut down Nacos AI client: {}", e.getMessage());
+			}
+		}
+	}
+
+	private AiService getAiService() {
+		if (aiService != null || aiServiceUnavailable) {
+			return aiService;
+		}
+		synchronized (this) {
+			if (aiService == null && !aiServiceUnavailable) {
+				try {
+					aiService = AiFactory.createAiService(nacosProperties);
+				}
+				catch (Exception e) {
+					aiServiceUnavailable = true;
+					logger.warn("Nacos AI client is not available, mcp server changes will be polled: {}",
+							e.getMessage());
+				}
+			}
+			return aiService;
+		}
+	}
+
 	public McpEndpointInfo selectEndpoint(McpServiceRef mcpServiceRef) throws NacosException {
 		if (mcpServiceRef == null) {
 			throw new IllegalArgumentException("mcpServiceRef must not be null");
@@ -174,6 +310,31 @@ public class NacosMcpOperationService {
 		return mcpEndpointInfo;
 	}
 
+	/**
+	 * Subscribe instance changes of the backend service referenced by an MCP server.
+	 * @param mcpServiceRef the backend service reference
+	 * @param listener the naming event listener
+	 */
+	public void subscribeService(McpServiceRef mcpServiceRef, EventListener listener) throws NacosException {
+		if (mcpServiceRef == null || listener == null) {
+			throw new IllegalArgumentException("mcpServiceRef and listener must not be null");
+		}
+		namingService.subscribe(mcpServiceRef.getServiceName(), mcpServiceRef.getGroupName(), listener);
+	}
+
+	/**
+	 * Remove a listener registered with
+	 * {@link #subscribeService(McpServiceRef, EventListener)}.
+	 * @param mcpServiceRef the backend service reference
+	 * @param listener the naming event listener
+	 */
+	public void unsubscribeService(McpServiceRef mcpServiceRef, EventListener listener) throws NacosException {
+		if (mcpServiceRef == null || listener == null) {
+			throw new IllegalArgumentException("mcpServiceRef and listener must not be null");
+		}
+		namingService.unsubscribe(mcpServiceRef.getServiceName(), mcpServiceRef.getGroupName(), listener);
+	}
+
 	public String createMcpServer(String mcpName, McpServerBasicInfo serverSpec, McpToolSpecification toolSpec,
 			McpEndpointSpec endpointSpec) throws NacosException {
 		endpointSpec.getData().put("namespaceId", this.namespace);
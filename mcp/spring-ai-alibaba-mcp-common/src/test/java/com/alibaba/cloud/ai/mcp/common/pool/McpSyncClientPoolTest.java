@@ -0,0 +1,210 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.pool;
+
+import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
+import com.alibaba.nacos.api.ai.model.mcp.McpServiceRef;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import io.modelcontextprotocol.client.McpSyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class McpSyncClientPoolTest {
+
+	private static final McpClientSessionKey KEY = new McpClientSessionKey("127.0.0.1", 8080, "/sse");
+
+	private final List<McpSyncClient> clients = new ArrayList<>();
+
+	private final McpSyncClientPoolProperties properties = new McpSyncClientPoolProperties();
+
+	private McpSyncClientPool pool;
+
+	@AfterEach
+	void close() {
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	@Test
+	void releasedSessionIsReused() {
+		pool = pool(2);
+
+		assertEquals("ok", pool.execute(KEY, client -> "ok"));
+		assertEquals("ok", pool.execute(KEY, client -> "ok"));
+
+		assertEquals(1, clients.size());
+		verify(clients.get(0)).initialize();
+		assertTrue(pool.hasIdleSession(KEY));
+		assertEquals(1, pool.getSessionCount());
+	}
+
+	@Test
+	void borrowTimesOutWhenEndpointIsExhausted() {
+		properties.setBorrowTimeout(Duration.ofMillis(50));
+		pool = pool(1);
+
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> pool.execute(KEY, outer -> pool.execute(KEY, inner -> "unreachable")));
+
+		assertTrue(e.getMessage().contains("Timed out"), e.getMessage());
+		// the outer session went back to the pool
+		assertEquals("ok", pool.execute(KEY, client -> "ok"));
+	}
+
+	@Test
+	void transportFailureClosesSession() {
+		pool = pool(1);
+
+		assertThrows(IllegalStateException.class, () -> pool.execute(KEY, client -> {
+			throw new IllegalStateException("connection reset");
+		}));
+
+		verify(clients.get(0)).close();
+		assertFalse(pool.hasIdleSession(KEY));
+		pool.execute(KEY, client -> "ok");
+		assertEquals(2, clients.size());
+	}
+
+	@Test
+	void failedInitializationClosesClientAndReleasesPermit() {
+		pool = new McpSyncClientPool(properties(1), key -> {
+			McpSyncClient client = newClient();
+			if (clients.size() == 1) {
+				when(client.initialize()).thenThrow(new IllegalStateException("handshake failed"));
+			}
+			return client;
+		});
+
+		assertThrows(IllegalStateException.class, () -> pool.execute(KEY, client -> "unreachable"));
+
+		verify(clients.get(0)).close();
+		assertEquals("ok", pool.execute(KEY, client -> "ok"));
+	}
+
+	@Test
+	void unhealthyIdleSessionIsEvicted() {
+		pool = pool(1);
+		pool.warmUp(KEY);
+		McpSyncClient client = clients.get(0);
+		when(client.ping()).thenThrow(new IllegalStateException("gone"));
+
+		pool.evictIdleSessions();
+
+		verify(client).close();
+		assertFalse(pool.hasIdleSession(KEY));
+		assertEquals(0, pool.getSessionCount());
+	}
+
+	@Test
+	void healthyIdleSessionSurvivesEviction() {
+		pool = pool(1);
+		pool.warmUp(KEY);
+
+		pool.evictIdleSessions();
+
+		verify(clients.get(0), never()).close();
+		assertTrue(pool.hasIdleSession(KEY));
+	}
+
+	@Test
+	void invalidateClosesIdleSessions() {
+		pool = pool(2);
+		pool.warmUp(KEY);
+
+		pool.invalidate("127.0.0.1", 8080);
+
+		verify(clients.get(0)).close();
+		assertFalse(pool.hasIdleSession(KEY));
+		pool.execute(KEY, client -> "ok");
+		assertEquals(2, clients.size());
+	}
+
+	@Test
+	void sessionBorrowedDuringInvalidationIsClosedOnRelease() {
+		pool = pool(1);
+
+		pool.execute(KEY, client -> {
+			pool.invalidate(KEY);
+			return "ok";
+		});
+
+		verify(clients.get(0)).close();
+		assertFalse(pool.hasIdleSession(KEY));
+	}
+
+	@Test
+	void closeUnsubscribesEndpointWatches() throws Exception {
+		pool = pool(1);
+		NacosMcpOperationService nacos = mock(NacosMcpOperationService.class);
+		McpServiceRef serviceRef = mock(McpServiceRef.class);
+		when(serviceRef.getServiceName()).thenReturn("weather");
+		when(serviceRef.getGroupName()).thenReturn("DEFAULT_GROUP");
+
+		pool.watchEndpoints(nacos, serviceRef);
+		pool.watchEndpoints(nacos, serviceRef);
+		pool.close();
+
+		ArgumentCaptor<EventListener> listener = ArgumentCaptor.forClass(EventListener.class);
+		verify(nacos).subscribeService(eq(serviceRef), listener.capture());
+		verify(nacos).unsubscribeService(serviceRef, listener.getValue());
+	}
+
+	@Test
+	void closedPoolRejectsCalls() {
+		pool = pool(1);
+		pool.warmUp(KEY);
+
+		pool.close();
+
+		verify(clients.get(0)).close();
+		assertThrows(IllegalStateException.class, () -> pool.execute(KEY, client -> "ok"));
+	}
+
+	private McpSyncClientPool pool(int maxSessionsPerEndpoint) {
+		return new McpSyncClientPool(properties(maxSessionsPerEndpoint), key -> newClient());
+	}
+
+	private McpSyncClientPoolProperties properties(int maxSessionsPerEndpoint) {
+		properties.setMaxSessionsPerEndpoint(maxSessionsPerEndpoint);
+		// eviction is driven by the tests
+		properties.setEvictionInterval(Duration.ofHours(1));
+		return properties;
+	}
+
+	private McpSyncClient newClient() {
+		McpSyncClient client = mock(McpSyncClient.class);
+		clients.add(client);
+		return client;
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.watch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class McpServicePollerTest {
+
+	private final McpWatcherProperties properties = new McpWatcherProperties();
+
+	private McpServicePoller poller;
+
+	@AfterEach
+	void close() {
+		if (poller != null) {
+			poller.close();
+		}
+	}
+
+	@Test
+	void failedLookupsAreAbsentAndNullResultsAreKept() {
+		poller = new McpServicePoller("test", properties);
+
+		Map<String, String> results = poller.fetchAll(List.of("ok", "missing", "broken"), serviceName -> {
+			if ("broken".equals(serviceName)) {
+				throw new IllegalStateException("registry unavailable");
+			}
+			return "ok".equals(serviceName) ? "found" : null;
+		});
+
+		assertEquals(2, results.size());
+		assertEquals("found", results.get("ok"));
+		assertTrue(results.containsKey("missing"));
+		assertNull(results.get("missing"));
+		assertFalse(results.containsKey("broken"));
+	}
+
+	@Test
+	void timedOutLookupIsInterrupted() throws InterruptedException {
+		properties.setServiceTimeout(Duration.ofMillis(100));
+		poller = new McpServicePoller("test", properties);
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		Map<String, String> results = poller.fetchAll(List.of("fast", "slow"), serviceName -> {
+			if ("slow".equals(serviceName)) {
+				try {
+					Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+				}
+				catch (InterruptedException e) {
+					interrupted.countDown();
+					throw e;
+				}
+			}
+			return serviceName;
+		});
+
+		assertEquals(Map.of("fast", "fast"), results);
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void queuedLookupsAreNotChargedForWaitingOnAWorker() {
+		properties.setConcurrency(1);
+		properties.setServiceTimeout(Duration.ofMillis(300));
+		poller = new McpServicePoller("test", properties);
+
+		// 每次查询 100ms，串行执行总耗时超过单个查询的超时时间
+		Map<String, String> results = poller.fetchAll(List.of("a", "b", "c", "d", "e"), serviceName -> {
+			Thread.sleep(100);
+			return serviceName;
+		});
+
+		assertEquals(5, results.size());
+	}
+
+	@Test
+	void concurrentLookupsAreBounded() {
+		properties.setConcurrency(2);
+		poller = new McpServicePoller("test", properties);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		Map<String, String> results = poller.fetchAll(List.of("a", "b", "c", "d", "e", "f"), serviceName -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(50);
+			}
+			finally {
+				running.decrementAndGet();
+			}
+			return serviceName;
+		});
+
+		assertEquals(6, results.size());
+		assertTrue(maxRunning.get() <= 2, () -> "max running: " + maxRunning.get());
+	}
+
+	@Test
+	void pollCyclesRepeatUntilClosed() throws InterruptedException {
+		properties.setJitter(0.0);
+		poller = new McpServicePoller("test", properties);
+		CountDownLatch cycles = new CountDownLatch(3);
+		AtomicInteger runs = new AtomicInteger();
+
+		poller.start(Duration.ofMillis(10), () -> {
+			runs.incrementAndGet();
+			cycles.countDown();
+			throw new IllegalStateException("cycle failures do not stop polling");
+		});
+
+		assertTrue(cycles.await(5, TimeUnit.SECONDS));
+		poller.close();
+		int afterClose = runs.get();
+		Thread.sleep(100);
+		assertTrue(runs.get() <= afterClose + 1, () -> "runs after close: " + (runs.get() - afterClose));
+	}
+
+	@Test
+	void closedPollerReturnsNoResults() {
+		poller = new McpServicePoller("test", properties);
+		poller.close();
+
+		assertTrue(poller.fetchAll(List.of("a"), serviceName -> serviceName).isEmpty());
+	}
+
+}
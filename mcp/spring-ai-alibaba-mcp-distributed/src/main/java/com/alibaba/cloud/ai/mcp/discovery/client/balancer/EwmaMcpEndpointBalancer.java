@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices on a latency cost: the decayed average latency of each sampled
+ * endpoint multiplied by its in-flight requests plus one, so a slow backend is avoided
+ * until its average recovers and a fast but busy one is not overloaded.
+ */
+public class EwmaMcpEndpointBalancer implements McpEndpointBalancer {
+
+    @Override
+    public <T> McpEndpoint<T> choose(List<McpEndpoint<T>> endpoints) {
+        int size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        McpEndpoint<T> a = endpoints.get(first);
+        McpEndpoint<T> b = endpoints.get(second);
+        return cost(b) < cost(a) ? b : a;
+    }
+
+    private static double cost(McpEndpoint<?> endpoint) {
+        return endpoint.getEwmaLatencyNanos() * (endpoint.getInFlight() + 1);
+    }
+
+}
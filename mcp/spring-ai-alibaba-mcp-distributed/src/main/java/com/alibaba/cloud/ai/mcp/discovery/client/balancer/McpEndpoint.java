@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import io.modelcontextprotocol.spec.McpError;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One backend MCP endpoint together with the call statistics the balancers rely on.
+ */
+public class McpEndpoint<T> {
+
+    private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final String key;
+
+    private final T client;
+
+    private final McpEndpointCircuitBreaker circuitBreaker;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double ewmaLatencyNanos;
+
+    private long lastSampleNanos = System.nanoTime();
+
+    public McpEndpoint(String key, T client) {
+        this(key, client, new McpEndpointCircuitBreaker(new McpEndpointCircuitBreakerProperties()));
+    }
+
+    public McpEndpoint(String key, T client, McpEndpointCircuitBreaker circuitBreaker) {
+        this.key = key;
+        this.client = client;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public T getClient() {
+        return client;
+    }
+
+    public McpEndpointCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized double getEwmaLatencyNanos() {
+        return ewmaLatencyNanos;
+    }
+
+    void onStart() {
+        inFlight.incrementAndGet();
+    }
+
+    void onComplete(long latencyNanos, Throwable error) {
+        inFlight.decrementAndGet();
+        recordLatency(latencyNanos);
+        if (isEndpointFailure(error)) {
+            circuitBreaker.onFailure();
+        }
+        else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    void onCancel() {
+        inFlight.decrementAndGet();
+        circuitBreaker.onIgnored();
+    }
+
+    /**
+     * JSON-RPC errors are answers from a live server; everything else (timeouts, broken
+     * transports, refused connections) counts against the endpoint.
+     */
+    static boolean isEndpointFailure(Throwable error) {
+        return error != null && !(error instanceof McpError);
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        long now = System.nanoTime();
+        if (ewmaLatencyNanos == 0) {
+            ewmaLatencyNanos = latencyNanos;
+        }
+        else {
+            // time-decayed average: old samples lose half their weight every ~7s
+            double weight = Math.exp(-(double) Math.max(now - lastSampleNanos, 0) / DECAY_NANOS);
+            ewmaLatencyNanos = ewmaLatencyNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastSampleNanos = now;
+    }
+
+    @Override
+    public String toString() {
+        return "McpEndpoint{key=" + key + ", inFlight=" + inFlight.get() + ", state=" + circuitBreaker.getState()
+                + "}";
+    }
+
+}
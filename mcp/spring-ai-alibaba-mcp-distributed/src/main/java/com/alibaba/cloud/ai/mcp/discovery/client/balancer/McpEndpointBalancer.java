@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import java.util.List;
+
+/**
+ * Strategy used by the distributed MCP clients to pick the backend endpoint that serves
+ * the next request.
+ */
+public interface McpEndpointBalancer {
+
+    String ROUND_ROBIN = "round-robin";
+
+    String LEAST_REQUESTS = "least-requests";
+
+    String EWMA = "ewma";
+
+    /**
+     * Choose one endpoint out of a non-empty, immutable snapshot.
+     * @param endpoints the candidate endpoints
+     * @return the chosen endpoint
+     */
+    <T> McpEndpoint<T> choose(List<McpEndpoint<T>> endpoints);
+
+    /**
+     * Create one of the built-in strategies by name.
+     * @param name {@value #ROUND_ROBIN}, {@value #LEAST_REQUESTS} or {@value #EWMA}
+     * @return the balancer
+     */
+    static McpEndpointBalancer of(String name) {
+        if (name == null || name.isBlank()) {
+            return new RoundRobinMcpEndpointBalancer();
+        }
+        return switch (name.trim().toLowerCase()) {
+            case ROUND_ROBIN -> new RoundRobinMcpEndpointBalancer();
+            case LEAST_REQUESTS -> new LeastRequestsMcpEndpointBalancer();
+            case EWMA -> new EwmaMcpEndpointBalancer();
+            default -> throw new IllegalArgumentException("Unknown MCP endpoint balancer: " + name);
+        };
+    }
+
+}
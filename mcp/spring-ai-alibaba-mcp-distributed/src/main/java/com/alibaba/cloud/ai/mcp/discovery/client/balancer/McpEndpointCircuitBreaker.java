@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+/**
+ * Per-endpoint breaker combining a consecutive-failure trip with an error rate over a
+ * count-based sliding window. An open breaker rejects calls until {@code openDuration}
+ * has elapsed and then lets a bounded number of half-open probes through; the first probe
+ * result decides whether the endpoint is closed again or ejected for another period.
+ */
+public class McpEndpointCircuitBreaker {
+
+    public enum State {
+
+        CLOSED, OPEN, HALF_OPEN
+
+    }
+
+    private final McpEndpointCircuitBreakerProperties properties;
+
+    private final boolean[] window;
+
+    private int windowIndex;
+
+    private int windowCalls;
+
+    private int windowFailures;
+
+    private int consecutiveFailures;
+
+    private int probesInFlight;
+
+    private long openedAtNanos;
+
+    private volatile State state = State.CLOSED;
+
+    public McpEndpointCircuitBreaker(McpEndpointCircuitBreakerProperties properties) {
+        this.properties = properties;
+        this.window = new boolean[Math.max(properties.getSlidingWindowSize(), 1)];
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Whether a call could currently be routed to this endpoint, without reserving it.
+     */
+    public boolean isCallPermitted() {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        State current = this.state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            return switch (this.state) {
+                case CLOSED -> true;
+                case OPEN -> openExpired();
+                case HALF_OPEN -> probesInFlight < properties.getHalfOpenProbes();
+            };
+        }
+    }
+
+    /**
+     * Reserve a call on this endpoint, moving an expired open breaker to half-open.
+     * @return false if the endpoint is ejected or out of half-open probes
+     */
+    public boolean tryAcquirePermission() {
+        if (!properties.isEnabled() || this.state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            switch (this.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (!openExpired()) {
+                        return false;
+                    }
+                    this.state = State.HALF_OPEN;
+                    this.probesInFlight = 1;
+                    return true;
+                default:
+                    if (probesInFlight >= properties.getHalfOpenProbes()) {
+                        return false;
+                    }
+                    probesInFlight++;
+                    return true;
+            }
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (this.state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        consecutiveFailures = 0;
+        record(false);
+    }
+
+    /**
+     * Release a reservation whose call ended without a verdict, e.g. a cancelled request.
+     */
+    public synchronized void onIgnored() {
+        if (this.state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (this.state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (this.state == State.OPEN) {
+            // late result of a call started before the breaker opened
+            return;
+        }
+        consecutiveFailures++;
+        record(true);
+        if (consecutiveFailures >= properties.getConsecutiveFailures() || (windowCalls >= properties
+            .getMinimumNumberOfCalls() && windowFailures >= properties.getFailureRateThreshold() * windowCalls)) {
+            open();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        }
+        else {
+            windowCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private boolean openExpired() {
+        return System.nanoTime() - openedAtNanos >= properties.getOpenDuration().toNanos();
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openedAtNanos = System.nanoTime();
+        this.probesInFlight = 0;
+    }
+
+    private void reset() {
+        this.state = State.CLOSED;
+        this.probesInFlight = 0;
+        this.consecutiveFailures = 0;
+        this.windowCalls = 0;
+        this.windowFailures = 0;
+        this.windowIndex = 0;
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Outlier ejection settings applied to every backend endpoint of a distributed MCP
+ * client.
+ */
+@ConfigurationProperties(McpEndpointCircuitBreakerProperties.CONFIG_PREFIX)
+public class McpEndpointCircuitBreakerProperties {
+
+    public static final String CONFIG_PREFIX = "spring.ai.alibaba.mcp.nacos.client.circuit-breaker";
+
+    /**
+     * Whether failing endpoints are ejected from load balancing. When every endpoint of a
+     * server is ejected, calls are still routed to the ejected endpoints.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Consecutive failures that open the breaker regardless of the error rate.
+     */
+    private int consecutiveFailures = 5;
+
+    /**
+     * Error rate over the sliding window that opens the breaker, between 0 and 1.
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * Number of most recent calls the error rate is computed over.
+     */
+    private int slidingWindowSize = 20;
+
+    /**
+     * Calls needed in the window before the error rate is evaluated.
+     */
+    private int minimumNumberOfCalls = 10;
+
+    /**
+     * How long an ejected endpoint is skipped before half-open probes are let through.
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Concurrent probe calls allowed while half-open.
+     */
+    private int halfOpenProbes = 1;
+
+    /**
+     * Whether idempotent calls (list and read operations) that fail on one endpoint are
+     * retried on another one.
+     */
+    private boolean retryIdempotentCalls = false;
+
+    /**
+     * Extra attempts on other endpoints for idempotent calls.
+     */
+    private int maxRetries = 1;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public void setConsecutiveFailures(int consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    public boolean isRetryIdempotentCalls() {
+        return retryIdempotentCalls;
+    }
+
+    public void setRetryIdempotentCalls(boolean retryIdempotentCalls) {
+        this.retryIdempotentCalls = retryIdempotentCalls;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The set of live clients of one distributed MCP server, keyed by endpoint id.
+ * <p>
+ * Reads go through an immutable snapshot that is rebuilt only when the endpoint set
+ * changes, so selecting a client on the request path never copies the map. Calls made
+ * through {@link #execute(Function)} and {@link #executeAsync(Function)} feed the
+ * per-endpoint in-flight and latency statistics used by {@link McpEndpointBalancer} and
+ * the {@link McpEndpointCircuitBreaker} that ejects failing endpoints.
+ * <p>
+ * When every endpoint is ejected the group does not fail the call: it balances over all
+ * endpoints again, ejected ones included, and routes the call to one of them without a
+ * breaker permission. Such calls are not half-open probes, so while the whole server is
+ * down traffic keeps reaching backends whose breakers are open.
+ */
+public class McpEndpointGroup<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpEndpointGroup.class);
+
+    public static final String CIRCUIT_STATE_METRIC = "mcp.client.endpoint.circuit.state";
+
+    public static final String IN_FLIGHT_METRIC = "mcp.client.endpoint.in.flight";
+
+    private final String serverName;
+
+    private final McpEndpointBalancer balancer;
+
+    private final McpEndpointCircuitBreakerProperties circuitBreakerProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, McpEndpoint<T>> endpoints = new LinkedHashMap<>();
+
+    private final Map<String, List<Meter>> endpointMeters = new LinkedHashMap<>();
+
+    private volatile List<McpEndpoint<T>> snapshot = List.of();
+
+    public McpEndpointGroup(String serverName, McpEndpointBalancer balancer) {
+        this(serverName, balancer, new McpEndpointCircuitBreakerProperties(), null);
+    }
+
+    public McpEndpointGroup(String serverName, McpEndpointBalancer balancer,
+            McpEndpointCircuitBreakerProperties circuitBreakerProperties, MeterRegistry meterRegistry) {
+        Assert.notNull(serverName, "serverName cannot be null");
+        Assert.notNull(balancer, "balancer cannot be null");
+        Assert.notNull(circuitBreakerProperties, "circuitBreakerProperties cannot be null");
+        this.serverName = serverName;
+        this.balancer = balancer;
+        this.circuitBreakerProperties = circuitBreakerProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Pick an endpoint for a caller that talks to the client directly. Ejected endpoints
+     * are skipped but nothing is reserved, so such calls do not count as half-open probes.
+     * If every endpoint is ejected an ejected one is returned.
+     */
+    public McpEndpoint<T> choose() {
+        List<McpEndpoint<T>> current = currentSnapshot();
+        List<McpEndpoint<T>> candidates = permitted(current, List.of());
+        return balancer.choose(candidates.isEmpty() ? current : candidates);
+    }
+
+    public <R> R execute(Function<T, R> call) {
+        return invoke(acquire(List.of()), call);
+    }
+
+    /**
+     * Like {@link #execute(Function)}, but a call that fails because of its endpoint is
+     * retried on other endpoints when {@code retryIdempotentCalls} is enabled. Only use
+     * for requests without side effects.
+     */
+    public <R> R executeIdempotent(Function<T, R> call) {
+        if (!circuitBreakerProperties.isRetryIdempotentCalls()) {
+            return execute(call);
+        }
+        List<McpEndpoint<T>> tried = new ArrayList<>();
+        McpEndpoint<T> endpoint = acquire(tried);
+        while (true) {
+            try {
+                return invoke(endpoint, call);
+            }
+            catch (RuntimeException e) {
+                tried.add(endpoint);
+                McpEndpoint<T> next = McpEndpoint.isEndpointFailure(e)
+                        && tried.size() <= circuitBreakerProperties.getMaxRetries() ? acquire(tried) : null;
+                if (next == null) {
+                    throw e;
+                }
+                logger.warn("[Nacos Mcp Client] Call to {} of {} failed, retrying on {}: {}", endpoint.getKey(),
+                        serverName, next.getKey(), e.getMessage());
+                endpoint = next;
+            }
+        }
+    }
+
+    public <R> Mono<R> executeAsync(Function<T, Mono<R>> call) {
+        return Mono.defer(() -> invokeAsync(acquire(List.of()), call));
+    }
+
+    /**
+     * Reactive counterpart of {@link #executeIdempotent(Function)}.
+     */
+    public <R> Mono<R> executeAsyncIdempotent(Function<T, Mono<R>> call) {
+        if (!circuitBreakerProperties.isRetryIdempotentCalls()) {
+            return executeAsync(call);
+        }
+        return Mono.defer(() -> executeAsyncIdempotent(call, acquire(List.of()), new ArrayList<>()));
+    }
+
+    private <R> Mono<R> executeAsyncIdempotent(Function<T, Mono<R>> call, McpEndpoint<T> endpoint,
+            List<McpEndpoint<T>> tried) {
+        return invokeAsync(endpoint, call).onErrorResume(e -> {
+            tried.add(endpoint);
+            McpEndpoint<T> next = McpEndpoint.isEndpointFailure(e)
+                    && tried.size() <= circuitBreakerProperties.getMaxRetries() ? acquire(tried) : null;
+            if (next == null) {
+                return Mono.error(e);
+            }
+            logger.warn("[Nacos Mcp Client] Call to {} of {} failed, retrying on {}: {}", endpoint.getKey(),
+                    serverName, next.getKey(), e.getMessage());
+            return executeAsyncIdempotent(call, next, tried);
+        });
+    }
+
+    private <R> R invoke(McpEndpoint<T> endpoint, Function<T, R> call) {
+        long start = System.nanoTime();
+        endpoint.onStart();
+        R result;
+        try {
+            result = call.apply(endpoint.getClient());
+        }
+        catch (RuntimeException e) {
+            endpoint.onComplete(System.nanoTime() - start, e);
+            throw e;
+        }
+        endpoint.onComplete(System.nanoTime() - start, null);
+        return result;
+    }
+
+    private <R> Mono<R> invokeAsync(McpEndpoint<T> endpoint, Function<T, Mono<R>> call) {
+        long start = System.nanoTime();
+        endpoint.onStart();
+        Mono<R> mono;
+        try {
+            mono = call.apply(endpoint.getClient());
+        }
+        catch (RuntimeException e) {
+            endpoint.onComplete(System.nanoTime() - start, e);
+            return Mono.error(e);
+        }
+        return mono.doOnSuccess(result -> endpoint.onComplete(System.nanoTime() - start, null))
+            .doOnError(e -> endpoint.onComplete(System.nanoTime() - start, e))
+            .doOnCancel(endpoint::onCancel);
+    }
+
+    /**
+     * Choose an endpoint whose breaker admits the call and reserve it. Returns
+     * {@code null} only when {@code excluded} already covers every endpoint.
+     */
+    private McpEndpoint<T> acquire(List<McpEndpoint<T>> excluded) {
+        List<McpEndpoint<T>> current = currentSnapshot();
+        List<McpEndpoint<T>> candidates = permitted(current, excluded);
+        while (!candidates.isEmpty()) {
+            McpEndpoint<T> endpoint = balancer.choose(candidates);
+            if (endpoint.getCircuitBreaker().tryAcquirePermission()) {
+                return endpoint;
+            }
+            List<McpEndpoint<T>> remaining = new ArrayList<>(candidates);
+            remaining.remove(endpoint);
+            candidates = remaining;
+        }
+        // every remaining endpoint is ejected, keep serving instead of failing all calls:
+        // the call goes to an ejected endpoint without reserving a probe
+        List<McpEndpoint<T>> fallback = current;
+        if (!excluded.isEmpty()) {
+            fallback = new ArrayList<>(current);
+            fallback.removeAll(excluded);
+            if (fallback.isEmpty()) {
+                return null;
+            }
+        }
+        return balancer.choose(fallback);
+    }
+
+    private List<McpEndpoint<T>> permitted(List<McpEndpoint<T>> current, List<McpEndpoint<T>> excluded) {
+        boolean allPermitted = excluded.isEmpty();
+        for (int i = 0; allPermitted && i < current.size(); i++) {
+            allPermitted = current.get(i).getCircuitBreaker().isCallPermitted();
+        }
+        if (allPermitted) {
+            return current;
+        }
+        List<McpEndpoint<T>> candidates = new ArrayList<>(current.size());
+        for (McpEndpoint<T> endpoint : current) {
+            if (!excluded.contains(endpoint) && endpoint.getCircuitBreaker().isCallPermitted()) {
+                candidates.add(endpoint);
+            }
+        }
+        return candidates;
+    }
+
+    private List<McpEndpoint<T>> currentSnapshot() {
+        List<McpEndpoint<T>> current = this.snapshot;
+        if (current.isEmpty()) {
+            throw new IllegalStateException("No MCP client available, name: " + serverName);
+        }
+        return current;
+    }
+
+    public List<McpEndpoint<T>> getEndpoints() {
+        return this.snapshot;
+    }
+
+    public List<T> getClients() {
+        List<McpEndpoint<T>> current = this.snapshot;
+        List<T> clients = new ArrayList<>(current.size());
+        for (McpEndpoint<T> endpoint : current) {
+            clients.add(endpoint.getClient());
+        }
+        return Collections.unmodifiableList(clients);
+    }
+
+    public Map<String, T> asMap() {
+        Map<String, T> map = new LinkedHashMap<>();
+        for (McpEndpoint<T> endpoint : this.snapshot) {
+            map.put(endpoint.getKey(), endpoint.getClient());
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    public boolean isEmpty() {
+        return this.snapshot.isEmpty();
+    }
+
+    public synchronized boolean putIfAbsent(String key, T client) {
+        if (endpoints.containsKey(key)) {
+            return false;
+        }
+        addEndpoint(key, client);
+        refreshSnapshot();
+        return true;
+    }
+
+    public synchronized T remove(String key) {
+        McpEndpoint<T> removed = endpoints.remove(key);
+        if (removed == null) {
+            return null;
+        }
+        removeMeters(key);
+        refreshSnapshot();
+        return removed.getClient();
+    }
+
+    /**
+     * Atomically swap the whole endpoint set.
+     * @param clients the new clients keyed by endpoint id
+     * @return the clients that were replaced
+     */
+    public synchronized List<T> replaceAll(Map<String, T> clients) {
+        List<T> previous = new ArrayList<>(endpoints.size());
+        for (McpEndpoint<T> endpoint : endpoints.values()) {
+            previous.add(endpoint.getClient());
+            removeMeters(endpoint.getKey());
+        }
+        endpoints.clear();
+        clients.forEach(this::addEndpoint);
+        refreshSnapshot();
+        return previous;
+    }
+
+    /**
+     * Add, replace and remove endpoints in a single snapshot swap.
+     * @param upserts clients to add, replacing any existing client under the same key
+     * @param removals keys to remove
+     * @return the endpoints taken out of rotation, still open
+     */
+    public synchronized List<McpEndpoint<T>> apply(Map<String, T> upserts, Collection<String> removals) {
+        List<McpEndpoint<T>> displaced = new ArrayList<>();
+        for (String key : removals) {
+            McpEndpoint<T> removed = endpoints.remove(key);
+            if (removed != null) {
+                removeMeters(key);
+                displaced.add(removed);
+            }
+        }
+        upserts.forEach((key, client) -> {
+            McpEndpoint<T> replaced = endpoints.get(key);
+            if (replaced != null) {
+                removeMeters(key);
+                displaced.add(replaced);
+            }
+            addEndpoint(key, client);
+        });
+        refreshSnapshot();
+        return displaced;
+    }
+
+    private void addEndpoint(String key, T client) {
+        McpEndpoint<T> endpoint = new McpEndpoint<>(key, client,
+                new McpEndpointCircuitBreaker(circuitBreakerProperties));
+        endpoints.put(key, endpoint);
+        if (meterRegistry != null) {
+            List<Meter> meters = new ArrayList<>(2);
+            meters.add(Gauge.builder(CIRCUIT_STATE_METRIC, endpoint, e -> e.getCircuitBreaker().getState().ordinal())
+                .description("Circuit breaker state of an MCP endpoint: 0 closed, 1 open, 2 half-open")
+                .tag("server", serverName)
+                .tag("endpoint", key)
+                .register(meterRegistry));
+            meters.add(Gauge.builder(IN_FLIGHT_METRIC, endpoint, McpEndpoint::getInFlight)
+                .description("Requests currently in flight to an MCP endpoint")
+                .tag("server", serverName)
+                .tag("endpoint", key)
+                .register(meterRegistry));
+            endpointMeters.put(key, meters);
+        }
+    }
+
+    private void removeMeters(String key) {
+        List<Meter> meters = endpointMeters.remove(key);
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    private void refreshSnapshot() {
+        this.snapshot = List.copyOf(endpoints.values());
+    }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Applies endpoint lists reported by Nacos to a {@link McpEndpointGroup} without
+ * blocking the subscription thread.
+ * <p>
+ * Requests are coalesced so that only the latest desired state is reconciled, one
+ * reconciliation at a time per group. New clients are created and initialized in
+ * parallel, then all additions and removals are swapped into the group at once. Removed
+ * clients stay open until their in-flight calls finish (or {@code drainTimeout} elapses)
+ * and are closed in the background. Endpoints whose warm-up failed are simply missing
+ * from the group and get picked up again by the next reconciliation.
+ */
+public class McpEndpointReconciler<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpEndpointReconciler.class);
+
+    public static final String RECONCILE_LAG_METRIC = "mcp.client.endpoint.reconcile.lag";
+
+    public static final String WARMUP_METRIC = "mcp.client.endpoint.warmup";
+
+    private static final Duration DRAIN_POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final String serverName;
+
+    private final McpEndpointGroup<T> group;
+
+    private final Consumer<T> closer;
+
+    private final int warmUpConcurrency;
+
+    private final Duration drainTimeout;
+
+    private final Timer reconcileLagTimer;
+
+    private final Timer warmUpTimer;
+
+    private final AtomicReference<Request<T>> pending = new AtomicReference<>();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Object applyLock = new Object();
+
+    private final List<Runnable> changeListeners = new ArrayList<>();
+
+    public McpEndpointReconciler(String serverName, McpEndpointGroup<T> group, Consumer<T> closer,
+            int warmUpConcurrency, Duration drainTimeout, MeterRegistry meterRegistry) {
+        Assert.notNull(serverName, "serverName cannot be null");
+        Assert.notNull(group, "group cannot be null");
+        Assert.notNull(closer, "closer cannot be null");
+        Assert.isTrue(warmUpConcurrency > 0, "warmUpConcurrency must be positive");
+        Assert.notNull(drainTimeout, "drainTimeout cannot be null");
+        this.serverName = serverName;
+        this.group = group;
+        this.closer = closer;
+        this.warmUpConcurrency = warmUpConcurrency;
+        this.drainTimeout = drainTimeout;
+        this.reconcileLagTimer = meterRegistry == null ? null : Timer.builder(RECONCILE_LAG_METRIC)
+            .description("Time from an endpoint change being reported to it being applied")
+            .tag("server", serverName)
+            .register(meterRegistry);
+        this.warmUpTimer = meterRegistry == null ? null : Timer.builder(WARMUP_METRIC)
+            .description("Time to create and initialize a client for a new MCP endpoint")
+            .tag("server", serverName)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Register a callback run after a reconciliation changed the endpoint set.
+     */
+    public synchronized void addChangeListener(Runnable listener) {
+        this.changeListeners.add(listener);
+    }
+
+    /**
+     * Reconcile in the calling thread, used for the initial endpoint list.
+     * <p>
+     * Blocks until every new client has been created and initialized, at most
+     * {@code warmUpConcurrency} at a time, so it must not be called from a non-blocking
+     * thread. The wait is only as bounded as the client factories are: a factory that
+     * hangs holds the caller up as well. Removed clients are still drained and closed in
+     * the background. Runs one at a time with queued {@link #reconcile} requests.
+     * @param desired client factories keyed by endpoint id
+     */
+    public void reconcileNow(Map<String, Supplier<T>> desired) {
+        apply(new Request<>(desired, false, System.nanoTime()));
+    }
+
+    /**
+     * Queue a reconciliation and return immediately.
+     * @param desired client factories keyed by endpoint id
+     * @param replaceExisting whether clients of endpoints that stay must be recreated
+     * too, e.g. because the server version changed
+     */
+    public void reconcile(Map<String, Supplier<T>> desired, boolean replaceExisting) {
+        pending.accumulateAndGet(new Request<>(desired, replaceExisting, System.nanoTime()),
+                (previous, next) -> previous == null ? next : previous.merge(next));
+        if (running.compareAndSet(false, true)) {
+            Schedulers.boundedElastic().schedule(this::drainRequests);
+        }
+    }
+
+    private void drainRequests() {
+        while (true) {
+            Request<T> request = pending.getAndSet(null);
+            if (request == null) {
+                running.set(false);
+                // a request may have been queued between the poll and the flag reset
+                if (pending.get() == null || !running.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                apply(request);
+            }
+            catch (Exception e) {
+                logger.error("[Nacos Mcp Client] Failed to reconcile endpoints of {}", serverName, e);
+            }
+        }
+    }
+
+    private void apply(Request<T> request) {
+        synchronized (applyLock) {
+            applyLocked(request);
+        }
+    }
+
+    private void applyLocked(Request<T> request) {
+        Map<String, T> current = group.asMap();
+        Set<String> toAdd = new HashSet<>();
+        for (String key : request.desired.keySet()) {
+            if (request.replaceExisting || !current.containsKey(key)) {
+                toAdd.add(key);
+            }
+        }
+        Set<String> toRemove = new HashSet<>();
+        for (String key : current.keySet()) {
+            if (!request.desired.containsKey(key) || request.replaceExisting) {
+                toRemove.add(key);
+            }
+        }
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return;
+        }
+        if (!toAdd.isEmpty()) {
+            logger.info("[Nacos Mcp Client] Mcp server {} endpoints changed, endpoints need to add {}", serverName,
+                    toAdd);
+        }
+        Map<String, T> warmed = warmUp(request.desired, toAdd);
+        // keep the old client of an endpoint whose replacement could not be started
+        toRemove.removeIf(key -> request.desired.containsKey(key) && !warmed.containsKey(key));
+        if (!toRemove.isEmpty()) {
+            logger.info("[Nacos Mcp Client] Mcp server {} endpoints changed, endpoints need to remove {}", serverName,
+                    toRemove);
+        }
+        List<McpEndpoint<T>> displaced = group.apply(warmed, toRemove);
+        if (reconcileLagTimer != null) {
+            reconcileLagTimer.record(System.nanoTime() - request.receivedNanos, TimeUnit.NANOSECONDS);
+        }
+        for (McpEndpoint<T> endpoint : displaced) {
+            drainAndClose(endpoint);
+        }
+        if (!warmed.isEmpty() || !displaced.isEmpty()) {
+            notifyChanged();
+        }
+    }
+
+    private Map<String, T> warmUp(Map<String, Supplier<T>> desired, Set<String> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, T> warmed = Flux.fromIterable(keys)
+            .flatMap(key -> Mono.fromCallable(() -> {
+                long start = System.nanoTime();
+                T client = desired.get(key).get();
+                if (warmUpTimer != null) {
+                    warmUpTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                return Map.entry(key, client);
+            }).subscribeOn(Schedulers.boundedElastic()).onErrorResume(e -> {
+                logger.warn("[Nacos Mcp Client] Failed to start client for endpoint {} of {}", key, serverName, e);
+                return Mono.empty();
+            }), warmUpConcurrency)
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+            .block();
+        return warmed == null ? Map.of() : warmed;
+    }
+
+    private void drainAndClose(McpEndpoint<T> endpoint) {
+        Flux.interval(Duration.ZERO, DRAIN_POLL_INTERVAL)
+            .filter(tick -> endpoint.getInFlight() == 0)
+            .next()
+            .timeout(drainTimeout, Mono.just(-1L))
+            .publishOn(Schedulers.boundedElastic())
+            .subscribe(tick -> {
+                if (tick < 0) {
+                    logger.warn("[Nacos Mcp Client] Closing endpoint {} of {} with {} calls still in flight",
+                            endpoint.getKey(), serverName, endpoint.getInFlight());
+                }
+                try {
+                    closer.accept(endpoint.getClient());
+                    logger.info("[Nacos Mcp Client] Removed endpoint {} of {}", endpoint.getKey(), serverName);
+                }
+                catch (Exception e) {
+                    logger.warn("[Nacos Mcp Client] Failed to close endpoint {} of {}", endpoint.getKey(), serverName,
+                            e);
+                }
+            });
+    }
+
+    private void notifyChanged() {
+        List<Runnable> listeners;
+        synchronized (this) {
+            listeners = List.copyOf(changeListeners);
+        }
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            }
+            catch (Exception e) {
+                logger.warn("[Nacos Mcp Client] Endpoint change listener of {} failed", serverName, e);
+            }
+        }
+    }
+
+    private record Request<T>(Map<String, Supplier<T>> desired, boolean replaceExisting, long receivedNanos) {
+
+        private Request<T> merge(Request<T> next) {
+            // a pending full replacement must survive being superseded by a plain update
+            return new Request<>(next.desired, replaceExisting || next.replaceExisting,
+                    Math.min(receivedNanos, next.receivedNanos));
+        }
+
+    }
+
+}
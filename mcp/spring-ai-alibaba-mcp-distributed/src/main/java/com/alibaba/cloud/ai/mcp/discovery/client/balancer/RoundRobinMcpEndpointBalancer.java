@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out endpoints in turn, ignoring load and latency.
+ */
+public class RoundRobinMcpEndpointBalancer implements McpEndpointBalancer {
+
+    private final AtomicInteger index = new AtomicInteger(0);
+
+    @Override
+    public <T> McpEndpoint<T> choose(List<McpEndpoint<T>> endpoints) {
+        return endpoints.get(Math.floorMod(index.getAndIncrement(), endpoints.size()));
+    }
+
+}
@@ -19,32 +19,68 @@ package com.alibaba.cloud.ai.mcp.discovery.client.tool;
 import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedAsyncMcpClient;
 import io.modelcontextprotocol.client.McpAsyncClient;
 import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.support.ToolUtils;
 import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiPredicate;
 
 /**
+ * Tool callbacks are listed once and cached until a server reports a change through
+ * {@link DistributedAsyncMcpClient#addToolsChangeListener(Runnable)}; only the servers
+ * that changed are listed again, concurrently and bounded by {@code listToolsTimeout}.
+ * A server that fails or times out is left out of the result and retried on the next
+ * call.
+ *
  * @author yingzi
  * @since 2025/10/25
  */
 
 public class DistributedAsyncMcpToolCallbackProvider implements ToolCallbackProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(DistributedAsyncMcpToolCallbackProvider.class);
+
+    public static final Duration DEFAULT_LIST_TOOLS_TIMEOUT = Duration.ofSeconds(30);
+
     private final List<DistributedAsyncMcpClient> mcpClients;
 
     private final BiPredicate<McpAsyncClient, McpSchema.Tool> toolFilter;
 
-    public DistributedAsyncMcpToolCallbackProvider(BiPredicate<McpAsyncClient, McpSchema.Tool> toolFilter, List<DistributedAsyncMcpClient> mcpClients) {
+    private final Duration listToolsTimeout;
+
+    /**
+     * Listed callbacks per server and their merged array, replaced as a whole so that an
+     * invalidation cannot interleave with publishing a listing.
+     */
+    private final AtomicReference<CallbackState> state = new AtomicReference<>(
+            new CallbackState(Map.of(), null));
+
+    public DistributedAsyncMcpToolCallbackProvider(BiPredicate<McpAsyncClient, McpSchema.Tool> toolFilter,
+            List<DistributedAsyncMcpClient> mcpClients, Duration listToolsTimeout) {
         Assert.notNull(mcpClients, "mcpClients cannot be null");
         Assert.notNull(toolFilter, "toolFilter cannot be null");
+        Assert.notNull(listToolsTimeout, "listToolsTimeout cannot be null");
         this.mcpClients = mcpClients;
         this.toolFilter = toolFilter;
+        this.listToolsTimeout = listToolsTimeout;
+        for (DistributedAsyncMcpClient mcpClient : mcpClients) {
+            mcpClient.addToolsChangeListener(() -> invalidate(mcpClient));
+        }
+    }
+
+    public DistributedAsyncMcpToolCallbackProvider(BiPredicate<McpAsyncClient, McpSchema.Tool> toolFilter, List<DistributedAsyncMcpClient> mcpClients) {
+        this(toolFilter, mcpClients, DEFAULT_LIST_TOOLS_TIMEOUT);
     }
 
     public DistributedAsyncMcpToolCallbackProvider(List<DistributedAsyncMcpClient> mcpClients) {
@@ -53,25 +89,80 @@ public class DistributedAsyncMcpToolCallbackProvider implements ToolCallbackProv
 
     @Override
     public ToolCallback[] getToolCallbacks() {
-        List<ToolCallback> toolCallbackList = new ArrayList();
-        Iterator var2 = this.mcpClients.iterator();
-
-        while (var2.hasNext()) {
-            DistributedAsyncMcpClient mcpClient = (DistributedAsyncMcpClient) var2.next();
-            ToolCallback[] toolCallbacks = (ToolCallback[]) mcpClient.listTools().map((response) -> {
-                return (ToolCallback[]) response.tools().stream().filter((tool) -> {
-                    return this.toolFilter.test(mcpClient.getMcpAsyncClient(), tool);
-                }).map((tool) -> {
-                    return new DistributedAsyncMcpToolCallback(mcpClient, tool);
-                }).toArray((x$0) -> {
-                    return new ToolCallback[x$0];
-                });
-            }).block();
-            this.validateToolCallbacks(toolCallbacks);
-            toolCallbackList.addAll(List.of(toolCallbacks));
+        ToolCallback[] cached = this.state.get().toolCallbacks();
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            CallbackState current = this.state.get();
+            if (current.toolCallbacks() != null) {
+                return current.toolCallbacks();
+            }
+            List<DistributedAsyncMcpClient> missing = mcpClients.stream()
+                    .filter(mcpClient -> !current.serverToolCallbacks().containsKey(mcpClient))
+                    .toList();
+            Map<DistributedAsyncMcpClient, List<ToolCallback>> loaded = listToolCallbacks(missing);
+
+            List<ToolCallback> toolCallbackList = new ArrayList<>();
+            for (DistributedAsyncMcpClient mcpClient : mcpClients) {
+                List<ToolCallback> callbacks = current.serverToolCallbacks().get(mcpClient);
+                if (callbacks == null) {
+                    callbacks = loaded.getOrDefault(mcpClient, List.of());
+                }
+                toolCallbackList.addAll(callbacks);
+            }
+            ToolCallback[] array = toolCallbackList.toArray(new ToolCallback[0]);
+            this.validateToolCallbacks(array);
+
+            // results listed while a change notification arrived may already be stale, the
+            // swap fails then and the next call lists the changed server again
+            Map<DistributedAsyncMcpClient, List<ToolCallback>> merged = new HashMap<>(current.serverToolCallbacks());
+            merged.putAll(loaded);
+            ToolCallback[] complete = (loaded.size() == missing.size()) ? array : null;
+            this.state.compareAndSet(current, new CallbackState(Map.copyOf(merged), complete));
+            return array;
         }
+    }
 
-        return (ToolCallback[]) toolCallbackList.toArray(new ToolCallback[0]);
+    /**
+     * Drop the cached callbacks of {@code mcpClient}; the next
+     * {@link #getToolCallbacks()} lists its tools again.
+     */
+    public void invalidate(DistributedAsyncMcpClient mcpClient) {
+        this.state.updateAndGet(current -> {
+            Map<DistributedAsyncMcpClient, List<ToolCallback>> remaining = new HashMap<>(current.serverToolCallbacks());
+            remaining.remove(mcpClient);
+            return new CallbackState(Map.copyOf(remaining), null);
+        });
+        logger.debug("Tool callbacks of mcp server {} invalidated", mcpClient.getServerName());
+    }
+
+    private Map<DistributedAsyncMcpClient, List<ToolCallback>> listToolCallbacks(
+            List<DistributedAsyncMcpClient> clients) {
+        if (clients.isEmpty()) {
+            return Map.of();
+        }
+        Map<DistributedAsyncMcpClient, List<ToolCallback>> loaded = Flux.fromIterable(clients)
+                .flatMap(mcpClient -> toToolCallbacks(mcpClient)
+                        .timeout(listToolsTimeout)
+                        .map(callbacks -> Map.entry(mcpClient, callbacks))
+                        .onErrorResume(e -> {
+                            logger.warn("Failed to list tools of mcp server {}, skipping it: {}",
+                                    mcpClient.getServerName(), e.toString());
+                            return Mono.empty();
+                        }))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+        return loaded == null ? Map.of() : loaded;
+    }
+
+    private Mono<List<ToolCallback>> toToolCallbacks(DistributedAsyncMcpClient mcpClient) {
+        return mcpClient.listTools()
+                .map(response -> response.tools()
+                        .stream()
+                        .filter(tool -> this.toolFilter.test(mcpClient.getMcpAsyncClient(), tool))
+                        .<ToolCallback>map(tool -> new DistributedAsyncMcpToolCallback(mcpClient, tool))
+                        .toList());
     }
 
     private void validateToolCallbacks(ToolCallback[] toolCallbacks) {
@@ -81,4 +172,13 @@ public class DistributedAsyncMcpToolCallbackProvider implements ToolCallbackProv
                     "Multiple tools with the same name (%s)".formatted(String.join(", ", duplicateToolNames)));
         }
     }
+
+    /**
+     * @param toolCallbacks merged callbacks of all servers, {@code null} until every
+     * server has been listed since the last invalidation
+     */
+    private record CallbackState(Map<DistributedAsyncMcpClient, List<ToolCallback>> serverToolCallbacks,
+            ToolCallback[] toolCallbacks) {
+    }
+
 }
@@ -19,31 +19,69 @@ package com.alibaba.cloud.ai.mcp.discovery.client.tool;
 import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedSyncMcpClient;
 import io.modelcontextprotocol.client.McpSyncClient;
 import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.support.ToolUtils;
 import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiPredicate;
 
 /**
+ * Tool callbacks are listed once and cached until a server reports a change through
+ * {@link DistributedSyncMcpClient#addToolsChangeListener(Runnable)}; only the servers
+ * that changed are listed again, concurrently and bounded by {@code listToolsTimeout}.
+ * A server that fails or times out is left out of the result and retried on the next
+ * call.
+ *
  * @author yingzi
  * @since 2025/10/25
  */
 
 public class DistributedSyncMcpToolCallbackProvider implements ToolCallbackProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(DistributedSyncMcpToolCallbackProvider.class);
+
+    public static final Duration DEFAULT_LIST_TOOLS_TIMEOUT = Duration.ofSeconds(30);
+
     private final List<DistributedSyncMcpClient> mcpClients;
 
     private final BiPredicate<McpSyncClient, McpSchema.Tool> toolFilter;
 
-    public DistributedSyncMcpToolCallbackProvider(BiPredicate<McpSyncClient, McpSchema.Tool> toolFilter, List<DistributedSyncMcpClient> mcpClients) {
+    private final Duration listToolsTimeout;
+
+    /**
+     * Listed callbacks per server and their merged array, replaced as a whole so that an
+     * invalidation cannot interleave with publishing a listing.
+     */
+    private final AtomicReference<CallbackState> state = new AtomicReference<>(
+            new CallbackState(Map.of(), null));
+
+    public DistributedSyncMcpToolCallbackProvider(BiPredicate<McpSyncClient, McpSchema.Tool> toolFilter,
+            List<DistributedSyncMcpClient> mcpClients, Duration listToolsTimeout) {
         Assert.notNull(mcpClients, "mcpClients cannot be null");
         Assert.notNull(toolFilter, "toolFilter cannot be null");
+        Assert.notNull(listToolsTimeout, "listToolsTimeout cannot be null");
         this.mcpClients = mcpClients;
         this.toolFilter = toolFilter;
+        this.listToolsTimeout = listToolsTimeout;
+        for (DistributedSyncMcpClient mcpClient : mcpClients) {
+            mcpClient.addToolsChangeListener(() -> invalidate(mcpClient));
+        }
+    }
+
+    public DistributedSyncMcpToolCallbackProvider(BiPredicate<McpSyncClient, McpSchema.Tool> toolFilter, List<DistributedSyncMcpClient> mcpClients) {
+        this(toolFilter, mcpClients, DEFAULT_LIST_TOOLS_TIMEOUT);
     }
 
     public DistributedSyncMcpToolCallbackProvider(List<DistributedSyncMcpClient> mcpClients) {
@@ -52,19 +90,81 @@ public class DistributedSyncMcpToolCallbackProvider implements ToolCallbackProvi
 
     @Override
     public ToolCallback[] getToolCallbacks() {
-        ArrayList<Object> toolCallbacks = new ArrayList();
-
-        this.mcpClients.stream().forEach(
-                mcpClint -> {
-                    toolCallbacks.addAll(mcpClint.listTools().tools().stream().filter((tool) -> {
-                        return this.toolFilter.test(mcpClint.getMcpSyncClient(), tool);
-                    }).map((tool) -> {
-                        return new DistributedSyncMcpToolCallback(mcpClint, tool);
-                    }).toList());                }
-        );
-        ToolCallback[] array = (ToolCallback[]) toolCallbacks.toArray(new ToolCallback[0]);
-        this.validateToolCallbacks(array);
-        return array;
+        ToolCallback[] cached = this.state.get().toolCallbacks();
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            CallbackState current = this.state.get();
+            if (current.toolCallbacks() != null) {
+                return current.toolCallbacks();
+            }
+            List<DistributedSyncMcpClient> missing = mcpClients.stream()
+                    .filter(mcpClient -> !current.serverToolCallbacks().containsKey(mcpClient))
+                    .toList();
+            Map<DistributedSyncMcpClient, List<ToolCallback>> loaded = listToolCallbacks(missing);
+
+            List<ToolCallback> toolCallbackList = new ArrayList<>();
+            for (DistributedSyncMcpClient mcpClient : mcpClients) {
+                List<ToolCallback> callbacks = current.serverToolCallbacks().get(mcpClient);
+                if (callbacks == null) {
+                    callbacks = loaded.getOrDefault(mcpClient, List.of());
+                }
+                toolCallbackList.addAll(callbacks);
+            }
+            ToolCallback[] array = toolCallbackList.toArray(new ToolCallback[0]);
+            this.validateToolCallbacks(array);
+
+            // results listed while a change notification arrived may already be stale, the
+            // swap fails then and the next call lists the changed server again
+            Map<DistributedSyncMcpClient, List<ToolCallback>> merged = new HashMap<>(current.serverToolCallbacks());
+            merged.putAll(loaded);
+            ToolCallback[] complete = (loaded.size() == missing.size()) ? array : null;
+            this.state.compareAndSet(current, new CallbackState(Map.copyOf(merged), complete));
+            return array;
+        }
+    }
+
+    /**
+     * Drop the cached callbacks of {@code mcpClient}; the next
+     * {@link #getToolCallbacks()} lists its tools again.
+     */
+    public void invalidate(DistributedSyncMcpClient mcpClient) {
+        this.state.updateAndGet(current -> {
+            Map<DistributedSyncMcpClient, List<ToolCallback>> remaining = new HashMap<>(current.serverToolCallbacks());
+            remaining.remove(mcpClient);
+            return new CallbackState(Map.copyOf(remaining), null);
+        });
+        logger.debug("Tool callbacks of mcp server {} invalidated", mcpClient.getServerName());
+    }
+
+    private Map<DistributedSyncMcpClient, List<ToolCallback>> listToolCallbacks(
+            List<DistributedSyncMcpClient> clients) {
+        if (clients.isEmpty()) {
+            return Map.of();
+        }
+        Map<DistributedSyncMcpClient, List<ToolCallback>> loaded = Flux.fromIterable(clients)
+                .flatMap(mcpClient -> Mono.fromCallable(() -> toToolCallbacks(mcpClient))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .timeout(listToolsTimeout)
+                        .map(callbacks -> Map.entry(mcpClient, callbacks))
+                        .onErrorResume(e -> {
+                            logger.warn("Failed to list tools of mcp server {}, skipping it: {}",
+                                    mcpClient.getServerName(), e.toString());
+                            return Mono.empty();
+                        }))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+        return loaded == null ? Map.of() : loaded;
+    }
+
+    private List<ToolCallback> toToolCallbacks(DistributedSyncMcpClient mcpClient) {
+        return mcpClient.listTools()
+                .tools()
+                .stream()
+                .filter(tool -> this.toolFilter.test(mcpClient.getMcpSyncClient(), tool))
+                .<ToolCallback>map(tool -> new DistributedSyncMcpToolCallback(mcpClient, tool))
+                .toList();
     }
 
     private void validateToolCallbacks(ToolCallback[] toolCallbacks) {
@@ -74,4 +174,13 @@ public class DistributedSyncMcpToolCallbackProvider implements ToolCallbackProvi
                     "Multiple tools with the same name (%s)".formatted(String.join(", ", duplicateToolNames)));
         }
     }
+
+    /**
+     * @param toolCallbacks merged callbacks of all servers, {@code null} until every
+     * server has been listed since the last invalidation
+     */
+    private record CallbackState(Map<DistributedSyncMcpClient, List<ToolCallback>> serverToolCallbacks,
+            ToolCallback[] toolCallbacks) {
+    }
+
 }
@@ -39,4 +39,15 @@ public interface DistributedSyncMcpClient {
     Map<String, McpSyncClient> init();
 
     void subscribe();
+
+    /**
+     * Register a callback invoked when the tool list of this server may have changed,
+     * either because Nacos reported new endpoints or tool specs, or because a backend sent
+     * a {@code notifications/tools/list_changed} notification.
+     * <p>
+     * Clients that cannot observe changes keep this default, which ignores the listener;
+     * callers then keep the tools they listed first.
+     */
+    default void addToolsChangeListener(Runnable listener) {
+    }
 }
@@ -17,16 +17,24 @@
 package com.alibaba.cloud.ai.mcp.discovery.client.transport.sse;
 
 import com.alibaba.cloud.ai.mcp.common.transport.builder.WebFluxSseClientTransportBuilder;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointBalancer;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointCircuitBreakerProperties;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointGroup;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointReconciler;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.RoundRobinMcpEndpointBalancer;
 import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedSyncMcpClient;
 import com.alibaba.cloud.ai.mcp.utils.CommonUtil;
 import com.alibaba.cloud.ai.mcp.utils.NacosMcpClientUtil;
+import com.alibaba.cloud.ai.mcp.nacos.NacosMcpClientProperties;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
 import com.alibaba.cloud.ai.mcp.nacos.service.model.NacosMcpServerEndpoint;
 import com.alibaba.nacos.api.ai.constant.AiConstants;
 import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.utils.StringUtils;
+import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.modelcontextprotocol.client.McpClient;
 import io.modelcontextprotocol.client.McpSyncClient;
 import io.modelcontextprotocol.client.transport.WebFluxSseClientTransport;
@@ -44,11 +52,12 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
  * @author yingzi
@@ -72,17 +81,27 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
 
     private final McpJsonMapper mcpJsonMapper;
 
-    private final AtomicInteger index = new AtomicInteger(0);
+    private final McpEndpointGroup<McpSyncClient> endpointGroup;
 
-    private Map<String, McpSyncClient> keyToClientMap;
+    private final McpEndpointReconciler<McpSyncClient> reconciler;
 
     private NacosMcpServerEndpoint serverEndpoint;
 
+    private volatile String toolSpec;
+
+    private final List<Runnable> toolsChangeListeners = new CopyOnWriteArrayList<>();
+
     // Link Tracking Filters
     private final ExchangeFilterFunction traceFilter;
 
     public SseWebFluxDistributedSyncMcpClient(String serverName, String version,
                                               NacosMcpOperationService nacosMcpOperationService, ApplicationContext applicationContext) {
+        this(serverName, version, nacosMcpOperationService, applicationContext, null);
+    }
+
+    public SseWebFluxDistributedSyncMcpClient(String serverName, String version,
+                                              NacosMcpOperationService nacosMcpOperationService, ApplicationContext applicationContext,
+                                              McpEndpointBalancer balancer) {
         Assert.notNull(serverName, "serviceName cannot be null");
         Assert.notNull(version, "version cannot be null");
         Assert.notNull(nacosMcpOperationService, "nacosMcpOperationService cannot be null");
@@ -91,6 +110,18 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
         this.serverName = serverName;
         this.version = version;
         this.nacosMcpOperationService = nacosMcpOperationService;
+        this.endpointGroup = new McpEndpointGroup<>(serverName, balancer != null ? balancer
+                : applicationContext.getBeanProvider(McpEndpointBalancer.class)
+                        .getIfAvailable(RoundRobinMcpEndpointBalancer::new),
+                applicationContext.getBeanProvider(McpEndpointCircuitBreakerProperties.class)
+                        .getIfAvailable(McpEndpointCircuitBreakerProperties::new),
+                applicationContext.getBeanProvider(MeterRegistry.class).getIfAvailable());
+        NacosMcpClientProperties clientProperties = applicationContext.getBeanProvider(NacosMcpClientProperties.class)
+                .getIfAvailable(NacosMcpClientProperties::new);
+        this.reconciler = new McpEndpointReconciler<>(serverName, endpointGroup, McpSyncClient::closeGracefully,
+                clientProperties.getWarmUpConcurrency(), clientProperties.getDrainTimeout(),
+                applicationContext.getBeanProvider(MeterRegistry.class).getIfAvailable());
+        this.reconciler.addChangeListener(this::notifyToolsChanged);
 
         try {
             this.serverEndpoint = this.nacosMcpOperationService.getServerEndpoint(serverName, version);
@@ -128,13 +159,10 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
     }
 
     public Map<String, McpSyncClient> init() {
-        keyToClientMap = new ConcurrentHashMap<>();
-        for (McpEndpointInfo mcpEndpointInfo : serverEndpoint.getMcpEndpointInfoList()) {
-            updateByAddEndpoint(mcpEndpointInfo, serverEndpoint.getExportPath());
-        }
+        reconciler.reconcileNow(desiredClients(serverEndpoint));
         logger.info("[Nacos Mcp Sync Client] McpSyncClient init, serverName: {}, version: {}, endpoint: {}", serverName,
                 version, serverEndpoint);
-        return keyToClientMap;
+        return endpointGroup.asMap();
     }
 
     public void subscribe() {
@@ -148,23 +176,24 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
             NacosMcpServerEndpoint nacosMcpServerEndpoint = new NacosMcpServerEndpoint(mcpEndpointInfoList, exportPath,
                     protocol, realVersion);
             updateClientList(nacosMcpServerEndpoint);
+            String newToolSpec = mcpServerDetailInfo.getToolSpec() == null ? null
+                    : JacksonUtils.toJson(mcpServerDetailInfo.getToolSpec());
+            boolean toolSpecChanged = !Objects.equals(this.toolSpec, newToolSpec);
+            this.toolSpec = newToolSpec;
+            if (toolSpecChanged) {
+                notifyToolsChanged();
+            }
         });
         logger.info("[Nacos Mcp Sync Client] Subscribe Mcp Server from nacos, serverName: {}, version: {}", serverName,
                 version);
     }
 
     public McpSyncClient getMcpSyncClient() {
-        List<McpSyncClient> syncClients = getMcpSyncClientList();
-        if (syncClients.isEmpty()) {
-            throw new IllegalStateException("[Nacos Mcp Sync Client] No McpSyncClient available, name :" + serverName);
-        }
-        int currentIndex = index.getAndUpdate(index -> (index + 1) % syncClients.size());
-
-        return syncClients.get(currentIndex);
+        return endpointGroup.choose().getClient();
     }
 
     public List<McpSyncClient> getMcpSyncClientList() {
-        return keyToClientMap.values().stream().toList();
+        return endpointGroup.getClients();
     }
 
     public String getServerName() {
@@ -175,10 +204,20 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
         return this.serverEndpoint;
     }
 
-    private void updateByAddEndpoint(McpEndpointInfo mcpEndpointInfo, String exportPath) {
-        McpSyncClient mcpSyncClient = clientByEndpoint(mcpEndpointInfo, exportPath);
-        String key = NacosMcpClientUtil.getMcpEndpointInfoId(mcpEndpointInfo, exportPath);
-        keyToClientMap.putIfAbsent(key, mcpSyncClient);
+    public void addToolsChangeListener(Runnable listener) {
+        Assert.notNull(listener, "listener cannot be null");
+        this.toolsChangeListeners.add(listener);
+    }
+
+    private void notifyToolsChanged() {
+        for (Runnable listener : this.toolsChangeListeners) {
+            try {
+                listener.run();
+            }
+            catch (Exception e) {
+                logger.warn("[Nacos Mcp Sync Client] Tools change listener of {} failed", serverName, e);
+            }
+        }
     }
 
     private McpSyncClient clientByEndpoint(McpEndpointInfo mcpEndpointInfo, String exportPath) {
@@ -207,6 +246,7 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
                 .clientInfo(clientInfo)
                 ;
         spec = mcpSyncClientConfigurer.configure(namedClientMcpTransport.name(), spec);
+        spec.toolsChangeConsumer(tools -> notifyToolsChanged());
         syncClient = spec.build();
         if (commonProperties.isInitialized()) {
             syncClient.initialize();
@@ -217,71 +257,25 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
     }
 
     private void updateClientList(NacosMcpServerEndpoint newServerEndpoint) {
-        if (!StringUtils.equals(this.serverEndpoint.getExportPath(), newServerEndpoint.getExportPath())
-                || !StringUtils.equals(this.serverEndpoint.getVersion(), newServerEndpoint.getVersion())) {
+        boolean replaceAll = !StringUtils.equals(this.serverEndpoint.getExportPath(), newServerEndpoint.getExportPath())
+                || !StringUtils.equals(this.serverEndpoint.getVersion(), newServerEndpoint.getVersion());
+        if (replaceAll) {
             logger.info(
                     "[Nacos Mcp Sync Client] Mcp server {} exportPath or protocol changed, need to update all endpoints: {}",
                     serverName, newServerEndpoint);
-            updateAll(newServerEndpoint);
-        }
-        else {
-            List<McpEndpointInfo> currentMcpEndpointInfoList = this.serverEndpoint.getMcpEndpointInfoList();
-            List<McpEndpointInfo> newMcpEndpointInfoList = newServerEndpoint.getMcpEndpointInfoList();
-            List<McpEndpointInfo> addEndpointInfoList = newMcpEndpointInfoList.stream()
-                    .filter(newEndpoint -> currentMcpEndpointInfoList.stream()
-                            .noneMatch(currentEndpoint -> currentEndpoint.getAddress().equals(newEndpoint.getAddress())
-                                    && currentEndpoint.getPort() == newEndpoint.getPort()))
-                    .toList();
-            List<McpEndpointInfo> removeEndpointInfoList = currentMcpEndpointInfoList.stream()
-                    .filter(currentEndpoint -> newMcpEndpointInfoList.stream()
-                            .noneMatch(newEndpoint -> newEndpoint.getAddress().equals(currentEndpoint.getAddress())
-                                    && newEndpoint.getPort() == currentEndpoint.getPort()))
-                    .toList();
-            if (!addEndpointInfoList.isEmpty()) {
-                logger.info("[Nacos Mcp Sync Client] Mcp server {} endpoints changed, endpoints need to add {}",
-                        serverName, addEndpointInfoList);
-            }
-            for (McpEndpointInfo addEndpointInfo : addEndpointInfoList) {
-                updateByAddEndpoint(addEndpointInfo, newServerEndpoint.getExportPath());
-            }
-            if (!removeEndpointInfoList.isEmpty()) {
-                logger.info("[Nacos Mcp Sync Client] Mcp server {} endpoints changed, endpoints need to remove {}",
-                        serverName, removeEndpointInfoList);
-            }
-            for (McpEndpointInfo removeEndpointInfo : removeEndpointInfoList) {
-                updateByRemoveEndpoint(removeEndpointInfo, newServerEndpoint.getExportPath());
-            }
         }
         this.serverEndpoint = newServerEndpoint;
+        // warm-up and draining happen off the Nacos listener thread
+        reconciler.reconcile(desiredClients(newServerEndpoint), replaceAll);
     }
 
-    private void updateAll(NacosMcpServerEndpoint newServerEndpoint) {
-        Map<String, McpSyncClient> newKeyToClientMap = new ConcurrentHashMap<>();
-        Map<String, McpSyncClient> oldKeyToClientMap = this.keyToClientMap;
-        Map<String, Integer> newKeyToCountMap = new ConcurrentHashMap<>();
-        for (McpEndpointInfo mcpEndpointInfo : newServerEndpoint.getMcpEndpointInfoList()) {
-            McpSyncClient syncClient = clientByEndpoint(mcpEndpointInfo, newServerEndpoint.getExportPath());
-            String key = NacosMcpClientUtil.getMcpEndpointInfoId(mcpEndpointInfo, newServerEndpoint.getExportPath());
-            newKeyToClientMap.putIfAbsent(key, syncClient);
-            newKeyToCountMap.putIfAbsent(key, 0);
-        }
-        this.keyToClientMap = newKeyToClientMap;
-        for (Map.Entry<String, McpSyncClient> entry : oldKeyToClientMap.entrySet()) {
-            McpSyncClient syncClient = entry.getValue();
-            logger.info("Removing McpSyncClient: {}", syncClient.getClientInfo().name());
-            syncClient.closeGracefully();
-            logger.info("Removed McpSyncClient: {} Success", syncClient.getClientInfo().name());
-        }
-    }
-
-    private void updateByRemoveEndpoint(McpEndpointInfo serverEndpoint, String exportPath) {
-        String key = NacosMcpClientUtil.getMcpEndpointInfoId(serverEndpoint, exportPath);
-        if (keyToClientMap.containsKey(key)) {
-            McpSyncClient syncClient = keyToClientMap.remove(key);
-            logger.info("Removing McpSyncClient: {}", syncClient.getClientInfo().name());
-            syncClient.closeGracefully();
-            logger.info("Removed McpSyncClient: {} Success", syncClient.getClientInfo().name());
+    private Map<String, Supplier<McpSyncClient>> desiredClients(NacosMcpServerEndpoint endpoint) {
+        Map<String, Supplier<McpSyncClient>> desired = new LinkedHashMap<>();
+        for (McpEndpointInfo mcpEndpointInfo : endpoint.getMcpEndpointInfoList()) {
+            String key = NacosMcpClientUtil.getMcpEndpointInfoId(mcpEndpointInfo, endpoint.getExportPath());
+            desired.putIfAbsent(key, () -> clientByEndpoint(mcpEndpointInfo, endpoint.getExportPath()));
         }
+        return desired;
     }
 
     // ---------------------------原始调用方法------------------------------//
@@ -306,11 +300,10 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
     }
 
     public void close() {
-        Iterator<McpSyncClient> iterator = getMcpSyncClientList().iterator();
-        while (iterator.hasNext()) {
-            McpSyncClient mcpSyncClient = iterator.next();
+        for (Map.Entry<String, McpSyncClient> entry : endpointGroup.asMap().entrySet()) {
+            McpSyncClient mcpSyncClient = entry.getValue();
             mcpSyncClient.close();
-            iterator.remove();
+            endpointGroup.remove(entry.getKey());
             logger.info("[Nacos Mcp Sync Client] Closed and removed McpSyncClient: {}",
                     mcpSyncClient.getClientInfo().name());
         }
@@ -318,18 +311,17 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
 
     public boolean closeGracefully() {
         List<Boolean> flagList = new ArrayList<>();
-        Iterator<McpSyncClient> iterator = getMcpSyncClientList().iterator();
-        while (iterator.hasNext()) {
-            McpSyncClient mcpSyncClient = iterator.next();
+        for (Map.Entry<String, McpSyncClient> entry : endpointGroup.asMap().entrySet()) {
+            McpSyncClient mcpSyncClient = entry.getValue();
             boolean flag = mcpSyncClient.closeGracefully();
             flagList.add(flag);
             if (flag) {
-                iterator.remove();
+                endpointGroup.remove(entry.getKey());
                 logger.info("[Nacos Mcp Sync Client] Closed and removed McpSyncClient: {}",
                         mcpSyncClient.getClientInfo().name());
             }
         }
-        return !flagList.stream().allMatch(flag -> flag);
+        return flagList.stream().allMatch(flag -> flag);
     }
 
     public void rootsListChangedNotification() {
@@ -349,43 +341,43 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
     }
 
     public Object ping() {
-        return getMcpSyncClient().ping();
+        return endpointGroup.execute(client -> client.ping());
     }
 
     public McpSchema.CallToolResult callTool(McpSchema.CallToolRequest callToolRequest) {
-        return getMcpSyncClient().callTool(callToolRequest);
+        return endpointGroup.execute(client -> client.callTool(callToolRequest));
     }
 
     public McpSchema.ListToolsResult listTools() {
-        return getMcpSyncClient().listTools();
+        return endpointGroup.executeIdempotent(client -> client.listTools());
     }
 
     public McpSchema.ListToolsResult listTools(String cursor) {
-        return getMcpSyncClient().listTools(cursor);
+        return endpointGroup.executeIdempotent(client -> client.listTools(cursor));
     }
 
     public McpSchema.ListResourcesResult listResources(String cursor) {
-        return getMcpSyncClient().listResources(cursor);
+        return endpointGroup.executeIdempotent(client -> client.listResources(cursor));
     }
 
     public McpSchema.ListResourcesResult listResources() {
-        return getMcpSyncClient().listResources();
+        return endpointGroup.executeIdempotent(client -> client.listResources());
     }
 
     public McpSchema.ReadResourceResult readResource(McpSchema.Resource resource) {
-        return getMcpSyncClient().readResource(resource);
+        return endpointGroup.executeIdempotent(client -> client.readResource(resource));
     }
 
     public McpSchema.ReadResourceResult readResource(McpSchema.ReadResourceRequest readResourceRequest) {
-        return getMcpSyncClient().readResource(readResourceRequest);
+        return endpointGroup.executeIdempotent(client -> client.readResource(readResourceRequest));
     }
 
     public McpSchema.ListResourceTemplatesResult listResourceTemplates(String cursor) {
-        return getMcpSyncClient().listResourceTemplates(cursor);
+        return endpointGroup.executeIdempotent(client -> client.listResourceTemplates(cursor));
     }
 
     public McpSchema.ListResourceTemplatesResult listResourceTemplates() {
-        return getMcpSyncClient().listResourceTemplates();
+        return endpointGroup.executeIdempotent(client -> client.listResourceTemplates());
     }
 
     public void subscribeResource (McpSchema.SubscribeRequest subscribeRequest) {
@@ -401,15 +393,15 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
     }
 
     public McpSchema.ListPromptsResult listPrompts(String cursor) {
-        return getMcpSyncClient().listPrompts(cursor);
+        return endpointGroup.executeIdempotent(client -> client.listPrompts(cursor));
     }
 
     public McpSchema.ListPromptsResult listPrompts() {
-        return getMcpSyncClient().listPrompts();
+        return endpointGroup.executeIdempotent(client -> client.listPrompts());
     }
 
     public McpSchema.GetPromptResult getPrompt(McpSchema.GetPromptRequest getPromptRequest) {
-        return getMcpSyncClient().getPrompt(getPromptRequest);
+        return endpointGroup.executeIdempotent(client -> client.getPrompt(getPromptRequest));
     }
 
     public void setLoggingLevel(McpSchema.LoggingLevel loggingLevel) {
@@ -419,7 +411,7 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
     }
 
     public McpSchema.CompleteResult completeCompletion(McpSchema.CompleteRequest completeRequest) {
-        return getMcpSyncClient().completeCompletion(completeRequest);
+        return endpointGroup.execute(client -> client.completeCompletion(completeRequest));
     }
 
     // ---------------------------原始调用方法------------------------------//
@@ -438,6 +430,8 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
 
         private ApplicationContext applicationContext;
 
+        private McpEndpointBalancer balancer;
+
         public Builder serverName(String serverName) {
             this.serverName = serverName;
             return this;
@@ -458,9 +452,14 @@ public class SseWebFluxDistributedSyncMcpClient implements DistributedSyncMcpCli
             return this;
         }
 
+        public Builder balancer(McpEndpointBalancer balancer) {
+            this.balancer = balancer;
+            return this;
+        }
+
         public SseWebFluxDistributedSyncMcpClient build() {
             return new SseWebFluxDistributedSyncMcpClient(this.serverName, this.version, this.nacosMcpOperationService,
-                    this.applicationContext);
+                    this.applicationContext, this.balancer);
         }
 
     }
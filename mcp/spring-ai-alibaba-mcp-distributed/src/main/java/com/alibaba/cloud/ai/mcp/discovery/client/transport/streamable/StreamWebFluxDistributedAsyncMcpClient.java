@@ -17,7 +17,13 @@
 package com.alibaba.cloud.ai.mcp.discovery.client.transport.streamable;
 
 import com.alibaba.cloud.ai.mcp.common.transport.builder.WebFluxStreamableClientTransportBuilder;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointBalancer;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointCircuitBreakerProperties;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointGroup;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.McpEndpointReconciler;
+import com.alibaba.cloud.ai.mcp.discovery.client.balancer.RoundRobinMcpEndpointBalancer;
 import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedAsyncMcpClient;
+import com.alibaba.cloud.ai.mcp.nacos.NacosMcpClientProperties;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
 import com.alibaba.cloud.ai.mcp.nacos.service.model.NacosMcpServerEndpoint;
 import com.alibaba.cloud.ai.mcp.utils.CommonUtil;
@@ -26,7 +32,9 @@ import com.alibaba.nacos.api.ai.constant.AiConstants;
 import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.utils.StringUtils;
+import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.modelcontextprotocol.client.McpAsyncClient;
 import io.modelcontextprotocol.client.McpClient;
 import io.modelcontextprotocol.client.transport.WebClientStreamableHttpTransport;
@@ -45,11 +53,12 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -75,17 +84,27 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
 
     private final McpJsonMapper mcpJsonMapper;
 
-    private final AtomicInteger index = new AtomicInteger(0);
+    private final McpEndpointGroup<McpAsyncClient> endpointGroup;
 
-    private Map<String, McpAsyncClient> keyToClientMap;
+    private final McpEndpointReconciler<McpAsyncClient> reconciler;
 
     private NacosMcpServerEndpoint serverEndpoint;
 
+    private volatile String toolSpec;
+
+    private final List<Runnable> toolsChangeListeners = new CopyOnWriteArrayList<>();
+
     // Link Tracking Filters
     private final ExchangeFilterFunction traceFilter;
 
     public StreamWebFluxDistributedAsyncMcpClient(String serverName, String version,
-                                                 NacosMcpOperationService nacosMcpOperationService, ApplicationContext applicationContext) {
+                                              NacosMcpOperationService nacosMcpOperationService, ApplicationContext applicationContext) {
+        this(serverName, version, nacosMcpOperationService, applicationContext, null);
+    }
+
+    public StreamWebFluxDistributedAsyncMcpClient(String serverName, String version,
+                                              NacosMcpOperationService nacosMcpOperationService, ApplicationContext applicationContext,
+                                              McpEndpointBalancer balancer) {
         Assert.notNull(serverName, "serviceName cannot be null");
         Assert.notNull(version, "version cannot be null");
         Assert.notNull(nacosMcpOperationService, "nacosMcpOperationService cannot be null");
@@ -94,6 +113,18 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
         this.serverName = serverName;
         this.version = version;
         this.nacosMcpOperationService = nacosMcpOperationService;
+        this.endpointGroup = new McpEndpointGroup<>(serverName, balancer != null ? balancer
+                : applicationContext.getBeanProvider(McpEndpointBalancer.class)
+                        .getIfAvailable(RoundRobinMcpEndpointBalancer::new),
+                applicationContext.getBeanProvider(McpEndpointCircuitBreakerProperties.class)
+                        .getIfAvailable(McpEndpointCircuitBreakerProperties::new),
+                applicationContext.getBeanProvider(MeterRegistry.class).getIfAvailable());
+        NacosMcpClientProperties clientProperties = applicationContext.getBeanProvider(NacosMcpClientProperties.class)
+                .getIfAvailable(NacosMcpClientProperties::new);
+        this.reconciler = new McpEndpointReconciler<>(serverName, endpointGroup, client -> client.closeGracefully().block(),
+                clientProperties.getWarmUpConcurrency(), clientProperties.getDrainTimeout(),
+                applicationContext.getBeanProvider(MeterRegistry.class).getIfAvailable());
+        this.reconciler.addChangeListener(this::notifyToolsChanged);
 
         try {
             this.serverEndpoint = this.nacosMcpOperationService.getServerEndpoint(serverName, version);
@@ -131,13 +162,10 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
     }
 
     public Map<String, McpAsyncClient> init() {
-        keyToClientMap = new ConcurrentHashMap<>();
-        for (McpEndpointInfo mcpEndpointInfo : serverEndpoint.getMcpEndpointInfoList()) {
-            updateByAddEndpoint(mcpEndpointInfo, serverEndpoint.getExportPath());
-        }
+        reconciler.reconcileNow(desiredClients(serverEndpoint));
         logger.info("[Nacos Mcp Sync Client] McpSyncClient init, serverName: {}, version: {}, endpoint: {}", serverName,
                 version, serverEndpoint);
-        return keyToClientMap;
+        return endpointGroup.asMap();
     }
 
     public void subscribe() {
@@ -151,23 +179,24 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
             NacosMcpServerEndpoint nacosMcpServerEndpoint = new NacosMcpServerEndpoint(mcpEndpointInfoList, exportPath,
                     protocol, realVersion);
             updateClientList(nacosMcpServerEndpoint);
+            String newToolSpec = mcpServerDetailInfo.getToolSpec() == null ? null
+                    : JacksonUtils.toJson(mcpServerDetailInfo.getToolSpec());
+            boolean toolSpecChanged = !Objects.equals(this.toolSpec, newToolSpec);
+            this.toolSpec = newToolSpec;
+            if (toolSpecChanged) {
+                notifyToolsChanged();
+            }
         });
         logger.info("[Nacos Mcp Sync Client] Subscribe Mcp Server from nacos, serverName: {}, version: {}", serverName,
                 version);
     }
 
     public McpAsyncClient getMcpAsyncClient() {
-        List<McpAsyncClient> asynClients = getMcpAsyncClientList();
-        if (asynClients.isEmpty()) {
-            throw new IllegalStateException("[Nacos Mcp Async Client] No McpAsyncClient available, name:" + serverName);
-        }
-
-        int currentIndex = index.getAndUpdate(index -> (index + 1) % asynClients.size());
-        return asynClients.get(currentIndex);
+        return endpointGroup.choose().getClient();
     }
 
     public List<McpAsyncClient> getMcpAsyncClientList() {
-        return keyToClientMap.values().stream().toList();
+        return endpointGroup.getClients();
     }
 
     public String getServerName() {
@@ -178,10 +207,20 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
         return this.serverEndpoint;
     }
 
-    private void updateByAddEndpoint(McpEndpointInfo mcpEndpointInfo, String exportPath) {
-        McpAsyncClient mcpAsyncClient = clientByEndpoint(mcpEndpointInfo, exportPath);
-        String key = NacosMcpClientUtil.getMcpEndpointInfoId(mcpEndpointInfo, exportPath);
-        keyToClientMap.putIfAbsent(key, mcpAsyncClient);
+    public void addToolsChangeListener(Runnable listener) {
+        Assert.notNull(listener, "listener cannot be null");
+        this.toolsChangeListeners.add(listener);
+    }
+
+    private void notifyToolsChanged() {
+        for (Runnable listener : this.toolsChangeListeners) {
+            try {
+                listener.run();
+            }
+            catch (Exception e) {
+                logger.warn("[Nacos Mcp Async Client] Tools change listener of {} failed", serverName, e);
+            }
+        }
     }
 
     private McpAsyncClient clientByEndpoint(McpEndpointInfo mcpEndpointInfo, String exportPath) {
@@ -210,6 +249,7 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
                 .clientInfo(clientInfo)
                 ;
         spec = mcpAsyncClientConfigurer.configure(namedClientMcpTransport.name(), spec);
+        spec.toolsChangeConsumer(tools -> Mono.fromRunnable(this::notifyToolsChanged));
         asyncClient = spec.build();
         if (commonProperties.isInitialized()) {
             asyncClient.initialize().block();
@@ -220,71 +260,25 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
     }
 
     private void updateClientList(NacosMcpServerEndpoint newServerEndpoint) {
-        if (!StringUtils.equals(this.serverEndpoint.getExportPath(), newServerEndpoint.getExportPath())
-                || !StringUtils.equals(this.serverEndpoint.getVersion(), newServerEndpoint.getVersion())) {
+        boolean replaceAll = !StringUtils.equals(this.serverEndpoint.getExportPath(), newServerEndpoint.getExportPath())
+                || !StringUtils.equals(this.serverEndpoint.getVersion(), newServerEndpoint.getVersion());
+        if (replaceAll) {
             logger.info(
                     "[Nacos Mcp Sync Client] Mcp server {} exportPath or protocol changed, need to update all endpoints: {}",
                     serverName, newServerEndpoint);
-            updateAll(newServerEndpoint);
-        }
-        else {
-            List<McpEndpointInfo> currentMcpEndpointInfoList = this.serverEndpoint.getMcpEndpointInfoList();
-            List<McpEndpointInfo> newMcpEndpointInfoList = newServerEndpoint.getMcpEndpointInfoList();
-            List<McpEndpointInfo> addEndpointInfoList = newMcpEndpointInfoList.stream()
-                    .filter(newEndpoint -> currentMcpEndpointInfoList.stream()
-                            .noneMatch(currentEndpoint -> currentEndpoint.getAddress().equals(newEndpoint.getAddress())
-                                    && currentEndpoint.getPort() == newEndpoint.getPort()))
-                    .toList();
-            List<McpEndpointInfo> removeEndpointInfoList = currentMcpEndpointInfoList.stream()
-                    .filter(currentEndpoint -> newMcpEndpointInfoList.stream()
-                            .noneMatch(newEndpoint -> newEndpoint.getAddress().equals(currentEndpoint.getAddress())
-                                    && newEndpoint.getPort() == currentEndpoint.getPort()))
-                    .toList();
-            if (!addEndpointInfoList.isEmpty()) {
-                logger.info("[Nacos Mcp Sync Client] Mcp server {} endpoints changed, endpoints need to add {}",
-                        serverName, addEndpointInfoList);
-            }
-            for (McpEndpointInfo addEndpointInfo : addEndpointInfoList) {
-                updateByAddEndpoint(addEndpointInfo, newServerEndpoint.getExportPath());
-            }
-            if (!removeEndpointInfoList.isEmpty()) {
-                logger.info("[Nacos Mcp Sync Client] Mcp server {} endpoints changed, endpoints need to remove {}",
-                        serverName, removeEndpointInfoList);
-            }
-            for (McpEndpointInfo removeEndpointInfo : removeEndpointInfoList) {
-                updateByRemoveEndpoint(removeEndpointInfo, newServerEndpoint.getExportPath());
-            }
         }
         this.serverEndpoint = newServerEndpoint;
+        // warm-up and draining happen off the Nacos listener thread
+        reconciler.reconcile(desiredClients(newServerEndpoint), replaceAll);
     }
 
-    private void updateAll(NacosMcpServerEndpoint newServerEndpoint) {
-        Map<String, McpAsyncClient> newKeyToClientMap = new ConcurrentHashMap<>();
-        Map<String, McpAsyncClient> oldKeyToClientMap = this.keyToClientMap;
-        Map<String, Integer> newKeyToCountMap = new ConcurrentHashMap<>();
-        for (McpEndpointInfo mcpEndpointInfo : newServerEndpoint.getMcpEndpointInfoList()) {
-            McpAsyncClient asyncClient = clientByEndpoint(mcpEndpointInfo, newServerEndpoint.getExportPath());
-            String key = NacosMcpClientUtil.getMcpEndpointInfoId(mcpEndpointInfo, newServerEndpoint.getExportPath());
-            newKeyToClientMap.putIfAbsent(key, asyncClient);
-            newKeyToCountMap.putIfAbsent(key, 0);
-        }
-        this.keyToClientMap = newKeyToClientMap;
-        for (Map.Entry<String, McpAsyncClient> entry : oldKeyToClientMap.entrySet()) {
-            McpAsyncClient asyncClient = entry.getValue();
-            logger.info("Removing McpAsyncClient: {}", asyncClient.getClientInfo().name());
-            asyncClient.closeGracefully();
-            logger.info("Removed McpAsyncClient: {} Success", asyncClient.getClientInfo().name());
-        }
-    }
-
-    private void updateByRemoveEndpoint(McpEndpointInfo serverEndpoint, String exportPath) {
-        String key = NacosMcpClientUtil.getMcpEndpointInfoId(serverEndpoint, exportPath);
-        if (keyToClientMap.containsKey(key)) {
-            McpAsyncClient asyncClient = keyToClientMap.remove(key);
-            logger.info("Removing McpAsyncClient: {}", asyncClient.getClientInfo().name());
-            asyncClient.closeGracefully().block();
-            logger.info("Removed McpAsyncClient: {} Success", asyncClient.getClientInfo().name());
+    private Map<String, Supplier<McpAsyncClient>> desiredClients(NacosMcpServerEndpoint endpoint) {
+        Map<String, Supplier<McpAsyncClient>> desired = new LinkedHashMap<>();
+        for (McpEndpointInfo mcpEndpointInfo : endpoint.getMcpEndpointInfoList()) {
+            String key = NacosMcpClientUtil.getMcpEndpointInfoId(mcpEndpointInfo, endpoint.getExportPath());
+            desired.putIfAbsent(key, () -> clientByEndpoint(mcpEndpointInfo, endpoint.getExportPath()));
         }
+        return desired;
     }
 
     // ---------------------------原始调用方法------------------------------//
@@ -309,23 +303,21 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
     }
 
     public void close() {
-        Iterator<McpAsyncClient> iterator = getMcpAsyncClientList().iterator();
-        while (iterator.hasNext()) {
-            McpAsyncClient mcpAsyncClient = iterator.next();
+        for (Map.Entry<String, McpAsyncClient> entry : endpointGroup.asMap().entrySet()) {
+            McpAsyncClient mcpAsyncClient = entry.getValue();
             mcpAsyncClient.close();
-            iterator.remove();
+            endpointGroup.remove(entry.getKey());
             logger.info("[Nacos Mcp Async Client] Closed and removed McpAsyncClient: {}",
                     mcpAsyncClient.getClientInfo().name());
         }
     }
 
     public Mono<Void> closeGracefully() {
-        Iterator<McpAsyncClient> iterator = getMcpAsyncClientList().iterator();
         List<Mono<Void>> closeMonos = new ArrayList<>();
-        while (iterator.hasNext()) {
-            McpAsyncClient mcpAsyncClient = iterator.next();
+        for (Map.Entry<String, McpAsyncClient> entry : endpointGroup.asMap().entrySet()) {
+            McpAsyncClient mcpAsyncClient = entry.getValue();
             Mono<Void> voidMono = mcpAsyncClient.closeGracefully().doOnSuccess(v -> {
-                iterator.remove();
+                endpointGroup.remove(entry.getKey());
                 logger.info("[Nacos Mcp Async Client] Closed and removed McpAsyncClient: {}",
                         mcpAsyncClient.getClientInfo().name());
             });
@@ -335,7 +327,7 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
     }
 
     public Mono<Object> ping() {
-        return getMcpAsyncClient().ping();
+        return endpointGroup.executeAsync(client -> client.ping());
     }
 
     public Mono<Void> addRoot(McpSchema.Root root) {
@@ -357,7 +349,7 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
     }
 
     public Mono<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest callToolRequest) {
-        return getMcpAsyncClient().callTool(callToolRequest);
+        return endpointGroup.executeAsync(client -> client.callTool(callToolRequest));
     }
 
     public Mono<McpSchema.ListToolsResult> listTools() {
@@ -369,30 +361,30 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
     }
 
     private Mono<McpSchema.ListToolsResult> listToolsInternal(String cursor) {
-        return getMcpAsyncClient().listTools(cursor);
+        return endpointGroup.executeAsyncIdempotent(client -> client.listTools(cursor));
     }
 
     public Mono<McpSchema.ListResourcesResult> listResources() {
-        return getMcpAsyncClient().listResources();
+        return endpointGroup.executeAsyncIdempotent(client -> client.listResources());
     }
 
     public Mono<McpSchema.ListResourcesResult> listResources(String cursor) {
-        return getMcpAsyncClient().listResources(cursor);
+        return endpointGroup.executeAsyncIdempotent(client -> client.listResources(cursor));
     }
 
     public Mono<McpSchema.ReadResourceResult> readResource(McpSchema.Resource resource) {
-        return getMcpAsyncClient().readResource(resource);
+        return endpointGroup.executeAsyncIdempotent(client -> client.readResource(resource));
     }
 
     public Mono<McpSchema.ReadResourceResult> readResource(McpSchema.ReadResourceRequest readResourceRequest) {
-        return getMcpAsyncClient().readResource(readResourceRequest);
+        return endpointGroup.executeAsyncIdempotent(client -> client.readResource(readResourceRequest));
     }
 
     public Mono<McpSchema.ListResourceTemplatesResult> listResourceTemplates() {
-        return getMcpAsyncClient().listResourceTemplates();
+        return endpointGroup.executeAsyncIdempotent(client -> client.listResourceTemplates());
     }
     public Mono<McpSchema.ListResourceTemplatesResult> listResourceTemplates(String cursor) {
-        return getMcpAsyncClient().listResourceTemplates(cursor);
+        return endpointGroup.executeAsyncIdempotent(client -> client.listResourceTemplates(cursor));
     }
 
     public Mono<Void> subscribeResource(McpSchema.SubscribeRequest subscribeRequest) {
@@ -408,15 +400,15 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
     }
 
     public Mono<McpSchema.ListPromptsResult> listPrompts() {
-        return getMcpAsyncClient().listPrompts();
+        return endpointGroup.executeAsyncIdempotent(client -> client.listPrompts());
     }
 
     public Mono<McpSchema.ListPromptsResult> listPrompts(String cursor) {
-        return getMcpAsyncClient().listPrompts(cursor);
+        return endpointGroup.executeAsyncIdempotent(client -> client.listPrompts(cursor));
     }
 
     public Mono<McpSchema.GetPromptResult> getPrompt(McpSchema.GetPromptRequest getPromptRequest) {
-        return getMcpAsyncClient().getPrompt(getPromptRequest);
+        return endpointGroup.executeAsyncIdempotent(client -> client.getPrompt(getPromptRequest));
     }
 
     public Mono<Void> setLoggingLevel(McpSchema.LoggingLevel loggingLevel) {
@@ -426,7 +418,7 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
     }
 
     public Mono<McpSchema.CompleteResult> completeCompletion(McpSchema.CompleteRequest completeRequest) {
-        return getMcpAsyncClient().completeCompletion(completeRequest);
+        return endpointGroup.executeAsync(client -> client.completeCompletion(completeRequest));
     }
 
     // ---------------------------原始调用方法------------------------------//
@@ -445,6 +437,8 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
 
         private ApplicationContext applicationContext;
 
+        private McpEndpointBalancer balancer;
+
         public Builder serverName(String serverName) {
             this.serverName = serverName;
             return this;
@@ -465,9 +459,14 @@ public class StreamWebFluxDistributedAsyncMcpClient implements DistributedAsyncM
             return this;
         }
 
+        public Builder balancer(McpEndpointBalancer balancer) {
+            this.balancer = balancer;
+            return this;
+        }
+
         public StreamWebFluxDistributedAsyncMcpClient build() {
             return new StreamWebFluxDistributedAsyncMcpClient(this.serverName, this.version, this.nacosMcpOperationService,
-                    this.applicationContext);
+                    this.applicationContext, this.balancer);
         }
 
     }
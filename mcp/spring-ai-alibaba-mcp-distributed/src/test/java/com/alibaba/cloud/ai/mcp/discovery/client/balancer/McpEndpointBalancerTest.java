@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class McpEndpointBalancerTest {
+
+    private final McpEndpoint<String> first = new McpEndpoint<>("first", "first");
+
+    private final McpEndpoint<String> second = new McpEndpoint<>("second", "second");
+
+    private final McpEndpoint<String> third = new McpEndpoint<>("third", "third");
+
+    @Test
+    void roundRobinHandsOutEndpointsInTurn() {
+        McpEndpointBalancer balancer = new RoundRobinMcpEndpointBalancer();
+        List<McpEndpoint<String>> endpoints = List.of(first, second, third);
+
+        List<String> chosen = List.of(balancer.choose(endpoints), balancer.choose(endpoints),
+                balancer.choose(endpoints), balancer.choose(endpoints))
+            .stream()
+            .map(McpEndpoint::getKey)
+            .toList();
+
+        assertEquals(List.of("first", "second", "third", "first"), chosen);
+    }
+
+    @Test
+    void leastRequestsPicksTheLessBusyEndpoint() {
+        McpEndpointBalancer balancer = new LeastRequestsMcpEndpointBalancer();
+        first.onStart();
+        first.onStart();
+        second.onStart();
+
+        // with two endpoints both are always sampled
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, balancer.choose(List.of(first, second)));
+        }
+    }
+
+    @Test
+    void ewmaPicksTheLowerLatencyCost() {
+        McpEndpointBalancer balancer = new EwmaMcpEndpointBalancer();
+        complete(first, 200);
+        complete(second, 20);
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, balancer.choose(List.of(first, second)));
+        }
+
+        // a fast endpoint busy enough is avoided as well
+        for (int i = 0; i < 20; i++) {
+            second.onStart();
+        }
+        for (int i = 0; i < 20; i++) {
+            assertSame(first, balancer.choose(List.of(first, second)));
+        }
+    }
+
+    @Test
+    void singleEndpointIsAlwaysChosen() {
+        for (McpEndpointBalancer balancer : List.of(new RoundRobinMcpEndpointBalancer(),
+                new LeastRequestsMcpEndpointBalancer(), new EwmaMcpEndpointBalancer())) {
+            assertSame(first, balancer.choose(List.of(first)));
+        }
+    }
+
+    @Test
+    void balancersAreCreatedByName() {
+        assertInstanceOf(RoundRobinMcpEndpointBalancer.class, McpEndpointBalancer.of(null));
+        assertInstanceOf(RoundRobinMcpEndpointBalancer.class, McpEndpointBalancer.of(" Round-Robin "));
+        assertInstanceOf(LeastRequestsMcpEndpointBalancer.class,
+                McpEndpointBalancer.of(McpEndpointBalancer.LEAST_REQUESTS));
+        assertInstanceOf(EwmaMcpEndpointBalancer.class, McpEndpointBalancer.of(McpEndpointBalancer.EWMA));
+        assertThrows(IllegalArgumentException.class, () -> McpEndpointBalancer.of("random"));
+    }
+
+    private static void complete(McpEndpoint<String> endpoint, long latencyMillis) {
+        endpoint.onStart();
+        endpoint.onComplete(TimeUnit.MILLISECONDS.toNanos(latencyMillis), null);
+    }
+
+}
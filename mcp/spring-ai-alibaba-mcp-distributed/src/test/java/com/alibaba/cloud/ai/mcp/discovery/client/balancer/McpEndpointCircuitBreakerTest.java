@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class McpEndpointCircuitBreakerTest {
+
+    private final McpEndpointCircuitBreakerProperties properties = new McpEndpointCircuitBreakerProperties();
+
+    @Test
+    void consecutiveFailuresOpenTheBreaker() {
+        properties.setConsecutiveFailures(3);
+        McpEndpointCircuitBreaker breaker = new McpEndpointCircuitBreaker(properties);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(McpEndpointCircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+        assertEquals(McpEndpointCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void failureRateOverTheWindowOpensTheBreaker() {
+        properties.setConsecutiveFailures(100);
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumNumberOfCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        McpEndpointCircuitBreaker breaker = new McpEndpointCircuitBreaker(properties);
+
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onSuccess();
+        assertEquals(McpEndpointCircuitBreaker.State.CLOSED, breaker.getState());
+
+        // 2 failures out of 4 calls reach the threshold
+        breaker.onFailure();
+        assertEquals(McpEndpointCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void expiredOpenBreakerAdmitsOneProbe() {
+        McpEndpointCircuitBreaker breaker = openBreaker(Duration.ZERO);
+
+        assertTrue(breaker.isCallPermitted());
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(McpEndpointCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void successfulProbeClosesTheBreaker() {
+        McpEndpointCircuitBreaker breaker = openBreaker(Duration.ZERO);
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onSuccess();
+
+        assertEquals(McpEndpointCircuitBreaker.State.CLOSED, breaker.getState());
+        // the failure count starts over
+        for (int i = 0; i < properties.getConsecutiveFailures() - 1; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(McpEndpointCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failedProbeOpensTheBreakerAgain() {
+        McpEndpointCircuitBreaker breaker = openBreaker(Duration.ZERO);
+        assertTrue(breaker.tryAcquirePermission());
+        properties.setOpenDuration(Duration.ofMinutes(1));
+
+        breaker.onFailure();
+
+        assertEquals(McpEndpointCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void ignoredProbeReleasesItsPermission() {
+        McpEndpointCircuitBreaker breaker = openBreaker(Duration.ZERO);
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onIgnored();
+
+        assertEquals(McpEndpointCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void openBreakerRejectsCallsUntilTheOpenDurationElapses() {
+        McpEndpointCircuitBreaker breaker = openBreaker(Duration.ofMinutes(1));
+
+        assertFalse(breaker.isCallPermitted());
+        assertFalse(breaker.tryAcquirePermission());
+        // late results of calls started before the breaker opened change nothing
+        breaker.onFailure();
+        assertEquals(McpEndpointCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void disabledBreakerNeverOpens() {
+        properties.setEnabled(false);
+        McpEndpointCircuitBreaker breaker = new McpEndpointCircuitBreaker(properties);
+
+        for (int i = 0; i < 50; i++) {
+            breaker.onFailure();
+        }
+
+        assertEquals(McpEndpointCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    private McpEndpointCircuitBreaker openBreaker(Duration openDuration) {
+        properties.setConsecutiveFailures(2);
+        properties.setOpenDuration(openDuration);
+        McpEndpointCircuitBreaker breaker = new McpEndpointCircuitBreaker(properties);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(McpEndpointCircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class McpEndpointGroupTest {
+
+    private final McpEndpointCircuitBreakerProperties properties = new McpEndpointCircuitBreakerProperties();
+
+    @Test
+    void emptyGroupFailsFast() {
+        McpEndpointGroup<String> group = group();
+
+        assertThrows(IllegalStateException.class, group::choose);
+        assertThrows(IllegalStateException.class, () -> group.execute(client -> client));
+    }
+
+    @Test
+    void ejectedEndpointIsSkipped() {
+        McpEndpointGroup<String> group = group("a", "b", "c");
+        eject(group, "b");
+
+        Set<String> chosen = new HashSet<>();
+        for (int i = 0; i < 12; i++) {
+            chosen.add(group.execute(client -> client));
+            chosen.add(group.choose().getClient());
+        }
+
+        assertEquals(Set.of("a", "c"), chosen);
+    }
+
+    @Test
+    void allEjectedFallsBackToTheEjectedEndpoints() {
+        McpEndpointGroup<String> group = group("a", "b");
+        eject(group, "a");
+        eject(group, "b");
+
+        Set<String> chosen = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            chosen.add(group.execute(client -> client));
+            chosen.add(group.choose().getClient());
+        }
+
+        // calls still reach the ejected endpoints, and the breakers stay open
+        assertEquals(Set.of("a", "b"), chosen);
+        for (McpEndpoint<String> endpoint : group.getEndpoints()) {
+            assertEquals(McpEndpointCircuitBreaker.State.OPEN, endpoint.getCircuitBreaker().getState());
+        }
+    }
+
+    @Test
+    void failingCallsEjectTheirEndpoint() {
+        properties.setConsecutiveFailures(2);
+        McpEndpointGroup<String> group = group("a", "b");
+
+        for (int i = 0; i < 4; i++) {
+            try {
+                group.execute(client -> {
+                    if (client.equals("a")) {
+                        throw new IllegalStateException("connection refused");
+                    }
+                    return client;
+                });
+            }
+            catch (IllegalStateException e) {
+                // expected for "a"
+            }
+        }
+
+        assertEquals(McpEndpointCircuitBreaker.State.OPEN, endpoint(group, "a").getCircuitBreaker().getState());
+        assertEquals(McpEndpointCircuitBreaker.State.CLOSED, endpoint(group, "b").getCircuitBreaker().getState());
+        assertEquals(0, endpoint(group, "a").getInFlight());
+        assertEquals("b", group.execute(client -> client));
+    }
+
+    @Test
+    void idempotentCallIsRetriedOnAnotherEndpoint() {
+        properties.setRetryIdempotentCalls(true);
+        McpEndpointGroup<String> group = group("a", "b");
+        List<String> attempts = new ArrayList<>();
+
+        String result = group.executeIdempotent(client -> {
+            attempts.add(client);
+            if (attempts.size() == 1) {
+                throw new IllegalStateException("connection reset");
+            }
+            return client;
+        });
+
+        assertEquals(2, attempts.size());
+        assertEquals(attempts.get(1), result);
+        assertEquals(Set.of("a", "b"), new HashSet<>(attempts));
+    }
+
+    @Test
+    void applySwapsEndpointsAndReturnsTheDisplacedOnes() {
+        McpEndpointGroup<String> group = group("a", "b");
+
+        List<McpEndpoint<String>> displaced = group.apply(Map.of("b", "b2", "c", "c"), List.of("a"));
+
+        assertEquals(List.of("a", "b"), displaced.stream().map(McpEndpoint::getClient).toList());
+        assertEquals(Map.of("b", "b2", "c", "c"), group.asMap());
+    }
+
+    private McpEndpointGroup<String> group(String... keys) {
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        McpEndpointGroup<String> group = new McpEndpointGroup<>("server", new RoundRobinMcpEndpointBalancer(),
+                properties, null);
+        Map<String, String> clients = new LinkedHashMap<>();
+        for (String key : keys) {
+            clients.put(key, key);
+        }
+        group.replaceAll(clients);
+        return group;
+    }
+
+    private void eject(McpEndpointGroup<String> group, String key) {
+        McpEndpointCircuitBreaker breaker = endpoint(group, key).getCircuitBreaker();
+        for (int i = 0; i < properties.getConsecutiveFailures(); i++) {
+            breaker.onFailure();
+        }
+    }
+
+    private static McpEndpoint<String> endpoint(McpEndpointGroup<String> group, String key) {
+        return group.getEndpoints().stream().filter(endpoint -> endpoint.getKey().equals(key)).findFirst().orElseThrow();
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class McpEndpointReconcilerTest {
+
+    private final McpEndpointGroup<String> group = new McpEndpointGroup<>("server",
+            new RoundRobinMcpEndpointBalancer());
+
+    private final List<String> closed = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger changes = new AtomicInteger();
+
+    private final McpEndpointReconciler<String> reconciler = reconciler(Duration.ofSeconds(5));
+
+    @Test
+    void reconcileNowAppliesTheEndpointsBeforeReturning() {
+        reconciler.reconcileNow(desired("a", "b"));
+
+        assertEquals(Map.of("a", "a", "b", "b"), group.asMap());
+        assertEquals(1, changes.get());
+    }
+
+    @Test
+    void unchangedEndpointsAreNotReplacedOrReported() {
+        AtomicInteger created = new AtomicInteger();
+        Map<String, Supplier<String>> desired = Map.of("a", () -> "a" + created.incrementAndGet());
+        reconciler.reconcileNow(desired);
+
+        reconciler.reconcileNow(desired);
+
+        assertEquals(Map.of("a", "a1"), group.asMap());
+        assertEquals(1, changes.get());
+    }
+
+    @Test
+    void failedWarmUpLeavesTheEndpointOut() {
+        Map<String, Supplier<String>> desired = new LinkedHashMap<>(desired("a"));
+        desired.put("b", () -> {
+            throw new IllegalStateException("handshake failed");
+        });
+
+        reconciler.reconcileNow(desired);
+
+        assertEquals(Map.of("a", "a"), group.asMap());
+    }
+
+    @Test
+    void failedReplacementKeepsTheOldClient() throws Exception {
+        reconciler.reconcileNow(desired("a"));
+        CountDownLatch applied = new CountDownLatch(1);
+        reconciler.addChangeListener(applied::countDown);
+
+        Map<String, Supplier<String>> replacement = new LinkedHashMap<>();
+        replacement.put("a", () -> {
+            throw new IllegalStateException("handshake failed");
+        });
+        replacement.put("b", () -> "b");
+        reconciler.reconcile(replacement, true);
+
+        assertTrue(applied.await(5, TimeUnit.SECONDS));
+        assertEquals(Map.of("a", "a", "b", "b"), group.asMap());
+        assertTrue(closed.isEmpty());
+    }
+
+    @Test
+    void removedClientIsClosedOnceItsCallsFinish() throws Exception {
+        reconciler.reconcileNow(desired("a", "b"));
+        McpEndpoint<String> removed = group.getEndpoints()
+            .stream()
+            .filter(endpoint -> endpoint.getKey().equals("a"))
+            .findFirst()
+            .orElseThrow();
+        removed.onStart();
+
+        reconciler.reconcileNow(desired("b"));
+
+        assertEquals(Map.of("b", "b"), group.asMap());
+        Thread.sleep(300);
+        assertTrue(closed.isEmpty());
+        removed.onComplete(0, null);
+        awaitClosed("a");
+    }
+
+    @Test
+    void drainTimeoutClosesABusyClient() throws Exception {
+        McpEndpointReconciler<String> impatient = reconciler(Duration.ofMillis(200));
+        impatient.reconcileNow(desired("a"));
+        group.getEndpoints().get(0).onStart();
+
+        impatient.reconcileNow(Map.of());
+
+        awaitClosed("a");
+    }
+
+    @Test
+    void queuedReconciliationsApplyTheLatestEndpoints() throws Exception {
+        reconciler.reconcileNow(desired("a"));
+        for (int i = 0; i < 10; i++) {
+            reconciler.reconcile(desired("a", "b" + i), false);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!group.asMap().equals(Map.of("a", "a", "b9", "b9")) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(Map.of("a", "a", "b9", "b9"), group.asMap());
+    }
+
+    private McpEndpointReconciler<String> reconciler(Duration drainTimeout) {
+        McpEndpointReconciler<String> created = new McpEndpointReconciler<>("server", group, closed::add, 2,
+                drainTimeout, null);
+        created.addChangeListener(changes::incrementAndGet);
+        return created;
+    }
+
+    private void awaitClosed(String client) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!closed.contains(client) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(List.of(client), closed);
+    }
+
+    private static Map<String, Supplier<String>> desired(String... keys) {
+        Map<String, Supplier<String>> desired = new LinkedHashMap<>();
+        for (String key : keys) {
+            desired.put(key, () -> key);
+        }
+        return desired;
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.tool;
+
+import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedSyncMcpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DistributedSyncMcpToolCallbackProviderTest {
+
+    @Test
+    void changeNotificationListsTheServerAgain() {
+        NotifyingClient client = new NotifyingClient("weather", "forecast");
+        DistributedSyncMcpToolCallbackProvider provider = new DistributedSyncMcpToolCallbackProvider(List.of(client));
+
+        assertEquals(List.of(prefixed("weather", "forecast")), names(provider.getToolCallbacks()));
+        assertEquals(List.of(prefixed("weather", "forecast")), names(provider.getToolCallbacks()));
+        assertEquals(1, client.listings.get());
+
+        client.tools = List.of("forecast", "alerts");
+        client.notifyToolsChanged();
+
+        assertEquals(List.of(prefixed("weather", "forecast"), prefixed("weather", "alerts")), names(provider.getToolCallbacks()));
+        assertEquals(2, client.listings.get());
+    }
+
+    @Test
+    void changeNotificationOnlyListsTheChangedServer() {
+        NotifyingClient weather = new NotifyingClient("weather", "forecast");
+        NotifyingClient maps = new NotifyingClient("maps", "route");
+        DistributedSyncMcpToolCallbackProvider provider = new DistributedSyncMcpToolCallbackProvider(
+                List.of(weather, maps));
+        provider.getToolCallbacks();
+
+        maps.notifyToolsChanged();
+        provider.getToolCallbacks();
+
+        assertEquals(1, weather.listings.get());
+        assertEquals(2, maps.listings.get());
+    }
+
+    @Test
+    void clientWithoutChangeNotificationsKeepsItsFirstListing() {
+        StubClient client = new StubClient("weather", "forecast");
+        DistributedSyncMcpToolCallbackProvider provider = new DistributedSyncMcpToolCallbackProvider(List.of(client));
+        provider.getToolCallbacks();
+
+        client.tools = List.of("forecast", "alerts");
+
+        assertEquals(List.of(prefixed("weather", "forecast")), names(provider.getToolCallbacks()));
+        assertEquals(1, client.listings.get());
+    }
+
+    private static String prefixed(String serverName, String toolName) {
+        return McpToolUtils.prefixedToolName(serverName, toolName);
+    }
+
+    private static List<String> names(ToolCallback[] callbacks) {
+        return Arrays.stream(callbacks).map(callback -> callback.getToolDefinition().name()).toList();
+    }
+
+    /**
+     * Keeps the default {@link DistributedSyncMcpClient#addToolsChangeListener(Runnable)}.
+     */
+    private static class StubClient implements DistributedSyncMcpClient {
+
+        private final String serverName;
+
+        final AtomicInteger listings = new AtomicInteger();
+
+        volatile List<String> tools;
+
+        StubClient(String serverName, String... tools) {
+            this.serverName = serverName;
+            this.tools = List.of(tools);
+        }
+
+        @Override
+        public String getServerName() {
+            return serverName;
+        }
+
+        @Override
+        public McpSchema.CallToolResult callTool(McpSchema.CallToolRequest callToolRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public McpSchema.ListToolsResult listTools() {
+            listings.incrementAndGet();
+            List<McpSchema.Tool> listed = new ArrayList<>();
+            for (String tool : tools) {
+                listed.add(new McpSchema.Tool.Builder().name(tool).description(tool).build());
+            }
+            return new McpSchema.ListToolsResult(listed, null);
+        }
+
+        @Override
+        public McpSyncClient getMcpSyncClient() {
+            return null;
+        }
+
+        @Override
+        public Map<String, McpSyncClient> init() {
+            return Map.of();
+        }
+
+        @Override
+        public void subscribe() {
+        }
+
+    }
+
+    private static class NotifyingClient extends StubClient {
+
+        private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+        NotifyingClient(String serverName, String... tools) {
+            super(serverName, tools);
+        }
+
+        @Override
+        public void addToolsChangeListener(Runnable listener) {
+            listeners.add(listener);
+        }
+
+        void notifyToolsChanged() {
+            listeners.forEach(Runnable::run);
+        }
+
+    }
+
+}
@@ -16,15 +16,17 @@
 
 package com.alibaba.cloud.ai.mcp.gateway.core;
 
+import com.alibaba.cloud.ai.mcp.common.watch.McpServicePoller;
+import com.alibaba.cloud.ai.mcp.common.watch.McpWatcherProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 /**
  * MCP Gateway 工具监听器抽象基类 提供了通用的工具监听和更新功能
+ * <p>
+ * 轮询按带抖动的间隔执行，子类可以通过 {@link #poller} 并发查询多个服务。
  */
 public abstract class AbstractMcpGatewayToolsWatcher {
 
@@ -32,16 +34,27 @@ public abstract class AbstractMcpGatewayToolsWatcher {
 
 	protected static final long DEFAULT_POLLING_INTERVAL = 30L;
 
-	protected final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-
 	protected final McpGatewayToolManager toolManager;
 
+	protected final McpWatcherProperties watcherProperties;
+
+	protected final McpServicePoller poller;
+
 	public AbstractMcpGatewayToolsWatcher(McpGatewayToolManager toolManager) {
+		this(toolManager, new McpWatcherProperties());
+	}
+
+	public AbstractMcpGatewayToolsWatcher(McpGatewayToolManager toolManager, McpWatcherProperties watcherProperties) {
 		// 验证参数
 		if (toolManager == null) {
 			throw new IllegalArgumentException("McpGatewayToolManager cannot be null");
 		}
+		if (watcherProperties == null) {
+			throw new IllegalArgumentException("McpWatcherProperties cannot be null");
+		}
 		this.toolManager = toolManager;
+		this.watcherProperties = watcherProperties;
+		this.poller = new McpServicePoller("mcp-gateway-tools-watcher", watcherProperties);
 		// 启动定时任务
 		this.startScheduledPolling();
 	}
@@ -51,7 +64,7 @@ public abstract class AbstractMcpGatewayToolsWatcher {
 	 */
 	protected void startScheduledPolling() {
 		long pollingInterval = getPollingInterval();
-		scheduler.scheduleAtFixedRate(this::watch, pollingInterval, pollingInterval, TimeUnit.SECONDS);
+		poller.start(Duration.ofSeconds(pollingInterval), this::watch);
 		logger.info("Started scheduled service polling with interval: {} seconds", pollingInterval);
 	}
 
@@ -59,23 +72,7 @@ public abstract class AbstractMcpGatewayToolsWatcher {
 	 * 停止监听器
 	 */
 	public void stop() {
-		if (scheduler != null && !scheduler.isShutdown()) {
-			scheduler.shutdown();
-			try {
-				if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
-					scheduler.shutdownNow();
-					if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
-						logger.error("Scheduler did not terminate");
-					}
-				}
-			}
-			catch (InterruptedException e) {
-				scheduler.shutdownNow();
-				Thread.currentThread().interrupt();
-				logger.error("Interrupted while waiting for scheduler to terminate", e);
-			}
-		}
-
+		poller.close();
 		logger.info("Stopped scheduled service polling and cleared cache");
 	}
 
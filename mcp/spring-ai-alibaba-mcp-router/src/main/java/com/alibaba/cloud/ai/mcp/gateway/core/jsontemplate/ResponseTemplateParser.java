@@ -16,6 +16,8 @@
 
 package com.alibaba.cloud.ai.mcp.gateway.core.jsontemplate;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.jknack.handlebars.Handlebars;
@@ -23,7 +25,14 @@ import com.github.jknack.handlebars.Template;
 import com.jayway.jsonpath.JsonPath;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,6 +50,26 @@ public class ResponseTemplateParser {
 	// This regex is fully covered by unit tests in ResponseTemplateParserTest.java
 	private static final Pattern MULTI_LEVEL_PATTERN = Pattern.compile("\\{\\{\\s*\\.\\w+\\.[\\w\\.]+\\s*}}");
 
+	// Upper bound of compiled templates kept in memory, templates come from tool
+	// definitions so the working set is small
+	private static final int MAX_CACHED_TEMPLATES = 512;
+
+	// Simple templates referencing at most this many fields are resolved by streaming
+	// the response instead of binding it into a full Map
+	private static final int STREAMING_FIELD_LIMIT = 8;
+
+	private static final String ARGS = "args";
+
+	private static final String EXTENDED_DATA = "extendedData";
+
+	private static final Map<String, CompiledTemplate> TEMPLATE_CACHE = Collections
+		.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CompiledTemplate> eldest) {
+				return size() > MAX_CACHED_TEMPLATES;
+			}
+		});
+
 	/**
 	 * Process response template
 	 * @param rawResponse raw response (JSON or text)
@@ -52,89 +81,323 @@ public class ResponseTemplateParser {
 			// Return raw output
 			return rawResponse;
 		}
+		return compile(responseTemplate).apply(rawResponse);
+	}
 
-		// JsonPath extraction
-		if (responseTemplate.trim().startsWith("$.") || responseTemplate.trim().startsWith("$[")) {
-			try {
-				Object result = JsonPath.read(rawResponse, responseTemplate.trim());
-				return result != null ? result.toString() : "";
+	/**
+	 * Compile a response template once so that it can be applied to many responses.
+	 * Compiled templates are cached by their source text in a bounded LRU shared by all
+	 * callers. Callers whose templates follow the lifetime of a definition, or whose
+	 * template text varies per call, should use {@link CompiledTemplate#of(String)} and
+	 * hold the result themselves.
+	 * @param responseTemplate template string (can be jsonPath, template, null/empty)
+	 * @return compiled template
+	 */
+	public static CompiledTemplate compile(String responseTemplate) {
+		String key = responseTemplate != null ? responseTemplate : "";
+		CompiledTemplate compiled = TEMPLATE_CACHE.get(key);
+		if (compiled == null) {
+			compiled = new CompiledTemplate(key);
+			TEMPLATE_CACHE.put(key, compiled);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Drop all compiled templates, e.g. after a bulk tool definition reload.
+	 */
+	public static void clearCache() {
+		TEMPLATE_CACHE.clear();
+	}
+
+	/**
+	 * Immutable, thread-safe compiled form of a response template. Holds the compiled
+	 * JsonPath, the compiled Handlebars template and the pre-split simple template, and
+	 * keeps exactly the same fallback order as the uncompiled parser.
+	 */
+	public static final class CompiledTemplate {
+
+		private final String source;
+
+		private final boolean raw;
+
+		private final JsonPath jsonPath;
+
+		private final boolean multiLevel;
+
+		private final Template handlebarsTemplate;
+
+		// literal text interleaved with placeholder keys, literals.size() == keys.size() + 1
+		private final List<String> literals = new ArrayList<>();
+
+		// placeholder keys, "" stands for {{.}}
+		private final List<String> keys = new ArrayList<>();
+
+		// placeholders as written in the source, keys.size() == placeholders.size()
+		private final List<String> placeholders = new ArrayList<>();
+
+		private final Set<String> fieldNames = new LinkedHashSet<>();
+
+		// top-level response fields read by render(), args and the raw response excluded
+		private final Set<String> renderFieldNames = new LinkedHashSet<>();
+
+		private CompiledTemplate(String source) {
+			this.source = source;
+			this.raw = !StringUtils.hasText(source) || "{{.}}".equals(source.trim());
+
+			JsonPath path = null;
+			String trimmed = source.trim();
+			if (trimmed.startsWith("$.") || trimmed.startsWith("$[")) {
+				try {
+					path = JsonPath.compile(trimmed);
+				}
+				catch (Exception e) {
+					// Invalid JsonPath, fallback to template processing
+				}
 			}
-			catch (Exception e) {
-				// JsonPath failed, fallback to template processing
+			this.jsonPath = path;
+
+			this.multiLevel = MULTI_LEVEL_PATTERN.matcher(source).find();
+			Template template = null;
+			if (this.multiLevel) {
+				try {
+					template = handlebars.compileInline(toHandlebarsSyntax(source));
+				}
+				catch (Exception e) {
+					// Handlebars cannot compile it, the simple template is used instead
+				}
+			}
+			this.handlebarsTemplate = template;
+
+			Matcher matcher = TEMPLATE_PATTERN.matcher(source);
+			int last = 0;
+			while (matcher.find()) {
+				this.literals.add(source.substring(last, matcher.start()));
+				String key = matcher.group(1) != null ? matcher.group(1) : "";
+				this.keys.add(key);
+				this.placeholders.add(matcher.group());
+				if (!key.isEmpty() && key.indexOf('[') < 0) {
+					this.fieldNames.add(key);
+					String root = rootOf(key);
+					if (!ARGS.equals(root) && !EXTENDED_DATA.equals(key)) {
+						this.renderFieldNames.add(root);
+					}
+				}
+				last = matcher.end();
 			}
+			this.literals.add(source.substring(last));
 		}
 
-		// Detect multi-level path access
-		if (MULTI_LEVEL_PATTERN.matcher(responseTemplate).find()) {
-			return parseWithHandlebars(rawResponse, responseTemplate);
+		/**
+		 * Compile a template without going through the shared cache.
+		 * @param source template string (can be jsonPath, template, null/empty)
+		 * @return compiled template
+		 */
+		public static CompiledTemplate of(String source) {
+			return new CompiledTemplate(source != null ? source : "");
 		}
 
-		// Simple template variable replacement (maintain backward compatibility)
-		return parseWithSimpleTemplate(rawResponse, responseTemplate);
-	}
+		public String getSource() {
+			return source;
+		}
 
-	private static String parseWithHandlebars(String rawResponse, String responseTemplate) {
-		try {
-			// 1. Preprocess template: convert syntax to be compatible with Handlebars
-			String handlebarsTemplateStr = responseTemplate
-				// Remove dot prefix: {{ .xxx.yyy }} -> {{xxx.yyy}}
-				.replaceAll("\\{\\{\\s*\\.", "{{")
-				// Convert array access syntax: {{users.[0].name}} -> {{users.0.name}}
-				.replaceAll("\\[([0-9]+)\\]", "$1");
-
-			// 2. Compile template
-			Template template = handlebars.compileInline(handlebarsTemplateStr);
-
-			Map<String, Object> dataContext;
-			boolean isJson = rawResponse.trim().startsWith("{") || rawResponse.trim().startsWith("[");
-			if (isJson) {
-				dataContext = objectMapper.readValue(rawResponse, new TypeReference<Map<String, Object>>() {
-				});
+		/**
+		 * Apply the compiled template to a raw response.
+		 * @param rawResponse raw response (JSON or text)
+		 * @return processed string
+		 */
+		public String apply(String rawResponse) {
+			if (raw) {
+				return rawResponse;
+			}
+			if (jsonPath != null) {
+				try {
+					Object result = jsonPath.read(rawResponse);
+					return result != null ? result.toString() : "";
+				}
+				catch (Exception e) {
+					// JsonPath failed, fallback to template processing
+				}
+			}
+			if (multiLevel && handlebarsTemplate != null) {
+				try {
+					return handlebarsTemplate.apply(handlebarsContext(rawResponse));
+				}
+				catch (Exception e) {
+					// fallback to simple template below
+				}
 			}
-			else {
-				// Non-JSON data, create a context containing the raw response
-				dataContext = Map.of("_raw", rawResponse);
+			return applySimple(rawResponse);
+		}
+
+		/**
+		 * Render the template the way MCP gateway tools use it: {@code {{.args.x}}} reads
+		 * the tool arguments, {@code {{.}}} and {@code {{.extendedData}}} insert the raw
+		 * response and any other path walks the JSON response object. Only the top-level
+		 * fields the paths start with are materialized, the rest of the response is
+		 * skipped while streaming. Unresolvable paths render as an empty string.
+		 * <p>
+		 * Unlike the placeholder syntax the gateway used before, {@code {{.}}} is now a
+		 * placeholder and renders the raw response instead of being kept as literal text.
+		 * Paths with an index such as {@code {{.items[0]}}} are not evaluated and are still
+		 * kept verbatim.
+		 * @param rawResponse raw response (JSON or text), may be {@code null}
+		 * @param args tool arguments, may be {@code null}
+		 * @return rendered string
+		 */
+		public String render(String rawResponse, Map<String, Object> args) {
+			if (keys.isEmpty()) {
+				return source;
 			}
+			Map<String, Object> response = null;
+			boolean responseRead = false;
+			StringBuilder sb = new StringBuilder(source.length() + 32);
+			for (int i = 0; i < keys.size(); i++) {
+				sb.append(literals.get(i));
+				String key = keys.get(i);
+				if (key.isEmpty() || EXTENDED_DATA.equals(key)) {
+					sb.append(rawResponse != null ? rawResponse : "");
+					continue;
+				}
+				if (key.indexOf('[') >= 0) {
+					sb.append(placeholders.get(i));
+					continue;
+				}
+				String[] parts = key.split("\\.");
+				if (ARGS.equals(parts[0])) {
+					sb.append(resolveArgs(parts, args));
+					continue;
+				}
+				if (!responseRead) {
+					responseRead = true;
+					response = readFields(rawResponse, renderFieldNames);
+				}
+				sb.append(resolvePath(response, parts, 0));
+			}
+			sb.append(literals.get(keys.size()));
+			return sb.toString();
+		}
 
-			return template.apply(dataContext);
+		private String applySimple(String rawResponse) {
+			try {
+				Map<String, Object> context = null;
+				boolean isJson = isJson(rawResponse);
+				if (isJson) {
+					context = fieldNames.size() <= STREAMING_FIELD_LIMIT ? extractFields(rawResponse, fieldNames)
+							: objectMapper.readValue(rawResponse, new TypeReference<Map<String, Object>>() {
+							});
+				}
+				StringBuilder sb = new StringBuilder(source.length() + 32);
+				for (int i = 0; i < keys.size(); i++) {
+					sb.append(literals.get(i));
+					String key = keys.get(i);
+					if (key.isEmpty()) {
+						// {{.}} 变量，直接替换为原始响应
+						sb.append(rawResponse);
+					}
+					else if (context != null && context.containsKey(key)) {
+						sb.append(context.get(key));
+					}
+				}
+				sb.append(literals.get(keys.size()));
+				return sb.toString();
+			}
+			catch (Exception e) {
+				// 模板处理失败，降级为原样输出
+				return rawResponse;
+			}
+		}
+
+	}
+
+	private static String rootOf(String key) {
+		int dot = key.indexOf('.');
+		return dot < 0 ? key : key.substring(0, dot);
+	}
 
+	private static Map<String, Object> readFields(String rawResponse, Set<String> fieldNames) {
+		if (rawResponse == null || rawResponse.isBlank() || fieldNames.isEmpty()) {
+			return null;
+		}
+		try {
+			return extractFields(rawResponse, fieldNames);
 		}
 		catch (Exception e) {
-			return parseWithSimpleTemplate(rawResponse, responseTemplate);
+			// not a JSON object, response paths resolve to nothing
+			return null;
 		}
 	}
 
-	private static String parseWithSimpleTemplate(String rawResponse, String responseTemplate) {
-		try {
-			Map<String, Object> context = null;
-			boolean isJson = rawResponse.trim().startsWith("{") || rawResponse.trim().startsWith("[");
-			if (isJson) {
-				context = objectMapper.readValue(rawResponse, new TypeReference<Map<String, Object>>() {
-				});
+	private static String resolveArgs(String[] parts, Map<String, Object> args) {
+		if (args == null || args.isEmpty()) {
+			return "";
+		}
+		if (parts.length == 1) {
+			// {{.args}} alone: the only argument, or all of them
+			return args.size() == 1 ? String.valueOf(args.values().iterator().next()) : args.toString();
+		}
+		return resolvePath(args, parts, 1);
+	}
+
+	private static String resolvePath(Object value, String[] parts, int start) {
+		Object current = value;
+		for (int i = start; i < parts.length; i++) {
+			if (!(current instanceof Map<?, ?> map)) {
+				return "";
 			}
-			StringBuffer sb = new StringBuffer();
-			Matcher matcher = TEMPLATE_PATTERN.matcher(responseTemplate);
-			while (matcher.find()) {
-				String key = matcher.group(1);
-				String value;
-				if (key == null || key.isEmpty()) {
-					// {{.}} 变量，直接替换为原始响应
-					value = rawResponse;
-				}
-				else if (context != null && context.containsKey(key)) {
-					value = String.valueOf(context.get(key));
+			current = map.get(parts[i]);
+		}
+		return current != null ? current.toString() : "";
+	}
+
+	private static String toHandlebarsSyntax(String responseTemplate) {
+		return responseTemplate
+			// Remove dot prefix: {{ .xxx.yyy }} -> {{xxx.yyy}}
+			.replaceAll("\\{\\{\\s*\\.", "{{")
+			// Convert array access syntax: {{users.[0].name}} -> {{users.0.name}}
+			.replaceAll("\\[([0-9]+)\\]", "$1");
+	}
+
+	private static Map<String, Object> handlebarsContext(String rawResponse) throws Exception {
+		if (isJson(rawResponse)) {
+			return objectMapper.readValue(rawResponse, new TypeReference<Map<String, Object>>() {
+			});
+		}
+		// Non-JSON data, create a context containing the raw response
+		return Map.of("_raw", rawResponse);
+	}
+
+	private static boolean isJson(String rawResponse) {
+		String trimmed = rawResponse.trim();
+		return trimmed.startsWith("{") || trimmed.startsWith("[");
+	}
+
+	/**
+	 * Stream the top level of a JSON object and only materialize the requested fields,
+	 * all other values are skipped token by token. Malformed input still fails the same
+	 * way a full bind would, since every token up to the end of the root is consumed.
+	 */
+	private static Map<String, Object> extractFields(String rawResponse, Set<String> fieldNames) throws Exception {
+		try (JsonParser parser = objectMapper.getFactory().createParser(rawResponse)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IllegalArgumentException("Response root is not a JSON object");
+			}
+			Map<String, Object> values = new HashMap<>();
+			JsonToken token;
+			while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+				String name = parser.currentName();
+				parser.nextToken();
+				if (fieldNames.contains(name)) {
+					values.put(name, parser.readValueAs(Object.class));
 				}
 				else {
-					value = "";
+					parser.skipChildren();
 				}
-				matcher.appendReplacement(sb, Matcher.quoteReplacement(value));
 			}
-			matcher.appendTail(sb);
-			return sb.toString();
-		}
-		catch (Exception e) {
-			// 模板处理失败，降级为原样输出
-			return rawResponse;
+			if (token != JsonToken.END_OBJECT) {
+				throw new IllegalArgumentException("Malformed JSON object in response");
+			}
+			return values;
 		}
 	}
 
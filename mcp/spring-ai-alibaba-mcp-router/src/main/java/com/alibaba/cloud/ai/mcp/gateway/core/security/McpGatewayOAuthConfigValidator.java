@@ -54,6 +54,14 @@ public class McpGatewayOAuthConfigValidator {
 			errors.addAll(providerErrors);
 		}
 
+		if (properties.getProviders() != null) {
+			properties.getProviders().forEach((name, namedProvider) -> {
+				for (String error : validateProvider(namedProvider)) {
+					errors.add("提供商 '" + name + "': " + error);
+				}
+			});
+		}
+
 		if (properties.getTokenCache() != null) {
 			validateTokenCacheConfig(properties.getTokenCache(), warnings);
 		}
@@ -37,10 +37,18 @@ public class McpGatewayOAuthInterceptor implements ExchangeFilterFunction {
 
 	private final McpGatewayOAuthProperties oauthProperties;
 
+	private final String providerName;
+
 	public McpGatewayOAuthInterceptor(McpGatewayOAuthTokenManager tokenManager,
 			McpGatewayOAuthProperties oauthProperties) {
+		this(tokenManager, oauthProperties, McpGatewayOAuthTokenManager.DEFAULT_PROVIDER);
+	}
+
+	public McpGatewayOAuthInterceptor(McpGatewayOAuthTokenManager tokenManager,
+			McpGatewayOAuthProperties oauthProperties, String providerName) {
 		this.tokenManager = tokenManager;
 		this.oauthProperties = oauthProperties;
+		this.providerName = providerName;
 	}
 
 	@NotNull
@@ -53,7 +61,7 @@ public class McpGatewayOAuthInterceptor implements ExchangeFilterFunction {
 
 		logger.debug("OAuth 认证 URL: {}", request.url());
 
-		return tokenManager.getAccessToken().flatMap(accessToken -> {
+		return tokenManager.getAccessToken(providerName).flatMap(accessToken -> {
 			ClientRequest authenticatedRequest = ClientRequest.from(request)
 				.header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
 				.build();
@@ -70,7 +78,7 @@ public class McpGatewayOAuthInterceptor implements ExchangeFilterFunction {
 			if (response.statusCode().is4xxClientError() && response.statusCode().value() == 401) {
 				logger.warn("收到401未授权响应，OAuth token 无效");
 				try {
-					tokenManager.clearCachedToken();
+					tokenManager.clearCachedToken(providerName);
 					logger.info("已清除无效的缓存token");
 				}
 				catch (Exception e) {
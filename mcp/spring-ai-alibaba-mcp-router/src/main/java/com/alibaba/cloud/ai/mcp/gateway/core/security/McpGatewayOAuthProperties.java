@@ -19,6 +19,7 @@ package com.alibaba.cloud.ai.mcp.gateway.core.security;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -37,6 +38,11 @@ public class McpGatewayOAuthProperties {
 	 */
 	private OAuthProvider provider = new OAuthProvider();
 
+	/**
+	 * 额外的命名OAuth提供商，每个提供商拥有独立的Token缓存
+	 */
+	private Map<String, OAuthProvider> providers = new LinkedHashMap<>();
+
 	/**
 	 * Token缓存配置
 	 */
@@ -185,6 +191,16 @@ public class McpGatewayOAuthProperties {
 		 */
 		private int maxSize = 1000;
 
+		/**
+		 * 是否在Token过期前于后台提前续期
+		 */
+		private boolean backgroundRefresh = true;
+
+		/**
+		 * 后台续期时间的随机抖动上限，避免多个实例同时请求Token端点
+		 */
+		private Duration refreshJitter = Duration.ofSeconds(30);
+
 		// Getters and Setters
 		public boolean isEnabled() {
 			return enabled;
@@ -210,6 +226,22 @@ public class McpGatewayOAuthProperties {
 			this.maxSize = maxSize;
 		}
 
+		public boolean isBackgroundRefresh() {
+			return backgroundRefresh;
+		}
+
+		public void setBackgroundRefresh(boolean backgroundRefresh) {
+			this.backgroundRefresh = backgroundRefresh;
+		}
+
+		public Duration getRefreshJitter() {
+			return refreshJitter;
+		}
+
+		public void setRefreshJitter(Duration refreshJitter) {
+			this.refreshJitter = refreshJitter;
+		}
+
 	}
 
 	public static class Retry {
@@ -259,6 +291,14 @@ public class McpGatewayOAuthProperties {
 		this.provider = provider;
 	}
 
+	public Map<String, OAuthProvider> getProviders() {
+		return providers;
+	}
+
+	public void setProviders(Map<String, OAuthProvider> providers) {
+		this.providers = providers;
+	}
+
 	public TokenCache getTokenCache() {
 		return tokenCache;
 	}
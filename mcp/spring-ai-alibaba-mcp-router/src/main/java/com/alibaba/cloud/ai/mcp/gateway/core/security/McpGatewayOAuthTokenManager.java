@@ -18,6 +18,9 @@ package com.alibaba.cloud.ai.mcp.gateway.core.security;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -29,65 +32,153 @@ import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * OAuth Token管理器 负责Token的获取、缓存和刷新
+ * <p>
+ * 每个提供商独立缓存Token。Token失效时并发调用方共享同一次获取请求，不会同时打到Token端点；
+ * 开启后台续期时，Token会在到期前加上随机抖动提前刷新。
  */
-public class McpGatewayOAuthTokenManager {
+public class McpGatewayOAuthTokenManager implements AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpGatewayOAuthTokenManager.class);
 
+	/**
+	 * {@link McpGatewayOAuthProperties#getProvider()} 对应的提供商名称
+	 */
+	public static final String DEFAULT_PROVIDER = "default";
+
+	private static final Duration MIN_RENEWAL_DELAY = Duration.ofSeconds(1);
+
+	/**
+	 * 提前刷新量最多占Token有效期的比例，短有效期的Token在有效期的80%之后才刷新
+	 */
+	private static final double MAX_REFRESH_LEAD_RATIO = 0.2;
+
+	/**
+	 * 续期抖动最多占Token有效期的比例
+	 */
+	private static final double MAX_JITTER_RATIO = 0.1;
+
 	private final WebClient webClient;
 
 	private final McpGatewayOAuthProperties oauthProperties;
 
 	private final ObjectMapper objectMapper;
 
-	private volatile CachedToken cachedToken;
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, ProviderState> providerStates = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService renewalScheduler;
+
+	private volatile boolean closed;
 
 	private final static Integer DEFAULT_EXPIRED_TIME = 3600;
 
 	public McpGatewayOAuthTokenManager(WebClient.Builder webClientBuilder, McpGatewayOAuthProperties oauthProperties) {
+		this(webClientBuilder, oauthProperties, null);
+	}
+
+	public McpGatewayOAuthTokenManager(WebClient.Builder webClientBuilder, McpGatewayOAuthProperties oauthProperties,
+			MeterRegistry meterRegistry) {
 		this.webClient = webClientBuilder.build();
 		this.oauthProperties = oauthProperties;
 		this.objectMapper = new ObjectMapper();
-		this.cachedToken = null;
+		this.meterRegistry = meterRegistry;
+		this.renewalScheduler = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r);
+			t.setName("mcp-gateway-oauth-renewal");
+			t.setDaemon(true);
+			return t;
+		});
 	}
 
 	/**
-	 * 获取访问Token
+	 * 获取默认提供商的访问Token
 	 */
 	public Mono<String> getAccessToken() {
+		return getAccessToken(DEFAULT_PROVIDER);
+	}
+
+	/**
+	 * 获取指定提供商的访问Token
+	 * @param providerName 提供商名称，{@link #DEFAULT_PROVIDER} 表示默认提供商
+	 */
+	public Mono<String> getAccessToken(String providerName) {
 		if (!oauthProperties.isEnabled()) {
 			return Mono.empty();
 		}
 
-		return Mono.fromCallable(() -> {
+		return Mono.defer(() -> {
+			ProviderState state = stateOf(providerName);
 			// 检查缓存
 			if (oauthProperties.getTokenCache().isEnabled()) {
+				CachedToken cachedToken = state.cachedToken;
 				if (cachedToken != null && !isTokenExpiring(cachedToken)) {
-					logger.debug("使用缓存的token");
-					return cachedToken.getAccessToken();
+					logger.debug("使用缓存的token, provider: {}", providerName);
+					return Mono.just(cachedToken.getAccessToken());
 				}
 			}
-			return null;
-		}).onErrorResume(throwable -> {
-			logger.error("获取访问token失败", throwable);
-			return Mono.empty();
-		}).switchIfEmpty(fetchNewToken());
+			return refresh(state);
+		});
+	}
+
+	private ProviderState stateOf(String providerName) {
+		return providerStates.computeIfAbsent(providerName, ProviderState::new);
+	}
+
+	/**
+	 * 获取新Token，同一提供商的并发调用共享同一次请求。调用方取消订阅不会中断共享的请求
+	 */
+	private Mono<String> refresh(ProviderState state) {
+		return Mono.defer(() -> {
+			CompletableFuture<String> created = new CompletableFuture<>();
+			CompletableFuture<String> inflight = state.inflight.compareAndExchange(null, created);
+			if (inflight != null) {
+				recordCoalesced(state.name);
+				return Mono.fromFuture(inflight, true);
+			}
+			long start = System.nanoTime();
+			fetchNewToken(state.name).subscribe(token -> {
+				recordRefresh(state.name, "success", start);
+				if (oauthProperties.getTokenCache().isEnabled()) {
+					state.cachedToken = token;
+					scheduleRenewal(state, token);
+				}
+				// 先发布缓存再清理 inflight，之后的调用方可以直接命中缓存
+				state.inflight.compareAndSet(created, null);
+				created.complete(token.getAccessToken());
+			}, error -> {
+				recordRefresh(state.name, "failure", start);
+				state.inflight.compareAndSet(created, null);
+				created.completeExceptionally(error);
+			});
+			return Mono.fromFuture(created, true);
+		});
 	}
 
 	/**
 	 * 获取新的访问Token
 	 */
-	private Mono<String> fetchNewToken() {
-		McpGatewayOAuthProperties.OAuthProvider provider = oauthProperties.getProvider();
+	private Mono<CachedToken> fetchNewToken(String providerName) {
+		McpGatewayOAuthProperties.OAuthProvider provider = resolveProvider(providerName);
 		if (provider == null) {
-			return Mono.error(new IllegalArgumentException("OAuth 未配置"));
+			return Mono.error(new IllegalArgumentException("OAuth 未配置, provider: " + providerName));
 		}
 
-		logger.info("获取新的访问token");
+		logger.info("获取新的访问token, provider: {}", providerName);
 
 		MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
 		formData.add("grant_type", provider.getGrantType());
@@ -105,18 +196,26 @@ public class McpGatewayOAuthTokenManager {
 			.retrieve()
 			.bodyToMono(String.class)
 			.map(responseBody -> parseTokenResponse(responseBody))
-			.doOnNext(token -> logger.info("成功获取访问token"))
+			.doOnNext(token -> logger.info("成功获取访问token, provider: {}", providerName))
 			.retry(oauthProperties.getRetry().getMaxAttempts() - 1)
 			.onErrorMap(throwable -> {
-				logger.error("获取访问token失败", throwable);
+				logger.error("获取访问token失败, provider: {}", providerName, throwable);
 				return new RuntimeException("OAuth token获取失败", throwable);
 			});
 	}
 
+	private McpGatewayOAuthProperties.OAuthProvider resolveProvider(String providerName) {
+		if (DEFAULT_PROVIDER.equals(providerName)) {
+			return oauthProperties.getProvider();
+		}
+		Map<String, McpGatewayOAuthProperties.OAuthProvider> providers = oauthProperties.getProviders();
+		return providers != null ? providers.get(providerName) : null;
+	}
+
 	/**
 	 * 解析Token响应
 	 */
-	private String parseTokenResponse(String responseBody) {
+	private CachedToken parseTokenResponse(String responseBody) {
 		try {
 			TokenResponse tokenResponse = objectMapper.readValue(responseBody, TokenResponse.class);
 
@@ -124,16 +223,10 @@ public class McpGatewayOAuthTokenManager {
 				throw new RuntimeException("响应中未找到访问token");
 			}
 
-			// 缓存Token
-			if (oauthProperties.getTokenCache().isEnabled()) {
-				cachedToken = new CachedToken(tokenResponse.getAccessToken(), tokenResponse.getRefreshToken(),
-						Instant.now()
-							.plusSeconds(tokenResponse.getExpiresIn() != null ? tokenResponse.getExpiresIn() : DEFAULT_EXPIRED_TIME),
-						tokenResponse.getTokenType());
-				logger.debug("缓存访问token");
-			}
-
-			return tokenResponse.getAccessToken();
+			Instant issuedAt = Instant.now();
+			long expiresIn = tokenResponse.getExpiresIn() != null ? tokenResponse.getExpiresIn() : DEFAULT_EXPIRED_TIME;
+			return new CachedToken(tokenResponse.getAccessToken(), tokenResponse.getRefreshToken(), issuedAt,
+					issuedAt.plusSeconds(expiresIn), tokenResponse.getTokenType());
 		}
 		catch (Exception e) {
 			logger.error("解析token响应失败，响应内容: {}", responseBody, e);
@@ -141,6 +234,73 @@ public class McpGatewayOAuthTokenManager {
 		}
 	}
 
+	/**
+	 * 在Token进入提前刷新窗口之前安排后台续期，续期时间减去随机抖动
+	 */
+	private void scheduleRenewal(ProviderState state, CachedToken token) {
+		if (closed || !oauthProperties.getTokenCache().isBackgroundRefresh() || token.getExpiresAt() == null) {
+			return;
+		}
+		scheduleRenewal(state, Duration.between(Instant.now(), renewalTime(token)));
+	}
+
+	/**
+	 * 计算后台续期时间：过期时间减去提前刷新量和随机抖动。两者都按Token有效期封顶，
+	 * 有效期短于提前刷新窗口的Token不会在获取后立即反复续期
+	 */
+	Instant renewalTime(CachedToken token) {
+		McpGatewayOAuthProperties.TokenCache tokenCache = oauthProperties.getTokenCache();
+		long lifetimeMillis = lifetime(token).toMillis();
+		long jitterMillis = tokenCache.getRefreshJitter() != null ? tokenCache.getRefreshJitter().toMillis() : 0;
+		jitterMillis = Math.min(jitterMillis, (long) (lifetimeMillis * MAX_JITTER_RATIO));
+		return refreshThreshold(token)
+			.minusMillis(jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0);
+	}
+
+	/**
+	 * 进入提前刷新窗口的时间点，提前量不超过Token有效期的 {@link #MAX_REFRESH_LEAD_RATIO}
+	 */
+	private Instant refreshThreshold(CachedToken token) {
+		Duration refreshBeforeExpiry = oauthProperties.getTokenCache().getRefreshBeforeExpiry();
+		long leadMillis = (long) (lifetime(token).toMillis() * MAX_REFRESH_LEAD_RATIO);
+		if (refreshBeforeExpiry != null) {
+			leadMillis = Math.min(leadMillis, refreshBeforeExpiry.toMillis());
+		}
+		return token.getExpiresAt().minusMillis(leadMillis);
+	}
+
+	private static Duration lifetime(CachedToken token) {
+		Duration lifetime = Duration.between(token.getIssuedAt(), token.getExpiresAt());
+		return lifetime.isNegative() ? Duration.ZERO : lifetime;
+	}
+
+	private void scheduleRenewal(ProviderState state, Duration delay) {
+		if (closed) {
+			return;
+		}
+		long delayMillis = Math.max(MIN_RENEWAL_DELAY.toMillis(), delay.toMillis());
+		ScheduledFuture<?> previous = state.renewal.getAndSet(
+				renewalScheduler.schedule(() -> renew(state), delayMillis, TimeUnit.MILLISECONDS));
+		if (previous != null) {
+			previous.cancel(false);
+		}
+		logger.debug("已安排后台续期token, provider: {}, delay: {}ms", state.name, delayMillis);
+	}
+
+	private void renew(ProviderState state) {
+		if (closed) {
+			return;
+		}
+		refresh(state).subscribe(token -> logger.debug("后台续期token成功, provider: {}", state.name), error -> {
+			// 旧Token仍然有效时按重试间隔继续尝试，过期后交给下一次请求按需获取
+			CachedToken current = state.cachedToken;
+			if (current != null && current.getExpiresAt() != null && Instant.now().isBefore(current.getExpiresAt())) {
+				logger.warn("后台续期token失败, provider: {}, 稍后重试: {}", state.name, error.getMessage());
+				scheduleRenewal(state, oauthProperties.getRetry().getBackoff());
+			}
+		});
+	}
+
 	/**
 	 * 检查Token是否即将过期
 	 */
@@ -149,42 +309,106 @@ public class McpGatewayOAuthTokenManager {
 			return false;
 		}
 
-		Instant refreshThreshold = cachedToken.getExpiresAt()
-			.minus(oauthProperties.getTokenCache().getRefreshBeforeExpiry());
+		return Instant.now().isAfter(refreshThreshold(cachedToken));
+	}
+
+	private void recordRefresh(String providerName, String outcome, long startNanos) {
+		if (meterRegistry == null) {
+			return;
+		}
+		Timer.builder("mcp.gateway.oauth.token.refresh")
+			.description("OAuth token fetches against the token endpoint")
+			.tag("provider", providerName)
+			.tag("outcome", outcome)
+			.register(meterRegistry)
+			.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private void recordCoalesced(String providerName) {
+		if (meterRegistry == null) {
+			return;
+		}
+		Counter.builder("mcp.gateway.oauth.token.refresh.coalesced")
+			.description("Token requests that joined an in-flight fetch")
+			.tag("provider", providerName)
+			.register(meterRegistry)
+			.increment();
+	}
 
-		return Instant.now().isAfter(refreshThreshold);
+	/**
+	 * 强制刷新默认提供商的访问Token
+	 */
+	public Mono<String> refreshAccessToken() {
+		return refreshAccessToken(DEFAULT_PROVIDER);
 	}
 
 	/**
 	 * 强制刷新访问Token
 	 */
-	public Mono<String> refreshAccessToken() {
+	public Mono<String> refreshAccessToken(String providerName) {
 		if (!oauthProperties.isEnabled()) {
 			return Mono.empty();
 		}
 
-		logger.info("强制刷新访问token");
+		logger.info("强制刷新访问token, provider: {}", providerName);
 
 		// 清除缓存的token
-		clearCachedToken();
+		clearCachedToken(providerName);
 
 		// 获取新的token
-		return fetchNewToken();
+		return refresh(stateOf(providerName));
 	}
 
 	/**
-	 * 清除缓存Token
+	 * 清除默认提供商的缓存Token
 	 */
 	public void clearCachedToken() {
-		if (cachedToken != null) {
-			logger.info("清除缓存的token ");
-			cachedToken = null;
+		clearCachedToken(DEFAULT_PROVIDER);
+	}
+
+	/**
+	 * 清除缓存Token
+	 */
+	public void clearCachedToken(String providerName) {
+		ProviderState state = providerStates.get(providerName);
+		if (state != null && state.cachedToken != null) {
+			logger.info("清除缓存的token, provider: {}", providerName);
+			state.cachedToken = null;
+			ScheduledFuture<?> renewal = state.renewal.getAndSet(null);
+			if (renewal != null) {
+				renewal.cancel(false);
+			}
 		}
 		else {
-			logger.debug("没有找到要清除的缓存token");
+			logger.debug("没有找到要清除的缓存token, provider: {}", providerName);
 		}
 	}
 
+	@Override
+	public void close() {
+		closed = true;
+		renewalScheduler.shutdownNow();
+	}
+
+	/**
+	 * 单个提供商的缓存Token、进行中的获取请求和后台续期任务
+	 */
+	private static final class ProviderState {
+
+		private final String name;
+
+		private final AtomicReference<CompletableFuture<String>> inflight = new AtomicReference<>();
+
+		private final AtomicReference<ScheduledFuture<?>> renewal = new AtomicReference<>();
+
+		private volatile CachedToken cachedToken;
+
+		private ProviderState(String name) {
+			this.name = name;
+		}
+
+	}
+
 	/**
 	 * Token响应信息
 	 */
@@ -256,13 +480,21 @@ public class McpGatewayOAuthTokenManager {
 
 		private final String refreshToken;
 
+		private final Instant issuedAt;
+
 		private final Instant expiresAt;
 
 		private final String tokenType;
 
 		public CachedToken(String accessToken, String refreshToken, Instant expiresAt, String tokenType) {
+			this(accessToken, refreshToken, Instant.now(), expiresAt, tokenType);
+		}
+
+		public CachedToken(String accessToken, String refreshToken, Instant issuedAt, Instant expiresAt,
+				String tokenType) {
 			this.accessToken = accessToken;
 			this.refreshToken = refreshToken;
+			this.issuedAt = issuedAt;
 			this.expiresAt = expiresAt;
 			this.tokenType = tokenType;
 		}
@@ -275,6 +507,10 @@ public class McpGatewayOAuthTokenManager {
 			return refreshToken;
 		}
 
+		public Instant getIssuedAt() {
+			return issuedAt;
+		}
+
 		public Instant getExpiresAt() {
 			return expiresAt;
 		}
@@ -16,9 +16,12 @@
 
 package com.alibaba.cloud.ai.mcp.gateway.nacos.callback;
 
+import com.alibaba.cloud.ai.mcp.common.pool.McpClientSessionKey;
+import com.alibaba.cloud.ai.mcp.common.pool.McpSyncClientPool;
 import com.alibaba.cloud.ai.mcp.gateway.core.McpGatewayToolDefinition;
 import com.alibaba.cloud.ai.mcp.gateway.core.jsontemplate.RequestTemplateInfo;
 import com.alibaba.cloud.ai.mcp.gateway.core.jsontemplate.RequestTemplateParser;
+import com.alibaba.cloud.ai.mcp.gateway.core.jsontemplate.ResponseTemplateParser;
 import com.alibaba.cloud.ai.mcp.gateway.core.utils.SpringBeanUtils;
 import com.alibaba.cloud.ai.mcp.gateway.core.security.McpGatewayOAuthInterceptor;
 import com.alibaba.cloud.ai.mcp.gateway.core.security.McpGatewayOAuthTokenManager;
@@ -38,12 +41,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.modelcontextprotocol.client.McpClient;
-import io.modelcontextprotocol.client.McpSyncClient;
-import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
-import io.modelcontextprotocol.spec.McpSchema.InitializeResult;
 import io.modelcontextprotocol.spec.McpSchema.TextContent;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -61,6 +60,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -73,8 +73,6 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     
     private static final Logger logger = LoggerFactory.getLogger(NacosMcpGatewayToolCallback.class);
     
-    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\{\\{\\s*(\\.[\\w]+(?:\\.[\\w]+)*)\\s*\\}\\}");
-    
     // 匹配 {{ ${nacos.dataId/group} }} 或 {{ ${nacos.dataId/group}.key1.key2 }}
     private static final Pattern NACOS_TEMPLATE_PATTERN = Pattern
             .compile("\\{\\{\\s*\\$\\{nacos\\.([^}]+)\\}(\\.[\\w]+(?:\\.[\\w]+)*)?\\s*}}");
@@ -93,12 +91,19 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     
     private final NacosMcpOperationService nacosMcpOperationService;
     
+    private final McpSyncClientPool mcpSyncClientPool;
+    
     private final HashMap<String, AbstractListener> nacosConfigListeners = new HashMap<>();
     
     private final HashMap<String, String> nacosConfigContent = new HashMap<>();
     
     private final WebClient.Builder webClientBuilder;
     
+    /**
+     * 按工具定义缓存的模板编译结果，工具定义变更时重新编译。
+     */
+    private volatile CompiledToolConfig compiledToolConfig;
+    
     /**
      * Instantiates a new Nacos mcp gateway tool callback.
      *
@@ -107,6 +112,7 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     public NacosMcpGatewayToolCallback(final McpGatewayToolDefinition toolDefinition) {
         this.toolDefinition = (NacosMcpGatewayToolDefinition) toolDefinition;
         this.nacosMcpOperationService = SpringBeanUtils.getInstance().getBean(NacosMcpOperationService.class);
+        this.mcpSyncClientPool = SpringBeanUtils.getInstance().getBean(McpSyncClientPool.class);
         this.webClientBuilder = initializeWebClientBuilder(toolDefinition.name());
         // 尝试获取配置属性
         // try {
@@ -152,9 +158,9 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     /**
      * 处理工具请求
      */
-    private Mono<String> processToolRequest(String configJson, Map<String, Object> args, String baseUrl) {
+    private Mono<String> processToolRequest(CompiledToolConfig compiled, Map<String, Object> args, String baseUrl) {
         try {
-            JsonNode toolConfig = objectMapper.readTree(configJson);
+            JsonNode toolConfig = compiled.toolConfig;
             logger.info("[processToolRequest] toolConfig: {} args: {} baseUrl: {}", toolConfig, args, baseUrl);
             
             // 验证配置完整性
@@ -163,7 +169,6 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
             }
             
             JsonNode requestTemplate = toolConfig.path("requestTemplate");
-            JsonNode argsPosition = requestTemplate.path("argsPosition");
             String url = requestTemplate.path("url").asText();
             String method = requestTemplate.path("method").asText();
             logger.info("[processToolRequest] requestTemplate: {} url: {} method: {}", requestTemplate, url, method);
@@ -185,8 +190,7 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
             WebClient client = webClientBuilder.baseUrl(baseUrl).build();
             
             // 构建并执行请求
-            return buildAndExecuteRequest(client, requestTemplate, argsPosition, toolConfig.path("responseTemplate"),
-                    args, baseUrl)
+            return buildAndExecuteRequest(client, compiled, args, baseUrl)
                     .onErrorResume(e -> {
                         logger.error("Failed to execute tool request:", e);
                         return Mono.error(new RuntimeException("Tool execution failed: " + e.getMessage(), e));
@@ -200,10 +204,10 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     /**
      * 构建并执行WebClient请求
      */
-    private Mono<String> buildAndExecuteRequest(WebClient client, JsonNode requestTemplate, JsonNode argsPosition,
-                                                JsonNode responseTemplate, Map<String, Object> args, String baseUrl) {
+    private Mono<String> buildAndExecuteRequest(WebClient client, CompiledToolConfig compiled,
+                                                Map<String, Object> args, String baseUrl) {
         
-        RequestTemplateInfo info = RequestTemplateParser.parseRequestTemplate(requestTemplate, argsPosition);
+        RequestTemplateInfo info = compiled.requestTemplateInfo();
         String url = info.url;
         String method = info.method;
         HttpMethod httpMethod = HttpMethod.valueOf(method.toUpperCase());
@@ -213,7 +217,7 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         Map<String, Object> params = new HashMap<>();
         params.put("args", args);
         params.put("extendedData", "");
-        String processedUrl = processTemplateString(processingUrl, params);
+        String processedUrl = processTemplateString(compiled, processingUrl, params);
         logger.info("[buildAndExecuteRequest] original url template: {} processed url: {}", url, processedUrl);
         
         String hostFromUrl = extractHostFromUrl(processedUrl);
@@ -224,7 +228,7 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         
         // 添加请求头
         MultiValueMap<String, String> headers = RequestTemplateParser.addHeaders(requestBodySpec, info, args,
-                this::processTemplateString);
+                (template, templateParams) -> processTemplateString(compiled, template, templateParams));
         
         if (hostFromUrl != null && !hostFromUrl.isEmpty()) {
             requestBodySpec.header("Host", hostFromUrl);
@@ -232,7 +236,8 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         }
         // 处理请求体
         WebClient.RequestHeadersSpec<?> headersSpec = RequestTemplateParser.addRequestBody(requestBodySpec, headers,
-                info, args, this::processTemplateString, objectMapper, logger);
+                info, args, (template, templateParams) -> processTemplateString(compiled, template, templateParams),
+                objectMapper, logger);
         
         // 输出最终请求信息
         String fullUrl = baseUrl.endsWith("/") && pathOnlyUrl.startsWith("/") ? baseUrl + pathOnlyUrl.substring(1)
@@ -247,7 +252,7 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
                 .bodyToMono(String.class)
                 .timeout(getTimeoutDuration()) // 使用配置的超时时间
                 .doOnNext(responseBody -> logger.info("[buildAndExecuteRequest] received responseBody: {}", responseBody))
-                .map(responseBody -> processResponse(responseBody, responseTemplate, args))
+                .map(responseBody -> processResponse(responseBody, compiled, args))
                 .onErrorResume(e -> {
                     logger.error("[buildAndExecuteRequest] Request failed: {}", e.getMessage(), e);
                     return Mono.error(new RuntimeException("HTTP request failed: " + e.getMessage(), e));
@@ -318,27 +323,19 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     /**
      * 处理响应
      */
-    private String processResponse(String responseBody, JsonNode responseTemplate, Map<String, Object> args) {
+    private String processResponse(String responseBody, CompiledToolConfig compiled, Map<String, Object> args) {
         logger.info("[processResponse] received responseBody: {}", responseBody);
         String result = null;
-        Map<String, Object> params = new HashMap<>();
-        params.put("args", args);
-        params.put("extendedData", responseBody);
-        if (!responseTemplate.isEmpty()) {
-            if (responseTemplate.has("body") && !responseTemplate.path("body").asText().isEmpty()) {
-                String bodyTemplate = responseTemplate.path("body").asText();
-                // 统一交给 ResponseTemplateParser 处理
-                result = processTemplateString(bodyTemplate, params);
-                logger.info("[processResponse] ResponseTemplateParser result: {}", result);
-                return result;
-            } else if (responseTemplate.has("prependBody") || responseTemplate.has("appendBody")) {
-                String prependText = responseTemplate.path("prependBody").asText("");
-                String appendText = responseTemplate.path("appendBody").asText("");
-                result = processTemplateString(prependText, params) + responseBody
-                        + processTemplateString(appendText, params);
-                logger.info("[processResponse] prepend/append result: {}", result);
-                return result;
-            }
+        // 模板只流式读取其引用到的顶层字段，响应体不再整体绑定为 Map
+        if (compiled.responseBody != null) {
+            result = renderTemplate(compiled.responseBody, responseBody, args);
+            logger.info("[processResponse] ResponseTemplateParser result: {}", result);
+            return result;
+        } else if (compiled.prependBody != null) {
+            result = renderTemplate(compiled.prependBody, responseBody, args) + responseBody
+                    + renderTemplate(compiled.appendBody, responseBody, args);
+            logger.info("[processResponse] prepend/append result: {}", result);
+            return result;
         }
         result = responseBody;
         logger.info("[processResponse] default result: {}", result);
@@ -500,115 +497,25 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         }
     }
     
-    private String processTemplateString(String template, Map<String, Object> params) {
+    private String processTemplateString(CompiledToolConfig compiled, String template, Map<String, Object> params) {
         Map<String, Object> args = (Map<String, Object>) params.get("args");
         String extendedData = (String) params.get("extendedData");
         logger.debug("[processTemplateString] template: {} args: {} extendedData: {}", template, args, extendedData);
         if (template == null || template.isEmpty()) {
             return "";
         }
-        Matcher matcher = TEMPLATE_PATTERN.matcher(template);
-        StringBuilder result = new StringBuilder();
-        while (matcher.find()) {
-            // 获取完整路径，如 .args.name 或 .data.key1.key2
-            String fullPath = matcher.group(1);
-            String replacement = resolvePathValue(fullPath, args, extendedData);
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(result);
-        String finalResult = result.toString();
-        finalResult = processNacosConfigRefTemplate(finalResult);
-        logger.debug("[processTemplateString] final result: {}", finalResult);
-        
-        return finalResult;
+        return renderTemplate(compiled.template(template), extendedData, args);
     }
     
-    /**
-     * 根据路径解析值
-     *
-     * @param fullPath 完整路径，如 .args.name 或 .data.key1.key2
-     * @param args 参数数据映射
-     * @param extendedData 扩展数据（JSON字符串）
-     * @return 解析后的值
-     */
-    private String resolvePathValue(String fullPath, Map<String, Object> args, String extendedData) {
-        if (StringUtils.isBlank(fullPath)) {
-            return "";
-        }
-        // 移除开头的点号
-        if (fullPath.startsWith(".")) {
-            fullPath = fullPath.substring(1);
-        }
-        
-        String[] pathParts = fullPath.split("\\.");
-        if (pathParts.length == 0) {
+    private String renderTemplate(ResponseTemplateParser.CompiledTemplate template, String extendedData,
+            Map<String, Object> args) {
+        if (template.getSource().isEmpty()) {
             return "";
         }
+        String finalResult = processNacosConfigRefTemplate(template.render(extendedData, args));
+        logger.debug("[processTemplateString] final result: {}", finalResult);
         
-        // 确定数据源
-        Object dataSource;
-        if (pathParts[0].equals("args")) {
-            // 从args中取值
-            dataSource = args;
-            // 如果只有args，没有具体字段名
-            if (pathParts.length == 1) {
-                if (args != null && args.size() == 1) {
-                    return String.valueOf(args.values().iterator().next());
-                } else if (args != null && !args.isEmpty()) {
-                    return args.toString();
-                } else {
-                    return "";
-                }
-            }
-        } else {
-            // 从extendedData中取值
-            // 首先将extendedData字符串解析为JSON对象
-            try {
-                if (StringUtils.isNoneBlank(extendedData)) {
-                    dataSource = objectMapper.readValue(extendedData, Map.class);
-                } else {
-                    dataSource = null;
-                }
-            } catch (Exception e) {
-                logger.warn("[resolvePathValue] Failed to parse extendedData as JSON: {}", e.getMessage());
-                // 如果解析失败，将extendedData作为普通字符串处理
-                if (pathParts.length == 1 && fullPath.equals("extendedData")) {
-                    return extendedData != null ? extendedData : "";
-                }
-                return "";
-            }
-            
-            // 特殊处理直接访问extendedData的情况
-            if (pathParts.length == 1 && fullPath.equals("extendedData")) {
-                return extendedData != null ? extendedData : "";
-            }
-        }
-        
-        // 如果数据源为空
-        if (dataSource == null) {
-            return "";
-        }
-        // 处理嵌套路径
-        Object currentValue = dataSource;
-        int startIndex = pathParts[0].equals("args") ? 1 : 0;
-        // 如果是args，从索引1开始；否则从索引0开始
-        
-        for (int i = startIndex; i < pathParts.length; i++) {
-            String key = pathParts[i];
-            if (currentValue instanceof Map) {
-                Map<String, Object> currentMap = (Map<String, Object>) currentValue;
-                currentValue = currentMap.get(key);
-            } else {
-                logger.warn("[resolvePathValue] Cannot access key '{}' from non-map value", key);
-                return "";
-            }
-            
-            if (currentValue == null) {
-                logger.warn("[resolvePathValue] Key '{}' not found in nested path", key);
-                return "";
-            }
-        }
-        return currentValue.toString();
+        return finalResult;
     }
     
     @Override
@@ -712,18 +619,12 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         Map<String, Object> templates = toolMeta.getTemplates();
         if (templates != null && templates.containsKey("json-go-template")) {
             Object jsonGoTemplate = templates.get("json-go-template");
-            try {
-                logger.info("[handleHttpHttpsProtocol] json-go-template: {}",
-                        objectMapper.writeValueAsString(jsonGoTemplate));
-            } catch (JsonProcessingException e) {
-                logger.error("[handleHttpHttpsProtocol] Failed to serialize json-go-template", e);
-            }
             try {
                 // 调用executeToolRequest
-                String configJson = objectMapper.writeValueAsString(jsonGoTemplate);
-                logger.info("[handleHttpHttpsProtocol] configJson: {} args: {} baseUrl: {}", configJson, args,
+                CompiledToolConfig compiled = compileToolConfig(jsonGoTemplate);
+                logger.info("[handleHttpHttpsProtocol] configJson: {} args: {} baseUrl: {}", compiled.configJson, args,
                         baseUrl);
-                return processToolRequest(configJson, args, baseUrl).block();
+                return processToolRequest(compiled, args, baseUrl).block();
             } catch (Exception e) {
                 logger.error("Failed to execute tool request", e);
                 return "Error: " + e.getMessage();
@@ -751,16 +652,9 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         }
         
         logger.info("[handleMcpStreamProtocol] Tool callback instance: {}", JacksonUtils.toJson(mcpEndpointInfo));
-        String exportPath = remoteServerConfig.getExportPath();
-        
-        // 构建基础URL，根据协议类型调整
-        String baseUrl;
-        if ("mcp-sse".equalsIgnoreCase(protocol)) {
-            baseUrl = "http://" + mcpEndpointInfo.getAddress() + ":" + mcpEndpointInfo.getPort();
-        } else {
-            // mcp-streamable 或其他协议
-            baseUrl = "http://" + mcpEndpointInfo.getAddress() + ":" + mcpEndpointInfo.getPort();
-        }
+        McpClientSessionKey sessionKey = McpClientSessionKey.of(mcpEndpointInfo, remoteServerConfig.getExportPath());
+        mcpSyncClientPool.watchEndpoints(nacosMcpOperationService, serviceRef);
+        String baseUrl = sessionKey.baseUrl();
         
         logger.info("[handleMcpStreamProtocol] Processing {} protocol with args: {} and baseUrl: {}", protocol,
                 args, baseUrl);
@@ -786,59 +680,27 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
                 throw new RuntimeException("Extracted tool name is empty");
             }
             
-            // 构建传输层
-            String sseEndpoint = "/sse";
-            if (exportPath != null && !exportPath.isEmpty()) {
-                sseEndpoint = exportPath;
-            }
-            
-            HttpClientSseClientTransport.Builder transportBuilder = HttpClientSseClientTransport.builder(baseUrl)
-                    .sseEndpoint(sseEndpoint);
-            
-            // 添加自定义请求头（如果需要）
-            // 这里可以根据需要添加认证头等
-            
-            HttpClientSseClientTransport transport = transportBuilder.build();
-            
-            // 创建MCP同步客户端
-            McpSyncClient client = McpClient.sync(transport).build();
-            
-            try {
-                // 初始化客户端
-                InitializeResult initializeResult = client.initialize();
-                logger.info("[handleMcpStreamProtocol] MCP Client initialized: {}", initializeResult);
-                
-                // 调用工具
-                McpSchema.CallToolRequest request = new McpSchema.CallToolRequest(toolName, args);
-                logger.info("[handleMcpStreamProtocol] CallToolRequest: {}", request);
-                
-                CallToolResult result = client.callTool(request);
-                logger.info("[handleMcpStreamProtocol] tool call result: {}", result);
-                
-                // 处理结果
-                Object content = result.content();
-                if (content instanceof List<?> list && !CollectionUtils.isEmpty(list)) {
-                    Object first = list.get(0);
-                    // 兼容TextContent的text字段
-                    if (first instanceof TextContent textContent) {
-                        return textContent.text();
-                    } else if (first instanceof Map<?, ?> map && map.containsKey("text")) {
-                        return map.get("text").toString();
-                    } else {
-                        return first.toString();
-                    }
+            // 调用工具，复用连接池中已初始化的会话
+            McpSchema.CallToolRequest request = new McpSchema.CallToolRequest(toolName, args);
+            logger.info("[handleMcpStreamProtocol] CallToolRequest: {} session: {}", request, sessionKey);
+            
+            CallToolResult result = mcpSyncClientPool.execute(sessionKey, client -> client.callTool(request));
+            logger.info("[handleMcpStreamProtocol] tool call result: {}", result);
+            
+            // 处理结果
+            Object content = result.content();
+            if (content instanceof List<?> list && !CollectionUtils.isEmpty(list)) {
+                Object first = list.get(0);
+                // 兼容TextContent的text字段
+                if (first instanceof TextContent textContent) {
+                    return textContent.text();
+                } else if (first instanceof Map<?, ?> map && map.containsKey("text")) {
+                    return map.get("text").toString();
                 } else {
-                    return content != null ? content.toString() : "No content returned";
-                }
-            } finally {
-                // 清理资源
-                try {
-                    if (client != null) {
-                        client.close();
-                    }
-                } catch (Exception e) {
-                    logger.warn("[handleMcpStreamProtocol] Failed to close MCP client", e);
+                    return first.toString();
                 }
+            } else {
+                return content != null ? content.toString() : "No content returned";
             }
         } catch (Exception e) {
             logger.error("[handleMcpStreamProtocol] MCP call failed:", e);
@@ -965,6 +827,22 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     // }
     // }
     
+    /**
+     * 获取当前工具定义的模板编译结果。模板只在首次调用或 json-go-template 对象变化时
+     * 序列化、解析并预编译一次，避免每次调用重复处理。
+     */
+    private CompiledToolConfig compileToolConfig(Object jsonGoTemplate) throws JsonProcessingException {
+        CompiledToolConfig compiled = this.compiledToolConfig;
+        if (compiled != null && compiled.source == jsonGoTemplate) {
+            return compiled;
+        }
+        String configJson = objectMapper.writeValueAsString(jsonGoTemplate);
+        logger.info("[compileToolConfig] json-go-template: {}", configJson);
+        compiled = new CompiledToolConfig(jsonGoTemplate, configJson, objectMapper.readTree(configJson));
+        this.compiledToolConfig = compiled;
+        return compiled;
+    }
+    
     private Duration getTimeoutDuration() {
         
         return Duration.ofSeconds(30); // 默认超时时间
@@ -983,4 +861,95 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         }
     }
     
+    /**
+     * 单个工具定义的预编译模板：解析后的配置、请求模板信息以及响应模板片段。
+     * <p>
+     * 编译结果随工具定义一起创建和释放，工具定义变化或回调被替换时整体丢弃，不进入
+     * {@link ResponseTemplateParser} 的全局缓存。URL、请求头和请求体模板在填入路径参数后
+     * 才渲染，文本可能随参数变化，因此只在有界的 {@link #templates} 中保留最近使用的少量条目。
+     * <p>
+     * 模板中的 {@code {{.}}} 现在会渲染为原始响应，而之前的占位符语法不识别它、按原文保留；
+     * 带下标的路径（如 {@code {{.items[0]}}}）仍按原文保留。
+     */
+    private static final class CompiledToolConfig {
+        
+        private static final int MAX_REQUEST_TEMPLATES = 32;
+        
+        private final Map<String, ResponseTemplateParser.CompiledTemplate> templates = new LinkedHashMap<>(16,
+                0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResponseTemplateParser.CompiledTemplate> eldest) {
+                return size() > MAX_REQUEST_TEMPLATES;
+            }
+        };
+        
+        private final Object source;
+        
+        private final String configJson;
+        
+        private final JsonNode toolConfig;
+        
+        private final RequestTemplateInfo requestTemplateInfo;
+        
+        private final RuntimeException requestTemplateError;
+        
+        private final ResponseTemplateParser.CompiledTemplate responseBody;
+        
+        private final ResponseTemplateParser.CompiledTemplate prependBody;
+        
+        private final ResponseTemplateParser.CompiledTemplate appendBody;
+        
+        private CompiledToolConfig(Object source, String configJson, JsonNode toolConfig) {
+            this.source = source;
+            this.configJson = configJson;
+            this.toolConfig = toolConfig;
+            
+            JsonNode requestTemplate = toolConfig != null ? toolConfig.path("requestTemplate")
+                    : objectMapper.missingNode();
+            RequestTemplateInfo info = null;
+            RuntimeException error = null;
+            try {
+                info = RequestTemplateParser.parseRequestTemplate(requestTemplate, requestTemplate.path("argsPosition"));
+            } catch (RuntimeException e) {
+                // 延迟到调用时抛出，与未缓存时的行为保持一致
+                error = e;
+            }
+            this.requestTemplateInfo = info;
+            this.requestTemplateError = error;
+            
+            JsonNode responseTemplate = toolConfig != null ? toolConfig.path("responseTemplate")
+                    : objectMapper.missingNode();
+            ResponseTemplateParser.CompiledTemplate body = null;
+            ResponseTemplateParser.CompiledTemplate prepend = null;
+            ResponseTemplateParser.CompiledTemplate append = null;
+            if (!responseTemplate.isEmpty()) {
+                if (responseTemplate.has("body") && !responseTemplate.path("body").asText().isEmpty()) {
+                    body = ResponseTemplateParser.CompiledTemplate.of(responseTemplate.path("body").asText());
+                } else if (responseTemplate.has("prependBody") || responseTemplate.has("appendBody")) {
+                    prepend = ResponseTemplateParser.CompiledTemplate
+                            .of(responseTemplate.path("prependBody").asText(""));
+                    append = ResponseTemplateParser.CompiledTemplate
+                            .of(responseTemplate.path("appendBody").asText(""));
+                }
+            }
+            this.responseBody = body;
+            this.prependBody = prepend;
+            this.appendBody = append;
+        }
+        
+        private ResponseTemplateParser.CompiledTemplate template(String source) {
+            synchronized (templates) {
+                return templates.computeIfAbsent(source, ResponseTemplateParser.CompiledTemplate::of);
+            }
+        }
+        
+        private RequestTemplateInfo requestTemplateInfo() {
+            if (requestTemplateError != null) {
+                throw requestTemplateError;
+            }
+            return requestTemplateInfo;
+        }
+        
+    }
+    
 }
@@ -16,11 +16,13 @@
 
 package com.alibaba.cloud.ai.mcp.gateway.nacos.watcher;
 
+import com.alibaba.cloud.ai.mcp.common.watch.McpWatcherProperties;
 import com.alibaba.cloud.ai.mcp.gateway.core.AbstractMcpGatewayToolsWatcher;
 import com.alibaba.cloud.ai.mcp.gateway.core.McpGatewayToolManager;
 import com.alibaba.cloud.ai.mcp.gateway.nacos.definition.NacosMcpGatewayToolDefinition;
 import com.alibaba.cloud.ai.mcp.gateway.nacos.properties.NacosMcpGatewayProperties;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
+import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpSubscriber;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerDetailInfo;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerRemoteServiceConfig;
 import com.alibaba.nacos.api.ai.model.mcp.McpServiceRef;
@@ -33,6 +35,7 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -50,10 +53,27 @@ public class NacosMcpGatewayToolsWatcher extends AbstractMcpGatewayToolsWatcher
 
 	private final Map<String, McpServerDetailInfo> serviceDetailInfoCache = new ConcurrentHashMap<>();
 
+	/**
+	 * 已注册推送监听的服务及其订阅者，常规轮询跳过它们，只在全量校准时重新读取
+	 */
+	private final Map<String, NacosMcpSubscriber> pushSubscribedServices = new ConcurrentHashMap<>();
+
+	private final Set<String> subscriptionAttempted = ConcurrentHashMap.newKeySet();
+
+	private volatile long lastResyncNanos = System.nanoTime();
+
+	private volatile boolean stopped;
+
 	public NacosMcpGatewayToolsWatcher(final McpGatewayToolManager mcpGatewayToolManager,
 			NacosMcpOperationService nacosMcpOperationService,
 			final NacosMcpGatewayProperties nacosMcpGatewayProperties) {
-		super(mcpGatewayToolManager);
+		this(mcpGatewayToolManager, nacosMcpOperationService, nacosMcpGatewayProperties, new McpWatcherProperties());
+	}
+
+	public NacosMcpGatewayToolsWatcher(final McpGatewayToolManager mcpGatewayToolManager,
+			NacosMcpOperationService nacosMcpOperationService,
+			final NacosMcpGatewayProperties nacosMcpGatewayProperties, McpWatcherProperties watcherProperties) {
+		super(mcpGatewayToolManager, watcherProperties);
 		if (nacosMcpGatewayProperties == null) {
 			throw new IllegalArgumentException("NacosMcpGatewayProperties cannot be null");
 		}
@@ -63,12 +83,21 @@ public class NacosMcpGatewayToolsWatcher extends AbstractMcpGatewayToolsWatcher
 
 	@Override
 	public void stop() {
+		stopped = true;
 		super.stop();
+		for (String serviceName : List.copyOf(subscriptionAttempted)) {
+			unsubscribeChanges(serviceName);
+		}
 		// 清理缓存
 		serviceDetailInfoCache.clear();
 	}
 
-	private void cleanupStaleServices(Set<String> currentServices) {
+	private synchronized void cleanupStaleServices(Set<String> currentServices) {
+		// 不再配置的服务先取消推送，避免之后的推送把已移除的工具重新加回来
+		Set<String> unwatched = new HashSet<>(subscriptionAttempted);
+		unwatched.removeAll(currentServices);
+		unwatched.forEach(this::unsubscribeChanges);
+
 		// 获取所有已缓存但不在当前服务列表中的服务
 		Set<String> staleServices = new HashSet<>(serviceDetailInfoCache.keySet());
 		staleServices.removeAll(currentServices);
@@ -106,17 +135,66 @@ public class NacosMcpGatewayToolsWatcher extends AbstractMcpGatewayToolsWatcher
 			return;
 		}
 		Set<String> currentServices = new HashSet<>(serviceNames);
+
+		// 推送监听的服务只在全量校准时轮询，其余服务每轮并发轮询
+		boolean resync = System.nanoTime() - lastResyncNanos >= watcherProperties.getResyncInterval().toNanos();
+		List<String> toPoll = new ArrayList<>();
 		for (String serviceName : serviceNames) {
+			if (resync || !pushSubscribedServices.containsKey(serviceName)) {
+				toPoll.add(serviceName);
+			}
+		}
+		if (resync) {
+			lastResyncNanos = System.nanoTime();
+		}
+
+		Map<String, McpServerDetailInfo> details = poller.fetchAll(toPoll, nacosMcpOperationService::getServerDetail);
+		for (String serviceName : toPoll) {
+			if (!details.containsKey(serviceName)) {
+				// 查询失败或超时，保留上一次的工具，下一轮重试
+				continue;
+			}
 			try {
-				updateHighVersionServiceTools(serviceName);
+				updateHighVersionServiceTools(serviceName, details.get(serviceName));
 			}
 			catch (Exception e) {
 				logger.error("Failed to update tools for service: {}", serviceName, e);
 			}
+			subscribeChanges(serviceName);
 		}
 		cleanupStaleServices(currentServices);
 	}
 
+	private void subscribeChanges(String serviceName) {
+		if (!subscriptionAttempted.add(serviceName)) {
+			return;
+		}
+		NacosMcpSubscriber subscriber = detail -> onPush(serviceName, detail);
+		boolean subscribed = nacosMcpOperationService.subscribeMcpServerChange(serviceName, subscriber);
+		if (subscribed) {
+			pushSubscribedServices.put(serviceName, subscriber);
+			logger.info("Subscribed to changes of service: {}, it is no longer polled every cycle", serviceName);
+		}
+	}
+
+	private void unsubscribeChanges(String serviceName) {
+		subscriptionAttempted.remove(serviceName);
+		NacosMcpSubscriber subscriber = pushSubscribedServices.remove(serviceName);
+		if (subscriber != null) {
+			nacosMcpOperationService.unsubscribeMcpServerChange(serviceName, subscriber);
+			logger.info("Unsubscribed from changes of service: {}", serviceName);
+		}
+	}
+
+	/**
+	 * 与清理共用同一把锁，已取消订阅的服务即使还有在途推送也不会再更新工具
+	 */
+	private synchronized void onPush(String serviceName, McpServerDetailInfo detail) {
+		if (!stopped && pushSubscribedServices.containsKey(serviceName)) {
+			updateHighVersionServiceTools(serviceName, detail);
+		}
+	}
+
 	private void compareToolsChange(McpServerDetailInfo oldMcpServerDetail, McpServerDetailInfo mcpServerDetail,
 			Set<String> needToDeleteTools, Set<String> needToUpdateTools) {
 		boolean isHaveOldTools = true;
@@ -227,9 +305,8 @@ public class NacosMcpGatewayToolsWatcher extends AbstractMcpGatewayToolsWatcher
 		needToDeleteTools.addAll(oldAvailableToolMap.keySet());
 	}
 
-	private void updateHighVersionServiceTools(String mcpName) {
+	private synchronized void updateHighVersionServiceTools(String mcpName, McpServerDetailInfo mcpServerDetail) {
 		try {
-			McpServerDetailInfo mcpServerDetail = nacosMcpOperationService.getServerDetail(mcpName);
 			if (mcpServerDetail == null) {
 				logger.warn("No service detail info found for service: {},do not update", mcpName);
 				return;
@@ -248,14 +325,14 @@ public class NacosMcpGatewayToolsWatcher extends AbstractMcpGatewayToolsWatcher
 			String protocol = mcpServerDetail.getProtocol();
 			if (logger.isDebugEnabled()) {
 				logger.debug("Need to update tools (name {}): {}", mcpName, JacksonUtils.toJson(needToUpdateTools));
-				logger.debug("Need to delete tools (name {}): {}", mcpName, JacksonUtils.toJson(needToUpdateTools));
+				logger.debug("Need to delete tools (name {}): {}", mcpName, JacksonUtils.toJson(needToDeleteTools));
 			}
 			if (!needToUpdateTools.isEmpty()) {
 				List<McpTool> tools = toolSpec.getTools();
 				Map<String, McpToolMeta> toolsMeta = toolSpec.getToolsMeta();
 				for (McpTool tool : tools) {
 					if (!needToUpdateTools.contains(tool.getName())) {
-						return;
+						continue;
 					}
 					String toolName = tool.getName();
 					String toolDescription = tool.getDescription();
@@ -17,27 +17,38 @@
 
 package com.alibaba.cloud.ai.mcp.router.core;
 
+import com.alibaba.cloud.ai.mcp.common.watch.McpServicePoller;
+import com.alibaba.cloud.ai.mcp.common.watch.McpWatcherProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 public abstract class AbstractRouterWatcher {
 
 	protected static final Logger logger = LoggerFactory.getLogger(AbstractRouterWatcher.class);
 
-	protected final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+	protected final McpWatcherProperties watcherProperties;
+
+	protected final McpServicePoller poller;
+
+	protected AbstractRouterWatcher() {
+		this(new McpWatcherProperties());
+	}
+
+	protected AbstractRouterWatcher(McpWatcherProperties watcherProperties) {
+		this.watcherProperties = watcherProperties;
+		this.poller = new McpServicePoller("mcp-router-watcher", watcherProperties);
+	}
 
 	protected void startScheduledPolling() {
 		long interval = Math.max(1, getPollingInterval()); // 保证最小为1秒
-		scheduler.scheduleAtFixedRate(this::watch, interval, interval, TimeUnit.SECONDS);
+		poller.start(Duration.ofSeconds(interval), this::watch);
 		logger.info("Started router watcher polling, interval: {}s", interval);
 	}
 
 	public void stop() {
-		scheduler.shutdown();
+		poller.close();
 		logger.info("Stopped router watcher polling");
 	}
 
@@ -17,13 +17,19 @@
 
 package com.alibaba.cloud.ai.mcp.router.core;
 
+import com.alibaba.cloud.ai.mcp.common.watch.McpWatcherProperties;
 import com.alibaba.cloud.ai.mcp.router.core.discovery.McpServiceDiscovery;
 import com.alibaba.cloud.ai.mcp.router.core.vectorstore.McpServerVectorStore;
 import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class McpRouterWatcher extends AbstractRouterWatcher {
 
@@ -35,13 +41,39 @@ public class McpRouterWatcher extends AbstractRouterWatcher {
 
 	private final List<String> serviceNames;
 
+	/**
+	 * 已注册推送的服务及其监听器，常规轮询跳过它们，只在全量校准时重新读取
+	 */
+	private final Map<String, Consumer<McpServerInfo>> pushSubscribedServices = new ConcurrentHashMap<>();
+
+	private final Set<String> subscriptionAttempted = ConcurrentHashMap.newKeySet();
+
+	private volatile long lastResyncNanos = System.nanoTime();
+
+	private volatile boolean stopped;
+
 	public McpRouterWatcher(McpServiceDiscovery mcpServiceDiscovery, McpServerVectorStore mcpServerVectorStore,
 			List<String> serviceNames) {
+		this(mcpServiceDiscovery, mcpServerVectorStore, serviceNames, new McpWatcherProperties());
+	}
+
+	public McpRouterWatcher(McpServiceDiscovery mcpServiceDiscovery, McpServerVectorStore mcpServerVectorStore,
+			List<String> serviceNames, McpWatcherProperties watcherProperties) {
+		super(watcherProperties);
 		this.serviceNames = serviceNames;
 		this.mcpServiceDiscovery = mcpServiceDiscovery;
 		this.mcpServerVectorStore = mcpServerVectorStore;
 	}
 
+	@Override
+	public void stop() {
+		stopped = true;
+		super.stop();
+		for (String serviceName : List.copyOf(subscriptionAttempted)) {
+			unsubscribeChanges(serviceName);
+		}
+	}
+
 	@Override
 	protected void handleChange() {
 		logger.debug("McpRouterWatcher polling...");
@@ -49,23 +81,72 @@ public class McpRouterWatcher extends AbstractRouterWatcher {
 			logger.warn("No MCP services configured for refresh.");
 			return;
 		}
+
+		// 推送订阅的服务只在全量校准时轮询
+		boolean resync = System.nanoTime() - lastResyncNanos >= watcherProperties.getResyncInterval().toNanos();
+		List<String> toPoll = new ArrayList<>();
 		for (String serviceName : serviceNames) {
-			try {
+			if (resync || !pushSubscribedServices.containsKey(serviceName)) {
+				toPoll.add(serviceName);
+			}
+		}
+		if (resync) {
+			lastResyncNanos = System.nanoTime();
+		}
+
+		// 并发从服务发现获取服务信息，失败或超时的服务保留上一次的结果，下次轮询再重试
+		Map<String, McpServerInfo> services = poller.fetchAll(toPoll, mcpServiceDiscovery::getService);
+		List<McpServerInfo> refreshed = new ArrayList<>(services.size());
+		List<String> found = new ArrayList<>(services.size());
+		for (String serviceName : toPoll) {
+			if (!services.containsKey(serviceName)) {
+				continue;
+			}
+			McpServerInfo serverInfo = services.get(serviceName);
+			if (serverInfo == null) {
+				logger.warn("No MCP service found for: {}", serviceName);
+				// 先取消推送，避免之后的推送把已移除的服务重新加回来
+				unsubscribeChanges(serviceName);
 				mcpServerVectorStore.removeServer(serviceName);
-				// 从服务发现获取服务信息
-				McpServerInfo serverInfo = mcpServiceDiscovery.getService(serviceName);
-				if (serverInfo == null) {
-					logger.warn("No MCP service found for: {}", serviceName);
-					return;
-				}
-
-				// 添加到向量存储
-				mcpServerVectorStore.addServer(serverInfo);
-				logger.info("Refreshed MCP service: {}", serviceName);
+				continue;
 			}
-			catch (Exception e) {
-				logger.warn("Failed to refresh MCP service: {}", serviceName, e);
+			refreshed.add(serverInfo);
+			found.add(serviceName);
+		}
+
+		// 批量写入向量存储，内容未变化的服务不会重新向量化
+		int changed = mcpServerVectorStore.addServers(refreshed);
+		if (changed > 0) {
+			logger.info("Refreshed {} changed MCP service(s) out of {}", changed, refreshed.size());
+		}
+
+		for (String serviceName : found) {
+			subscribeChanges(serviceName);
+		}
+	}
+
+	private void subscribeChanges(String serviceName) {
+		if (!subscriptionAttempted.add(serviceName)) {
+			return;
+		}
+		Consumer<McpServerInfo> listener = serverInfo -> {
+			if (!stopped && serverInfo != null && pushSubscribedServices.containsKey(serviceName)) {
+				mcpServerVectorStore.addServers(List.of(serverInfo));
 			}
+		};
+		boolean subscribed = mcpServiceDiscovery.subscribe(serviceName, listener);
+		if (subscribed) {
+			pushSubscribedServices.put(serviceName, listener);
+			logger.info("Subscribed to changes of MCP service: {}", serviceName);
+		}
+	}
+
+	private void unsubscribeChanges(String serviceName) {
+		subscriptionAttempted.remove(serviceName);
+		Consumer<McpServerInfo> listener = pushSubscribedServices.remove(serviceName);
+		if (listener != null) {
+			mcpServiceDiscovery.unsubscribe(serviceName, listener);
+			logger.info("Unsubscribed from changes of MCP service: {}", serviceName);
 		}
 	}
 
@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Composite McpServiceDiscovery, support multiple discovery types. Queries multiple
@@ -84,6 +85,51 @@ public class CompositeMcpServiceDiscovery implements McpServiceDiscovery {
 		return null;
 	}
 
+	/**
+	 * Subscribes on the implementation that currently resolves the service, so pushed
+	 * updates never shadow a discovery type earlier in the search order.
+	 */
+	@Override
+	public boolean subscribe(String serviceName, Consumer<McpServerInfo> listener) {
+		for (String discoveryType : searchOrder) {
+			McpServiceDiscovery discovery = discoveryFactory.getDiscovery(discoveryType);
+			if (discovery == null) {
+				continue;
+			}
+			try {
+				if (discovery.getService(serviceName) == null) {
+					continue;
+				}
+				boolean subscribed = discovery.subscribe(serviceName, listener);
+				if (subscribed) {
+					log.info("Subscribed service '{}' using discovery type: {}", serviceName, discoveryType);
+				}
+				return subscribed;
+			}
+			catch (Exception e) {
+				log.warn("Failed to subscribe service '{}' in discovery type: {}", serviceName, discoveryType, e);
+				return false;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void unsubscribe(String serviceName, Consumer<McpServerInfo> listener) {
+		for (String discoveryType : searchOrder) {
+			McpServiceDiscovery discovery = discoveryFactory.getDiscovery(discoveryType);
+			if (discovery == null) {
+				continue;
+			}
+			try {
+				discovery.unsubscribe(serviceName, listener);
+			}
+			catch (Exception e) {
+				log.warn("Failed to unsubscribe service '{}' in discovery type: {}", serviceName, discoveryType, e);
+			}
+		}
+	}
+
 	public List<String> getSearchOrder() {
 		return List.copyOf(searchOrder);
 	}
@@ -19,8 +19,28 @@ package com.alibaba.cloud.ai.mcp.router.core.discovery;
 
 import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
 
+import java.util.function.Consumer;
+
 public interface McpServiceDiscovery {
 
 	McpServerInfo getService(String serviceName);
 
+	/**
+	 * 订阅服务变更推送，不支持推送的实现返回 false，由调用方继续轮询
+	 * @param serviceName 服务名
+	 * @param listener 服务变更后的最新信息
+	 * @return 是否已注册推送
+	 */
+	default boolean subscribe(String serviceName, Consumer<McpServerInfo> listener) {
+		return false;
+	}
+
+	/**
+	 * 取消 {@link #subscribe(String, Consumer)} 注册的推送，未订阅时不做任何处理
+	 * @param serviceName 服务名
+	 * @param listener 订阅时传入的监听器
+	 */
+	default void unsubscribe(String serviceName, Consumer<McpServerInfo> listener) {
+	}
+
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.router.core.vectorstore;
+
+import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MCP 服务的倒排索引，对服务名、描述和标签分词后按 BM25 打分。
+ * <p>
+ * 拉丁字母和数字按连续片段切分，中日韩文字按相邻两字切分（单字时保留单字）。服务名和标签的词频按
+ * {@link #NAME_WEIGHT} 加权。查询只有与文档共享完整词项时才会命中，不做前缀或子串匹配。
+ * 该类本身不是线程安全的，由 {@link SimpleMcpServerVectorStore} 加锁访问。
+ */
+final class McpServerKeywordIndex {
+
+	private static final double K1 = 1.2;
+
+	private static final double B = 0.75;
+
+	private static final int NAME_WEIGHT = 2;
+
+	/**
+	 * 词项 -> (服务名 -> 加权词频)
+	 */
+	private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+
+	/**
+	 * 服务名 -> 该服务的词频表，删除时用于定位倒排项
+	 */
+	private final Map<String, Map<String, Integer>> documents = new HashMap<>();
+
+	private final Map<String, Integer> lengths = new HashMap<>();
+
+	private long totalLength;
+
+	void put(McpServerInfo serverInfo) {
+		String name = serverInfo.getName();
+		remove(name);
+
+		Map<String, Integer> termFreqs = new HashMap<>();
+		addTerms(termFreqs, name, NAME_WEIGHT);
+		addTerms(termFreqs, serverInfo.getDescription(), 1);
+		if (serverInfo.getTags() != null) {
+			for (String tag : serverInfo.getTags()) {
+				addTerms(termFreqs, tag, NAME_WEIGHT);
+			}
+		}
+
+		int length = 0;
+		for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+			postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(name, entry.getValue());
+			length += entry.getValue();
+		}
+		documents.put(name, termFreqs);
+		lengths.put(name, length);
+		totalLength += length;
+	}
+
+	void remove(String name) {
+		Map<String, Integer> termFreqs = documents.remove(name);
+		if (termFreqs == null) {
+			return;
+		}
+		for (String term : termFreqs.keySet()) {
+			Map<String, Integer> posting = postings.get(term);
+			if (posting != null) {
+				posting.remove(name);
+				if (posting.isEmpty()) {
+					postings.remove(term);
+				}
+			}
+		}
+		Integer length = lengths.remove(name);
+		totalLength -= length != null ? length : 0;
+	}
+
+	void clear() {
+		postings.clear();
+		documents.clear();
+		lengths.clear();
+		totalLength = 0;
+	}
+
+	/**
+	 * 计算命中文档的 BM25 分数，未命中任何词项的服务不会出现在结果中
+	 */
+	Map<String, Double> score(String query) {
+		Map<String, Double> scores = new HashMap<>();
+		int docCount = documents.size();
+		if (docCount == 0) {
+			return scores;
+		}
+		double avgLength = Math.max(1.0, (double) totalLength / docCount);
+		for (String term : tokenize(query)) {
+			Map<String, Integer> posting = postings.get(term);
+			if (posting == null) {
+				continue;
+			}
+			double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+			for (Map.Entry<String, Integer> entry : posting.entrySet()) {
+				int tf = entry.getValue();
+				int length = lengths.getOrDefault(entry.getKey(), 0);
+				double norm = tf + K1 * (1 - B + B * length / avgLength);
+				scores.merge(entry.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+			}
+		}
+		return scores;
+	}
+
+	private static void addTerms(Map<String, Integer> termFreqs, String text, int weight) {
+		for (String term : tokenize(text)) {
+			termFreqs.merge(term, weight, Integer::sum);
+		}
+	}
+
+	static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null || text.isEmpty()) {
+			return tokens;
+		}
+		String lower = text.toLowerCase(Locale.ROOT);
+		StringBuilder word = new StringBuilder();
+		StringBuilder cjk = new StringBuilder();
+		for (int i = 0; i < lower.length(); i++) {
+			char c = lower.charAt(i);
+			if (isCjk(c)) {
+				flushWord(word, tokens);
+				cjk.append(c);
+			}
+			else if (Character.isLetterOrDigit(c)) {
+				flushCjk(cjk, tokens);
+				word.append(c);
+			}
+			else {
+				flushWord(word, tokens);
+				flushCjk(cjk, tokens);
+			}
+		}
+		flushWord(word, tokens);
+		flushCjk(cjk, tokens);
+		return tokens;
+	}
+
+	private static void flushWord(StringBuilder word, List<String> tokens) {
+		if (word.length() > 0) {
+			tokens.add(word.toString());
+			word.setLength(0);
+		}
+	}
+
+	private static void flushCjk(StringBuilder cjk, List<String> tokens) {
+		if (cjk.length() == 1) {
+			tokens.add(cjk.toString());
+		}
+		for (int i = 0; i + 1 < cjk.length(); i++) {
+			tokens.add(cjk.substring(i, i + 2));
+		}
+		cjk.setLength(0);
+	}
+
+	private static boolean isCjk(char c) {
+		Character.UnicodeScript script = Character.UnicodeScript.of(c);
+		return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+				|| script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+	}
+
+}
@@ -33,6 +33,21 @@ public interface McpServerVectorStore {
 	 */
 	boolean addServer(McpServerInfo serverInfo);
 
+	/**
+	 * 批量添加或更新服务，实现可以只对内容有变化的服务重新向量化
+	 * @param serverInfos 服务信息列表
+	 * @return 实际新增或更新的服务数量
+	 */
+	default int addServers(List<McpServerInfo> serverInfos) {
+		int changed = 0;
+		for (McpServerInfo serverInfo : serverInfos) {
+			if (addServer(serverInfo)) {
+				changed++;
+			}
+		}
+		return changed;
+	}
+
 	/**
 	 * 从向量存储中移除服务
 	 * @param serviceName 服务名
@@ -18,49 +18,81 @@
 package com.alibaba.cloud.ai.mcp.router.core.vectorstore;
 
 import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
-import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
-import org.springframework.ai.vectorstore.SearchRequest;
-import org.springframework.ai.vectorstore.SimpleVectorStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.HashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * 基于 Spring AI SimpleVectorStore 的 MCP 服务向量存储实现
+ * 基于内存索引的 MCP 服务向量存储实现
+ * <p>
+ * 服务按名称保存在主索引中，按名称的查询、删除和枚举都直接走主索引，不会调用 EmbeddingModel。
+ * 服务名、描述和标签另外建立倒排索引，{@link #search(String, int)} 将 BM25 关键词分数与向量余弦相似度
+ * 加权合并；没有 EmbeddingModel 时退化为纯关键词检索。
+ * <p>
+ * 关键词按词项匹配而不是子串包含：查询必须与服务名、描述或标签共享完整的词项（拉丁词或相邻两个汉字），
+ * 因此 "weat" 这类残缺的词不再命中 "weather"，这类查询只能依靠向量相似度召回。
+ * <p>
+ * 每个服务记录内容摘要，内容未变化的服务在刷新时直接跳过；向量按文本摘要缓存在有界 LRU 中，
+ * {@link #addServers(List)} 把所有缓存未命中的文本合并为一次 {@link EmbeddingModel#embed(List)} 调用。
  */
 @Component
 public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 
 	private static final Logger logger = LoggerFactory.getLogger(SimpleMcpServerVectorStore.class);
 
+	private static final double VECTOR_WEIGHT = 0.6;
+
+	private static final double KEYWORD_WEIGHT = 0.4;
+
+	/**
+	 * 仅有向量命中时的最低相似度
+	 */
+	private static final double MIN_SIMILARITY = 0.05;
+
+	public static final int DEFAULT_EMBEDDING_CACHE_SIZE = 1024;
+
 	private final EmbeddingModel embeddingModel;
 
-	private final SimpleVectorStore vectorStore;
+	private final Map<String, float[]> embeddingCache;
+
+	private final Map<String, IndexedServer> servers = new LinkedHashMap<>();
+
+	private final McpServerKeywordIndex keywordIndex = new McpServerKeywordIndex();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
 	@Autowired(required = false)
 	public SimpleMcpServerVectorStore(EmbeddingModel embeddingModel) {
+		this(embeddingModel, DEFAULT_EMBEDDING_CACHE_SIZE);
+	}
+
+	public SimpleMcpServerVectorStore(EmbeddingModel embeddingModel, int embeddingCacheSize) {
 		this.embeddingModel = embeddingModel;
+		this.embeddingCache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+				return size() > embeddingCacheSize;
+			}
+		};
 		if (embeddingModel != null) {
-			this.vectorStore = SimpleVectorStore.builder(embeddingModel).build();
 			logger.info("SimpleMcpServerVectorStore initialized with EmbeddingModel: {}",
 					embeddingModel.getClass().getSimpleName());
 		}
 		else {
-			// 如果没有 EmbeddingModel，创建一个空的 SimpleVectorStore
-			this.vectorStore = null;
-			logger
-				.warn("SimpleMcpServerVectorStore initialized without EmbeddingModel - vector store will be disabled");
+			logger.warn("SimpleMcpServerVectorStore initialized without EmbeddingModel - only keyword search is available");
 		}
 	}
 
@@ -70,411 +102,363 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 			logger.warn("Cannot add server: serverInfo is null or name is null");
 			return false;
 		}
+		addServers(List.of(serverInfo));
+		return true;
+	}
 
-		if (vectorStore == null) {
-			logger.warn("Cannot add server '{}': vectorStore is null (no EmbeddingModel available)",
-					serverInfo.getName());
-			return false;
+	@Override
+	public int addServers(List<McpServerInfo> serverInfos) {
+		if (serverInfos == null || serverInfos.isEmpty()) {
+			return 0;
 		}
 
+		// 只保留内容有变化的服务，同名服务以最后一次出现为准
+		Map<String, PendingServer> pending = new LinkedHashMap<>();
+		lock.readLock().lock();
 		try {
-			// 转换为 Document
-			Document document = convertToDocument(serverInfo);
-			logger.debug("Adding server to vector store: {}", serverInfo.getName());
-			vectorStore.add(List.of(document));
-			logger.info("Successfully added server to vector store: {}", serverInfo.getName());
-			return true;
+			for (McpServerInfo serverInfo : serverInfos) {
+				if (serverInfo == null || serverInfo.getName() == null) {
+					logger.warn("Cannot add server: serverInfo is null or name is null");
+					continue;
+				}
+				McpServerInfo copy = copyOf(serverInfo, 0.0);
+				String text = buildEmbeddingText(copy);
+				String contentHash = hash(text + "\u0000" + copy.getEnabled());
+				IndexedServer existing = servers.get(copy.getName());
+				if (existing != null && contentHash.equals(existing.contentHash())) {
+					pending.remove(copy.getName());
+					continue;
+				}
+				pending.put(copy.getName(), new PendingServer(copy, text, hash(text), contentHash));
+			}
 		}
-		catch (Exception e) {
-			logger.error("Failed to add server to vector store: {}", serverInfo.getName(), e);
-			return false;
+		finally {
+			lock.readLock().unlock();
+		}
+		if (pending.isEmpty()) {
+			return 0;
+		}
+
+		// 向量在锁外计算，避免阻塞并发查询
+		Map<String, float[]> embeddings = embedAll(pending.values());
+
+		lock.writeLock().lock();
+		try {
+			for (PendingServer server : pending.values()) {
+				float[] embedding = embeddings.get(server.textHash());
+				// 向量缺失时不记录内容摘要，下次刷新会重新计算
+				String contentHash = (embedding != null || embeddingModel == null) ? server.contentHash() : null;
+				servers.put(server.info().getName(), new IndexedServer(server.info(), embedding, contentHash));
+				keywordIndex.put(server.info());
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
 		}
+		logger.info("Successfully added {} server(s) to vector store: {}", pending.size(), pending.keySet());
+		return pending.size();
 	}
 
 	@Override
 	public boolean removeServer(String serviceName) {
-		if (vectorStore == null) {
-			logger.warn("Cannot remove server '{}': vectorStore is null", serviceName);
+		if (serviceName == null) {
 			return false;
 		}
-
+		lock.writeLock().lock();
 		try {
-			// 查找对应的文档
-			SearchRequest searchRequest = SearchRequest.builder().query(serviceName).topK(1).build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			if (!documents.isEmpty()) {
-				Document doc = documents.get(0);
-				if (serviceName.equals(doc.getMetadata().get("serviceName"))) {
-					vectorStore.delete(List.of(doc.getId()));
-					logger.info("Successfully removed server from vector store: {}", serviceName);
-					return true;
-				}
+			if (servers.remove(serviceName) == null) {
+				logger.debug("Server not found in vector store: {}", serviceName);
+				return false;
 			}
-			logger.warn("Server not found in vector store: {}", serviceName);
-			return false;
+			keywordIndex.remove(serviceName);
 		}
-		catch (Exception e) {
-			logger.error("Failed to remove server from vector store: {}", serviceName, e);
-			return false;
+		finally {
+			lock.writeLock().unlock();
 		}
+		logger.info("Successfully removed server from vector store: {}", serviceName);
+		return true;
 	}
 
 	@Override
 	public McpServerInfo getServer(String serviceName) {
-		if (vectorStore == null) {
-			logger.warn("Cannot get server '{}': vectorStore is null", serviceName);
+		if (serviceName == null) {
 			return null;
 		}
-
+		lock.readLock().lock();
 		try {
-			// 通过服务名搜索
-			SearchRequest searchRequest = SearchRequest.builder().query(serviceName).topK(1).build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			if (!documents.isEmpty()) {
-				Document doc = documents.get(0);
-				if (serviceName.equals(doc.getMetadata().get("serviceName"))) {
-					return convertFromDocument(doc);
-				}
-			}
-			logger.debug("Server not found in vector store: {}", serviceName);
-			return null;
+			IndexedServer server = servers.get(serviceName);
+			return server != null ? copyOf(server.info(), 0.0) : null;
 		}
-		catch (Exception e) {
-			logger.error("Failed to get server from vector store: {}", serviceName, e);
-			return null;
+		finally {
+			lock.readLock().unlock();
 		}
 	}
 
 	@Override
 	public List<McpServerInfo> getAllServers() {
-		if (vectorStore == null) {
-			logger.warn("Cannot get all servers: vectorStore is null");
-			return new ArrayList<>();
-		}
-
+		lock.readLock().lock();
 		try {
-			// 获取所有文档
-			SearchRequest searchRequest = SearchRequest.builder()
-				.query("") // 空查询获取所有
-				.topK(Integer.MAX_VALUE)
-				.build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			logger.debug("Found {} documents in vector store", documents.size());
-			return documents.stream()
-				.map(this::convertFromDocument)
-				.filter(Objects::nonNull)
-				.collect(Collectors.toList());
+			List<McpServerInfo> result = new ArrayList<>(servers.size());
+			for (IndexedServer server : servers.values()) {
+				result.add(copyOf(server.info(), 0.0));
+			}
+			return result;
 		}
-		catch (Exception e) {
-			logger.error("Failed to get all servers from vector store", e);
-			return new ArrayList<>();
+		finally {
+			lock.readLock().unlock();
 		}
 	}
 
 	@Override
 	public List<McpServerInfo> search(String query, int limit) {
-		if (vectorStore == null) {
-			logger.warn("Cannot search servers: vectorStore is null");
+		if (limit <= 0) {
 			return new ArrayList<>();
 		}
+		logger.debug("Searching vector store with query: '{}', limit: {}", query, limit);
 
-		try {
-			logger.debug("Searching vector store with query: '{}', limit: {}", query, limit);
-
-			List<Document> documents = new ArrayList<>();
-
-			// 策略1：向量相似度搜索（如果查询不为空）
-			if (query != null && !query.trim().isEmpty()) {
-				SearchRequest searchRequest = SearchRequest.builder().query(query).topK(limit * 2).build();
-				List<Document> vectorResults = vectorStore.similaritySearch(searchRequest);
-				logger.debug("Found {} documents in vector search results", vectorResults.size());
-				documents.addAll(vectorResults);
-			}
+		// 空查询直接返回所有服务
+		if (query == null || query.trim().isEmpty()) {
+			return firstServers(limit, 0.5);
+		}
 
-			// 策略2：关键词匹配搜索（总是执行，确保能找到结果）
-			List<Document> keywordResults = searchByKeywords(query, limit);
-			if (CollectionUtils.isNotEmpty(keywordResults)) {
-				documents.addAll(keywordResults);
-				logger.debug("Added {} documents from keyword search", keywordResults.size());
+		float[] queryEmbedding = null;
+		if (embeddingModel != null) {
+			try {
+				String queryHash = hash(query);
+				queryEmbedding = cachedEmbedding(queryHash);
+				if (queryEmbedding == null) {
+					queryEmbedding = normalize(embeddingModel.embed(query));
+					cacheEmbedding(queryHash, queryEmbedding);
+				}
 			}
-
-			// 如果仍然没有结果，尝试获取所有服务器
-			if (documents.isEmpty()) {
-				logger.debug("No results found, trying to get all servers");
-				SearchRequest allRequest = SearchRequest.builder().query("").topK(Integer.MAX_VALUE).build();
-				List<Document> allDocuments = vectorStore.similaritySearch(allRequest);
-				documents.addAll(allDocuments);
-				logger.debug("Found {} total documents in vector store", allDocuments.size());
+			catch (Exception e) {
+				logger.warn("Failed to embed query '{}', falling back to keyword search: {}", query, e.getMessage());
 			}
-
-			// 去重并排序
-			return documents.stream().filter(doc -> {
-				// 降低分数阈值，或者对于关键词匹配的结果不进行分数过滤
-                Double scoreObj = doc.getScore();
-                double score = (scoreObj!=null)?scoreObj.doubleValue():0.0;
-				Object keywordScore = doc.getMetadata().get("keywordScore");
-				if (keywordScore != null) {
-					// 关键词匹配的结果，使用关键词分数
-					return ((Number) keywordScore).doubleValue() > 0.0;
-				}
-				// 向量搜索的结果，使用较低的阈值
-				return score > 0.05; // 进一步降低阈值
-			})
-				.map(this::convertFromDocument)
-				.filter(Objects::nonNull)
-				.distinct() // 去重
-				.sorted((a, b) -> Double.compare(b.getScore(), a.getScore())) // 按分数排序
-				.limit(limit)
-				.collect(Collectors.toList());
-		}
-		catch (Exception e) {
-			logger.error("Failed to search vector store with query: '{}'", query, e);
-			return new ArrayList<>();
 		}
-	}
 
-	/**
-	 * 关键词匹配搜索
-	 */
-	private List<Document> searchByKeywords(String query, int limit) {
+		List<McpServerInfo> results = new ArrayList<>();
+		lock.readLock().lock();
 		try {
-			// 获取所有文档进行关键词匹配
-			SearchRequest searchRequest = SearchRequest.builder().query("").topK(Integer.MAX_VALUE).build();
-			List<Document> allDocuments = vectorStore.similaritySearch(searchRequest);
-
-			logger.debug("Keyword search: found {} total documents to search in", allDocuments.size());
-
-			// 如果查询为空，返回所有文档
-			if (query == null || query.trim().isEmpty()) {
-				return allDocuments.stream().map(doc -> {
-					Map<String, Object> newMetadata = new HashMap<>(doc.getMetadata());
-					newMetadata.put("keywordScore", 0.5);
-					return new Document(doc.getId(), doc.getText(), newMetadata);
-				}).limit(limit).collect(Collectors.toList());
-			}
-
-			String lowerQuery = query.toLowerCase().trim();
-
-			return allDocuments.stream().filter(doc -> {
-				// 检查服务名称
-				String serviceName = (String) doc.getMetadata().get("serviceName");
-				if (serviceName != null && serviceName.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in serviceName: {}", serviceName);
-					return true;
-				}
-
-				// 检查描述信息
-				String description = (String) doc.getMetadata().get("description");
-				if (description != null && description.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in description: {}", description);
-					return true;
-				}
-
-				// 检查标签
-				@SuppressWarnings("unchecked")
-				List<String> tags = (List<String>) doc.getMetadata().get("tags");
-				if (tags != null && tags.stream().anyMatch(tag -> tag.toLowerCase().contains(lowerQuery))) {
-					logger.debug("Keyword match found in tags: {}", tags);
-					return true;
+			Map<String, Double> keywordScores = keywordIndex.score(query);
+			double maxKeywordScore = keywordScores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+			double vectorWeight = queryEmbedding != null ? VECTOR_WEIGHT : 0.0;
+			double keywordWeight = queryEmbedding != null ? KEYWORD_WEIGHT : 1.0;
+
+			for (IndexedServer server : servers.values()) {
+				double keyword = maxKeywordScore > 0
+						? keywordScores.getOrDefault(server.info().getName(), 0.0) / maxKeywordScore : 0.0;
+				double similarity = queryEmbedding != null && server.embedding() != null
+						? Math.max(0.0, dot(queryEmbedding, server.embedding())) : 0.0;
+				if (keyword <= 0.0 && similarity <= MIN_SIMILARITY) {
+					continue;
 				}
-
-				// 检查协议
-				String protocol = (String) doc.getMetadata().get("protocol");
-				if (protocol != null && protocol.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in protocol: {}", protocol);
-					return true;
-				}
-
-				// 检查版本
-				String version = (String) doc.getMetadata().get("version");
-				if (version != null && version.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in version: {}", version);
-					return true;
-				}
-
-				// 检查端点
-				String endpoint = (String) doc.getMetadata().get("endpoint");
-				if (endpoint != null && endpoint.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in endpoint: {}", endpoint);
-					return true;
-				}
-
-				return false;
-			}).map(doc -> {
-				// 为关键词匹配的结果创建新的Document对象并设置分数
-				Map<String, Object> newMetadata = new HashMap<>(doc.getMetadata());
-				newMetadata.put("keywordScore", 0.5);
-				return new Document(doc.getId(), doc.getText(), newMetadata);
-			}).limit(limit).collect(Collectors.toList());
+				results.add(copyOf(server.info(), vectorWeight * similarity + keywordWeight * keyword));
+			}
 		}
-		catch (Exception e) {
-			logger.error("Failed to search by keywords with query: '{}'", query, e);
-			return new ArrayList<>();
+		finally {
+			lock.readLock().unlock();
+		}
+
+		// 如果没有任何命中，返回所有服务，保证调用方总能拿到候选
+		if (results.isEmpty()) {
+			logger.debug("No results found, returning all servers");
+			return firstServers(limit, 0.0);
 		}
+
+		results.sort(Comparator.comparingDouble(McpServerInfo::getScore).reversed());
+		return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
 	}
 
 	@Override
 	public int size() {
-		if (vectorStore == null) {
-			return 0;
-		}
-
+		lock.readLock().lock();
 		try {
-			SearchRequest searchRequest = SearchRequest.builder().query("").topK(Integer.MAX_VALUE).build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			logger.debug("Vector store size: {}", documents.size());
-			return documents.size();
+			return servers.size();
 		}
-		catch (Exception e) {
-			logger.error("Failed to get vector store size", e);
-			return 0;
+		finally {
+			lock.readLock().unlock();
 		}
 	}
 
 	@Override
 	public void clear() {
-		if (vectorStore == null) {
-			logger.warn("Cannot clear vector store: vectorStore is null");
-			return;
+		lock.writeLock().lock();
+		try {
+			int size = servers.size();
+			servers.clear();
+			keywordIndex.clear();
+			logger.info("Cleared {} servers from vector store", size);
+		}
+		finally {
+			lock.writeLock().unlock();
 		}
+	}
 
+	private List<McpServerInfo> firstServers(int limit, double score) {
+		lock.readLock().lock();
 		try {
-			// 获取所有文档并删除
-			SearchRequest searchRequest = SearchRequest.builder().query("").topK(Integer.MAX_VALUE).build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			List<String> ids = documents.stream().map(Document::getId).collect(Collectors.toList());
+			List<McpServerInfo> result = new ArrayList<>(Math.min(limit, servers.size()));
+			for (IndexedServer server : servers.values()) {
+				if (result.size() >= limit) {
+					break;
+				}
+				result.add(copyOf(server.info(), score));
+			}
+			return result;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
 
-			if (!ids.isEmpty()) {
-				vectorStore.delete(ids);
-				logger.info("Cleared {} documents from vector store", ids.size());
+	/**
+	 * 按文本摘要返回向量，缓存未命中的文本合并为一次批量请求
+	 */
+	private Map<String, float[]> embedAll(Iterable<PendingServer> servers) {
+		Map<String, float[]> embeddings = new HashMap<>();
+		if (embeddingModel == null) {
+			return embeddings;
+		}
+		Map<String, String> misses = new LinkedHashMap<>();
+		for (PendingServer server : servers) {
+			float[] cached = cachedEmbedding(server.textHash());
+			if (cached != null) {
+				embeddings.put(server.textHash(), cached);
+			}
+			else {
+				misses.putIfAbsent(server.textHash(), server.text());
+			}
+		}
+		if (misses.isEmpty()) {
+			return embeddings;
+		}
+		try {
+			List<String> hashes = new ArrayList<>(misses.keySet());
+			List<float[]> vectors = embeddingModel.embed(new ArrayList<>(misses.values()));
+			for (int i = 0; i < hashes.size() && i < vectors.size(); i++) {
+				float[] vector = normalize(vectors.get(i));
+				embeddings.put(hashes.get(i), vector);
+				cacheEmbedding(hashes.get(i), vector);
 			}
+			logger.debug("Embedded {} server text(s), {} served from cache", misses.size(),
+					embeddings.size() - misses.size());
 		}
 		catch (Exception e) {
-			logger.error("Failed to clear vector store", e);
+			logger.warn("Failed to embed {} server text(s), they will only be found by keywords: {}", misses.size(),
+					e.getMessage());
+		}
+		return embeddings;
+	}
+
+	private float[] cachedEmbedding(String textHash) {
+		synchronized (embeddingCache) {
+			return embeddingCache.get(textHash);
 		}
 	}
 
+	private void cacheEmbedding(String textHash, float[] embedding) {
+		if (embedding == null) {
+			return;
+		}
+		synchronized (embeddingCache) {
+			embeddingCache.put(textHash, embedding);
+		}
+	}
+
+	private static String hash(String text) {
+		return DigestUtils.md5DigestAsHex(text.getBytes(StandardCharsets.UTF_8));
+	}
+
 	/**
-	 * 将 McpServerInfo 转换为 Document
+	 * 构建用于向量化的文本，描述信息重复一次以增加权重
 	 */
-	private Document convertToDocument(McpServerInfo serverInfo) {
-		// 构建更丰富的搜索文本，增加描述信息的权重
+	private String buildEmbeddingText(McpServerInfo serverInfo) {
 		StringBuilder textBuilder = new StringBuilder();
-
-		// 服务名称（高权重）
 		textBuilder.append(serverInfo.getName()).append(" ");
-
-		// 描述信息（高权重，重复添加以增加权重）
 		if (serverInfo.getDescription() != null && !serverInfo.getDescription().trim().isEmpty()) {
 			textBuilder.append(serverInfo.getDescription()).append(" ");
-			// 再次添加描述信息以增加权重
 			textBuilder.append(serverInfo.getDescription()).append(" ");
 		}
-
-		// 协议信息
 		if (serverInfo.getProtocol() != null && !serverInfo.getProtocol().trim().isEmpty()) {
 			textBuilder.append(serverInfo.getProtocol()).append(" ");
 		}
-
-		// 版本信息
 		if (serverInfo.getVersion() != null && !serverInfo.getVersion().trim().isEmpty()) {
 			textBuilder.append(serverInfo.getVersion()).append(" ");
 		}
-
-		// 端点信息
 		if (serverInfo.getEndpoint() != null && !serverInfo.getEndpoint().trim().isEmpty()) {
 			textBuilder.append(serverInfo.getEndpoint()).append(" ");
 		}
-
-		// 标签信息（中权重）
 		if (serverInfo.getTags() != null && !serverInfo.getTags().isEmpty()) {
 			textBuilder.append(String.join(" ", serverInfo.getTags())).append(" ");
 		}
-
-		Map<String, Object> metadata = Map.of("serviceName", serverInfo.getName(), "description",
-				Optional.ofNullable(serverInfo.getDescription()).orElse(""), "protocol",
-				Optional.ofNullable(serverInfo.getProtocol()).orElse(""), "version",
-				Optional.ofNullable(serverInfo.getVersion()).orElse(""), "endpoint",
-				Optional.ofNullable(serverInfo.getEndpoint()).orElse(""), "enabled",
-				Optional.ofNullable(serverInfo.getEnabled()).orElse(true), "tags",
-				Optional.ofNullable(serverInfo.getTags()).orElse(List.of()), "vectorType", "mcp_service");
-
-		return new Document(serverInfo.getName(), textBuilder.toString().trim(), metadata);
+		return textBuilder.toString().trim();
 	}
 
 	/**
-	 * 将 Document 转换为 McpServerInfo
+	 * 归一化为单位向量，之后的余弦相似度即为点积
 	 */
-	private McpServerInfo convertFromDocument(Document document) {
-		try {
-			String serviceName = (String) document.getMetadata().get("serviceName");
-			String description = (String) document.getMetadata().get("description");
-			String protocol = (String) document.getMetadata().get("protocol");
-			String version = (String) document.getMetadata().get("version");
-			String endpoint = (String) document.getMetadata().get("endpoint");
-			Boolean enabled = (Boolean) document.getMetadata().get("enabled");
-			@SuppressWarnings("unchecked")
-			List<String> tags = (List<String>) document.getMetadata().get("tags");
-
-			McpServerInfo serverInfo = new McpServerInfo(serviceName, description, protocol, version, endpoint, enabled,
-					tags);
-
-			// 优先使用关键词搜索的分数，如果没有则使用向量搜索的分数
-			Object keywordScore = document.getMetadata().get("keywordScore");
-			if (keywordScore != null) {
-				serverInfo.setScore(((Number) keywordScore).doubleValue());
-			}
-			else {
-                Double scoreObj = document.getScore();
-                serverInfo.setScore((scoreObj!=null)?scoreObj.doubleValue():0.0);
-			}
-
-			return serverInfo;
+	private static float[] normalize(float[] vector) {
+		if (vector == null || vector.length == 0) {
+			return null;
 		}
-		catch (Exception e) {
-			logger.error("Failed to convert document to McpServerInfo", e);
+		double norm = 0.0;
+		for (float v : vector) {
+			norm += v * v;
+		}
+		if (norm == 0.0) {
 			return null;
 		}
+		float inv = (float) (1.0 / Math.sqrt(norm));
+		float[] result = new float[vector.length];
+		for (int i = 0; i < vector.length; i++) {
+			result[i] = vector[i] * inv;
+		}
+		return result;
+	}
+
+	private static double dot(float[] a, float[] b) {
+		if (a.length != b.length) {
+			return 0.0;
+		}
+		double sum = 0.0;
+		for (int i = 0; i < a.length; i++) {
+			sum += a[i] * b[i];
+		}
+		return sum;
+	}
+
+	private static McpServerInfo copyOf(McpServerInfo serverInfo, double score) {
+		McpServerInfo copy = new McpServerInfo(serverInfo.getName(), serverInfo.getDescription(),
+				serverInfo.getProtocol(), serverInfo.getVersion(), serverInfo.getEndpoint(),
+				serverInfo.getEnabled() != null ? serverInfo.getEnabled() : Boolean.TRUE,
+				serverInfo.getTags() != null ? new ArrayList<>(serverInfo.getTags()) : new ArrayList<>());
+		copy.setScore(score);
+		return copy;
 	}
 
 	/**
 	 * 调试方法：获取向量存储的详细信息
 	 */
 	public void debugVectorStore() {
-		if (vectorStore == null) {
-			logger.warn("Vector store is null - no EmbeddingModel available");
-			return;
-		}
-
+		lock.readLock().lock();
 		try {
-			// 获取所有文档
-			SearchRequest searchRequest = SearchRequest.builder().query("").topK(Integer.MAX_VALUE).build();
-			List<Document> allDocuments = vectorStore.similaritySearch(searchRequest);
-
 			logger.info("=== Vector Store Debug Information ===");
-			logger.info("Total documents in vector store: {}", allDocuments.size());
-
-			for (int i = 0; i < allDocuments.size(); i++) {
-				Document doc = allDocuments.get(i);
-				logger.info("Document {}: ID={}, Score={}", i + 1, doc.getId(), doc.getScore());
-				logger.info("  ServiceName: {}", doc.getMetadata().get("serviceName"));
-				logger.info("  Description: {}", doc.getMetadata().get("description"));
-				logger.info("  Protocol: {}", doc.getMetadata().get("protocol"));
-				logger.info("  Version: {}", doc.getMetadata().get("version"));
-				logger.info("  Endpoint: {}", doc.getMetadata().get("endpoint"));
-				logger.info("  Tags: {}", doc.getMetadata().get("tags"));
-				logger.info("  Text content: {}",
-						doc.getText().substring(0, Math.min(100, doc.getText().length())) + "...");
+			logger.info("Total servers in vector store: {}", servers.size());
+			int i = 0;
+			for (IndexedServer server : servers.values()) {
+				McpServerInfo info = server.info();
+				logger.info("Server {}: {}", ++i, info.getName());
+				logger.info("  Description: {}", info.getDescription());
+				logger.info("  Protocol: {}", info.getProtocol());
+				logger.info("  Version: {}", info.getVersion());
+				logger.info("  Endpoint: {}", info.getEndpoint());
+				logger.info("  Tags: {}", info.getTags());
+				logger.info("  Embedded: {}", server.embedding() != null);
 			}
 			logger.info("=== End Debug Information ===");
 		}
-		catch (Exception e) {
-			logger.error("Failed to debug vector store", e);
+		finally {
+			lock.readLock().unlock();
 		}
 	}
 
@@ -484,39 +468,34 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 	public void debugSearch(String query, int limit) {
 		logger.info("=== Search Debug for query: '{}' ===", query);
 
-		if (vectorStore == null) {
-			logger.warn("Vector store is null");
-			return;
+		Map<String, Double> keywordScores;
+		lock.readLock().lock();
+		try {
+			keywordScores = new HashMap<>(keywordIndex.score(query));
+		}
+		finally {
+			lock.readLock().unlock();
 		}
+		logger.info("Query tokens: {}", McpServerKeywordIndex.tokenize(query));
+		logger.info("Keyword search results: {}", keywordScores.size());
+		keywordScores.forEach((name, score) -> logger.info("  Keyword result: {} (bm25: {})", name, score));
 
-		try {
-			// 测试向量搜索
-			SearchRequest vectorRequest = SearchRequest.builder().query(query).topK(limit * 2).build();
-			List<Document> vectorResults = vectorStore.similaritySearch(vectorRequest);
-			logger.info("Vector search results: {}", vectorResults.size());
-			for (Document doc : vectorResults) {
-				logger.info("  Vector result: {} (score: {})", doc.getMetadata().get("serviceName"), doc.getScore());
-			}
+		List<McpServerInfo> fullResults = search(query, limit);
+		logger.info("Full search results: {}", fullResults.size());
+		for (McpServerInfo info : fullResults) {
+			logger.info("  Full result: {} (score: {})", info.getName(), info.getScore());
+		}
 
-			// 测试关键词搜索
-			List<Document> keywordResults = searchByKeywords(query, limit);
-			logger.info("Keyword search results: {}", keywordResults.size());
-			for (Document doc : keywordResults) {
-				logger.info("  Keyword result: {} (score: {})", doc.getMetadata().get("serviceName"), doc.getScore());
-			}
+		logger.info("=== End Search Debug ===");
+	}
 
-			// 测试完整搜索
-			List<McpServerInfo> fullResults = search(query, limit);
-			logger.info("Full search results: {}", fullResults.size());
-			for (McpServerInfo info : fullResults) {
-				logger.info("  Full result: {} (score: {})", info.getName(), info.getScore());
-			}
+	/**
+	 * contentHash 为 null 表示向量尚未计算成功，下次 addServers 时会重试
+	 */
+	private record IndexedServer(McpServerInfo info, float[] embedding, String contentHash) {
+	}
 
-			logger.info("=== End Search Debug ===");
-		}
-		catch (Exception e) {
-			logger.error("Failed to debug search", e);
-		}
+	private record PendingServer(McpServerInfo info, String text, String textHash, String contentHash) {
 	}
 
 }
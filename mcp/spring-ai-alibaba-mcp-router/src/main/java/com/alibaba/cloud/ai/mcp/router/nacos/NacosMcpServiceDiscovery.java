@@ -18,6 +18,7 @@
 package com.alibaba.cloud.ai.mcp.router.nacos;
 
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
+import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpSubscriber;
 import com.alibaba.cloud.ai.mcp.router.core.discovery.McpServiceDiscovery;
 import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerDetailInfo;
@@ -27,6 +28,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class NacosMcpServiceDiscovery implements McpServiceDiscovery {
 
@@ -42,6 +44,9 @@ public class NacosMcpServiceDiscovery implements McpServiceDiscovery {
 	// 本地缓存：serviceName -> version/hash
 	private final Map<String, String> serviceVersionCache = new ConcurrentHashMap<>();
 
+	// 已注册的推送订阅，取消订阅时需要传回同一个订阅者
+	private final Map<Subscription, NacosMcpSubscriber> subscribers = new ConcurrentHashMap<>();
+
 	/**
 	 * 获取并缓存指定serviceName的MCP服务信息
 	 * @param serviceName 服务名
@@ -57,24 +62,7 @@ public class NacosMcpServiceDiscovery implements McpServiceDiscovery {
 			// 判断是否变更
 			boolean changed = cacheVersion == null || !cacheVersion.equals(version);
 			if (changed) {
-				// 生成 embedding
-				String name = detail.getName();
-				String description = detail.getDescription();
-				String protocol = detail.getProtocol();
-				String endpoint = null;
-				if (detail.getRemoteServerConfig() != null && detail.getRemoteServerConfig().getServiceRef() != null) {
-					var ref = detail.getRemoteServerConfig().getServiceRef();
-					String exportPath = detail.getRemoteServerConfig().getExportPath();
-					endpoint = ref.getServiceName() + "@" + ref.getGroupName() + (exportPath != null ? exportPath : "");
-				}
-				List<String> tags = new ArrayList<>();
-				if (description != null && !description.isEmpty()) {
-					tags.addAll(Arrays.asList(description.split("[ ,;|]")));
-				}
-				McpServerInfo info = new McpServerInfo(name, description, protocol, version, endpoint, true, tags);
-				serviceCache.put(serviceName, info);
-				serviceVersionCache.put(serviceName, version);
-				return info;
+				return cache(serviceName, detail, version);
 			}
 			else {
 				return serviceCache.get(serviceName);
@@ -85,9 +73,53 @@ public class NacosMcpServiceDiscovery implements McpServiceDiscovery {
 		}
 	}
 
+	private McpServerInfo cache(String serviceName, McpServerDetailInfo detail, String version) {
+		String name = detail.getName();
+		String description = detail.getDescription();
+		String protocol = detail.getProtocol();
+		String endpoint = null;
+		if (detail.getRemoteServerConfig() != null && detail.getRemoteServerConfig().getServiceRef() != null) {
+			var ref = detail.getRemoteServerConfig().getServiceRef();
+			String exportPath = detail.getRemoteServerConfig().getExportPath();
+			endpoint = ref.getServiceName() + "@" + ref.getGroupName() + (exportPath != null ? exportPath : "");
+		}
+		List<String> tags = new ArrayList<>();
+		if (description != null && !description.isEmpty()) {
+			tags.addAll(Arrays.asList(description.split("[ ,;|]")));
+		}
+		McpServerInfo info = new McpServerInfo(name, description, protocol, version, endpoint, true, tags);
+		serviceCache.put(serviceName, info);
+		serviceVersionCache.put(serviceName, version);
+		return info;
+	}
+
 	@Override
 	public McpServerInfo getService(String serviceName) {
 		return fetchAndCacheService(serviceName);
 	}
 
+	@Override
+	public boolean subscribe(String serviceName, Consumer<McpServerInfo> listener) {
+		NacosMcpSubscriber subscriber = detail -> {
+			String version = detail.getVersionDetail() != null ? detail.getVersionDetail().getVersion() : "";
+			listener.accept(cache(serviceName, detail, version));
+		};
+		boolean subscribed = nacosMcpOperationService.subscribeMcpServerChange(serviceName, subscriber);
+		if (subscribed) {
+			subscribers.put(new Subscription(serviceName, listener), subscriber);
+		}
+		return subscribed;
+	}
+
+	@Override
+	public void unsubscribe(String serviceName, Consumer<McpServerInfo> listener) {
+		NacosMcpSubscriber subscriber = subscribers.remove(new Subscription(serviceName, listener));
+		if (subscriber != null) {
+			nacosMcpOperationService.unsubscribeMcpServerChange(serviceName, subscriber);
+		}
+	}
+
+	private record Subscription(String serviceName, Consumer<McpServerInfo> listener) {
+	}
+
 }
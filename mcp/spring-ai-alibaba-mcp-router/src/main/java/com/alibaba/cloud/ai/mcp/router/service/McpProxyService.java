@@ -16,6 +16,9 @@
 
 package com.alibaba.cloud.ai.mcp.router.service;
 
+import com.alibaba.cloud.ai.mcp.common.pool.McpClientSessionKey;
+import com.alibaba.cloud.ai.mcp.common.pool.McpSyncClientPool;
+import com.alibaba.cloud.ai.mcp.common.pool.McpSyncClientPoolProperties;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
 import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerDetailInfo;
@@ -24,12 +27,9 @@ import com.alibaba.nacos.api.ai.model.mcp.McpServiceRef;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.modelcontextprotocol.client.McpClient;
 import io.modelcontextprotocol.client.McpSyncClient;
-import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
-import io.modelcontextprotocol.spec.McpSchema.InitializeResult;
 import io.modelcontextprotocol.spec.McpSchema.TextContent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,7 +43,7 @@ import java.util.HashMap;
 /**
  * MCP 代理服务 参考 spring-ai-alibaba-mcp-gateway-nacos 的实现，提供完整的 MCP 服务代理功能
  */
-public class McpProxyService {
+public class McpProxyService implements AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpProxyService.class);
 
@@ -51,11 +51,34 @@ public class McpProxyService {
 
 	private final ObjectMapper objectMapper = new ObjectMapper();
 
-	// 缓存已建立的连接
-	private final Map<String, McpSyncClient> clientConnections = new ConcurrentHashMap<>();
+	// 已初始化的 MCP 会话池，按 address/port/exportPath 复用连接
+	private final McpSyncClientPool clientPool;
 
+	// 会话池由本服务创建时，在 close() 中一并关闭
+	private final boolean ownsClientPool;
+
+	// 服务名到已建立连接端点的映射
+	private final Map<String, McpClientSessionKey> clientConnections = new ConcurrentHashMap<>();
+
+	/**
+	 * 使用自建的会话池，调用方需要在不再使用时调用 {@link #close()} 释放池及其回收线程
+	 */
 	public McpProxyService(NacosMcpOperationService nacosMcpOperationService) {
+		this(nacosMcpOperationService, new McpSyncClientPool(new McpSyncClientPoolProperties()), true);
+	}
+
+	/**
+	 * 使用外部注入的会话池，池的生命周期由注入方管理
+	 */
+	public McpProxyService(NacosMcpOperationService nacosMcpOperationService, McpSyncClientPool clientPool) {
+		this(nacosMcpOperationService, clientPool, false);
+	}
+
+	private McpProxyService(NacosMcpOperationService nacosMcpOperationService, McpSyncClientPool clientPool,
+			boolean ownsClientPool) {
 		this.nacosMcpOperationService = nacosMcpOperationService;
+		this.clientPool = clientPool;
+		this.ownsClientPool = ownsClientPool;
 	}
 
 	/**
@@ -137,38 +160,24 @@ public class McpProxyService {
 		}
 
 		logger.info("MCP Stream Tool callback instance: {}", JacksonUtils.toJson(mcpEndpointInfo));
-		String exportPath = remoteServerConfig.getExportPath();
+		McpClientSessionKey sessionKey = McpClientSessionKey.of(mcpEndpointInfo, remoteServerConfig.getExportPath());
+		clientPool.watchEndpoints(nacosMcpOperationService, serviceRef);
 
 		// 构建基础URL
-		String baseUrl = "http://" + mcpEndpointInfo.getAddress() + ":" + mcpEndpointInfo.getPort();
-		String sseEndpoint = exportPath != null && !exportPath.isEmpty() ? exportPath : "/sse";
+		String baseUrl = sessionKey.baseUrl();
+		String sseEndpoint = sessionKey.exportPath();
 
 		logger.info("Processing {} protocol with args: {} and baseUrl: {} endpoint: {}", protocol, args, baseUrl,
 				sseEndpoint);
 
-		// 验证连接可用性
-		if (!isEndpointReachable(baseUrl + sseEndpoint)) {
+		// 没有可复用的会话时才验证连接可用性
+		if (!clientPool.hasIdleSession(sessionKey) && !isEndpointReachable(baseUrl + sseEndpoint)) {
 			String diagnosis = diagnoseEndpoint(baseUrl, sseEndpoint);
 			return String.format("Error: Cannot reach MCP Server endpoint at %s%s\n\n%s", baseUrl, sseEndpoint,
 					diagnosis);
 		}
 
-		McpSyncClient client = null;
 		try {
-			// 构建传输层
-			HttpClientSseClientTransport.Builder transportBuilder = HttpClientSseClientTransport.builder(baseUrl)
-				.sseEndpoint(sseEndpoint);
-
-			HttpClientSseClientTransport transport = transportBuilder.build();
-
-			// 创建MCP同步客户端
-			client = McpClient.sync(transport).build();
-
-			// 初始化客户端
-			logger.info("MCP Client initializing: baseUrl {} sseEndpoint {}", baseUrl, sseEndpoint);
-			InitializeResult initializeResult = client.initialize();
-			logger.info("MCP Client initialized: {}", initializeResult);
-
 			// 从参数中提取工具名称，如果没有提供则使用默认值
 			String toolName = extractToolNameFromArgs(args);
 			if (toolName == null || toolName.isEmpty()) {
@@ -179,7 +188,7 @@ public class McpProxyService {
 			McpSchema.CallToolRequest request = new McpSchema.CallToolRequest(toolName, args);
 			logger.info("CallToolRequest: {}", request);
 
-			CallToolResult result = client.callTool(request);
+			CallToolResult result = clientPool.execute(sessionKey, client -> client.callTool(request));
 			logger.info("Tool call result: {}", result);
 
 			// 处理结果
@@ -214,17 +223,6 @@ public class McpProxyService {
 
 			return errorInfo.toString();
 		}
-		finally {
-			// 清理资源
-			if (client != null) {
-				try {
-					client.close();
-				}
-				catch (Exception e) {
-					logger.warn("Failed to close MCP client", e);
-				}
-			}
-		}
 	}
 
 	/**
@@ -390,48 +388,25 @@ public class McpProxyService {
 				return false;
 			}
 
-			// 根据协议类型建立连接
-			McpSyncClient client = createClient(protocol, mcpEndpointInfo, remoteConfig);
-			if (client != null) {
-				clientConnections.put(serviceName, client);
-				logger.info("Successfully established connection to service: {}", serviceName);
-				return true;
-			}
-
-			return false;
-		}
-		catch (Exception e) {
-			logger.error("Failed to establish connection to service: {}", serviceName, e);
-			return false;
-		}
-	}
-
-	/**
-	 * 创建 MCP 客户端
-	 */
-	private McpSyncClient createClient(String protocol, McpEndpointInfo endpointInfo,
-			McpServerRemoteServiceConfig remoteConfig) {
-		try {
-			String baseUrl = "http://" + endpointInfo.getAddress() + ":" + endpointInfo.getPort();
-			String exportPath = remoteConfig.getExportPath();
-
+			// 根据协议类型建立连接，预热一个已初始化的会话放入连接池
 			switch (protocol.toLowerCase()) {
 				case "mcp-sse":
 				case "mcp-stream":
-					String sseEndpoint = exportPath != null && !exportPath.isEmpty() ? exportPath : "/sse";
-					HttpClientSseClientTransport sseTransport = HttpClientSseClientTransport.builder(baseUrl)
-						.sseEndpoint(sseEndpoint)
-						.build();
-					return McpClient.sync(sseTransport).build();
-
+					McpClientSessionKey sessionKey = McpClientSessionKey.of(mcpEndpointInfo,
+							remoteConfig.getExportPath());
+					clientPool.watchEndpoints(nacosMcpOperationService, serviceRef);
+					clientPool.warmUp(sessionKey);
+					clientConnections.put(serviceName, sessionKey);
+					logger.info("Successfully established connection to service: {}", serviceName);
+					return true;
 				default:
 					logger.warn("Unsupported protocol for client creation: {}", protocol);
-					return null;
+					return false;
 			}
 		}
 		catch (Exception e) {
-			logger.error("Failed to create MCP client for protocol: {}", protocol, e);
-			return null;
+			logger.error("Failed to establish connection to service: {}", serviceName, e);
+			return false;
 		}
 	}
 
@@ -440,15 +415,10 @@ public class McpProxyService {
 	 * @param serviceName 服务名称
 	 */
 	public void closeConnection(String serviceName) {
-		McpSyncClient client = clientConnections.remove(serviceName);
-		if (client != null) {
-			try {
-				client.close();
-				logger.info("Closed connection to service: {}", serviceName);
-			}
-			catch (Exception e) {
-				logger.warn("Failed to close connection to service: {}", serviceName, e);
-			}
+		McpClientSessionKey sessionKey = clientConnections.remove(serviceName);
+		if (sessionKey != null) {
+			clientPool.invalidate(sessionKey);
+			logger.info("Closed connection to service: {}", serviceName);
 		}
 	}
 
@@ -456,18 +426,24 @@ public class McpProxyService {
 	 * 关闭所有连接
 	 */
 	public void closeAllConnections() {
-		for (Map.Entry<String, McpSyncClient> entry : clientConnections.entrySet()) {
-			try {
-				entry.getValue().close();
-				logger.info("Closed connection to service: {}", entry.getKey());
-			}
-			catch (Exception e) {
-				logger.warn("Failed to close connection to service: {}", entry.getKey(), e);
-			}
+		for (Map.Entry<String, McpClientSessionKey> entry : clientConnections.entrySet()) {
+			clientPool.invalidate(entry.getValue());
+			logger.info("Closed connection to service: {}", entry.getKey());
 		}
 		clientConnections.clear();
 	}
 
+	/**
+	 * 关闭所有连接，会话池由本服务创建时同时关闭会话池
+	 */
+	@Override
+	public void close() {
+		closeAllConnections();
+		if (ownsClientPool) {
+			clientPool.close();
+		}
+	}
+
 	/**
 	 * 检查连接状态
 	 * @param serviceName 服务名称
@@ -478,11 +454,14 @@ public class McpProxyService {
 	}
 
 	/**
-	 * 获取连接数量
-	 * @return 当前连接数量
+	 * 获取连接数量。
+	 * <p>
+	 * 自 1.1.0 起连接由 {@link McpSyncClientPool} 管理，返回值是连接池中已初始化的会话数（含空闲与借出的会话），
+	 * 同一服务可能对应多个会话，已失效的会话也不再计入；此前返回的是已建立连接的服务数。
+	 * @return 当前连接池中已初始化的会话数量
 	 */
 	public int getConnectionCount() {
-		return clientConnections.size();
+		return clientPool.getSessionCount();
 	}
 
 	/**
@@ -566,9 +545,22 @@ public class McpProxyService {
 	/**
 	 * 获取客户端连接（用于调试）
 	 * @param serviceName 服务名称
-	 * @return MCP客户端
+	 * @return 连接池中该服务的一个已初始化客户端，未建立连接时返回 {@code null}
+	 * @deprecated 自 1.1.0 起客户端由连接池持有并在调用间复用，返回的客户端可能同时被其他调用使用，
+	 * 也可能随时被连接池关闭，请勿直接关闭或长期持有；请改用 {@link #getSessionKey(String)}
 	 */
+	@Deprecated
 	public McpSyncClient getClient(String serviceName) {
+		McpClientSessionKey sessionKey = clientConnections.get(serviceName);
+		return sessionKey != null ? clientPool.execute(sessionKey, client -> client) : null;
+	}
+
+	/**
+	 * 获取服务对应的连接端点（用于调试）
+	 * @param serviceName 服务名称
+	 * @return 连接池中的会话标识
+	 */
+	public McpClientSessionKey getSessionKey(String serviceName) {
 		return clientConnections.get(serviceName);
 	}
 
@@ -20,7 +20,11 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 class ResponseTemplateParserTest {
@@ -177,6 +181,92 @@ class ResponseTemplateParserTest {
 		assertEquals("Data: , Info: test", result);
 	}
 
+	@Test
+	void shouldReuseCompiledTemplateForSameSource() {
+		ResponseTemplateParser.CompiledTemplate first = ResponseTemplateParser.compile("Status: {{.status}}");
+		ResponseTemplateParser.CompiledTemplate second = ResponseTemplateParser.compile("Status: {{.status}}");
+
+		assertSame(first, second);
+	}
+
+	@Test
+	void shouldRenderArgsAndNestedResponseFields() {
+		String rawResponse = "{\"data\": {\"user\": {\"name\": \"John\"}}, \"status\": \"ok\"}";
+		Map<String, Object> args = new LinkedHashMap<>();
+		args.put("id", 42);
+		args.put("filter", Map.of("type", "vip"));
+
+		ResponseTemplateParser.CompiledTemplate template = ResponseTemplateParser
+			.compile("{{.args.id}}/{{.args.filter.type}}: {{.data.user.name}} {{.status}}");
+
+		String result = template.render(rawResponse, args);
+
+		assertEquals("42/vip: John ok", result);
+	}
+
+	@Test
+	void shouldRenderSingleArgumentForBareArgsPath() {
+		ResponseTemplateParser.CompiledTemplate template = ResponseTemplateParser.compile("q={{.args}}");
+
+		assertEquals("q=beijing", template.render(null, Map.of("city", "beijing")));
+		assertEquals("q=", template.render(null, Map.of()));
+	}
+
+	@Test
+	void shouldRenderRawResponseForRootAndExtendedData() {
+		String rawResponse = "plain text";
+
+		assertEquals("[plain text]", ResponseTemplateParser.compile("[{{.}}]").render(rawResponse, null));
+		assertEquals("[plain text]", ResponseTemplateParser.compile("[{{.extendedData}}]").render(rawResponse, null));
+	}
+
+	@Test
+	void shouldRenderEmptyForUnresolvableResponsePaths() {
+		ResponseTemplateParser.CompiledTemplate template = ResponseTemplateParser
+			.compile("a={{.missing}} b={{.status.code}}");
+
+		assertEquals("a= b=", template.render("{\"status\": \"ok\"}", null));
+		assertEquals("a= b=", template.render("not json", null));
+		assertEquals("a= b=", template.render("", null));
+	}
+
+	@Test
+	void shouldKeepIndexedPlaceholdersVerbatimWhenRendering() {
+		ResponseTemplateParser.CompiledTemplate template = ResponseTemplateParser
+			.compile("first={{.items[0]}} status={{.status}}");
+
+		assertEquals("first={{.items[0]}} status=ok", template.render("{\"items\": [1], \"status\": \"ok\"}", null));
+	}
+
+	@Test
+	void shouldNotShareTemplatesCompiledOutsideTheCache() {
+		ResponseTemplateParser.CompiledTemplate cached = ResponseTemplateParser.compile("{{.status}}");
+		ResponseTemplateParser.CompiledTemplate uncached = ResponseTemplateParser.CompiledTemplate.of("{{.status}}");
+
+		assertSame(cached, ResponseTemplateParser.compile("{{.status}}"));
+		assertNotSame(cached, uncached);
+		assertEquals("ok", uncached.render("{\"status\": \"ok\"}", null));
+	}
+
+	@Test
+	void shouldReturnSourceWhenCompiledTemplateHasNoPlaceholders() {
+		assertEquals("static text", ResponseTemplateParser.compile("static text").render("{}", null));
+	}
+
+	@Test
+	void shouldSkipUnreferencedFieldsWhenRendering() {
+		StringBuilder payload = new StringBuilder();
+		for (int i = 0; i < 10_000; i++) {
+			payload.append("{\"id\":").append(i).append(",\"tags\":[\"a\",\"b\"]},");
+		}
+		String rawResponse = "{\"items\": [" + payload.substring(0, payload.length() - 1)
+				+ "], \"meta\": {\"total\": 10000}, \"status\": \"ok\"}";
+
+		String result = ResponseTemplateParser.compile("{{.status}} total={{.meta.total}}").render(rawResponse, null);
+
+		assertEquals("ok total=10000", result);
+	}
+
 	// Regex pattern tests to validate MULTI_LEVEL_PATTERN detection
 	@Test
 	void shouldDetectMultiLevelPatternsCorrectly() {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.mcp.gateway.core.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class McpGatewayOAuthTokenManagerTest {
+
+	private final AtomicInteger tokenRequests = new AtomicInteger();
+
+	private final McpGatewayOAuthProperties properties = new McpGatewayOAuthProperties();
+
+	private McpGatewayOAuthTokenManager tokenManager;
+
+	@AfterEach
+	void close() {
+		if (tokenManager != null) {
+			tokenManager.close();
+		}
+	}
+
+	@Test
+	void shortLivedTokenIsRenewedLateInItsLifetime() {
+		tokenManager = tokenManager(60);
+		Instant issuedAt = Instant.now();
+		McpGatewayOAuthTokenManager.CachedToken token = new McpGatewayOAuthTokenManager.CachedToken("token", null,
+				issuedAt, issuedAt.plusSeconds(60), "Bearer");
+
+		for (int i = 0; i < 100; i++) {
+			Instant renewAt = tokenManager.renewalTime(token);
+			// 提前量最多为有效期的20%，抖动最多为10%
+			assertFalse(renewAt.isBefore(issuedAt.plusSeconds(42)), renewAt::toString);
+			assertFalse(renewAt.isAfter(issuedAt.plusSeconds(48)), renewAt::toString);
+		}
+	}
+
+	@Test
+	void longLivedTokenIsRenewedBeforeConfiguredWindow() {
+		tokenManager = tokenManager(3600);
+		Instant issuedAt = Instant.now();
+		McpGatewayOAuthTokenManager.CachedToken token = new McpGatewayOAuthTokenManager.CachedToken("token", null,
+				issuedAt, issuedAt.plusSeconds(3600), "Bearer");
+
+		Instant renewAt = tokenManager.renewalTime(token);
+
+		Instant window = issuedAt.plusSeconds(3600).minus(Duration.ofMinutes(5));
+		assertFalse(renewAt.isAfter(window));
+		assertFalse(renewAt.isBefore(window.minusSeconds(30)));
+	}
+
+	@Test
+	void shortLivedTokenIsServedFromCache() {
+		tokenManager = tokenManager(60);
+
+		assertEquals("token-1", tokenManager.getAccessToken().block());
+		assertEquals("token-1", tokenManager.getAccessToken().block());
+		assertEquals(1, tokenRequests.get());
+	}
+
+	private McpGatewayOAuthTokenManager tokenManager(long expiresIn) {
+		properties.setEnabled(true);
+		properties.getProvider().setClientId("client");
+		properties.getProvider().setClientSecret("secret");
+		properties.getProvider().setTokenUri("http://auth.example.com/token");
+		WebClient.Builder webClient = WebClient.builder()
+			.exchangeFunction(request -> Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.body("{\"access_token\":\"token-" + tokenRequests.incrementAndGet() + "\",\"expires_in\":" + expiresIn
+						+ ",\"token_type\":\"Bearer\"}")
+				.build()));
+		return new McpGatewayOAuthTokenManager(webClient, properties);
+	}
+
+}
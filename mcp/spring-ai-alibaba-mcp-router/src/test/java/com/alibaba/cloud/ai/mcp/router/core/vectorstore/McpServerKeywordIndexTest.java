@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.router.core.vectorstore;
+
+import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class McpServerKeywordIndexTest {
+
+	@Test
+	void latinTextIsSplitIntoLowerCaseWords() {
+		assertEquals(List.of("weather", "api", "v2"), McpServerKeywordIndex.tokenize("Weather-API v2"));
+	}
+
+	@Test
+	void cjkTextIsSplitIntoBigrams() {
+		assertEquals(List.of("天气", "气预", "预报"), McpServerKeywordIndex.tokenize("天气预报"));
+		assertEquals(List.of("查询", "询天", "天气", "api"), McpServerKeywordIndex.tokenize("查询天气API"));
+	}
+
+	@Test
+	void singleCjkCharacterIsKept() {
+		assertEquals(List.of("天", "map"), McpServerKeywordIndex.tokenize("天 map"));
+	}
+
+	@Test
+	void partialWordDoesNotMatch() {
+		McpServerKeywordIndex index = new McpServerKeywordIndex();
+		index.put(server("weather-service", "Current weather conditions"));
+
+		assertTrue(index.score("weat").isEmpty());
+		assertFalse(index.score("weather").isEmpty());
+	}
+
+	@Test
+	void nameMatchOutranksDescriptionMatch() {
+		McpServerKeywordIndex index = new McpServerKeywordIndex();
+		index.put(server("weather", "forecast"));
+		index.put(server("maps", "weather overlay for maps"));
+
+		Map<String, Double> scores = index.score("weather");
+
+		assertTrue(scores.get("weather") > scores.get("maps"), scores::toString);
+	}
+
+	@Test
+	void rarerTermWeighsMore() {
+		McpServerKeywordIndex index = new McpServerKeywordIndex();
+		index.put(server("alpha", "search"));
+		index.put(server("beta", "weather"));
+		index.put(server("gamma", "search"));
+
+		Map<String, Double> scores = index.score("search weather");
+
+		assertTrue(scores.get("beta") > scores.get("alpha"), scores::toString);
+		assertEquals(scores.get("alpha"), scores.get("gamma"), 1e-9);
+	}
+
+	@Test
+	void putReplacesAndRemoveDropsServer() {
+		McpServerKeywordIndex index = new McpServerKeywordIndex();
+		index.put(server("alpha", "weather"));
+		index.put(server("alpha", "maps"));
+
+		assertTrue(index.score("weather").isEmpty());
+		assertTrue(index.score("maps").containsKey("alpha"));
+
+		index.remove("alpha");
+
+		assertTrue(index.score("maps").isEmpty());
+		assertTrue(index.score("alpha").isEmpty());
+	}
+
+	private static McpServerInfo server(String name, String description) {
+		return new McpServerInfo(name, description, "http", "1.0.0", null, true, null);
+	}
+
+}
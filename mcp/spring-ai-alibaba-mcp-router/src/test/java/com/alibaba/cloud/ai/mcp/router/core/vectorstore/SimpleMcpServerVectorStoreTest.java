@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.router.core.vectorstore;
+
+import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SimpleMcpServerVectorStoreTest {
+
+	private static final float[] WEATHER = { 1f, 0f, 0f };
+
+	private static final float[] MAPS = { 0f, 1f, 0f };
+
+	private static final float[] FORECAST = { 0.9f, 0.1f, 0f };
+
+	private static final float[] OTHER = { 0f, 0f, 1f };
+
+	private EmbeddingModel embeddingModel;
+
+	@BeforeEach
+	void setUp() {
+		embeddingModel = mock(EmbeddingModel.class);
+		when(embeddingModel.embed(anyString())).thenAnswer(invocation -> vectorOf(invocation.getArgument(0)));
+		when(embeddingModel.embed(anyList())).thenAnswer(invocation -> vectorsOf(invocation.getArgument(0)));
+	}
+
+	@Test
+	void vectorSimilarityRanksServersWithoutKeywordHits() {
+		SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(embeddingModel);
+		store.addServers(List.of(server("maps-service", "Route planning"),
+				server("weather-service", "Current conditions")));
+
+		List<McpServerInfo> results = store.search("forecast", 10);
+
+		assertEquals(List.of("weather-service", "maps-service"), names(results));
+		assertEquals(0.6 * cosine(FORECAST, WEATHER), results.get(0).getScore(), 1e-6);
+		assertEquals(0.6 * cosine(FORECAST, MAPS), results.get(1).getScore(), 1e-6);
+	}
+
+	@Test
+	void keywordAndVectorScoresAreCombined() {
+		SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(embeddingModel);
+		store.addServers(List.of(server("maps-service", "Route planning"),
+				server("weather-service", "Current conditions")));
+
+		List<McpServerInfo> results = store.search("route forecast", 10);
+
+		// 只有 maps-service 命中关键词，归一化后的关键词分数为 1
+		assertEquals(List.of("weather-service", "maps-service"), names(results));
+		assertEquals(0.6 * cosine(FORECAST, WEATHER), results.get(0).getScore(), 1e-6);
+		assertEquals(0.6 * cosine(FORECAST, MAPS) + 0.4, results.get(1).getScore(), 1e-6);
+	}
+
+	@Test
+	void keywordOnlySearchWithoutEmbeddingModel() {
+		SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(null);
+		store.addServers(List.of(server("maps-service", "Route planning"),
+				server("weather-service", "Current weather conditions")));
+
+		List<McpServerInfo> results = store.search("weather", 10);
+
+		assertEquals(List.of("weather-service"), names(results));
+		assertEquals(1.0, results.get(0).getScore(), 1e-9);
+	}
+
+	@Test
+	void fallsBackToAllServersWhenNothingMatches() {
+		SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(null);
+		store.addServers(List.of(server("maps-service", "Route planning"),
+				server("weather-service", "Current weather conditions")));
+
+		List<McpServerInfo> results = store.search("weat", 10);
+
+		assertEquals(List.of("maps-service", "weather-service"), names(results));
+		assertTrue(results.stream().allMatch(result -> result.getScore() == 0.0));
+	}
+
+	@Test
+	void limitTruncatesRankedResults() {
+		SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(embeddingModel);
+		store.addServers(List.of(server("maps-service", "Route planning"),
+				server("weather-service", "Current conditions")));
+
+		assertEquals(List.of("weather-service"), names(store.search("forecast", 1)));
+	}
+
+	@Test
+	void unchangedServersAreNotEmbeddedAgain() {
+		SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(embeddingModel);
+
+		assertEquals(2, store.addServers(List.of(server("maps-service", "Route planning"),
+				server("weather-service", "Current conditions"))));
+		assertEquals(0, store.addServers(List.of(server("maps-service", "Route planning"),
+				server("weather-service", "Current conditions"))));
+		verify(embeddingModel, times(1)).embed(anyList());
+
+		assertEquals(1, store.addServers(List.of(server("maps-service", "Route planning"),
+				server("weather-service", "Severe weather alerts"))));
+		verify(embeddingModel, times(2)).embed(anyList());
+	}
+
+	@Test
+	void serversWithFailedEmbeddingAreRetried() {
+		when(embeddingModel.embed(anyList())).thenThrow(new IllegalStateException("embedding unavailable"))
+			.thenAnswer(invocation -> vectorsOf(invocation.getArgument(0)));
+		SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(embeddingModel);
+
+		// 向量计算失败时服务仍然入库，可以通过关键词检索到
+		assertEquals(1, store.addServers(List.of(server("weather-service", "Current conditions"))));
+		assertEquals(List.of("weather-service"), names(store.search("weather", 10)));
+
+		assertEquals(1, store.addServers(List.of(server("weather-service", "Current conditions"))));
+		assertEquals(0, store.addServers(List.of(server("weather-service", "Current conditions"))));
+		verify(embeddingModel, times(2)).embed(anyList());
+		assertEquals(0.6 * cosine(FORECAST, WEATHER), store.search("forecast", 10).get(0).getScore(), 1e-6);
+	}
+
+	private static List<float[]> vectorsOf(List<String> texts) {
+		List<float[]> vectors = new ArrayList<>(texts.size());
+		for (String text : texts) {
+			vectors.add(vectorOf(text));
+		}
+		return vectors;
+	}
+
+	private static float[] vectorOf(String text) {
+		if (text.contains("forecast")) {
+			return FORECAST.clone();
+		}
+		if (text.contains("weather")) {
+			return WEATHER.clone();
+		}
+		if (text.contains("maps")) {
+			return MAPS.clone();
+		}
+		return OTHER.clone();
+	}
+
+	private static double cosine(float[] a, float[] b) {
+		double dot = 0;
+		double normA = 0;
+		double normB = 0;
+		for (int i = 0; i < a.length; i++) {
+			dot += a[i] * b[i];
+			normA += a[i] * a[i];
+			normB += b[i] * b[i];
+		}
+		return dot / Math.sqrt(normA * normB);
+	}
+
+	private static List<String> names(List<McpServerInfo> servers) {
+		return servers.stream().map(McpServerInfo::getName).toList();
+	}
+
+	private static McpServerInfo server(String name, String description) {
+		return new McpServerInfo(name, description, "http", "1.0.0", null, true, null);
+	}
+
+}
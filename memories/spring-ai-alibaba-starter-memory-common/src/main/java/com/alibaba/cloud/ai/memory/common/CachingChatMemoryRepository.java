@@ -0,0 +1,626 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.common;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-through, write-behind cache in front of any {@link ChatMemoryRepository}.
+ * <p>
+ * The most recently used conversations are kept in a bounded in-process LRU, so the
+ * {@code findByConversationId} that precedes every chat turn is answered locally. How a
+ * {@code saveAll} reaches the delegate depends on the {@link Durability}:
+ * <ul>
+ * <li>{@link Durability#SYNC}: the delegate is written before {@code saveAll} returns;
+ * only reads are cached.</li>
+ * <li>{@link Durability#WRITE_BEHIND}: the save is queued and {@code saveAll} returns at
+ * once. Queued saves of the same conversation coalesce into the latest one and are
+ * flushed together every flush interval, or as soon as a batch fills up. Saves not yet
+ * flushed are lost if the process dies.</li>
+ * <li>{@link Durability#WRITE_BEHIND_WAL}: as write-behind, but every save and delete is
+ * first appended to a local write-ahead log and forced to disk. Entries left by a
+ * previous run are replayed into the delegate on startup.</li>
+ * </ul>
+ * Deletes always reach the delegate before {@code deleteByConversationId} returns.
+ * <p>
+ * The cache only sees writes made through this instance. Route each conversation to one
+ * instance (for example with sticky sessions), or use {@code SYNC} with a small cache
+ * when several nodes write the same conversations.
+ * <p>
+ * Hits, misses, flushes, queued saves and the flush lag (age of the oldest unflushed
+ * save) are available from {@link #stats()}, and are exported under
+ * {@value #METRIC_PREFIX} when a {@link MeterRegistry} is configured.
+ *
+ * @since 1.1.0
+ */
+public class CachingChatMemoryRepository implements ChatMemoryRepository, AutoCloseable {
+
+	public static final String METRIC_PREFIX = "chat.memory.cache";
+
+	public static final int DEFAULT_MAX_CONVERSATIONS = 1_000;
+
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(200);
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	public static final int DEFAULT_MAX_PENDING = 10_000;
+
+	private static final Logger logger = LoggerFactory.getLogger(CachingChatMemoryRepository.class);
+
+	private static final int LOCK_STRIPES = 64;
+
+	/**
+	 * How saves reach the delegate.
+	 */
+	public enum Durability {
+
+		/**
+		 * Write the delegate before returning.
+		 */
+		SYNC,
+
+		/**
+		 * Queue the save and flush it in the background.
+		 */
+		WRITE_BEHIND,
+
+		/**
+		 * Log the save to a local write-ahead log, then queue it and flush it in the
+		 * background.
+		 */
+		WRITE_BEHIND_WAL
+
+	}
+
+	/**
+	 * Counters of a {@link CachingChatMemoryRepository}.
+	 *
+	 * @param hits reads answered from the cache or the write queue
+	 * @param misses reads that went to the delegate
+	 * @param flushes conversations written to the delegate by the flusher
+	 * @param flushFailures conversation writes that failed and will be retried
+	 * @param pending conversations waiting to be flushed
+	 * @param flushLag age of the oldest save waiting to be flushed
+	 */
+	public record Stats(long hits, long misses, long flushes, long flushFailures, int pending, Duration flushLag) {
+
+		public double hitRate() {
+			long reads = this.hits + this.misses;
+			return (reads == 0) ? 0 : (double) this.hits / reads;
+		}
+
+	}
+
+	private record Pending(List<Message> messages, long since) {
+	}
+
+	private final ChatMemoryRepository delegate;
+
+	private final Durability durability;
+
+	private final int batchSize;
+
+	private final int maxPending;
+
+	private final Map<String, List<Message>> cache;
+
+	/**
+	 * Saves not yet written to the delegate, oldest first. Entries stay here while they
+	 * are being flushed, so reads keep seeing them; guarded by itself.
+	 */
+	private final Map<String, Pending> pending = new LinkedHashMap<>();
+
+	/**
+	 * Per-conversation locks ordering saves, deletes, flushes and cache loads.
+	 */
+	private final Object[] locks = new Object[LOCK_STRIPES];
+
+	/**
+	 * Held shared while a write is logged and queued, exclusively while the flusher
+	 * starts a new log segment and snapshots the queue, so that a segment never holds a
+	 * write missing from the snapshot taken after it.
+	 */
+	private final ReadWriteLock queueLock = new ReentrantReadWriteLock();
+
+	private final Object flushLock = new Object();
+
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder flushes = new LongAdder();
+
+	private final LongAdder flushFailures = new LongAdder();
+
+	private final ChatMemoryWriteAheadLog wal;
+
+	private final ScheduledExecutorService flusher;
+
+	private volatile boolean closed;
+
+	private CachingChatMemoryRepository(Builder builder) {
+		Assert.notNull(builder.delegate, "delegate cannot be null");
+		Assert.notNull(builder.durability, "durability cannot be null");
+		Assert.isTrue(builder.maxConversations > 0, "maxConversations must be positive");
+		Assert.isTrue(builder.batchSize > 0, "batchSize must be positive");
+		Assert.isTrue(builder.maxPending >= builder.batchSize, "maxPending cannot be less than batchSize");
+		Assert.isTrue(builder.flushInterval.toMillis() > 0, "flushInterval must be at least one millisecond");
+		this.delegate = builder.delegate;
+		this.durability = builder.durability;
+		this.batchSize = builder.batchSize;
+		this.maxPending = builder.maxPending;
+		int maxConversations = builder.maxConversations;
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, List<Message>> eldest) {
+				return size() > maxConversations;
+			}
+		});
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			this.locks[i] = new Object();
+		}
+		if (this.durability == Durability.WRITE_BEHIND_WAL) {
+			Assert.notNull(builder.walDirectory, "walDirectory is required for " + Durability.WRITE_BEHIND_WAL);
+			this.wal = ChatMemoryWriteAheadLog.open(builder.walDirectory, this::recover);
+		}
+		else {
+			this.wal = null;
+		}
+		if (this.durability == Durability.SYNC) {
+			this.flusher = null;
+		}
+		else {
+			this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "chat-memory-flush");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long interval = builder.flushInterval.toMillis();
+			this.flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+		}
+		if (builder.meterRegistry != null) {
+			registerMetrics(builder.meterRegistry);
+		}
+		if (this.flusher != null && !this.pending.isEmpty()) {
+			requestFlush();
+		}
+	}
+
+	@Override
+	public List<String> findConversationIds() {
+		Set<String> ids = new LinkedHashSet<>(this.delegate.findConversationIds());
+		synchronized (this.pending) {
+			ids.addAll(this.pending.keySet());
+		}
+		return new ArrayList<>(ids);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The returned list is unmodifiable and shared with the cache.
+	 */
+	@Override
+	public List<Message> findByConversationId(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		List<Message> messages = lookup(conversationId);
+		if (messages != null) {
+			this.hits.increment();
+			return messages;
+		}
+		this.misses.increment();
+		synchronized (lockFor(conversationId)) {
+			// a save or another miss may have filled the entry while we waited
+			messages = lookup(conversationId);
+			if (messages == null) {
+				List<Message> loaded = this.delegate.findByConversationId(conversationId);
+				messages = Collections.unmodifiableList(new ArrayList<>(loaded));
+				this.cache.put(conversationId, messages);
+			}
+			return messages;
+		}
+	}
+
+	@Override
+	public void saveAll(String conversationId, List<Message> messages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.notNull(messages, "messages cannot be null");
+		Assert.noNullElements(messages, "messages cannot contain null elements");
+		List<Message> snapshot = Collections.unmodifiableList(new ArrayList<>(messages));
+		if (this.durability == Durability.SYNC) {
+			synchronized (lockFor(conversationId)) {
+				this.delegate.saveAll(conversationId, snapshot);
+				this.cache.put(conversationId, snapshot);
+			}
+			return;
+		}
+		Assert.state(!this.closed, "CachingChatMemoryRepository is closed");
+		int queued;
+		synchronized (lockFor(conversationId)) {
+			this.queueLock.readLock().lock();
+			try {
+				if (this.wal != null) {
+					this.wal.appendSave(conversationId, snapshot);
+				}
+				synchronized (this.pending) {
+					Pending previous = this.pending.get(conversationId);
+					long since = (previous != null) ? previous.since() : System.nanoTime();
+					this.pending.put(conversationId, new Pending(snapshot, since));
+					queued = this.pending.size();
+				}
+			}
+			finally {
+				this.queueLock.readLock().unlock();
+			}
+			this.cache.put(conversationId, snapshot);
+		}
+		if (queued >= this.maxPending) {
+			// the delegate is falling behind: make the writers wait for it
+			flush();
+		}
+		else if (queued >= this.batchSize) {
+			requestFlush();
+		}
+	}
+
+	@Override
+	public void deleteByConversationId(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		synchronized (lockFor(conversationId)) {
+			this.queueLock.readLock().lock();
+			try {
+				if (this.wal != null) {
+					this.wal.appendDelete(conversationId);
+				}
+				synchronized (this.pending) {
+					this.pending.remove(conversationId);
+				}
+			}
+			finally {
+				this.queueLock.readLock().unlock();
+			}
+			this.cache.remove(conversationId);
+			this.delegate.deleteByConversationId(conversationId);
+		}
+	}
+
+	/**
+	 * Write every queued save to the delegate now. Saves that fail stay queued and are
+	 * retried by the next flush.
+	 */
+	public void flush() {
+		synchronized (this.flushLock) {
+			long segment = 0;
+			List<Map.Entry<String, Pending>> batch;
+			this.queueLock.writeLock().lock();
+			try {
+				synchronized (this.pending) {
+					batch = new ArrayList<>(this.pending.size());
+					this.pending.forEach((id, queued) -> batch.add(Map.entry(id, queued)));
+				}
+				// an idle tick leaves the current segment open instead of cycling files
+				if (this.wal != null && !batch.isEmpty()) {
+					segment = this.wal.rotate();
+				}
+			}
+			finally {
+				this.queueLock.writeLock().unlock();
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			boolean complete = true;
+			for (Map.Entry<String, Pending> entry : batch) {
+				complete &= flush(entry.getKey(), entry.getValue());
+			}
+			if (this.wal != null && complete) {
+				this.wal.deleteSegmentsBefore(segment);
+			}
+		}
+	}
+
+	/**
+	 * Current counters of this repository.
+	 */
+	public Stats stats() {
+		return new Stats(this.hits.sum(), this.misses.sum(), this.flushes.sum(), this.flushFailures.sum(),
+				pendingCount(), Duration.ofNanos(flushLagNanos()));
+	}
+
+	/**
+	 * Stop the background flusher and write every queued save to the delegate. The
+	 * delegate itself is not closed.
+	 */
+	@Override
+	public void close() {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		if (this.flusher != null) {
+			this.flusher.shutdown();
+			try {
+				this.flusher.awaitTermination(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		flush();
+		int left = pendingCount();
+		if (left > 0) {
+			logger.error("{} chat memory conversations could not be flushed on close{}", left,
+					(this.wal != null) ? " and will be replayed from the write-ahead log" : " and are lost");
+		}
+		if (this.wal != null) {
+			try {
+				this.wal.close();
+			}
+			catch (IOException e) {
+				logger.warn("Failed to close chat memory write-ahead log", e);
+			}
+		}
+	}
+
+	private boolean flush(String conversationId, Pending queued) {
+		synchronized (lockFor(conversationId)) {
+			synchronized (this.pending) {
+				if (this.pending.get(conversationId) != queued) {
+					// superseded by a newer save, which a later flush writes, or deleted
+					return true;
+				}
+			}
+			try {
+				this.delegate.saveAll(conversationId, queued.messages());
+			}
+			catch (RuntimeException e) {
+				this.flushFailures.increment();
+				logger.warn("Failed to flush chat memory conversation {}, will retry", conversationId, e);
+				return false;
+			}
+			synchronized (this.pending) {
+				this.pending.remove(conversationId, queued);
+			}
+			this.flushes.increment();
+			return true;
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Chat memory flush failed", e);
+		}
+	}
+
+	private void requestFlush() {
+		if (this.flushRequested.compareAndSet(false, true)) {
+			try {
+				this.flusher.execute(() -> {
+					this.flushRequested.set(false);
+					flushQuietly();
+				});
+			}
+			catch (RuntimeException e) {
+				// rejected after close, which flushes anyway
+				this.flushRequested.set(false);
+			}
+		}
+	}
+
+	private void recover(ChatMemoryWriteAheadLog.Entry entry) {
+		if (entry.messages() == null) {
+			this.pending.remove(entry.conversationId());
+			this.delegate.deleteByConversationId(entry.conversationId());
+		}
+		else {
+			Pending previous = this.pending.get(entry.conversationId());
+			long since = (previous != null) ? previous.since() : System.nanoTime();
+			this.pending.put(entry.conversationId(),
+					new Pending(Collections.unmodifiableList(entry.messages()), since));
+		}
+	}
+
+	private List<Message> lookup(String conversationId) {
+		synchronized (this.pending) {
+			Pending queued = this.pending.get(conversationId);
+			if (queued != null) {
+				return queued.messages();
+			}
+		}
+		return this.cache.get(conversationId);
+	}
+
+	private Object lockFor(String conversationId) {
+		return this.locks[Math.floorMod(conversationId.hashCode(), LOCK_STRIPES)];
+	}
+
+	private int pendingCount() {
+		synchronized (this.pending) {
+			return this.pending.size();
+		}
+	}
+
+	private long flushLagNanos() {
+		synchronized (this.pending) {
+			long oldest = Long.MAX_VALUE;
+			for (Pending queued : this.pending.values()) {
+				oldest = Math.min(oldest, queued.since());
+			}
+			return (oldest == Long.MAX_VALUE) ? 0 : System.nanoTime() - oldest;
+		}
+	}
+
+	private void registerMetrics(MeterRegistry meterRegistry) {
+		String repository = this.delegate.getClass().getSimpleName();
+		FunctionCounter.builder(METRIC_PREFIX + ".gets", this.hits, LongAdder::sum)
+			.description("Chat memory reads by cache result")
+			.tag("repository", repository)
+			.tag("result", "hit")
+			.register(meterRegistry);
+		FunctionCounter.builder(METRIC_PREFIX + ".gets", this.misses, LongAdder::sum)
+			.description("Chat memory reads by cache result")
+			.tag("repository", repository)
+			.tag("result", "miss")
+			.register(meterRegistry);
+		FunctionCounter.builder(METRIC_PREFIX + ".flushes", this.flushes, LongAdder::sum)
+			.description("Conversations written to the delegate by the flusher")
+			.tag("repository", repository)
+			.tag("result", "success")
+			.register(meterRegistry);
+		FunctionCounter.builder(METRIC_PREFIX + ".flushes", this.flushFailures, LongAdder::sum)
+			.description("Conversations written to the delegate by the flusher")
+			.tag("repository", repository)
+			.tag("result", "failure")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + ".size", this.cache, Map::size)
+			.description("Conversations held in the cache")
+			.tag("repository", repository)
+			.register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + ".pending", this, CachingChatMemoryRepository::pendingCount)
+			.description("Conversations waiting to be flushed")
+			.tag("repository", repository)
+			.register(meterRegistry);
+		TimeGauge
+			.builder(METRIC_PREFIX + ".flush.lag", this, TimeUnit.NANOSECONDS,
+					CachingChatMemoryRepository::flushLagNanos)
+			.description("Age of the oldest save waiting to be flushed")
+			.tag("repository", repository)
+			.register(meterRegistry);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public static class Builder {
+
+		private ChatMemoryRepository delegate;
+
+		private Durability durability = Durability.WRITE_BEHIND;
+
+		private int maxConversations = DEFAULT_MAX_CONVERSATIONS;
+
+		private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+		private int batchSize = DEFAULT_BATCH_SIZE;
+
+		private int maxPending = DEFAULT_MAX_PENDING;
+
+		private Path walDirectory;
+
+		private MeterRegistry meterRegistry;
+
+		private Builder() {
+		}
+
+		/**
+		 * The repository to cache; required.
+		 */
+		public Builder delegate(ChatMemoryRepository delegate) {
+			this.delegate = delegate;
+			return this;
+		}
+
+		public Builder durability(Durability durability) {
+			this.durability = durability;
+			return this;
+		}
+
+		/**
+		 * Conversations kept in the cache, least recently used evicted first.
+		 */
+		public Builder maxConversations(int maxConversations) {
+			this.maxConversations = maxConversations;
+			return this;
+		}
+
+		/**
+		 * Delay between background flushes.
+		 */
+		public Builder flushInterval(Duration flushInterval) {
+			this.flushInterval = flushInterval;
+			return this;
+		}
+
+		/**
+		 * Queued conversations that trigger a flush before the interval elapses.
+		 */
+		public Builder batchSize(int batchSize) {
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Queued conversations at which {@code saveAll} flushes in the calling thread.
+		 */
+		public Builder maxPending(int maxPending) {
+			this.maxPending = maxPending;
+			return this;
+		}
+
+		/**
+		 * Directory of the write-ahead log; required for
+		 * {@link Durability#WRITE_BEHIND_WAL}. It must not be shared with another
+		 * instance.
+		 */
+		public Builder walDirectory(Path walDirectory) {
+			this.walDirectory = walDirectory;
+			return this;
+		}
+
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public CachingChatMemoryRepository build() {
+			return new CachingChatMemoryRepository(this);
+		}
+
+	}
+
+}
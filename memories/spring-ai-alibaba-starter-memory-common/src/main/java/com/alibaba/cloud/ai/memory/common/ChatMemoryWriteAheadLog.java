@@ -0,0 +1,347 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.content.Media;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead log of {@link CachingChatMemoryRepository}: one JSON record per line,
+ * forced to disk before the write it describes is acknowledged.
+ * <p>
+ * The log is split into numbered segments. Every flush starts a new segment, and the
+ * older ones are deleted once the flush has written everything they describe, so the
+ * log only ever holds saves that may not have reached the delegate yet.
+ *
+ * @since 1.1.0
+ */
+final class ChatMemoryWriteAheadLog implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChatMemoryWriteAheadLog.class);
+
+	private static final String SEGMENT_PREFIX = "chat-memory-";
+
+	private static final String SEGMENT_SUFFIX = ".wal";
+
+	private static final String SAVE = "save";
+
+	private static final String DELETE = "delete";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Path directory;
+
+	private long segment;
+
+	private FileChannel channel;
+
+	private ChatMemoryWriteAheadLog(Path directory, long segment) {
+		this.directory = directory;
+		this.segment = segment;
+	}
+
+	/**
+	 * A logged save, or a delete when {@code messages} is {@code null}.
+	 */
+	record Entry(String conversationId, List<Message> messages) {
+	}
+
+	/**
+	 * Open the log in a directory, handing every entry left by a previous run to
+	 * {@code recovery} in the order it was written before new entries are accepted.
+	 */
+	static ChatMemoryWriteAheadLog open(Path directory, Consumer<Entry> recovery) {
+		try {
+			Files.createDirectories(directory);
+			List<Long> segments = segments(directory);
+			ChatMemoryWriteAheadLog log = new ChatMemoryWriteAheadLog(directory,
+					segments.isEmpty() ? 0 : segments.get(segments.size() - 1) + 1);
+			for (long segment : segments) {
+				log.replay(log.path(segment), recovery);
+			}
+			log.channel = log.openSegment();
+			return log;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Cannot open chat memory write-ahead log in " + directory, e);
+		}
+	}
+
+	synchronized void appendSave(String conversationId, List<Message> messages) {
+		ObjectNode record = this.objectMapper.createObjectNode();
+		record.put("op", SAVE);
+		record.put("id", conversationId);
+		ArrayNode encoded = record.putArray("messages");
+		messages.forEach(message -> encoded.add(encode(message)));
+		append(record);
+	}
+
+	synchronized void appendDelete(String conversationId) {
+		ObjectNode record = this.objectMapper.createObjectNode();
+		record.put("op", DELETE);
+		record.put("id", conversationId);
+		append(record);
+	}
+
+	/**
+	 * Start a new segment.
+	 * @return the number of the new segment; all segments below it are closed
+	 */
+	synchronized long rotate() {
+		try {
+			this.channel.close();
+			this.segment++;
+			this.channel = openSegment();
+			return this.segment;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Delete the segments numbered below {@code segment} once everything they describe
+	 * has reached the delegate.
+	 */
+	synchronized void deleteSegmentsBefore(long segment) {
+		try {
+			for (long closed : segments(this.directory)) {
+				if (closed < segment) {
+					Files.deleteIfExists(path(closed));
+				}
+			}
+		}
+		catch (IOException e) {
+			logger.warn("Failed to delete chat memory write-ahead log segments in {}", this.directory, e);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		this.channel.close();
+	}
+
+	private void append(ObjectNode record) {
+		try {
+			byte[] line = this.objectMapper.writeValueAsBytes(record);
+			ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+			while (buffer.hasRemaining()) {
+				this.channel.write(buffer);
+			}
+			this.channel.force(false);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Cannot append to chat memory write-ahead log", e);
+		}
+	}
+
+	private void replay(Path path, Consumer<Entry> recovery) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				JsonNode record;
+				try {
+					record = this.objectMapper.readTree(line);
+				}
+				catch (JsonProcessingException e) {
+					// a crash while appending leaves a torn last line, nothing after it
+					logger.warn("Skipping unreadable record at the end of {}", path);
+					break;
+				}
+				String conversationId = record.path("id").asText();
+				if (SAVE.equals(record.path("op").asText())) {
+					List<Message> messages = new ArrayList<>();
+					record.path("messages").forEach(message -> messages.add(decode(message)));
+					recovery.accept(new Entry(conversationId, messages));
+				}
+				else {
+					recovery.accept(new Entry(conversationId, null));
+				}
+			}
+		}
+	}
+
+	private ObjectNode encode(Message message) {
+		ObjectNode node = this.objectMapper.createObjectNode();
+		node.put("type", message.getMessageType().name());
+		node.put("text", message.getText());
+		node.set("metadata", metadata(message.getMetadata()));
+		if (message instanceof UserMessage userMessage && !userMessage.getMedia().isEmpty()) {
+			ArrayNode media = node.putArray("media");
+			for (Media item : userMessage.getMedia()) {
+				ObjectNode encoded = media.addObject();
+				encoded.put("mimeType", item.getMimeType().toString());
+				encoded.put("id", item.getId());
+				encoded.put("name", item.getName());
+				if (item.getData() instanceof byte[] bytes) {
+					encoded.put("bytes", Base64.getEncoder().encodeToString(bytes));
+				}
+				else if (item.getData() instanceof URI || item.getData() instanceof URL) {
+					encoded.put("uri", item.getData().toString());
+				}
+				else {
+					// String data, usually a URL or a data URI; other types only keep their string form
+					encoded.put("data", String.valueOf(item.getData()));
+				}
+			}
+		}
+		if (message instanceof AssistantMessage assistantMessage && assistantMessage.hasToolCalls()) {
+			ArrayNode toolCalls = node.putArray("toolCalls");
+			for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
+				toolCalls.addObject()
+					.put("id", toolCall.id())
+					.put("type", toolCall.type())
+					.put("name", toolCall.name())
+					.put("arguments", toolCall.arguments());
+			}
+		}
+		if (message instanceof ToolResponseMessage toolResponseMessage) {
+			ArrayNode responses = node.putArray("toolResponses");
+			for (ToolResponseMessage.ToolResponse response : toolResponseMessage.getResponses()) {
+				responses.addObject()
+					.put("id", response.id())
+					.put("name", response.name())
+					.put("responseData", response.responseData());
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Metadata values that Jackson cannot serialize are kept as their string form.
+	 */
+	private JsonNode metadata(Map<String, Object> metadata) {
+		try {
+			return this.objectMapper.valueToTree(metadata);
+		}
+		catch (IllegalArgumentException e) {
+			ObjectNode node = this.objectMapper.createObjectNode();
+			metadata.forEach((key, value) -> node.put(key, String.valueOf(value)));
+			return node;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Message decode(JsonNode node) {
+		String text = text(node, "text");
+		Map<String, Object> metadata = this.objectMapper.convertValue(node.path("metadata"), Map.class);
+		if (metadata == null) {
+			metadata = Map.of();
+		}
+		return switch (MessageType.valueOf(node.path("type").asText())) {
+			case USER -> {
+				List<Media> media = new ArrayList<>();
+				node.path("media").forEach(item -> {
+					Media.Builder builder = Media.builder()
+						.mimeType(MimeTypeUtils.parseMimeType(item.path("mimeType").asText()))
+						.id(text(item, "id"))
+						.name(text(item, "name"));
+					if (item.has("bytes")) {
+						builder.data(Base64.getDecoder().decode(item.path("bytes").asText()));
+					}
+					else if (item.has("uri")) {
+						builder.data(URI.create(item.path("uri").asText()));
+					}
+					else {
+						builder.data(item.path("data").asText());
+					}
+					media.add(builder.build());
+				});
+				yield UserMessage.builder().text(text).metadata(metadata).media(media).build();
+			}
+			case ASSISTANT -> {
+				List<AssistantMessage.ToolCall> toolCalls = new ArrayList<>();
+				node.path("toolCalls")
+					.forEach(toolCall -> toolCalls.add(new AssistantMessage.ToolCall(text(toolCall, "id"),
+							text(toolCall, "type"), text(toolCall, "name"), text(toolCall, "arguments"))));
+				yield new AssistantMessage(text, metadata, toolCalls);
+			}
+			case SYSTEM -> SystemMessage.builder().text(text).metadata(metadata).build();
+			case TOOL -> {
+				List<ToolResponseMessage.ToolResponse> responses = new ArrayList<>();
+				node.path("toolResponses")
+					.forEach(response -> responses.add(new ToolResponseMessage.ToolResponse(text(response, "id"),
+							text(response, "name"), text(response, "responseData"))));
+				yield new ToolResponseMessage(responses, metadata);
+			}
+		};
+	}
+
+	/**
+	 * A {@code null} field is written as JSON null and must not come back as the string
+	 * {@code "null"}.
+	 */
+	private static String text(JsonNode node, String field) {
+		JsonNode value = node.path(field);
+		return value.isNull() || value.isMissingNode() ? null : value.asText();
+	}
+
+	private FileChannel openSegment() throws IOException {
+		return FileChannel.open(path(this.segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+	}
+
+	private Path path(long segment) {
+		return this.directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+	}
+
+	private static List<Long> segments(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(file -> file.getFileName().toString())
+				.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+				.map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+						name.length() - SEGMENT_SUFFIX.length())))
+				.sorted()
+				.toList();
+		}
+	}
+
+}
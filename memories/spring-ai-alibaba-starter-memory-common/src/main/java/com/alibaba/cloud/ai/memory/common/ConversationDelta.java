@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.common;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The difference between the stored history of a conversation and the full message
+ * list handed to {@link org.springframework.ai.chat.memory.ChatMemoryRepository#saveAll}.
+ * <p>
+ * Chat memories almost always save the previous history plus a few new messages,
+ * possibly with the oldest messages dropped by a sliding window. That shape is an
+ * {@link Kind#APPEND}: remove {@link #trimmed()} messages from the head and add
+ * {@link #appended()} at the tail. Anything else, such as an edited or reordered
+ * message, is a {@link Kind#REWRITE} of the whole conversation.
+ *
+ * @since 1.1.0
+ */
+public final class ConversationDelta {
+
+	public enum Kind {
+
+		/**
+		 * The stored history already equals the updated messages.
+		 */
+		UNCHANGED,
+
+		/**
+		 * The updated messages extend a suffix of the stored history.
+		 */
+		APPEND,
+
+		/**
+		 * The stored history has to be replaced.
+		 */
+		REWRITE
+
+	}
+
+	private final Kind kind;
+
+	private final List<Message> messages;
+
+	private final int trimmed;
+
+	private final int retained;
+
+	private ConversationDelta(Kind kind, List<Message> messages, int trimmed, int retained) {
+		this.kind = kind;
+		this.messages = messages;
+		this.trimmed = trimmed;
+		this.retained = retained;
+	}
+
+	/**
+	 * Compute the delta from a stored conversation to an updated one.
+	 * @param stored fingerprints of the stored messages, oldest first
+	 * @param updated fingerprints of the updated messages
+	 * @param messages the updated messages
+	 * @return the delta to persist
+	 */
+	public static ConversationDelta compute(long[] stored, long[] updated, List<Message> messages) {
+		Assert.isTrue(updated.length == messages.size(), "one fingerprint is required per message");
+		if (Arrays.equals(stored, updated)) {
+			return new ConversationDelta(Kind.UNCHANGED, messages, 0, messages.size());
+		}
+		if (stored.length == 0) {
+			return new ConversationDelta(Kind.APPEND, messages, 0, 0);
+		}
+		// The smallest k for which stored[k..n) is a prefix of the update keeps the most
+		// messages in place. Once k reaches n nothing is shared and a rewrite is cheaper.
+		for (int k = Math.max(0, stored.length - updated.length); k < stored.length; k++) {
+			int overlap = stored.length - k;
+			if (Arrays.equals(stored, k, stored.length, updated, 0, overlap)) {
+				return new ConversationDelta(Kind.APPEND, messages, k, overlap);
+			}
+		}
+		return rewrite(messages);
+	}
+
+	/**
+	 * A delta replacing the whole conversation with the given messages.
+	 * @param messages the messages to store
+	 * @return a rewrite delta
+	 */
+	public static ConversationDelta rewrite(List<Message> messages) {
+		return new ConversationDelta(Kind.REWRITE, messages, 0, 0);
+	}
+
+	/**
+	 * A delta adding messages after whatever is stored, for callers that know the
+	 * conversation only grows. Unlike other deltas, {@link #messages()} holds only the
+	 * appended messages, so it cannot be used to fall back to a rewrite.
+	 * @param messages the messages to append
+	 * @return an append delta
+	 */
+	public static ConversationDelta append(List<Message> messages) {
+		return new ConversationDelta(Kind.APPEND, messages, 0, 0);
+	}
+
+	public Kind kind() {
+		return this.kind;
+	}
+
+	/**
+	 * The full updated message list, for stores that need to fall back to a rewrite.
+	 */
+	public List<Message> messages() {
+		return this.messages;
+	}
+
+	/**
+	 * Number of messages to remove from the head of the stored history.
+	 */
+	public int trimmed() {
+		return this.trimmed;
+	}
+
+	/**
+	 * Messages to add after the retained ones; every message for a rewrite.
+	 */
+	public List<Message> appended() {
+		return this.messages.subList(this.retained, this.messages.size());
+	}
+
+	@Override
+	public String toString() {
+		return "ConversationDelta{kind=" + this.kind + ", trimmed=" + this.trimmed + ", appended="
+				+ (this.messages.size() - this.retained) + "}";
+	}
+
+}
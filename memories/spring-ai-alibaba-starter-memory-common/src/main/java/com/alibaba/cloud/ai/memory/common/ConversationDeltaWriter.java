@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.common;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists {@link org.springframework.ai.chat.memory.ChatMemoryRepository#saveAll}
+ * calls as deltas against the stored history instead of delete-and-rewrite.
+ * <p>
+ * For the most recently written conversations the writer remembers the version and
+ * message fingerprints it left behind. A save first reads the stored version: if it
+ * still matches, the delta is computed from the cached fingerprints, otherwise the
+ * history is reloaded. The version check narrows, but does not close, the window in
+ * which a concurrent writer on another node can interleave with this one; saves of
+ * the same conversation within one writer are serialized.
+ *
+ * @since 1.1.0
+ */
+public class ConversationDeltaWriter {
+
+	public static final int DEFAULT_MAX_CONVERSATIONS = 10_000;
+
+	private static final int LOCK_STRIPES = 64;
+
+	private final ConversationStore store;
+
+	private final Map<String, Head> heads;
+
+	private final Object[] locks = new Object[LOCK_STRIPES];
+
+	public ConversationDeltaWriter(ConversationStore store) {
+		this(store, DEFAULT_MAX_CONVERSATIONS);
+	}
+
+	public ConversationDeltaWriter(ConversationStore store, int maxConversations) {
+		Assert.notNull(store, "store cannot be null");
+		Assert.isTrue(maxConversations >= 0, "maxConversations cannot be negative");
+		this.store = store;
+		this.heads = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Head> eldest) {
+				return size() > maxConversations;
+			}
+		});
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			this.locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Bring the stored history of a conversation in line with the given messages.
+	 * @param conversationId the conversation id
+	 * @param messages the complete message list
+	 * @return the delta that was applied
+	 */
+	public ConversationDelta save(String conversationId, List<Message> messages) {
+		long[] fingerprints = MessageFingerprints.of(messages);
+		synchronized (lockFor(conversationId)) {
+			long version = this.store.version(conversationId);
+			Head head = this.heads.get(conversationId);
+			long[] stored = (version != ConversationStore.UNVERSIONED && head != null && head.version() == version)
+					? head.fingerprints() : MessageFingerprints.of(this.store.load(conversationId));
+			ConversationDelta delta = ConversationDelta.compute(stored, fingerprints, messages);
+			if (delta.kind() != ConversationDelta.Kind.UNCHANGED) {
+				try {
+					version = this.store.write(conversationId, delta, version);
+				}
+				catch (RuntimeException ex) {
+					this.heads.remove(conversationId);
+					throw ex;
+				}
+			}
+			if (version != ConversationStore.UNVERSIONED) {
+				this.heads.put(conversationId, new Head(version, fingerprints));
+			}
+			return delta;
+		}
+	}
+
+	/**
+	 * Drop the cached view of a conversation, e.g. after it was deleted or modified
+	 * outside this writer.
+	 * @param conversationId the conversation id
+	 */
+	public void forget(String conversationId) {
+		this.heads.remove(conversationId);
+	}
+
+	private Object lockFor(String conversationId) {
+		return this.locks[Math.floorMod(conversationId.hashCode(), LOCK_STRIPES)];
+	}
+
+	private record Head(long version, long[] fingerprints) {
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.common;
+
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.List;
+
+/**
+ * Storage operations a chat memory backend exposes to {@link ConversationDeltaWriter}.
+ * <p>
+ * The version of a conversation is any value that changes whenever its stored history
+ * changes, such as a counter bumped on every write or the message count combined with
+ * the newest timestamp. It lets the writer trust its cached view of a conversation
+ * without reading the messages back.
+ *
+ * @since 1.1.0
+ */
+public interface ConversationStore {
+
+	/**
+	 * Returned by stores that cannot tell cheaply whether a conversation changed. The
+	 * writer then reloads the history before every write.
+	 */
+	long UNVERSIONED = -1L;
+
+	/**
+	 * Combine a message count and the newest message timestamp into a version, for
+	 * stores that derive the version from the stored rows.
+	 * @param size number of stored messages
+	 * @param lastTimestamp timestamp of the newest stored message
+	 * @return the version
+	 */
+	static long version(long size, long lastTimestamp) {
+		return size == 0 ? 0L : 31 * lastTimestamp + size;
+	}
+
+	/**
+	 * The current version of a conversation; {@code 0} if it has no messages.
+	 * @param conversationId the conversation id
+	 * @return the version, or {@link #UNVERSIONED}
+	 */
+	long version(String conversationId);
+
+	/**
+	 * Read the stored history of a conversation, oldest first.
+	 * @param conversationId the conversation id
+	 * @return the stored messages
+	 */
+	List<Message> load(String conversationId);
+
+	/**
+	 * Persist a delta that is not {@link ConversationDelta.Kind#UNCHANGED}.
+	 * @param conversationId the conversation id
+	 * @param delta the delta to persist
+	 * @param version the version the delta was computed against
+	 * @return the version after the write, or {@link #UNVERSIONED}
+	 */
+	long write(String conversationId, ConversationDelta delta, long version);
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.common;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.content.Media;
+import org.springframework.ai.content.MediaContent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Computes 64-bit fingerprints of chat messages so that a stored conversation can be
+ * compared with an updated one without keeping or re-reading the message bodies.
+ * <p>
+ * A fingerprint covers the message type, text, media, tool calls and tool responses.
+ * Metadata is deliberately left out: several backends enrich it on read (creation
+ * time, storage ids), which would otherwise make every reloaded message look edited.
+ *
+ * @since 1.1.0
+ */
+public final class MessageFingerprints {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private MessageFingerprints() {
+	}
+
+	public static long[] of(List<? extends Message> messages) {
+		long[] fingerprints = new long[messages.size()];
+		for (int i = 0; i < fingerprints.length; i++) {
+			fingerprints[i] = of(messages.get(i));
+		}
+		return fingerprints;
+	}
+
+	public static long of(Message message) {
+		long hash = FNV_OFFSET_BASIS;
+		hash = mix(hash, message.getMessageType().getValue());
+		hash = mix(hash, message.getText());
+		if (message instanceof MediaContent mediaContent) {
+			for (Media media : mediaContent.getMedia()) {
+				hash = mix(hash, String.valueOf(media.getMimeType()));
+				hash = mix(hash, media.getId());
+				hash = mix(hash, media.getName());
+				Object data = media.getData();
+				hash = mix(hash, (data instanceof byte[] bytes) ? Arrays.hashCode(bytes) : Objects.hashCode(data));
+			}
+		}
+		if (message instanceof AssistantMessage assistantMessage && assistantMessage.hasToolCalls()) {
+			for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
+				hash = mix(hash, toolCall.id());
+				hash = mix(hash, toolCall.type());
+				hash = mix(hash, toolCall.name());
+				hash = mix(hash, toolCall.arguments());
+			}
+		}
+		if (message instanceof ToolResponseMessage toolResponseMessage) {
+			for (ToolResponseMessage.ToolResponse response : toolResponseMessage.getResponses()) {
+				hash = mix(hash, response.id());
+				hash = mix(hash, response.name());
+				hash = mix(hash, response.responseData());
+			}
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, String value) {
+		if (value == null) {
+			return mix(hash, 0);
+		}
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+			hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+		}
+		// length terminates the field so that ("ab", "c") and ("a", "bc") differ
+		return mix(hash, value.length() + 1);
+	}
+
+	private static long mix(long hash, int value) {
+		for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+			hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+		}
+		return hash;
+	}
+
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.content.Media;
+import org.springframework.util.MimeTypeUtils;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingChatMemoryRepositoryTest {
+
+	private final CountingRepository delegate = new CountingRepository();
+
+	private final List<CachingChatMemoryRepository> repositories = new ArrayList<>();
+
+	@TempDir
+	Path walDirectory;
+
+	@AfterEach
+	void close() {
+		this.repositories.forEach(CachingChatMemoryRepository::close);
+	}
+
+	@Test
+	void readsThroughOnceAndCountsHits() {
+		this.delegate.saveAll("c1", messages(0, 2));
+		CachingChatMemoryRepository repository = repository(CachingChatMemoryRepository.Durability.SYNC);
+
+		assertThat(repository.findByConversationId("c1")).isEqualTo(messages(0, 2));
+		assertThat(repository.findByConversationId("c1")).isEqualTo(messages(0, 2));
+
+		assertThat(this.delegate.reads.get()).isEqualTo(1);
+		assertThat(repository.stats().hits()).isEqualTo(1);
+		assertThat(repository.stats().misses()).isEqualTo(1);
+		assertThat(repository.stats().hitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedConversation() {
+		CachingChatMemoryRepository repository = builder(CachingChatMemoryRepository.Durability.SYNC)
+			.maxConversations(1)
+			.build();
+		this.repositories.add(repository);
+		repository.saveAll("c1", messages(0, 1));
+		repository.saveAll("c2", messages(0, 1));
+
+		repository.findByConversationId("c1");
+
+		assertThat(this.delegate.reads.get()).isEqualTo(1);
+	}
+
+	@Test
+	void syncWritesDelegateBeforeReturning() {
+		CachingChatMemoryRepository repository = repository(CachingChatMemoryRepository.Durability.SYNC);
+
+		repository.saveAll("c1", messages(0, 3));
+
+		assertThat(this.delegate.findByConversationId("c1")).isEqualTo(messages(0, 3));
+		assertThat(repository.stats().pending()).isZero();
+	}
+
+	@Test
+	void writeBehindCoalescesSavesIntoOneFlush() {
+		CachingChatMemoryRepository repository = repository(CachingChatMemoryRepository.Durability.WRITE_BEHIND);
+
+		repository.saveAll("c1", messages(0, 2));
+		repository.saveAll("c1", messages(0, 4));
+		repository.saveAll("c1", messages(0, 6));
+
+		assertThat(this.delegate.writes.get()).isZero();
+		assertThat(repository.findByConversationId("c1")).isEqualTo(messages(0, 6));
+		assertThat(repository.findConversationIds()).containsExactly("c1");
+		assertThat(repository.stats().pending()).isEqualTo(1);
+
+		repository.flush();
+
+		assertThat(this.delegate.writes.get()).isEqualTo(1);
+		assertThat(this.delegate.findByConversationId("c1")).isEqualTo(messages(0, 6));
+		assertThat(repository.stats().pending()).isZero();
+		assertThat(repository.stats().flushes()).isEqualTo(1);
+	}
+
+	@Test
+	void failedFlushIsRetried() {
+		CachingChatMemoryRepository repository = repository(CachingChatMemoryRepository.Durability.WRITE_BEHIND);
+		repository.saveAll("c1", messages(0, 2));
+		this.delegate.failing.set(true);
+
+		repository.flush();
+
+		assertThat(repository.stats().flushFailures()).isEqualTo(1);
+		assertThat(repository.stats().pending()).isEqualTo(1);
+
+		this.delegate.failing.set(false);
+		repository.flush();
+
+		assertThat(this.delegate.findByConversationId("c1")).isEqualTo(messages(0, 2));
+		assertThat(repository.stats().pending()).isZero();
+	}
+
+	@Test
+	void deleteDropsQueuedSave() {
+		CachingChatMemoryRepository repository = repository(CachingChatMemoryRepository.Durability.WRITE_BEHIND);
+		repository.saveAll("c1", messages(0, 2));
+
+		repository.deleteByConversationId("c1");
+		repository.flush();
+
+		assertThat(this.delegate.writes.get()).isZero();
+		assertThat(repository.findByConversationId("c1")).isEmpty();
+		assertThat(repository.findConversationIds()).isEmpty();
+	}
+
+	@Test
+	void closeFlushesQueuedSaves() {
+		CachingChatMemoryRepository repository = repository(CachingChatMemoryRepository.Durability.WRITE_BEHIND);
+		repository.saveAll("c1", messages(0, 2));
+
+		repository.close();
+
+		assertThat(this.delegate.findByConversationId("c1")).isEqualTo(messages(0, 2));
+		assertThatThrownBy(() -> repository.saveAll("c1", messages(0, 3))).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void replaysWriteAheadLogAfterCrash() {
+		List<Message> history = List.of(new UserMessage("weather?"),
+				new AssistantMessage("", Map.of("model", "qwen"),
+						List.of(new AssistantMessage.ToolCall("call-1", "function", "weather", "{\"city\":\"hz\"}"))),
+				new ToolResponseMessage(List.of(new ToolResponseMessage.ToolResponse("call-1", "weather", "sunny"))),
+				new AssistantMessage("It is sunny."));
+		CachingChatMemoryRepository crashed = builder(CachingChatMemoryRepository.Durability.WRITE_BEHIND_WAL)
+			.walDirectory(this.walDirectory)
+			.build();
+		crashed.saveAll("c1", history);
+		crashed.saveAll("c2", messages(0, 2));
+		crashed.deleteByConversationId("c2");
+
+		CountingRepository recovered = new CountingRepository();
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder()
+			.delegate(recovered)
+			.durability(CachingChatMemoryRepository.Durability.WRITE_BEHIND_WAL)
+			.flushInterval(Duration.ofHours(1))
+			.walDirectory(this.walDirectory)
+			.build();
+		this.repositories.add(repository);
+		repository.flush();
+
+		assertThat(recovered.findByConversationId("c1")).isEqualTo(history);
+		assertThat(recovered.findConversationIds()).containsExactly("c1");
+		assertThat(this.walDirectory.toFile().list()).hasSize(1);
+	}
+
+	@Test
+	void replaysMediaAndNullToolFieldsAfterCrash() {
+		Media image = Media.builder()
+			.mimeType(MimeTypeUtils.IMAGE_PNG)
+			.data(URI.create("https://example.com/weather.png"))
+			.build();
+		Media bytes = Media.builder().mimeType(MimeTypeUtils.IMAGE_PNG).data(new byte[] { 1, 2, 3 }).build();
+		List<Message> history = List.of(
+				UserMessage.builder().text("what is this?").media(List.of(image, bytes)).build(),
+				new AssistantMessage("", Map.of(),
+						List.of(new AssistantMessage.ToolCall("call-1", "function", "weather", null))),
+				new ToolResponseMessage(List.of(new ToolResponseMessage.ToolResponse("call-1", "weather", null))));
+		CachingChatMemoryRepository crashed = builder(CachingChatMemoryRepository.Durability.WRITE_BEHIND_WAL)
+			.walDirectory(this.walDirectory)
+			.build();
+		crashed.saveAll("c1", history);
+
+		CountingRepository recovered = new CountingRepository();
+		CachingChatMemoryRepository repository = CachingChatMemoryRepository.builder()
+			.delegate(recovered)
+			.durability(CachingChatMemoryRepository.Durability.WRITE_BEHIND_WAL)
+			.flushInterval(Duration.ofHours(1))
+			.walDirectory(this.walDirectory)
+			.build();
+		this.repositories.add(repository);
+		repository.flush();
+
+		List<Message> replayed = recovered.findByConversationId("c1");
+		assertThat(replayed).hasSize(3);
+		List<Media> media = ((UserMessage) replayed.get(0)).getMedia();
+		assertThat(media).hasSize(2);
+		assertThat(media.get(0).getData()).isEqualTo(image.getData());
+		assertThat(media.get(0).getMimeType()).isEqualTo(MimeTypeUtils.IMAGE_PNG);
+		assertThat(media.get(1).getData()).isEqualTo(new byte[] { 1, 2, 3 });
+		assertThat(((AssistantMessage) replayed.get(1)).getToolCalls().get(0).arguments()).isNull();
+		assertThat(((ToolResponseMessage) replayed.get(2)).getResponses().get(0).responseData()).isNull();
+		assertThat(replayed.subList(1, 3)).isEqualTo(history.subList(1, 3));
+	}
+
+	@Test
+	void idleFlushKeepsWriteAheadLogSegment() {
+		CachingChatMemoryRepository repository = builder(CachingChatMemoryRepository.Durability.WRITE_BEHIND_WAL)
+			.walDirectory(this.walDirectory)
+			.build();
+		this.repositories.add(repository);
+		String[] segments = this.walDirectory.toFile().list();
+
+		repository.flush();
+		repository.flush();
+
+		assertThat(this.walDirectory.toFile().list()).containsExactly(segments);
+
+		repository.saveAll("c1", messages(0, 2));
+		repository.flush();
+
+		assertThat(this.walDirectory.toFile().list()).hasSize(1).doesNotContain(segments);
+		assertThat(this.delegate.findByConversationId("c1")).isEqualTo(messages(0, 2));
+	}
+
+	@Test
+	void exportsMetrics() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		CachingChatMemoryRepository repository = builder(CachingChatMemoryRepository.Durability.WRITE_BEHIND)
+			.meterRegistry(meterRegistry)
+			.build();
+		this.repositories.add(repository);
+		repository.saveAll("c1", messages(0, 2));
+		repository.findByConversationId("c1");
+		repository.findByConversationId("c2");
+
+		assertThat(meterRegistry.get("chat.memory.cache.gets").tag("result", "hit").functionCounter().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("chat.memory.cache.gets").tag("result", "miss").functionCounter().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("chat.memory.cache.pending").gauge().value()).isEqualTo(1);
+		assertThat(meterRegistry.get("chat.memory.cache.flush.lag").timeGauge().value()).isPositive();
+	}
+
+	private CachingChatMemoryRepository repository(CachingChatMemoryRepository.Durability durability) {
+		CachingChatMemoryRepository repository = builder(durability).build();
+		this.repositories.add(repository);
+		return repository;
+	}
+
+	private CachingChatMemoryRepository.Builder builder(CachingChatMemoryRepository.Durability durability) {
+		return CachingChatMemoryRepository.builder()
+			.delegate(this.delegate)
+			.durability(durability)
+			.flushInterval(Duration.ofHours(1));
+	}
+
+	private static List<Message> messages(int from, int to) {
+		List<Message> messages = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			messages.add((i % 2 == 0) ? new UserMessage("question " + i) : new AssistantMessage("answer " + i));
+		}
+		return messages;
+	}
+
+	private static class CountingRepository implements ChatMemoryRepository {
+
+		private final ChatMemoryRepository target = new InMemoryChatMemoryRepository();
+
+		private final AtomicInteger reads = new AtomicInteger();
+
+		private final AtomicInteger writes = new AtomicInteger();
+
+		private final AtomicBoolean failing = new AtomicBoolean();
+
+		@Override
+		public List<String> findConversationIds() {
+			return this.target.findConversationIds();
+		}
+
+		@Override
+		public List<Message> findByConversationId(String conversationId) {
+			this.reads.incrementAndGet();
+			return this.target.findByConversationId(conversationId);
+		}
+
+		@Override
+		public void saveAll(String conversationId, List<Message> messages) {
+			if (this.failing.get()) {
+				throw new IllegalStateException("delegate unavailable");
+			}
+			this.writes.incrementAndGet();
+			this.target.saveAll(conversationId, messages);
+		}
+
+		@Override
+		public void deleteByConversationId(String conversationId) {
+			this.target.deleteByConversationId(conversationId);
+		}
+
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversationDeltaWriterTest {
+
+	private final InMemoryStore store = new InMemoryStore();
+
+	private final ConversationDeltaWriter writer = new ConversationDeltaWriter(this.store);
+
+	@Test
+	void appendsToNewConversation() {
+		ConversationDelta delta = this.writer.save("c1", messages(0, 2));
+
+		assertThat(delta.kind()).isEqualTo(ConversationDelta.Kind.APPEND);
+		assertThat(delta.trimmed()).isZero();
+		assertThat(delta.appended()).hasSize(2);
+		assertThat(this.store.load("c1")).isEqualTo(messages(0, 2));
+	}
+
+	@Test
+	void appendsOnlyNewMessages() {
+		this.writer.save("c1", messages(0, 4));
+
+		ConversationDelta delta = this.writer.save("c1", messages(0, 6));
+
+		assertThat(delta.kind()).isEqualTo(ConversationDelta.Kind.APPEND);
+		assertThat(delta.trimmed()).isZero();
+		assertThat(delta.appended()).isEqualTo(messages(4, 6));
+		assertThat(this.store.load("c1")).isEqualTo(messages(0, 6));
+		assertThat(this.store.loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	void trimsHeadOfSlidingWindow() {
+		this.writer.save("c1", messages(0, 4));
+
+		ConversationDelta delta = this.writer.save("c1", messages(2, 7));
+
+		assertThat(delta.kind()).isEqualTo(ConversationDelta.Kind.APPEND);
+		assertThat(delta.trimmed()).isEqualTo(2);
+		assertThat(delta.appended()).isEqualTo(messages(4, 7));
+		assertThat(this.store.load("c1")).isEqualTo(messages(2, 7));
+	}
+
+	@Test
+	void skipsUnchangedHistory() {
+		this.writer.save("c1", messages(0, 3));
+		int writes = this.store.writes.get();
+
+		ConversationDelta delta = this.writer.save("c1", messages(0, 3));
+
+		assertThat(delta.kind()).isEqualTo(ConversationDelta.Kind.UNCHANGED);
+		assertThat(this.store.writes.get()).isEqualTo(writes);
+	}
+
+	@Test
+	void rewritesEditedHistory() {
+		this.writer.save("c1", messages(0, 3));
+		List<Message> edited = new ArrayList<>(messages(0, 4));
+		edited.set(1, new AssistantMessage("edited"));
+
+		ConversationDelta delta = this.writer.save("c1", edited);
+
+		assertThat(delta.kind()).isEqualTo(ConversationDelta.Kind.REWRITE);
+		assertThat(this.store.load("c1")).isEqualTo(edited);
+	}
+
+	@Test
+	void rewritesWhenNothingIsShared() {
+		this.writer.save("c1", messages(0, 3));
+
+		assertThat(this.writer.save("c1", messages(3, 5)).kind()).isEqualTo(ConversationDelta.Kind.REWRITE);
+		assertThat(this.writer.save("c1", List.of()).kind()).isEqualTo(ConversationDelta.Kind.REWRITE);
+		assertThat(this.store.load("c1")).isEmpty();
+	}
+
+	@Test
+	void reloadsWhenVersionMovedElsewhere() {
+		this.writer.save("c1", messages(0, 3));
+		// another node appends two messages behind this writer's back
+		new ConversationDeltaWriter(this.store).save("c1", messages(0, 5));
+
+		ConversationDelta delta = this.writer.save("c1", messages(0, 6));
+
+		assertThat(delta.kind()).isEqualTo(ConversationDelta.Kind.APPEND);
+		assertThat(delta.appended()).isEqualTo(messages(5, 6));
+		assertThat(this.store.load("c1")).isEqualTo(messages(0, 6));
+	}
+
+	@Test
+	void distinguishesToolCallsAndResponses() {
+		var call = new AssistantMessage("", Map.of(),
+				List.of(new AssistantMessage.ToolCall("1", "function", "weather", "{\"city\":\"Hangzhou\"}")));
+		var otherCall = new AssistantMessage("", Map.of(),
+				List.of(new AssistantMessage.ToolCall("1", "function", "weather", "{\"city\":\"Beijing\"}")));
+		var response = new ToolResponseMessage(List.of(new ToolResponseMessage.ToolResponse("1", "weather", "sunny")));
+		var otherResponse = new ToolResponseMessage(
+				List.of(new ToolResponseMessage.ToolResponse("1", "weather", "rainy")));
+
+		assertThat(MessageFingerprints.of(call)).isNotEqualTo(MessageFingerprints.of(otherCall));
+		assertThat(MessageFingerprints.of(response)).isNotEqualTo(MessageFingerprints.of(otherResponse));
+		assertThat(MessageFingerprints.of(new UserMessage("ab")))
+			.isEqualTo(MessageFingerprints.of(new UserMessage("ab")));
+		assertThat(MessageFingerprints.of(new UserMessage("ab")))
+			.isNotEqualTo(MessageFingerprints.of(new AssistantMessage("ab")));
+	}
+
+	private static List<Message> messages(int from, int to) {
+		List<Message> messages = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			messages.add(i % 2 == 0 ? new UserMessage("question " + i) : new AssistantMessage("answer " + i));
+		}
+		return messages;
+	}
+
+	private static class InMemoryStore implements ConversationStore {
+
+		private final Map<String, List<Message>> conversations = new HashMap<>();
+
+		private final Map<String, Long> versions = new HashMap<>();
+
+		private final AtomicInteger loads = new AtomicInteger();
+
+		private final AtomicInteger writes = new AtomicInteger();
+
+		@Override
+		public long version(String conversationId) {
+			return this.versions.getOrDefault(conversationId, 0L);
+		}
+
+		@Override
+		public List<Message> load(String conversationId) {
+			this.loads.incrementAndGet();
+			return List.copyOf(this.conversations.getOrDefault(conversationId, List.of()));
+		}
+
+		@Override
+		public long write(String conversationId, ConversationDelta delta, long version) {
+			this.writes.incrementAndGet();
+			List<Message> stored = this.conversations.computeIfAbsent(conversationId, id -> new ArrayList<>());
+			if (delta.kind() == ConversationDelta.Kind.REWRITE) {
+				stored.clear();
+			}
+			else {
+				stored.subList(0, delta.trimmed()).clear();
+			}
+			stored.addAll(delta.appended());
+			return this.versions.merge(conversationId, 1L, Long::sum);
+		}
+
+	}
+
+}
@@ -15,6 +15,9 @@
  */
 package com.alibaba.cloud.ai.memory.elasticsearch;
 
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.ConversationDeltaWriter;
+import com.alibaba.cloud.ai.memory.common.ConversationStore;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
@@ -34,6 +37,7 @@ import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -53,7 +57,10 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 
 	private final ObjectMapper objectMapper;
 
+	private final ConversationDeltaWriter writer;
+
 	public ElasticsearchChatMemoryRepository(ElasticsearchClient client) {
+		this.writer = new ConversationDeltaWriter(new ElasticsearchConversationStore());
 		this.objectMapper = new ObjectMapper();
 		// Configure Jackson to ignore unknown properties to handle schema changes
 		this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -190,36 +197,13 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 		Assert.noNullElements(messages, "messages cannot contain null elements");
 
 		try {
-			// Delete existing messages first
-			deleteByConversationId(conversationId);
-
-			// Bulk insert new messages
-			BulkRequest.Builder br = new BulkRequest.Builder();
-			for (Message message : messages) {
-				ChatMessage chatMessage = new ChatMessage(conversationId, message);
-				logger.info("Saving message for {}: type={}, text={}", conversationId, chatMessage.getMessageType(),
-						chatMessage.getMessageText());
-				br.operations(op -> op.index(idx -> idx.index(INDEX_NAME).document(chatMessage)));
-			}
-
-			BulkResponse response = client.bulk(br.build());
-			if (response.errors()) {
-				logger.error("Error saving messages: {}",
-						response.items()
-							.stream()
-							.filter(item -> item.error() != null)
-							.map(item -> item.error().reason())
-							.collect(Collectors.joining(", ")));
-				throw new RuntimeException("Error saving messages to Elasticsearch");
-			}
-
-			// Ensure index is refreshed immediately
-			client.indices().refresh(r -> r.index(INDEX_NAME));
-			logger.info("Successfully saved {} messages for conversation {}", messages.size(), conversationId);
+			ConversationDelta delta = writer.save(conversationId, messages);
+			logger.info("Successfully saved {} messages for conversation {} as {}", messages.size(), conversationId,
+					delta);
 		}
-		catch (IOException e) {
+		catch (UncheckedIOException e) {
 			logger.error("Error saving messages", e);
-			throw new RuntimeException("Error saving messages", e);
+			throw new RuntimeException("Error saving messages", e.getCause());
 		}
 	}
 
@@ -233,6 +217,7 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 			if (response.failures().size() > 0) {
 				throw new RuntimeException("Error deleting messages for conversation: " + conversationId);
 			}
+			writer.forget(conversationId);
 		}
 		catch (IOException e) {
 			throw new RuntimeException("Error deleting messages", e);
@@ -326,6 +311,138 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 		return sb.toString();
 	}
 
+	/**
+	 * Applies conversation deltas in a single bulk request: trimmed messages are deleted
+	 * by id and new messages are indexed after the newest stored one.
+	 */
+	private class ElasticsearchConversationStore implements ConversationStore {
+
+		@Override
+		public long version(String conversationId) {
+			try {
+				Tail tail = tail(conversationId);
+				return ConversationStore.version(tail.size(), tail.lastTimestamp());
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public List<Message> load(String conversationId) {
+			return findByConversationId(conversationId);
+		}
+
+		@Override
+		public long write(String conversationId, ConversationDelta delta, long version) {
+			try {
+				if (delta.kind() == ConversationDelta.Kind.REWRITE) {
+					return rewrite(conversationId, delta.messages());
+				}
+				Tail tail = tail(conversationId);
+				int trimmed = delta.trimmed();
+				BulkRequest.Builder br = new BulkRequest.Builder();
+				boolean empty = true;
+				if (trimmed > 0) {
+					// one more hit than trimmed, to see the first message that is kept
+					SearchResponse<ChatMessage> oldest = client.search(s -> s.index(INDEX_NAME)
+						.query(q -> q.term(t -> t.field("conversationId").value(conversationId)))
+						.sort(sort -> sort.field(
+								f -> f.field("timestamp").order(co.elastic.clients.elasticsearch._types.SortOrder.Asc)))
+						.size(trimmed + 1)
+						.source(src -> src.filter(f -> f.includes("timestamp"))), ChatMessage.class);
+					List<Hit<ChatMessage>> hits = oldest.hits().hits();
+					// documents sharing the timestamp at the cut cannot be told apart, generated
+					// ids carry no insertion order
+					boolean ambiguous = false;
+					if (trimmed < hits.size()) {
+						long lastTrimmed = hits.get(trimmed - 1).source().getTimestamp();
+						ambiguous = lastTrimmed == hits.get(trimmed).source().getTimestamp();
+					}
+					if (hits.size() < trimmed || ambiguous) {
+						return rewrite(conversationId, delta.messages());
+					}
+					for (String id : hits.subList(0, trimmed).stream().map(Hit::id).toList()) {
+						br.operations(op -> op.delete(d -> d.index(INDEX_NAME).id(id)));
+					}
+					empty = false;
+				}
+				long size = tail.size() - trimmed;
+				long lastTimestamp = tail.lastTimestamp();
+				long next = Math.max(System.currentTimeMillis(), lastTimestamp + 1);
+				for (Message message : delta.appended()) {
+					index(br, conversationId, message, next);
+					lastTimestamp = next++;
+					size++;
+					empty = false;
+				}
+				if (!empty) {
+					bulk(br);
+				}
+				return ConversationStore.version(size, lastTimestamp);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private long rewrite(String conversationId, List<Message> messages) throws IOException {
+			deleteByConversationId(conversationId);
+			if (messages.isEmpty()) {
+				return ConversationStore.version(0, 0L);
+			}
+			BulkRequest.Builder br = new BulkRequest.Builder();
+			long timestamp = System.currentTimeMillis();
+			for (Message message : messages) {
+				index(br, conversationId, message, timestamp++);
+			}
+			bulk(br);
+			return ConversationStore.version(messages.size(), timestamp - 1);
+		}
+
+		private void index(BulkRequest.Builder br, String conversationId, Message message, long timestamp) {
+			ChatMessage chatMessage = new ChatMessage(conversationId, message);
+			chatMessage.setTimestamp(timestamp);
+			logger.info("Saving message for {}: type={}, text={}", conversationId, chatMessage.getMessageType(),
+					chatMessage.getMessageText());
+			br.operations(op -> op.index(idx -> idx.index(INDEX_NAME).document(chatMessage)));
+		}
+
+		private void bulk(BulkRequest.Builder br) throws IOException {
+			BulkResponse response = client.bulk(br.build());
+			if (response.errors()) {
+				logger.error("Error saving messages: {}",
+						response.items()
+							.stream()
+							.filter(item -> item.error() != null)
+							.map(item -> item.error().reason())
+							.collect(Collectors.joining(", ")));
+				throw new RuntimeException("Error saving messages to Elasticsearch");
+			}
+
+			// Ensure index is refreshed immediately
+			client.indices().refresh(r -> r.index(INDEX_NAME));
+		}
+
+		private Tail tail(String conversationId) throws IOException {
+			SearchResponse<ChatMessage> response = client.search(s -> s.index(INDEX_NAME)
+				.query(q -> q.term(t -> t.field("conversationId").value(conversationId)))
+				.sort(sort -> sort
+					.field(f -> f.field("timestamp").order(co.elastic.clients.elasticsearch._types.SortOrder.Desc)))
+				.size(1)
+				.trackTotalHits(t -> t.enabled(true)), ChatMessage.class);
+			List<Hit<ChatMessage>> hits = response.hits().hits();
+			if (hits.isEmpty() || hits.get(0).source() == null) {
+				return new Tail(0, 0L);
+			}
+			return new Tail(response.hits().total().value(), hits.get(0).source().getTimestamp());
+		}
+
+	}
+
+	private record Tail(long size, long lastTimestamp) {
+	}
+
 	private static class ChatMessage {
 
 		private String conversationId;
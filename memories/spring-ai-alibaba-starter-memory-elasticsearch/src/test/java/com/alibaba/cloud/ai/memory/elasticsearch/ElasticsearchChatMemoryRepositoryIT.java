@@ -36,13 +36,17 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.apache.http.HttpHost;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -79,6 +83,9 @@ class ElasticsearchChatMemoryRepositoryIT {
 	@Autowired
 	private ChatMemoryRepository chatMemoryRepository;
 
+	@Autowired
+	private ElasticsearchClient client;
+
 	@BeforeEach
 	void setUp() throws Exception {
 		// Ensure the index is empty before each test
@@ -282,16 +289,112 @@ class ElasticsearchChatMemoryRepositoryIT {
 		System.out.println("Raw search result: " + response);
 	}
 
+	@Test
+	void appendKeepsStoredDocuments() throws Exception {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		var storedIds = documentIds(conversationId);
+
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"), new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(texts(chatMemoryRepository.findByConversationId(conversationId))).isEqualTo(texts(messages));
+		assertThat(documentIds(conversationId)).hasSize(4).startsWith(storedIds.toArray(String[]::new));
+	}
+
+	@Test
+	void slidingWindowDeletesOldestDocuments() throws Exception {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		var storedIds = documentIds(conversationId);
+
+		var window = List.<Message>of(new AssistantMessage("Answer 1"), new UserMessage("Question 2"),
+				new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, window);
+
+		assertThat(texts(chatMemoryRepository.findByConversationId(conversationId))).isEqualTo(texts(window));
+		assertThat(documentIds(conversationId)).hasSize(3).startsWith(storedIds.get(1), storedIds.get(2));
+	}
+
+	@Test
+	void rewriteReplacesChangedHistory() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+
+		var rewritten = List.<Message>of(new SystemMessage("Summary"), new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, rewritten);
+
+		assertThat(texts(chatMemoryRepository.findByConversationId(conversationId))).isEqualTo(texts(rewritten));
+	}
+
+	@Test
+	void unchangedSaveKeepsStoredDocuments() throws Exception {
+		var conversationId = UUID.randomUUID().toString();
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+		var storedIds = documentIds(conversationId);
+
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(documentIds(conversationId)).isEqualTo(storedIds);
+	}
+
+	@Test
+	void trimAtTimestampTieFallsBackToRewrite() throws Exception {
+		var conversationId = UUID.randomUUID().toString();
+		// documents sharing a timestamp, as the old batch save wrote them
+		long timestamp = System.currentTimeMillis();
+		for (String text : List.of("Question 1", "Answer 1", "Question 2")) {
+			var type = text.startsWith("Question") ? MessageType.USER : MessageType.ASSISTANT;
+			client.index(i -> i.index("chat_memory")
+				.document(Map.of("conversationId", conversationId, "messageType", type.name(), "messageText", text,
+						"timestamp", timestamp)));
+		}
+		client.indices().refresh(r -> r.index("chat_memory"));
+
+		var window = List.<Message>of(new AssistantMessage("Answer 1"), new UserMessage("Question 2"),
+				new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, window);
+
+		assertThat(texts(chatMemoryRepository.findByConversationId(conversationId))).isEqualTo(texts(window));
+	}
+
+	private List<String> documentIds(String conversationId) throws IOException {
+		return client
+			.search(s -> s.index("chat_memory")
+				.query(q -> q.term(t -> t.field("conversationId").value(conversationId)))
+				.sort(sort -> sort.field(f -> f.field("timestamp").order(SortOrder.Asc)))
+				.source(src -> src.fetch(false)), Void.class)
+			.hits()
+			.hits()
+			.stream()
+			.map(Hit::id)
+			.toList();
+	}
+
+	private static List<String> texts(List<Message> messages) {
+		return messages.stream().map(Message::getText).toList();
+	}
+
 	@SpringBootConfiguration
 	static class TestConfiguration {
 
 		@Bean
-		ChatMemoryRepository chatMemoryRepository() {
+		ElasticsearchClient elasticsearchClient() {
 			RestClientBuilder restClientBuilder = RestClient.builder(
 					new HttpHost(elasticsearchContainer.getHost(), elasticsearchContainer.getMappedPort(9200), "http"));
 			RestClient restClient = restClientBuilder.build();
 			RestClientTransport transport = new RestClientTransport(restClient, new JacksonJsonpMapper());
-			ElasticsearchClient client = new ElasticsearchClient(transport);
+			return new ElasticsearchClient(transport);
+		}
+
+		@Bean
+		ChatMemoryRepository chatMemoryRepository(ElasticsearchClient client) {
 			return new ElasticsearchChatMemoryRepository(client);
 		}
 
@@ -27,6 +27,12 @@ public class H2ChatMemoryRepository extends JdbcChatMemoryRepository {
 
 	private static final String H2_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
 
+	private static final String H2_QUERY_VERSION = "SELECT COUNT(*), MAX(timestamp) FROM ai_chat_memory WHERE conversation_id = ?";
+
+	private static final String H2_QUERY_GET_TIMESTAMPS = "SELECT timestamp FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+
+	private static final String H2_QUERY_TRIM = "DELETE FROM ai_chat_memory WHERE conversation_id = ? AND timestamp <= ?";
+
 	private H2ChatMemoryRepository(JdbcTemplate jdbcTemplate) {
 		super(jdbcTemplate);
 	}
@@ -75,4 +81,19 @@ public class H2ChatMemoryRepository extends JdbcChatMemoryRepository {
 		return H2_QUERY_GET;
 	}
 
+	@Override
+	protected String getVersionSql() {
+		return H2_QUERY_VERSION;
+	}
+
+	@Override
+	protected String getGetTimestampsSql() {
+		return H2_QUERY_GET_TIMESTAMPS;
+	}
+
+	@Override
+	protected String getTrimSql() {
+		return H2_QUERY_TRIM;
+	}
+
 }
@@ -15,6 +15,9 @@
  */
 package com.alibaba.cloud.ai.memory.jdbc;
 
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.ConversationDeltaWriter;
+import com.alibaba.cloud.ai.memory.common.ConversationStore;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.*;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
@@ -47,11 +50,26 @@ public abstract class JdbcChatMemoryRepository implements ChatMemoryRepository {
 
 	private static final String QUERY_CLEAR = "DELETE FROM ai_chat_memory WHERE conversation_id = ?";
 
+	private static final String QUERY_VERSION = """
+			SELECT COUNT(*), MAX("timestamp") FROM ai_chat_memory WHERE conversation_id = ?
+			""";
+
+	private static final String QUERY_GET_TIMESTAMPS = """
+			SELECT "timestamp" FROM ai_chat_memory WHERE conversation_id = ? ORDER BY "timestamp"
+			""";
+
+	private static final String QUERY_TRIM = """
+			DELETE FROM ai_chat_memory WHERE conversation_id = ? AND "timestamp" <= ?
+			""";
+
 	private final JdbcTemplate jdbcTemplate;
 
+	private final ConversationDeltaWriter writer;
+
 	public JdbcChatMemoryRepository(JdbcTemplate jdbcTemplate) {
 		Assert.notNull(jdbcTemplate, "jdbcTemplate cannot be null");
 		this.jdbcTemplate = jdbcTemplate;
+		this.writer = new ConversationDeltaWriter(new JdbcConversationStore());
 		checkAndCreateTable();
 	}
 
@@ -84,15 +102,14 @@ public abstract class JdbcChatMemoryRepository implements ChatMemoryRepository {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		Assert.notNull(messages, "messages cannot be null");
 		Assert.noNullElements(messages, "messages cannot contain null elements");
-		this.deleteByConversationId(conversationId);
-		this.jdbcTemplate.batchUpdate(getAddSql(),
-				new JdbcChatMemoryRepository.AddBatchPreparedStatement(conversationId, messages));
+		this.writer.save(conversationId, messages);
 	}
 
 	@Override
 	public void deleteByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		this.jdbcTemplate.update(QUERY_CLEAR, conversationId);
+		this.writer.forget(conversationId);
 	}
 
 	/**
@@ -111,6 +128,113 @@ public abstract class JdbcChatMemoryRepository implements ChatMemoryRepository {
 		return QUERY_GET;
 	}
 
+	/**
+	 * Get the SQL statement returning the message count and newest timestamp of a
+	 * conversation
+	 * @return SQL
+	 */
+	protected String getVersionSql() {
+		return QUERY_VERSION;
+	}
+
+	/**
+	 * Get the SQL statement listing the message timestamps of a conversation in order
+	 * @return SQL
+	 */
+	protected String getGetTimestampsSql() {
+		return QUERY_GET_TIMESTAMPS;
+	}
+
+	/**
+	 * Get the SQL statement deleting the messages up to a timestamp
+	 * @return SQL
+	 */
+	protected String getTrimSql() {
+		return QUERY_TRIM;
+	}
+
+	/**
+	 * Applies conversation deltas: trimmed messages are deleted by timestamp and new
+	 * messages are inserted after the newest stored one, so unchanged rows are never
+	 * rewritten.
+	 */
+	private class JdbcConversationStore implements ConversationStore {
+
+		@Override
+		public long version(String conversationId) {
+			return stats(conversationId).version();
+		}
+
+		private Stats stats(String conversationId) {
+			Stats stats = jdbcTemplate.query(getVersionSql(), rs -> {
+				if (!rs.next()) {
+					return Stats.EMPTY;
+				}
+				Timestamp last = rs.getTimestamp(2);
+				return last != null ? new Stats(rs.getLong(1), last) : Stats.EMPTY;
+			}, conversationId);
+			return stats != null ? stats : Stats.EMPTY;
+		}
+
+		@Override
+		public List<Message> load(String conversationId) {
+			return findByConversationId(conversationId);
+		}
+
+		@Override
+		public long write(String conversationId, ConversationDelta delta, long version) {
+			if (delta.kind() == ConversationDelta.Kind.REWRITE) {
+				rewrite(conversationId, delta.messages());
+				return version(conversationId);
+			}
+			Stats stats = stats(conversationId);
+			int trimmed = delta.trimmed();
+			if (trimmed > stats.count()) {
+				rewrite(conversationId, delta.messages());
+				return version(conversationId);
+			}
+			if (trimmed > 0) {
+				List<Timestamp> timestamps = jdbcTemplate.queryForList(getGetTimestampsSql(), Timestamp.class,
+						conversationId);
+				// rows sharing the timestamp at the cut cannot be told apart
+				boolean ambiguous = trimmed > timestamps.size() || (trimmed < timestamps.size()
+						&& timestamps.get(trimmed - 1).equals(timestamps.get(trimmed)));
+				if (ambiguous) {
+					rewrite(conversationId, delta.messages());
+					return version(conversationId);
+				}
+				jdbcTemplate.update(getTrimSql(), conversationId, timestamps.get(trimmed - 1));
+			}
+			long next = Instant.now().toEpochMilli();
+			if (stats.last() != null) {
+				next = Math.max(next, stats.last().getTime() + 1);
+			}
+			jdbcTemplate.batchUpdate(getAddSql(), new AddBatchPreparedStatement(conversationId, delta.appended(),
+					new AtomicLong(next)));
+			return version(conversationId);
+		}
+
+		private void rewrite(String conversationId, List<Message> messages) {
+			jdbcTemplate.update(QUERY_CLEAR, conversationId);
+			jdbcTemplate.batchUpdate(getAddSql(), new AddBatchPreparedStatement(conversationId, messages));
+		}
+
+	}
+
+	/**
+	 * Message count and newest timestamp of a conversation, as returned by
+	 * {@link #getVersionSql()}.
+	 */
+	private record Stats(long count, @Nullable Timestamp last) {
+
+		private static final Stats EMPTY = new Stats(0, null);
+
+		long version() {
+			return last != null ? ConversationStore.version(count, last.getTime()) : 0L;
+		}
+
+	}
+
 	private record AddBatchPreparedStatement(String conversationId, List<Message> messages,
 			AtomicLong instantSeq) implements BatchPreparedStatementSetter {
 
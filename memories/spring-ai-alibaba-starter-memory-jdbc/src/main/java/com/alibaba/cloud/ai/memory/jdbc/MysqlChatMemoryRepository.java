@@ -27,6 +27,12 @@ public class MysqlChatMemoryRepository extends JdbcChatMemoryRepository {
 
 	private static final String MYSQL_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
 
+	private static final String MYSQL_QUERY_VERSION = "SELECT COUNT(*), MAX(timestamp) FROM ai_chat_memory WHERE conversation_id = ?";
+
+	private static final String MYSQL_QUERY_GET_TIMESTAMPS = "SELECT timestamp FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+
+	private static final String MYSQL_QUERY_TRIM = "DELETE FROM ai_chat_memory WHERE conversation_id = ? AND timestamp <= ?";
+
 	private MysqlChatMemoryRepository(JdbcTemplate jdbcTemplate) {
 		super(jdbcTemplate);
 	}
@@ -77,4 +83,19 @@ public class MysqlChatMemoryRepository extends JdbcChatMemoryRepository {
 		return MYSQL_QUERY_GET;
 	}
 
+	@Override
+	protected String getVersionSql() {
+		return MYSQL_QUERY_VERSION;
+	}
+
+	@Override
+	protected String getGetTimestampsSql() {
+		return MYSQL_QUERY_GET_TIMESTAMPS;
+	}
+
+	@Override
+	protected String getTrimSql() {
+		return MYSQL_QUERY_TRIM;
+	}
+
 }
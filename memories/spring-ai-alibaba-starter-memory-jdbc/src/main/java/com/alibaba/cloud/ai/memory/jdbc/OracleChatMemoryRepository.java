@@ -28,6 +28,12 @@ public class OracleChatMemoryRepository extends JdbcChatMemoryRepository {
 
 	private static final String ORACLE_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
 
+	private static final String ORACLE_QUERY_VERSION = "SELECT COUNT(*), MAX(timestamp) FROM ai_chat_memory WHERE conversation_id = ?";
+
+	private static final String ORACLE_QUERY_GET_TIMESTAMPS = "SELECT timestamp FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+
+	private static final String ORACLE_QUERY_TRIM = "DELETE FROM ai_chat_memory WHERE conversation_id = ? AND timestamp <= ?";
+
 	private OracleChatMemoryRepository(JdbcTemplate jdbcTemplate) {
 		super(jdbcTemplate);
 	}
@@ -76,4 +82,19 @@ public class OracleChatMemoryRepository extends JdbcChatMemoryRepository {
 		return ORACLE_QUERY_GET;
 	}
 
+	@Override
+	protected String getVersionSql() {
+		return ORACLE_QUERY_VERSION;
+	}
+
+	@Override
+	protected String getGetTimestampsSql() {
+		return ORACLE_QUERY_GET_TIMESTAMPS;
+	}
+
+	@Override
+	protected String getTrimSql() {
+		return ORACLE_QUERY_TRIM;
+	}
+
 }
@@ -23,6 +23,12 @@ public class PostgresChatMemoryRepository extends JdbcChatMemoryRepository {
 
 	private static final String POSTGRES_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
 
+	private static final String POSTGRES_QUERY_VERSION = "SELECT COUNT(*), MAX(timestamp) FROM ai_chat_memory WHERE conversation_id = ?";
+
+	private static final String POSTGRES_QUERY_GET_TIMESTAMPS = "SELECT timestamp FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+
+	private static final String POSTGRES_QUERY_TRIM = "DELETE FROM ai_chat_memory WHERE conversation_id = ? AND timestamp <= ?";
+
 	private PostgresChatMemoryRepository(JdbcTemplate jdbcTemplate) {
 		super(jdbcTemplate);
 	}
@@ -72,4 +78,19 @@ public class PostgresChatMemoryRepository extends JdbcChatMemoryRepository {
 		return POSTGRES_QUERY_GET;
 	}
 
+	@Override
+	protected String getVersionSql() {
+		return POSTGRES_QUERY_VERSION;
+	}
+
+	@Override
+	protected String getGetTimestampsSql() {
+		return POSTGRES_QUERY_GET_TIMESTAMPS;
+	}
+
+	@Override
+	protected String getTrimSql() {
+		return POSTGRES_QUERY_TRIM;
+	}
+
 }
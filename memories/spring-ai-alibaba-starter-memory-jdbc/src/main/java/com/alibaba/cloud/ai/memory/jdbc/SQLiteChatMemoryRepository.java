@@ -19,6 +19,18 @@ import org.springframework.jdbc.core.JdbcTemplate;
 
 public class SQLiteChatMemoryRepository extends JdbcChatMemoryRepository {
 
+	// SQLite specific query statements, timestamps are cast to INTEGER so the driver
+	// reads them back as epoch millis rather than Julian days
+	private static final String SQLITE_QUERY_ADD = "INSERT INTO ai_chat_memory (conversation_id, content, type, timestamp) VALUES (?, ?, ?, ?)";
+
+	private static final String SQLITE_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+
+	private static final String SQLITE_QUERY_VERSION = "SELECT COUNT(*), CAST(MAX(timestamp) AS INTEGER) FROM ai_chat_memory WHERE conversation_id = ?";
+
+	private static final String SQLITE_QUERY_GET_TIMESTAMPS = "SELECT CAST(timestamp AS INTEGER) FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+
+	private static final String SQLITE_QUERY_TRIM = "DELETE FROM ai_chat_memory WHERE conversation_id = ? AND timestamp <= ?";
+
 	private SQLiteChatMemoryRepository(JdbcTemplate jdbcTemplate) {
 		super(jdbcTemplate);
 	}
@@ -54,4 +66,29 @@ public class SQLiteChatMemoryRepository extends JdbcChatMemoryRepository {
 				+ "    CHECK (type IN ('USER', 'ASSISTANT', 'SYSTEM', 'TOOL')));", tableName);
 	}
 
+	@Override
+	protected String getAddSql() {
+		return SQLITE_QUERY_ADD;
+	}
+
+	@Override
+	protected String getGetSql() {
+		return SQLITE_QUERY_GET;
+	}
+
+	@Override
+	protected String getVersionSql() {
+		return SQLITE_QUERY_VERSION;
+	}
+
+	@Override
+	protected String getGetTimestampsSql() {
+		return SQLITE_QUERY_GET_TIMESTAMPS;
+	}
+
+	@Override
+	protected String getTrimSql() {
+		return SQLITE_QUERY_TRIM;
+	}
+
 }
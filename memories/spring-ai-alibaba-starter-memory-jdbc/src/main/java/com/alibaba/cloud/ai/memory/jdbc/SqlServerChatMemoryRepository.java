@@ -19,6 +19,17 @@ import org.springframework.jdbc.core.JdbcTemplate;
 
 public class SqlServerChatMemoryRepository extends JdbcChatMemoryRepository {
 
+	// SQL Server specific query statements
+	private static final String SQLSERVER_QUERY_ADD = "INSERT INTO ai_chat_memory (conversation_id, content, type, [timestamp]) VALUES (?, ?, ?, ?)";
+
+	private static final String SQLSERVER_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY [timestamp]";
+
+	private static final String SQLSERVER_QUERY_VERSION = "SELECT COUNT(*), MAX([timestamp]) FROM ai_chat_memory WHERE conversation_id = ?";
+
+	private static final String SQLSERVER_QUERY_GET_TIMESTAMPS = "SELECT [timestamp] FROM ai_chat_memory WHERE conversation_id = ? ORDER BY [timestamp]";
+
+	private static final String SQLSERVER_QUERY_TRIM = "DELETE FROM ai_chat_memory WHERE conversation_id = ? AND [timestamp] <= ?";
+
 	private SqlServerChatMemoryRepository(JdbcTemplate jdbcTemplate) {
 		super(jdbcTemplate);
 	}
@@ -54,4 +65,29 @@ public class SqlServerChatMemoryRepository extends JdbcChatMemoryRepository {
 				+ "    CHECK (type IN ('USER', 'ASSISTANT', 'SYSTEM', 'TOOL')));", tableName);
 	}
 
+	@Override
+	protected String getAddSql() {
+		return SQLSERVER_QUERY_ADD;
+	}
+
+	@Override
+	protected String getGetSql() {
+		return SQLSERVER_QUERY_GET;
+	}
+
+	@Override
+	protected String getVersionSql() {
+		return SQLSERVER_QUERY_VERSION;
+	}
+
+	@Override
+	protected String getGetTimestampsSql() {
+		return SQLSERVER_QUERY_GET_TIMESTAMPS;
+	}
+
+	@Override
+	protected String getTrimSql() {
+		return SQLSERVER_QUERY_TRIM;
+	}
+
 }
@@ -168,6 +168,85 @@ class H2ChatMemoryRepositoryIT {
 		assertThat(count).isZero();
 	}
 
+	@Test
+	void appendKeepsStoredRows() {
+		var conversationId = UUID.randomUUID().toString();
+		var first = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, first);
+		var storedIds = rowIds(conversationId);
+
+		var second = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"), new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, second);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(second);
+		assertThat(rowIds(conversationId)).hasSize(4).startsWith(storedIds.toArray(Long[]::new));
+	}
+
+	@Test
+	void slidingWindowTrimsOldestRows() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		var storedIds = rowIds(conversationId);
+
+		var window = List.<Message>of(new AssistantMessage("Answer 1"), new UserMessage("Question 2"),
+				new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, window);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(window);
+		assertThat(rowIds(conversationId)).hasSize(3).startsWith(storedIds.get(1), storedIds.get(2));
+	}
+
+	@Test
+	void rewriteReplacesChangedHistory() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+
+		var rewritten = List.<Message>of(new SystemMessage("Summary"), new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, rewritten);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(rewritten);
+	}
+
+	@Test
+	void unchangedSaveKeepsStoredRows() {
+		var conversationId = UUID.randomUUID().toString();
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+		var storedIds = rowIds(conversationId);
+
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(rowIds(conversationId)).isEqualTo(storedIds);
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(messages);
+	}
+
+	@Test
+	void trimAtTimestampTieFallsBackToRewrite() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		var storedIds = rowIds(conversationId);
+		// give the first two rows the same timestamp, so a cut after the first is ambiguous
+		jdbcTemplate.update("UPDATE ai_chat_memory SET timestamp = (SELECT timestamp FROM ai_chat_memory WHERE id = ?) "
+				+ "WHERE id = ?", storedIds.get(0), storedIds.get(1));
+
+		var window = List.<Message>of(new AssistantMessage("Answer 1"), new UserMessage("Question 2"),
+				new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, window);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(window);
+	}
+
+	private List<Long> rowIds(String conversationId) {
+		var query = "SELECT id FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+		return jdbcTemplate.queryForList(query, Long.class, conversationId);
+	}
+
 	@SpringBootConfiguration
 	@ImportAutoConfiguration({ DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class })
 	static class TestConfiguration {
@@ -15,6 +15,9 @@
  */
 package com.alibaba.cloud.ai.memory.memcached;
 
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.ConversationDeltaWriter;
+import com.alibaba.cloud.ai.memory.common.ConversationStore;
 import com.alibaba.cloud.ai.memory.memcached.serializer.MessageDeserializer;
 import com.alibaba.cloud.ai.toolcalling.memcached.MemcachedService;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
@@ -24,32 +27,79 @@ import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.util.Assert;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * Memcached implementation of ChatMemoryRepository auth: dahua
+ * <p>
+ * 会话索引按会话 id 的哈希分散到多个分片，只有新会话才会写入索引，保存消息不再读写全局索引；
+ * 消息列表与索引分片都通过 gets/cas 修改，并发写入时冲突方重读后重试，不会丢失更新。
  */
 public class MemcachedChatMemoryRepository implements ChatMemoryRepository, AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(MemcachedChatMemoryRepository.class);
 
+	/**
+	 * 默认索引分片数
+	 */
+	public static final int DEFAULT_INDEX_BUCKETS = 16;
+
 	private final MemcachedService memcachedService;
 
 	private final ObjectMapper objectMapper;
 
+	/**
+	 * 旧版本的全局会话索引，只读取和删除，不再写入
+	 */
 	private static final String DEFAULT_CONVERSATION = "spring_ai_alibaba_chat_memory_conversation";
 
+	/**
+	 * 会话索引分片，后接分片序号
+	 */
+	private static final String DEFAULT_CONVERSATION_BUCKET_PREFIX = "spring_ai_alibaba_chat_memory_conversation:";
+
 	private static final String DEFAULT_KEY_PREFIX = "spring_ai_alibaba_chat_memory:";
 
+	private static final String DEFAULT_VERSION_KEY_PREFIX = "spring_ai_alibaba_chat_memory_version:";
+
+	/**
+	 * cas 冲突时的最大重试次数
+	 */
+	private static final int MAX_CAS_ATTEMPTS = 16;
+
+	private final int indexBuckets;
+
+	private final ConversationDeltaWriter writer;
+
 	public MemcachedChatMemoryRepository(MemcachedService memcachedService) {
+		this(memcachedService, DEFAULT_INDEX_BUCKETS);
+	}
+
+	/**
+	 * @param memcachedService memcached 客户端
+	 * @param indexBuckets 索引分片数，已有数据时修改会导致部分会话无法被 findConversationIds 列出
+	 */
+	public MemcachedChatMemoryRepository(MemcachedService memcachedService, int indexBuckets) {
+		Assert.isTrue(indexBuckets > 0, "indexBuckets must be positive");
 		this.memcachedService = memcachedService;
+		this.indexBuckets = indexBuckets;
+		this.writer = new ConversationDeltaWriter(new MemcachedConversationStore());
 		this.objectMapper = JsonMapper.builder()
 			.configure(MapperFeature.AUTO_DETECT_GETTERS, false)
 			.configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
@@ -67,57 +117,52 @@ public class MemcachedChatMemoryRepository implements ChatMemoryRepository, Auto
 
 	@Override
 	public List<String> findConversationIds() {
-		return (List<String>) this.memcachedService.getter()
-			.apply(new MemcachedService.MemcachedServiceGetter.Request(DEFAULT_CONVERSATION));
+		// 一次 getBulk 读取全部分片，以及升级前写入的全局索引
+		List<String> keys = new ArrayList<>(this.indexBuckets + 1);
+		keys.add(DEFAULT_CONVERSATION);
+		for (int bucket = 0; bucket < this.indexBuckets; bucket++) {
+			keys.add(DEFAULT_CONVERSATION_BUCKET_PREFIX + bucket);
+		}
+		Map<String, Object> buckets = this.memcachedService.bulkGetter()
+			.apply(new MemcachedService.MemcachedServiceBulkGetter.Request(keys));
+		Set<String> conversationIds = new LinkedHashSet<>();
+		for (String key : keys) {
+			if (buckets.get(key) instanceof List<?> ids) {
+				ids.forEach(id -> conversationIds.add((String) id));
+			}
+		}
+		return new ArrayList<>(conversationIds);
 	}
 
 	@Override
 	public List<Message> findByConversationId(String conversationId) {
 		Object apply = this.memcachedService.getter()
 			.apply(new MemcachedService.MemcachedServiceGetter.Request(DEFAULT_KEY_PREFIX + conversationId));
-		if (apply != null) {
-			List<String> messageList = (List<String>) apply;
-			return messageList.stream().map(messageStr -> {
-				try {
-					return objectMapper.readValue(messageStr, Message.class);
-				}
-				catch (JsonProcessingException e) {
-					throw new RuntimeException("Error deserializing message", e);
-				}
-			}).toList();
-		}
-		return List.of();
-	}
-
-	@Override
-	public void saveAll(String conversationId, List<Message> messages) {
-		List<String> conversationIds = findConversationIds() == null ? new ArrayList<>() : findConversationIds();
-		// 保障消息顺序
-		conversationIds.remove(conversationId);
-		conversationIds.add(conversationId);
-		this.memcachedService.setter()
-			.apply(new MemcachedService.MemcachedServiceSetter.Request(DEFAULT_CONVERSATION, conversationIds, 0));
-		List<String> serializingMessage = messages.stream().map(message -> {
+		return messagesOf(apply).stream().map(messageStr -> {
 			try {
-				return this.objectMapper.writeValueAsString(message);
+				return objectMapper.readValue(messageStr, Message.class);
 			}
 			catch (JsonProcessingException e) {
-				throw new RuntimeException("Error serializing message", e);
+				throw new RuntimeException("Error deserializing message", e);
 			}
 		}).toList();
-		this.memcachedService.setter()
-			.apply(new MemcachedService.MemcachedServiceSetter.Request(DEFAULT_KEY_PREFIX + conversationId,
-					serializingMessage, 0));
+	}
+
+	@Override
+	public void saveAll(String conversationId, List<Message> messages) {
+		// 历史未变化时不再重复写入
+		this.writer.save(conversationId, messages);
 	}
 
 	@Override
 	public void deleteByConversationId(String conversationId) {
-		List<String> conversationIds = findConversationIds();
-		conversationIds.remove(conversationId);
-		this.memcachedService.setter()
-			.apply(new MemcachedService.MemcachedServiceSetter.Request(DEFAULT_CONVERSATION, conversationIds, 0));
 		this.memcachedService.deleter()
 			.apply(new MemcachedService.MemcachedServiceDeleter.Request(DEFAULT_KEY_PREFIX + conversationId));
+		this.memcachedService.deleter()
+			.apply(new MemcachedService.MemcachedServiceDeleter.Request(DEFAULT_VERSION_KEY_PREFIX + conversationId));
+		updateIndex(bucketKey(conversationId), ids -> ids.remove(conversationId));
+		updateIndex(DEFAULT_CONVERSATION, ids -> ids.remove(conversationId));
+		this.writer.forget(conversationId);
 	}
 
 	public void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
@@ -136,4 +181,150 @@ public class MemcachedChatMemoryRepository implements ChatMemoryRepository, Auto
 		saveAll(conversationId, lastMessages);
 	}
 
+	private String bucketKey(String conversationId) {
+		return DEFAULT_CONVERSATION_BUCKET_PREFIX + Math.floorMod(conversationId.hashCode(), this.indexBuckets);
+	}
+
+	/**
+	 * 兼容升级前直接存放消息列表的数据
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<String> messagesOf(Object value) {
+		if (value instanceof StoredConversation stored) {
+			return stored.messages();
+		}
+		if (value instanceof List<?> legacy) {
+			return (List<String>) legacy;
+		}
+		return List.of();
+	}
+
+	private List<String> serialize(List<Message> messages) {
+		return messages.stream().map(message -> {
+			try {
+				return objectMapper.writeValueAsString(message);
+			}
+			catch (JsonProcessingException e) {
+				throw new RuntimeException("Error serializing message", e);
+			}
+		}).toList();
+	}
+
+	/**
+	 * 以 gets/cas 修改一个索引分片，冲突时重读后重试
+	 * @param indexKey 索引分片
+	 * @param mutation 修改会话 id 列表，返回 false 表示无需写回
+	 */
+	@SuppressWarnings("unchecked")
+	private void updateIndex(String indexKey, Predicate<List<String>> mutation) {
+		for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+			CASValue<Object> current = casGet(indexKey);
+			ArrayList<String> ids = new ArrayList<>();
+			if (current != null && current.getValue() instanceof List<?> stored) {
+				ids.addAll((List<String>) stored);
+			}
+			if (!mutation.test(ids) || casPut(indexKey, current, ids)) {
+				return;
+			}
+		}
+		throw new IllegalStateException("Too many concurrent updates to conversation index " + indexKey);
+	}
+
+	private CASValue<Object> casGet(String key) {
+		return this.memcachedService.casGetter().apply(new MemcachedService.MemcachedServiceCasGetter.Request(key));
+	}
+
+	/**
+	 * 键不存在时用 add 创建，否则以读取时的 cas 值覆盖；其他客户端抢先写入时返回 false
+	 */
+	private boolean casPut(String key, CASValue<Object> current, Object value) {
+		if (current == null) {
+			return Boolean.TRUE.equals(this.memcachedService.adder()
+				.apply(new MemcachedService.MemcachedServiceAdder.Request(key, value, 0)));
+		}
+		return this.memcachedService.casSetter()
+			.apply(new MemcachedService.MemcachedServiceCasSetter.Request(key, current.getCas(), value,
+					0)) == CASResponse.OK;
+	}
+
+	/**
+	 * 一个会话的全部消息及其版本号。版本号与消息在同一个键中一起经 cas 修改，是判断增量能否
+	 * 直接应用的依据；单独存放的版本键只用于廉价地读取版本。
+	 */
+	private record StoredConversation(long version, ArrayList<String> messages) implements Serializable {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+	}
+
+	/**
+	 * 追加与裁剪在读取到的消息列表上完成，只序列化新增的消息；写入以 cas 保护，
+	 * 存储的版本与增量的计算版本不一致时改为整体写入
+	 */
+	private class MemcachedConversationStore implements ConversationStore {
+
+		@Override
+		public long version(String conversationId) {
+			String key = DEFAULT_VERSION_KEY_PREFIX + conversationId;
+			Object version = memcachedService.getter().apply(new MemcachedService.MemcachedServiceGetter.Request(key));
+			return version instanceof Number number ? number.longValue() : 0L;
+		}
+
+		@Override
+		public List<Message> load(String conversationId) {
+			return findByConversationId(conversationId);
+		}
+
+		@Override
+		public long write(String conversationId, ConversationDelta delta, long version) {
+			String key = DEFAULT_KEY_PREFIX + conversationId;
+			for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+				CASValue<Object> current = casGet(key);
+				Object value = current != null ? current.getValue() : null;
+				StoredConversation stored = value instanceof StoredConversation conversation ? conversation : null;
+				ArrayList<String> messages;
+				if (stored != null && stored.version() == version
+						&& delta.kind() == ConversationDelta.Kind.APPEND) {
+					List<String> kept = stored.messages();
+					messages = new ArrayList<>(kept.subList(Math.min(delta.trimmed(), kept.size()), kept.size()));
+					messages.addAll(serialize(delta.appended()));
+				}
+				else {
+					messages = new ArrayList<>(serialize(delta.messages()));
+				}
+				long next = Math.max(stored != null ? stored.version() : 0L, version) + 1;
+				if (casPut(key, current, new StoredConversation(next, messages))) {
+					if (stored == null) {
+						// 新会话或升级前写入的会话，登记到所属的索引分片
+						updateIndex(bucketKey(conversationId),
+								ids -> !ids.contains(conversationId) && ids.add(conversationId));
+					}
+					raiseVersion(conversationId, next);
+					return next;
+				}
+			}
+			throw new IllegalStateException("Too many concurrent updates to conversation " + conversationId);
+		}
+
+		/**
+		 * 版本键只增不减，避免并发写入时较旧的版本覆盖较新的版本
+		 */
+		private void raiseVersion(String conversationId, long next) {
+			String key = DEFAULT_VERSION_KEY_PREFIX + conversationId;
+			for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+				CASValue<Object> current = casGet(key);
+				if (current != null && current.getValue() instanceof Number number && number.longValue() >= next) {
+					return;
+				}
+				if (casPut(key, current, next)) {
+					return;
+				}
+			}
+			// 版本键只是提示，写入失败时下次保存会因版本不一致而整体写入
+			logger.warn("Failed to update version of conversation {}", conversationId);
+		}
+
+	}
+
 }
@@ -18,6 +18,7 @@ package memcached;
 import com.alibaba.cloud.ai.memory.memcached.MemcachedChatMemoryRepository;
 import com.alibaba.cloud.ai.toolcalling.memcached.MemcachedAutoConfiguration;
 import com.alibaba.cloud.ai.toolcalling.memcached.MemcachedService;
+import net.spy.memcached.CASValue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -35,10 +36,16 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
 
 /**
  * Integration test using Testcontainers to automatically manage Memcached test
@@ -56,9 +63,21 @@ class MemcachedChatMemoryRepositoryTest {
 			DockerImageName.parse("memcached:1.6.38"))
 		.withExposedPorts(MEMCACHED_PORT);
 
+	private static final String KEY_PREFIX = "spring_ai_alibaba_chat_memory:";
+
+	private static final String VERSION_KEY_PREFIX = "spring_ai_alibaba_chat_memory_version:";
+
+	/**
+	 * 以纯文本保存的用户消息，读取结果与 {@code new UserMessage("Question 1")} 相同，但与重新序列化的结果不同
+	 */
+	private static final String STORED_HEAD = "\"Question 1\"";
+
 	@Autowired
 	private ChatMemoryRepository chatMemoryRepository;
 
+	@Autowired
+	private MemcachedService memcachedService;
+
 	/**
 	 * Dynamically configure memcached properties
 	 */
@@ -154,6 +173,205 @@ class MemcachedChatMemoryRepositoryTest {
 		assertThat(results).isEmpty();
 	}
 
+	@Test
+	void findConversationIdsAcrossIndexBuckets() {
+		var conversationIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+				UUID.randomUUID().toString());
+		for (var conversationId : conversationIds) {
+			chatMemoryRepository.saveAll(conversationId, List.of(new UserMessage("Hello " + conversationId)));
+			// 再次保存已有会话不会重复登记索引
+			chatMemoryRepository.saveAll(conversationId, List.of(new UserMessage("Hello " + conversationId),
+					new AssistantMessage("Hi " + conversationId)));
+		}
+
+		assertThat(chatMemoryRepository.findConversationIds()).containsAll(conversationIds)
+			.doesNotHaveDuplicates();
+
+		chatMemoryRepository.deleteByConversationId(conversationIds.get(0));
+
+		assertThat(chatMemoryRepository.findConversationIds()).doesNotContain(conversationIds.get(0))
+			.contains(conversationIds.get(1), conversationIds.get(2));
+		assertThat(chatMemoryRepository.findByConversationId(conversationIds.get(1))).hasSize(2);
+	}
+
+	@Test
+	void appendKeepsStoredMessages() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		long version = version(conversationId);
+
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"), new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(messages);
+		assertThat(version(conversationId)).isEqualTo(version + 1);
+	}
+
+	@Test
+	void slidingWindowTrimsAndAppends() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		long version = version(conversationId);
+
+		var window = List.<Message>of(new AssistantMessage("Answer 1"), new UserMessage("Question 2"),
+				new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, window);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(window);
+		assertThat(version(conversationId)).isEqualTo(version + 1);
+	}
+
+	@Test
+	void rewriteReplacesChangedHistory() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+
+		var rewritten = List.<Message>of(new SystemMessage("Summary"), new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, rewritten);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(rewritten);
+	}
+
+	@Test
+	void unchangedSaveWritesNothing() {
+		var conversationId = UUID.randomUUID().toString();
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+		long version = version(conversationId);
+
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(version(conversationId)).isEqualTo(version);
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(messages);
+	}
+
+	@Test
+	void appendKeepsTheStoredHeadUntouched() throws Exception {
+		var conversationId = UUID.randomUUID().toString();
+		chatMemoryRepository.saveAll(conversationId,
+				List.of(new UserMessage("Question 1"), new AssistantMessage("Answer 1")));
+		var stored = storedMessages(conversationId);
+		stored.set(0, STORED_HEAD);
+		store(conversationId, version(conversationId), stored);
+
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(storedMessages(conversationId)).hasSize(3).first().isEqualTo(STORED_HEAD);
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(messages);
+	}
+
+	@Test
+	void versionMismatchRewritesTheWholeConversation() throws Exception {
+		var conversationId = UUID.randomUUID().toString();
+		chatMemoryRepository.saveAll(conversationId,
+				List.of(new UserMessage("Question 1"), new AssistantMessage("Answer 1")));
+		var stored = storedMessages(conversationId);
+		stored.set(0, STORED_HEAD);
+		// 存储的版本领先于版本键，增量不能直接应用
+		store(conversationId, 5, stored);
+
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(storedMessages(conversationId)).hasSize(3).first().isNotEqualTo(STORED_HEAD);
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(messages);
+		assertThat(version(conversationId)).isEqualTo(6);
+	}
+
+	@Test
+	void legacyListIsMigratedOnSave() throws Exception {
+		var source = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(source, history);
+		// 升级前的格式：键中直接存放消息列表，没有版本键，也未登记到索引分片
+		var conversationId = UUID.randomUUID().toString();
+		memcachedService.setter()
+			.apply(new MemcachedService.MemcachedServiceSetter.Request(KEY_PREFIX + conversationId,
+					new ArrayList<>(storedMessages(source)), 0));
+		var repository = new MemcachedChatMemoryRepository(memcachedService);
+
+		assertThat(repository.findByConversationId(conversationId)).isEqualTo(history);
+
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		repository.saveAll(conversationId, messages);
+
+		assertThat(get(KEY_PREFIX + conversationId)).isNotInstanceOf(List.class);
+		assertThat(repository.findByConversationId(conversationId)).isEqualTo(messages);
+		assertThat(version(conversationId)).isEqualTo(1);
+		assertThat(repository.findConversationIds()).contains(conversationId);
+	}
+
+	@Test
+	void concurrentWriteIsRetriedAsRewrite() {
+		var conversationId = UUID.randomUUID().toString();
+		chatMemoryRepository.saveAll(conversationId,
+				List.of(new UserMessage("Question 1"), new AssistantMessage("Answer 1")));
+		var concurrent = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 3"));
+
+		// 第一次 gets 之后另一个客户端抢先写入，随后的 cas 失败并重试
+		var reads = new AtomicInteger();
+		var casGetter = memcachedService.casGetter();
+		var racing = spy(memcachedService);
+		doReturn(memcachedService.new MemcachedServiceCasGetter() {
+			@Override
+			public CASValue<Object> apply(MemcachedService.MemcachedServiceCasGetter.Request request) {
+				CASValue<Object> value = casGetter.apply(request);
+				if (request.key().equals(KEY_PREFIX + conversationId) && reads.getAndIncrement() == 0) {
+					chatMemoryRepository.saveAll(conversationId, concurrent);
+				}
+				return value;
+			}
+		}).when(racing).casGetter();
+
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		new MemcachedChatMemoryRepository(racing).saveAll(conversationId, messages);
+
+		assertThat(reads.get()).isGreaterThanOrEqualTo(2);
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(messages);
+		assertThat(version(conversationId)).isEqualTo(3);
+	}
+
+	private Object get(String key) {
+		return memcachedService.getter().apply(new MemcachedService.MemcachedServiceGetter.Request(key));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> storedMessages(String conversationId) throws Exception {
+		Object stored = get(KEY_PREFIX + conversationId);
+		Method messages = stored.getClass().getDeclaredMethod("messages");
+		messages.setAccessible(true);
+		return new ArrayList<>((List<String>) messages.invoke(stored));
+	}
+
+	/**
+	 * 绕过仓库直接写入存储的会话，版本键保持不变
+	 */
+	private void store(String conversationId, long version, List<String> messages) throws Exception {
+		Object stored = get(KEY_PREFIX + conversationId);
+		Constructor<?> constructor = stored.getClass().getDeclaredConstructor(long.class, ArrayList.class);
+		constructor.setAccessible(true);
+		memcachedService.setter()
+			.apply(new MemcachedService.MemcachedServiceSetter.Request(KEY_PREFIX + conversationId,
+					constructor.newInstance(version, new ArrayList<>(messages)), 0));
+	}
+
+	private long version(String conversationId) {
+		Object version = memcachedService.getter()
+			.apply(new MemcachedService.MemcachedServiceGetter.Request(VERSION_KEY_PREFIX + conversationId));
+		return version instanceof Number number ? number.longValue() : 0L;
+	}
+
 	@Test
 	void clearOverLimit() {
 		var conversationId = UUID.randomUUID().toString();
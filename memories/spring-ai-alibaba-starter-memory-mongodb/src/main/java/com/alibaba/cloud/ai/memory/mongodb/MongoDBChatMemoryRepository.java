@@ -15,13 +15,19 @@
  */
 package com.alibaba.cloud.ai.memory.mongodb;
 
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.ConversationDeltaWriter;
+import com.alibaba.cloud.ai.memory.common.ConversationStore;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.MongoCredential;
 import com.mongodb.ServerAddress;
 import com.mongodb.client.*;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
 import io.micrometer.common.util.StringUtils;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -33,9 +39,9 @@ import org.springframework.util.Assert;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 import static com.mongodb.client.model.Sorts.ascending;
 import static com.mongodb.client.model.Sorts.orderBy;
 
@@ -56,6 +62,14 @@ public class MongoDBChatMemoryRepository implements ChatMemoryRepository, AutoCl
 
 	private static final String TIMESTAMP_FIELD = "timestamp";
 
+	private static final String ID_FIELD = "_id";
+
+	/**
+	 * Messages saved in one batch before deltas shared a timestamp; the driver generates
+	 * increasing ObjectIds within a batch, so {@code _id} restores their insertion order.
+	 */
+	private static final Bson MESSAGE_ORDER = orderBy(ascending(TIMESTAMP_FIELD), ascending(ID_FIELD));
+
 	private final MongoClient mongoClient;
 
 	private final MongoCollection<Document> collection;
@@ -64,8 +78,11 @@ public class MongoDBChatMemoryRepository implements ChatMemoryRepository, AutoCl
 
 	private final String databaseName;
 
+	private final ConversationDeltaWriter writer;
+
 	public MongoDBChatMemoryRepository(MongoClient mongoClient, String databaseName) {
 		this.databaseName = databaseName;
+		this.writer = new ConversationDeltaWriter(new MongoDBConversationStore());
 		this.objectMapper = new ObjectMapper();
 		this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 		try {
@@ -84,7 +101,7 @@ public class MongoDBChatMemoryRepository implements ChatMemoryRepository, AutoCl
 	}
 
 	private void createIndexesIfNotExists() {
-		collection.createIndex(Indexes.ascending(CONVERSATION_ID_FIELD, TIMESTAMP_FIELD));
+		collection.createIndex(Indexes.ascending(CONVERSATION_ID_FIELD, TIMESTAMP_FIELD, ID_FIELD));
 		collection.createIndex(Indexes.ascending(CONVERSATION_ID_FIELD));
 	}
 
@@ -114,7 +131,7 @@ public class MongoDBChatMemoryRepository implements ChatMemoryRepository, AutoCl
 		try {
 			logger.info("Finding messages for conversation: {}", conversationId);
 			Bson filter = eq(CONVERSATION_ID_FIELD, conversationId);
-			FindIterable<Document> documents = collection.find(filter).sort(orderBy(ascending(TIMESTAMP_FIELD)));
+			FindIterable<Document> documents = collection.find(filter).sort(MESSAGE_ORDER);
 
 			List<Message> messages = new ArrayList<>();
 			for (Document doc : documents) {
@@ -138,14 +155,9 @@ public class MongoDBChatMemoryRepository implements ChatMemoryRepository, AutoCl
 		Assert.notNull(messages, "messages cannot be null");
 		Assert.noNullElements(messages, "messages cannot contain null elements");
 		try {
-			deleteByConversationId(conversationId);
-			List<Document> documents = messages.stream()
-				.map(message -> messageToDocument(conversationId, message))
-				.collect(Collectors.toList());
-			if (!documents.isEmpty()) {
-				collection.insertMany(documents);
-				logger.info("Successfully saved {} messages for conversation {}", messages.size(), conversationId);
-			}
+			ConversationDelta delta = writer.save(conversationId, messages);
+			logger.info("Successfully saved {} messages for conversation {} as {}", messages.size(), conversationId,
+					delta);
 		}
 		catch (Exception e) {
 			logger.error("Error saving messages", e);
@@ -159,6 +171,7 @@ public class MongoDBChatMemoryRepository implements ChatMemoryRepository, AutoCl
 		try {
 			Bson filter = eq(CONVERSATION_ID_FIELD, conversationId);
 			collection.deleteMany(filter);
+			writer.forget(conversationId);
 		}
 		catch (Exception e) {
 			throw new RuntimeException("Error deleting messages", e);
@@ -169,7 +182,7 @@ public class MongoDBChatMemoryRepository implements ChatMemoryRepository, AutoCl
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		try {
 			Bson filter = eq(CONVERSATION_ID_FIELD, conversationId);
-			FindIterable<Document> documents = collection.find(filter).sort(orderBy(ascending(TIMESTAMP_FIELD)));
+			FindIterable<Document> documents = collection.find(filter).sort(MESSAGE_ORDER);
 			List<Document> messages = documents.into(new ArrayList<>());
 			if (messages.size() >= maxLimit) {
 				deleteByConversationId(conversationId);
@@ -218,15 +231,91 @@ public class MongoDBChatMemoryRepository implements ChatMemoryRepository, AutoCl
 		}
 	}
 
-	private Document messageToDocument(String conversationId, Message message) {
+	private Document messageToDocument(String conversationId, Message message, long timestamp) {
 		Document doc = new Document();
 		doc.put(CONVERSATION_ID_FIELD, conversationId);
 		doc.put(MESSAGE_TYPE_FIELD, message.getMessageType().toString());
 		doc.put(MESSAGE_TEXT_FIELD, message.getText());
-		doc.put(TIMESTAMP_FIELD, System.currentTimeMillis());
+		doc.put(TIMESTAMP_FIELD, timestamp);
 		return doc;
 	}
 
+	/**
+	 * Applies conversation deltas: trimmed messages are deleted by id and new messages
+	 * are inserted after the newest stored one, so unchanged documents are left alone.
+	 */
+	private class MongoDBConversationStore implements ConversationStore {
+
+		@Override
+		public long version(String conversationId) {
+			Tail tail = tail(conversationId);
+			return ConversationStore.version(tail.size(), tail.lastTimestamp());
+		}
+
+		@Override
+		public List<Message> load(String conversationId) {
+			return findByConversationId(conversationId);
+		}
+
+		@Override
+		public long write(String conversationId, ConversationDelta delta, long version) {
+			Bson filter = eq(CONVERSATION_ID_FIELD, conversationId);
+			if (delta.kind() == ConversationDelta.Kind.REWRITE) {
+				collection.deleteMany(filter);
+				return insert(conversationId, delta.messages(), 0, System.currentTimeMillis());
+			}
+			Tail tail = tail(conversationId);
+			int trimmed = delta.trimmed();
+			if (trimmed > 0) {
+				List<Object> ids = collection.find(filter)
+					.sort(MESSAGE_ORDER)
+					.limit(trimmed)
+					.projection(Projections.include(ID_FIELD))
+					.map(doc -> doc.get(ID_FIELD))
+					.into(new ArrayList<>());
+				if (ids.size() < trimmed) {
+					collection.deleteMany(filter);
+					return insert(conversationId, delta.messages(), 0, System.currentTimeMillis());
+				}
+				collection.deleteMany(in(ID_FIELD, ids));
+			}
+			long size = tail.size() - trimmed;
+			if (delta.appended().isEmpty()) {
+				return ConversationStore.version(size, tail.lastTimestamp());
+			}
+			long next = Math.max(System.currentTimeMillis(), tail.lastTimestamp() + 1);
+			return insert(conversationId, delta.appended(), size, next);
+		}
+
+		private long insert(String conversationId, List<Message> messages, long storedSize, long firstTimestamp) {
+			if (messages.isEmpty()) {
+				return ConversationStore.version(storedSize, 0L);
+			}
+			List<Document> documents = new ArrayList<>(messages.size());
+			for (int i = 0; i < messages.size(); i++) {
+				documents.add(messageToDocument(conversationId, messages.get(i), firstTimestamp + i));
+			}
+			collection.insertMany(documents);
+			return ConversationStore.version(storedSize + messages.size(), firstTimestamp + messages.size() - 1);
+		}
+
+		private Tail tail(String conversationId) {
+			Document tail = collection
+				.aggregate(List.of(Aggregates.match(eq(CONVERSATION_ID_FIELD, conversationId)),
+						Aggregates.group(null, Accumulators.sum("size", 1),
+								Accumulators.max("lastTimestamp", "$" + TIMESTAMP_FIELD))))
+				.first();
+			if (tail == null || !(tail.get("lastTimestamp") instanceof Number lastTimestamp)) {
+				return new Tail(0, 0L);
+			}
+			return new Tail(((Number) tail.get("size")).longValue(), lastTimestamp.longValue());
+		}
+
+	}
+
+	private record Tail(long size, long lastTimestamp) {
+	}
+
 	public static class MongoDBBuilder {
 
 		private String host = "127.0.0.1";
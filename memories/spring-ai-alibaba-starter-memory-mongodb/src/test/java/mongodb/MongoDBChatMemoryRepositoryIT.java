@@ -16,6 +16,13 @@
 package mongodb;
 
 import com.alibaba.cloud.ai.memory.mongodb.MongoDBChatMemoryRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -32,9 +39,12 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Sorts.ascending;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -51,6 +61,8 @@ class MongoDBChatMemoryRepositoryIT {
 	private static final MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:6.0.24"))
 		.withExposedPorts(MongoDB_PORT);
 
+	private static MongoClient mongoClient;
+
 	@Autowired
 	private ChatMemoryRepository chatMemoryRepository;
 
@@ -63,6 +75,16 @@ class MongoDBChatMemoryRepositoryIT {
 		registry.add("spring.mongodb.port", () -> mongoDBContainer.getMappedPort(MongoDB_PORT));
 	}
 
+	@BeforeAll
+	static void connect() {
+		mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+	}
+
+	@AfterAll
+	static void disconnect() {
+		mongoClient.close();
+	}
+
 	@Test
 	void correctChatMemoryRepositoryInstance() {
 		assertThat(chatMemoryRepository).isInstanceOf(MongoDBChatMemoryRepository.class);
@@ -176,6 +198,93 @@ class MongoDBChatMemoryRepositoryIT {
 		assertThat(savedMessages.get(2).getText()).isEqualTo(messages.get(4).getText());
 	}
 
+	@Test
+	void appendKeepsStoredDocuments() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		var storedIds = documentIds(conversationId);
+
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"), new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(messages);
+		assertThat(documentIds(conversationId)).hasSize(4).startsWith(storedIds.toArray(Object[]::new));
+	}
+
+	@Test
+	void slidingWindowDeletesOldestDocuments() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		var storedIds = documentIds(conversationId);
+
+		var window = List.<Message>of(new AssistantMessage("Answer 1"), new UserMessage("Question 2"),
+				new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, window);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(window);
+		assertThat(documentIds(conversationId)).hasSize(3).startsWith(storedIds.get(1), storedIds.get(2));
+	}
+
+	@Test
+	void rewriteReplacesChangedHistory() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+
+		var rewritten = List.<Message>of(new SystemMessage("Summary"), new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, rewritten);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(rewritten);
+	}
+
+	@Test
+	void unchangedSaveKeepsStoredDocuments() {
+		var conversationId = UUID.randomUUID().toString();
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+		var storedIds = documentIds(conversationId);
+
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(documentIds(conversationId)).isEqualTo(storedIds);
+	}
+
+	@Test
+	void slidingWindowOverLegacyBatchSharingOneTimestamp() {
+		var conversationId = UUID.randomUUID().toString();
+		// documents written by the old batch insert share a timestamp and sort by _id
+		long timestamp = System.currentTimeMillis();
+		var legacy = new ArrayList<Document>();
+		for (String text : List.of("Question 1", "Answer 1", "Question 2")) {
+			legacy.add(new Document("_id", new ObjectId()).append("conversationId", conversationId)
+				.append("messageType", text.startsWith("Question") ? "USER" : "ASSISTANT")
+				.append("messageText", text)
+				.append("timestamp", timestamp));
+		}
+		collection().insertMany(legacy);
+
+		var window = List.<Message>of(new AssistantMessage("Answer 1"), new UserMessage("Question 2"),
+				new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, window);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).isEqualTo(window);
+	}
+
+	private List<Object> documentIds(String conversationId) {
+		return collection().find(eq("conversationId", conversationId))
+			.sort(ascending("timestamp", "_id"))
+			.map(document -> document.get("_id"))
+			.into(new ArrayList<>());
+	}
+
+	private static MongoCollection<Document> collection() {
+		return mongoClient.getDatabase("spring_ai").getCollection("chat_memory");
+	}
+
 	@SpringBootConfiguration
 	static class TestConfiguration {
 
@@ -15,6 +15,8 @@
  */
 package com.alibaba.cloud.ai.memory.redis;
 
+import com.alibaba.cloud.ai.memory.redis.serializer.JacksonMessageCodec;
+import com.alibaba.cloud.ai.memory.redis.serializer.MessageCodec;
 import com.alibaba.cloud.ai.memory.redis.serializer.MessageDeserializer;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
@@ -28,6 +30,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.Message;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * Base class for Redis-based chat memory repositories
  *
@@ -40,9 +45,51 @@ public abstract class BaseRedisChatMemoryRepository implements ChatMemoryReposit
 
 	protected static final String DEFAULT_KEY_PREFIX = "spring_ai_alibaba_chat_memory:";
 
+	/**
+	 * Prefix of the per-conversation write counter used to detect changes made by other
+	 * instances
+	 */
+	protected static final String DEFAULT_VERSION_KEY_PREFIX = "spring_ai_alibaba_chat_memory_version:";
+
+	/**
+	 * Sorted set of conversation ids scored by their last write time in milliseconds
+	 */
+	protected static final String DEFAULT_INDEX_KEY = "spring_ai_alibaba_chat_memory_index";
+
+	/**
+	 * Number of entries requested per SCAN/ZSCAN round trip
+	 */
+	protected static final int DEFAULT_SCAN_COUNT = 1000;
+
 	protected final ObjectMapper objectMapper;
 
+	private final boolean hashTags;
+
+	private final Duration ttl;
+
+	private final MessageCodec codec;
+
+	private volatile boolean indexChecked;
+
 	public BaseRedisChatMemoryRepository() {
+		this(false, null);
+	}
+
+	public BaseRedisChatMemoryRepository(boolean hashTags, Duration ttl) {
+		this(hashTags, ttl, null);
+	}
+
+	/**
+	 * @param hashTags wrap the conversation id in a cluster hash tag so that all keys of
+	 * a conversation land in the same slot
+	 * @param ttl expiry applied to a conversation on every write, {@code null} to keep
+	 * conversations until deleted
+	 * @param codec encoding of stored messages, {@code null} for JSON
+	 */
+	public BaseRedisChatMemoryRepository(boolean hashTags, Duration ttl, MessageCodec codec) {
+		this.hashTags = hashTags;
+		this.ttl = (ttl != null && !ttl.isZero() && !ttl.isNegative()) ? ttl : null;
+		this.codec = (codec != null) ? codec : JacksonMessageCodec.json();
 		this.objectMapper = JsonMapper.builder()
 			.configure(MapperFeature.AUTO_DETECT_GETTERS, false)
 			.configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
@@ -53,6 +100,113 @@ public abstract class BaseRedisChatMemoryRepository implements ChatMemoryReposit
 		this.objectMapper.registerModule(module);
 	}
 
+	/**
+	 * Page through conversation ids ordered by last activity, most recent first. Unlike
+	 * {@link #findConversationIds()} the result is stable enough for pagination in a UI.
+	 * @param offset number of conversations to skip
+	 * @param limit maximum number of ids to return
+	 * @return conversation ids
+	 */
+	public abstract List<String> findConversationIds(long offset, int limit);
+
+	/**
+	 * Add every conversation stored under {@link #DEFAULT_KEY_PREFIX} to the index with
+	 * SCAN, node by node on a cluster. Runs automatically the first time a repository finds no index, see
+	 * {@link #ensureIndexed()}.
+	 * @return number of conversations found
+	 */
+	public abstract long rebuildIndex();
+
+	/**
+	 * Whether the conversation index key exists.
+	 */
+	protected abstract boolean indexExists();
+
+	/**
+	 * Rebuild the index once per repository when its key is missing, so that
+	 * conversations written before the index existed are listed. Called before the first
+	 * write as well, which would otherwise create the key without the older ids. A failed
+	 * rebuild is logged and not retried, so it never blocks reads or writes; call
+	 * {@link #rebuildIndex()} to retry it.
+	 */
+	protected void ensureIndexed() {
+		if (this.indexChecked) {
+			return;
+		}
+		synchronized (this) {
+			if (!this.indexChecked) {
+				try {
+					if (!indexExists()) {
+						long count = rebuildIndex();
+						logger.info("Conversation index was missing, rebuilt it with {} conversation(s)", count);
+					}
+				}
+				catch (RuntimeException e) {
+					logger.warn("Failed to rebuild the conversation index, older conversations may not be listed",
+							e);
+				}
+				finally {
+					this.indexChecked = true;
+				}
+			}
+		}
+	}
+
+	protected String messagesKey(String conversationId) {
+		return DEFAULT_KEY_PREFIX + slotOf(conversationId);
+	}
+
+	protected String versionKey(String conversationId) {
+		return DEFAULT_VERSION_KEY_PREFIX + slotOf(conversationId);
+	}
+
+	/**
+	 * Reverse of {@link #messagesKey(String)}, used when scanning keys.
+	 */
+	protected String conversationIdOf(String messagesKey) {
+		String id = messagesKey.substring(DEFAULT_KEY_PREFIX.length());
+		if (id.length() > 1 && id.charAt(0) == '{' && id.charAt(id.length() - 1) == '}') {
+			return id.substring(1, id.length() - 1);
+		}
+		return id;
+	}
+
+	/**
+	 * Expiry applied to a conversation on every write, or {@code null}.
+	 */
+	protected Duration ttl() {
+		return this.ttl;
+	}
+
+	/**
+	 * Index entries scored below this value belong to conversations whose keys already
+	 * expired.
+	 */
+	protected double expiredBefore() {
+		return (this.ttl != null) ? System.currentTimeMillis() - this.ttl.toMillis() : Double.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * Whether all keys of a conversation can be written by one script. Scripts may only
+	 * touch keys of a single slot, which a cluster guarantees only with hash tags.
+	 * @param cluster whether the client talks to a Redis cluster
+	 */
+	protected boolean scriptable(boolean cluster) {
+		return !cluster || this.hashTags;
+	}
+
+	private String slotOf(String conversationId) {
+		return this.hashTags ? "{" + conversationId + "}" : conversationId;
+	}
+
+	protected byte[] encodeMessage(Message message) {
+		return this.codec.encode(message);
+	}
+
+	protected Message decodeMessage(byte[] bytes) {
+		return this.codec.decode(bytes);
+	}
+
 	protected Message deserializeMessage(String messageStr) {
 		try {
 			return objectMapper.readValue(messageStr, Message.class);
@@ -15,7 +15,9 @@
  */
 package com.alibaba.cloud.ai.memory.redis;
 
+import com.alibaba.cloud.ai.memory.common.ConversationDeltaWriter;
 import com.alibaba.cloud.ai.memory.redis.builder.RedisChatMemoryBuilder;
+import com.alibaba.cloud.ai.memory.redis.serializer.MessageCodec;
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.SocketOptions;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
@@ -28,16 +30,22 @@ import org.springframework.data.redis.connection.*;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -55,11 +63,27 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
 
 	private final RedisTemplate<String, String> redisTemplate;
 
-	private LettuceRedisChatMemoryRepository(RedisConnectionFactory connectionFactory) {
-		super();
+	private final RedisTemplate<String, byte[]> binaryTemplate;
+
+	private final RedisTemplateConversationStore store;
+
+	private final ConversationDeltaWriter writer;
+
+	private final ReactiveRedisChatMemoryOperations reactive;
+
+	private LettuceRedisChatMemoryRepository(RedisConnectionFactory connectionFactory, boolean hashTags, Duration ttl,
+			MessageCodec codec) {
+		super(hashTags, ttl, codec);
 		Assert.notNull(connectionFactory, "ConnectionFactory cannot be null");
 		this.connectionFactory = connectionFactory;
 		this.redisTemplate = createRedisTemplate(connectionFactory);
+		this.binaryTemplate = createBinaryTemplate(connectionFactory);
+		boolean cluster = connectionFactory instanceof LettuceConnectionFactory factory
+				&& factory.getClusterConfiguration() != null;
+		this.store = new RedisTemplateConversationStore(this, this.redisTemplate, this.binaryTemplate, cluster);
+		this.writer = new ConversationDeltaWriter(this.store);
+		this.reactive = (connectionFactory instanceof ReactiveRedisConnectionFactory reactiveFactory)
+				? new ReactiveRedisChatMemoryOperations(this, this.writer, reactiveFactory, cluster) : null;
 	}
 
 	private RedisTemplate<String, String> createRedisTemplate(RedisConnectionFactory connectionFactory) {
@@ -70,6 +94,24 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
 		return template;
 	}
 
+	private RedisTemplate<String, byte[]> createBinaryTemplate(RedisConnectionFactory connectionFactory) {
+		RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+		template.setConnectionFactory(connectionFactory);
+		template.setKeySerializer(new StringRedisSerializer());
+		template.setValueSerializer(RedisSerializer.byteArray());
+		template.afterPropertiesSet();
+		return template;
+	}
+
+	/**
+	 * Non-blocking view of this repository over the asynchronous Lettuce API.
+	 * @return the reactive operations
+	 */
+	public ReactiveRedisChatMemoryOperations reactive() {
+		Assert.state(reactive != null, "ConnectionFactory does not support reactive access");
+		return reactive;
+	}
+
 	public static RedisBuilder builder() {
 		return new RedisBuilder();
 	}
@@ -112,7 +154,7 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
 			}
 			lettuceConnectionFactory.setShareNativeConnection(false);
 			lettuceConnectionFactory.afterPropertiesSet();
-			return new LettuceRedisChatMemoryRepository(lettuceConnectionFactory);
+			return new LettuceRedisChatMemoryRepository(lettuceConnectionFactory, hashTags, ttl, codec);
 		}
 
 		private LettuceClientConfiguration applyConfiguration() {
@@ -170,19 +212,51 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
 
 	@Override
 	public List<String> findConversationIds() {
-		Set<String> keys = redisTemplate.keys(DEFAULT_KEY_PREFIX + "*");
-		return keys.stream().map(key -> key.substring(DEFAULT_KEY_PREFIX.length())).collect(Collectors.toList());
+		ensureIndexed();
+		pruneIndex();
+		List<String> conversationIds = new ArrayList<>();
+		ScanOptions options = ScanOptions.scanOptions().count(DEFAULT_SCAN_COUNT).build();
+		try (Cursor<ZSetOperations.TypedTuple<String>> cursor = redisTemplate.opsForZSet()
+			.scan(DEFAULT_INDEX_KEY, options)) {
+			cursor.forEachRemaining(tuple -> conversationIds.add(tuple.getValue()));
+		}
+		return conversationIds;
+	}
+
+	@Override
+	public List<String> findConversationIds(long offset, int limit) {
+		Assert.isTrue(offset >= 0 && limit > 0, "offset cannot be negative and limit must be positive");
+		ensureIndexed();
+		pruneIndex();
+		Set<String> page = redisTemplate.opsForZSet().reverseRange(DEFAULT_INDEX_KEY, offset, offset + limit - 1);
+		return page != null ? new ArrayList<>(page) : List.of();
+	}
+
+	@Override
+	public long rebuildIndex() {
+		return store.rebuildIndex();
+	}
+
+	@Override
+	protected boolean indexExists() {
+		return Boolean.TRUE.equals(redisTemplate.hasKey(DEFAULT_INDEX_KEY));
+	}
+
+	private void pruneIndex() {
+		if (ttl() != null) {
+			redisTemplate.opsForZSet().removeRangeByScore(DEFAULT_INDEX_KEY, Double.NEGATIVE_INFINITY, expiredBefore());
+		}
 	}
 
 	@Override
 	public List<Message> findByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
-		String key = DEFAULT_KEY_PREFIX + conversationId;
-		List<String> messageStrings = redisTemplate.opsForList().range(key, 0, -1);
-		if (CollectionUtils.isEmpty(messageStrings)) {
+		String key = messagesKey(conversationId);
+		List<byte[]> encoded = binaryTemplate.opsForList().range(key, 0, -1);
+		if (CollectionUtils.isEmpty(encoded)) {
 			return Collections.emptyList();
 		}
-		return messageStrings.stream().map(this::deserializeMessage).collect(Collectors.toList());
+		return encoded.stream().map(this::decodeMessage).filter(Objects::nonNull).collect(Collectors.toList());
 	}
 
 	@Override
@@ -190,24 +264,16 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		Assert.notNull(messages, "messages cannot be null");
 		Assert.noNullElements(messages, "messages cannot contain null elements");
-		String key = DEFAULT_KEY_PREFIX + conversationId;
-		List<String> messageJsons = messages.stream().map(this::serializeMessage).toList();
-		try (RedisConnection connection = redisTemplate.getConnectionFactory().getConnection()) {
-			connection.keyCommands().del(key.getBytes());
-			if (!messageJsons.isEmpty()) {
-				byte[][] values = new byte[messageJsons.size()][];
-				for (int i = 0; i < messageJsons.size(); i++) {
-					values[i] = messageJsons.get(i).getBytes();
-				}
-				connection.listCommands().rPush(key.getBytes(), values);
-			}
-		}
+		ensureIndexed();
+		writer.save(conversationId, messages);
 	}
 
 	@Override
 	public void deleteByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
-		redisTemplate.delete(DEFAULT_KEY_PREFIX + conversationId);
+		redisTemplate.delete(List.of(messagesKey(conversationId), versionKey(conversationId)));
+		redisTemplate.opsForZSet().remove(DEFAULT_INDEX_KEY, conversationId);
+		writer.forget(conversationId);
 	}
 
 	/**
@@ -218,12 +284,7 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
 	 */
 	public void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
-		String key = DEFAULT_KEY_PREFIX + conversationId;
-		Long size = redisTemplate.opsForList().size(key);
-		if (size < maxLimit) {
-			return;
-		}
-		redisTemplate.opsForList().trim(key, deleteSize, -1);
+		store.clearOverLimit(conversationId, maxLimit, deleteSize);
 	}
 
 	@Override
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis;
+
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.ConversationDeltaWriter;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Non-blocking access to the conversations of a {@link LettuceRedisChatMemoryRepository}
+ * over the asynchronous Lettuce API, for callers running on an event loop.
+ * <p>
+ * Reads and writes use the same keys, codec and scripts as the blocking repository and
+ * can be mixed freely with it. {@link #append(String, List)} adds messages without
+ * reading the history back; the blocking repository notices the bumped version on its
+ * next save.
+ *
+ * @since 1.1.0
+ */
+public class ReactiveRedisChatMemoryOperations {
+
+	private static final RedisScript<Long> SAVE = new DefaultRedisScript<>(RedisChatMemoryScripts.SAVE, Long.class);
+
+	private final BaseRedisChatMemoryRepository repository;
+
+	private final ConversationDeltaWriter writer;
+
+	private final ReactiveRedisTemplate<String, byte[]> template;
+
+	private final boolean cluster;
+
+	ReactiveRedisChatMemoryOperations(BaseRedisChatMemoryRepository repository, ConversationDeltaWriter writer,
+			ReactiveRedisConnectionFactory connectionFactory, boolean cluster) {
+		this.repository = repository;
+		this.writer = writer;
+		this.template = new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext
+			.<String, byte[]>newSerializationContext(new StringRedisSerializer())
+			.value(RedisSerializer.byteArray())
+			.build());
+		this.cluster = cluster;
+	}
+
+	/**
+	 * Read the messages of a conversation, oldest first.
+	 * @param conversationId the conversation id
+	 * @return the messages, empty if the conversation does not exist
+	 */
+	public Mono<List<Message>> findByConversationId(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		return this.template.opsForList()
+			.range(this.repository.messagesKey(conversationId), 0, -1)
+			.mapNotNull(this.repository::decodeMessage)
+			.collectList();
+	}
+
+	/**
+	 * Page through conversation ids ordered by last activity, most recent first.
+	 * @param offset number of conversations to skip
+	 * @param limit maximum number of ids to return
+	 * @return conversation ids
+	 */
+	public Flux<String> findConversationIds(long offset, int limit) {
+		Assert.isTrue(offset >= 0 && limit > 0, "offset cannot be negative and limit must be positive");
+		return this.template.opsForZSet()
+			.reverseRange(BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY,
+					Range.closed(offset, offset + limit - 1))
+			.map(id -> new String(id, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Append messages to the end of a conversation.
+	 * @param conversationId the conversation id
+	 * @param messages the messages to append
+	 * @return the version of the conversation after the write
+	 */
+	public Mono<Long> append(String conversationId, List<Message> messages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.notNull(messages, "messages cannot be null");
+		Assert.noNullElements(messages, "messages cannot contain null elements");
+		String key = this.repository.messagesKey(conversationId);
+		String versionKey = this.repository.versionKey(conversationId);
+		if (this.repository.scriptable(this.cluster)) {
+			List<String> keys = this.cluster ? List.of(key, versionKey)
+					: List.of(key, versionKey, BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY);
+			Object[] args = RedisChatMemoryScripts.saveArgs(this.repository, conversationId,
+					ConversationDelta.append(messages), RedisChatMemoryScripts.ANY_VERSION);
+			Mono<Long> next = this.template.execute(SAVE, keys, Arrays.asList(args)).next();
+			return this.cluster ? next.flatMap(version -> touchIndex(conversationId).thenReturn(version)) : next;
+		}
+		List<byte[]> encoded = messages.stream().map(this.repository::encodeMessage).toList();
+		Mono<Long> pushed = encoded.isEmpty() ? Mono.just(0L) : this.template.opsForList().rightPushAll(key, encoded);
+		return pushed.then(this.template.opsForValue().increment(versionKey)).flatMap(version -> {
+			Duration ttl = this.repository.ttl();
+			Mono<Boolean> expired = (ttl != null)
+					? this.template.expire(key, ttl).then(this.template.expire(versionKey, ttl)) : Mono.just(true);
+			return expired.then(touchIndex(conversationId)).thenReturn(version);
+		});
+	}
+
+	/**
+	 * Delete a conversation and remove it from the index.
+	 * @param conversationId the conversation id
+	 * @return completion
+	 */
+	public Mono<Void> deleteByConversationId(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		byte[] id = conversationId.getBytes(StandardCharsets.UTF_8);
+		return this.template
+			.delete(this.repository.messagesKey(conversationId), this.repository.versionKey(conversationId))
+			.then(this.template.opsForZSet().remove(BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY, id))
+			.doOnSuccess(removed -> this.writer.forget(conversationId))
+			.then();
+	}
+
+	private Mono<Boolean> touchIndex(String conversationId) {
+		return this.template.opsForZSet()
+			.add(BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY, conversationId.getBytes(StandardCharsets.UTF_8),
+					System.currentTimeMillis());
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis;
+
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Lua scripts that apply a write to a conversation in one round trip, atomically with
+ * respect to other clients. Arguments are passed as raw bytes so that binary encoded
+ * messages reach the list unchanged.
+ * <p>
+ * A script may only touch keys of one cluster slot, so the repositories use them when
+ * Redis runs standalone, or in a cluster with hash tags enabled. The activity index is
+ * only passed to the script in standalone mode; in a cluster it lives in its own slot
+ * and is updated with a separate command.
+ *
+ * @since 1.1.0
+ */
+final class RedisChatMemoryScripts {
+
+	/**
+	 * Returned by {@link #SAVE} instead of a version when the stored version is not the
+	 * one the delta was computed against; nothing is written then.
+	 */
+	static final long VERSION_CONFLICT = -1L;
+
+	/**
+	 * Expected version that skips the check, for rewrites and plain appends.
+	 */
+	static final long ANY_VERSION = -1L;
+
+	/**
+	 * KEYS: messages, version, [index]. ARGV: trimmed (-1 to rewrite), ttl millis (0 for
+	 * none), now millis, conversation id, expected version (-1 for any), messages...
+	 * Returns the new version, or {@link #VERSION_CONFLICT}.
+	 */
+	static final String SAVE = """
+			local trimmed = tonumber(ARGV[1])
+			local expected = tonumber(ARGV[5])
+			if expected >= 0 and tonumber(redis.call('GET', KEYS[2]) or '0') ~= expected then
+				return -1
+			end
+			if trimmed < 0 then
+				redis.call('DEL', KEYS[1])
+			elseif trimmed > 0 then
+				redis.call('LTRIM', KEYS[1], trimmed, -1)
+			end
+			for i = 6, #ARGV, 1000 do
+				redis.call('RPUSH', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))
+			end
+			local version = redis.call('INCR', KEYS[2])
+			local ttl = tonumber(ARGV[2])
+			if ttl > 0 then
+				redis.call('PEXPIRE', KEYS[1], ttl)
+				redis.call('PEXPIRE', KEYS[2], ttl)
+			end
+			if #KEYS > 2 then
+				redis.call('ZADD', KEYS[3], ARGV[3], ARGV[4])
+			end
+			return version
+			""";
+
+	/**
+	 * KEYS: messages, version. ARGV: max size, number of messages to drop. Returns the
+	 * new version, or 0 if the list was below the limit.
+	 */
+	static final String CLEAR_OVER_LIMIT = """
+			if redis.call('LLEN', KEYS[1]) < tonumber(ARGV[1]) then
+				return 0
+			end
+			redis.call('LTRIM', KEYS[1], ARGV[2], -1)
+			return redis.call('INCR', KEYS[2])
+			""";
+
+	private RedisChatMemoryScripts() {
+	}
+
+	/**
+	 * Arguments of {@link #SAVE} for a delta.
+	 * @param expectedVersion version the delta was computed against, checked before a
+	 * trim or append is applied; {@link #ANY_VERSION} to skip the check
+	 */
+	static Object[] saveArgs(BaseRedisChatMemoryRepository repository, String conversationId,
+			ConversationDelta delta, long expectedVersion) {
+		List<byte[]> messages = delta.appended().stream().map(repository::encodeMessage).toList();
+		boolean rewrite = delta.kind() == ConversationDelta.Kind.REWRITE;
+		Object[] args = new Object[5 + messages.size()];
+		args[0] = arg(rewrite ? -1 : delta.trimmed());
+		args[1] = arg(repository.ttl() != null ? repository.ttl().toMillis() : 0);
+		args[2] = arg(System.currentTimeMillis());
+		args[3] = conversationId.getBytes(StandardCharsets.UTF_8);
+		args[4] = arg(rewrite ? ANY_VERSION : Math.max(expectedVersion, ANY_VERSION));
+		for (int i = 0; i < messages.size(); i++) {
+			args[5 + i] = messages.get(i);
+		}
+		return args;
+	}
+
+	static byte[] arg(long value) {
+		return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis;
+
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.ConversationStore;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link ConversationStore} over a Redis list per conversation, shared by the Jedis and
+ * Lettuce repositories. The version is a counter kept next to the list and bumped by
+ * every write; each write also refreshes the conversation in the activity index and
+ * re-arms the expiry.
+ * <p>
+ * Where the keys of a conversation share a slot, a write is a single
+ * {@link RedisChatMemoryScripts#SAVE} call, which only trims and appends if the version
+ * is still the one the delta was computed against and otherwise rewrites the history.
+ * Elsewhere it falls back to one command per step.
+ *
+ * @since 1.1.0
+ */
+class RedisTemplateConversationStore implements ConversationStore {
+
+	private static final RedisScript<Long> SAVE = new DefaultRedisScript<>(RedisChatMemoryScripts.SAVE, Long.class);
+
+	private static final RedisScript<Long> CLEAR_OVER_LIMIT = new DefaultRedisScript<>(
+			RedisChatMemoryScripts.CLEAR_OVER_LIMIT, Long.class);
+
+	private final BaseRedisChatMemoryRepository repository;
+
+	private final RedisTemplate<String, String> redisTemplate;
+
+	private final RedisTemplate<String, byte[]> binaryTemplate;
+
+	private final boolean cluster;
+
+	/**
+	 * @param redisTemplate template for the version counter and the index
+	 * @param binaryTemplate template for the message lists and scripts
+	 * @param cluster whether the connection factory talks to a Redis cluster
+	 */
+	RedisTemplateConversationStore(BaseRedisChatMemoryRepository repository,
+			RedisTemplate<String, String> redisTemplate, RedisTemplate<String, byte[]> binaryTemplate,
+			boolean cluster) {
+		this.repository = repository;
+		this.redisTemplate = redisTemplate;
+		this.binaryTemplate = binaryTemplate;
+		this.cluster = cluster;
+	}
+
+	@Override
+	public long version(String conversationId) {
+		String version = this.redisTemplate.opsForValue().get(this.repository.versionKey(conversationId));
+		return version != null ? Long.parseLong(version) : 0L;
+	}
+
+	@Override
+	public List<Message> load(String conversationId) {
+		return this.repository.findByConversationId(conversationId);
+	}
+
+	@Override
+	public long write(String conversationId, ConversationDelta delta, long version) {
+		String key = this.repository.messagesKey(conversationId);
+		String versionKey = this.repository.versionKey(conversationId);
+		if (this.repository.scriptable(this.cluster)) {
+			List<String> keys = this.cluster ? List.of(key, versionKey)
+					: List.of(key, versionKey, BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY);
+			Long next = this.binaryTemplate.execute(SAVE, keys,
+					RedisChatMemoryScripts.saveArgs(this.repository, conversationId, delta, version));
+			if (next != null && next == RedisChatMemoryScripts.VERSION_CONFLICT) {
+				// another writer got in after the delta was computed, replace the history
+				ConversationDelta rewrite = ConversationDelta.rewrite(delta.messages());
+				next = this.binaryTemplate.execute(SAVE, keys, RedisChatMemoryScripts.saveArgs(this.repository,
+						conversationId, rewrite, RedisChatMemoryScripts.ANY_VERSION));
+			}
+			if (this.cluster) {
+				touchIndex(conversationId);
+			}
+			return next != null ? next : ConversationStore.UNVERSIONED;
+		}
+		if (delta.kind() == ConversationDelta.Kind.REWRITE) {
+			this.binaryTemplate.delete(key);
+		}
+		else if (delta.trimmed() > 0) {
+			this.binaryTemplate.opsForList().trim(key, delta.trimmed(), -1);
+		}
+		List<Message> appended = delta.appended();
+		if (!appended.isEmpty()) {
+			this.binaryTemplate.opsForList()
+				.rightPushAll(key, appended.stream().map(this.repository::encodeMessage).toList());
+		}
+		Long next = this.redisTemplate.opsForValue().increment(versionKey);
+		Duration ttl = this.repository.ttl();
+		if (ttl != null) {
+			this.redisTemplate.expire(key, ttl);
+			this.redisTemplate.expire(versionKey, ttl);
+		}
+		touchIndex(conversationId);
+		return next != null ? next : ConversationStore.UNVERSIONED;
+	}
+
+	/**
+	 * Drop the oldest {@code deleteSize} messages once a conversation holds
+	 * {@code maxLimit} or more.
+	 */
+	void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
+		String key = this.repository.messagesKey(conversationId);
+		String versionKey = this.repository.versionKey(conversationId);
+		if (this.repository.scriptable(this.cluster)) {
+			this.binaryTemplate.execute(CLEAR_OVER_LIMIT, List.of(key, versionKey),
+					RedisChatMemoryScripts.arg(maxLimit), RedisChatMemoryScripts.arg(deleteSize));
+			return;
+		}
+		Long size = this.binaryTemplate.opsForList().size(key);
+		if (size == null || size < maxLimit) {
+			return;
+		}
+		this.binaryTemplate.opsForList().trim(key, deleteSize, -1);
+		this.redisTemplate.opsForValue().increment(versionKey);
+	}
+
+	/**
+	 * Add every stored conversation to the index. Cluster connections reject a keyspace
+	 * SCAN, so there each master is scanned on its own.
+	 * @return number of conversations found
+	 */
+	long rebuildIndex() {
+		ScanOptions options = ScanOptions.scanOptions()
+			.match(BaseRedisChatMemoryRepository.DEFAULT_KEY_PREFIX + "*")
+			.count(BaseRedisChatMemoryRepository.DEFAULT_SCAN_COUNT)
+			.build();
+		long now = System.currentTimeMillis();
+		Long count = this.redisTemplate.execute((RedisCallback<Long>) connection -> {
+			if (!(connection instanceof RedisClusterConnection clusterConnection)) {
+				try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+					return index(cursor, now);
+				}
+			}
+			long found = 0;
+			for (RedisClusterNode node : clusterConnection.clusterGetNodes()) {
+				if (node.isMaster()) {
+					try (Cursor<byte[]> cursor = clusterConnection.scan(node, options)) {
+						found += index(cursor, now);
+					}
+				}
+			}
+			return found;
+		});
+		return count != null ? count : 0L;
+	}
+
+	private long index(Cursor<byte[]> keys, long now) {
+		long count = 0;
+		while (keys.hasNext()) {
+			String key = new String(keys.next(), StandardCharsets.UTF_8);
+			this.redisTemplate.opsForZSet()
+				.addIfAbsent(BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY, this.repository.conversationIdOf(key),
+						now);
+			count++;
+		}
+		return count;
+	}
+
+	private void touchIndex(String conversationId) {
+		this.redisTemplate.opsForZSet()
+			.add(BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY, conversationId, System.currentTimeMillis());
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis;
+
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.ConversationStore;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RList;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.ai.chat.messages.Message;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link ConversationStore} over a Redisson list per conversation. The version is an
+ * atomic counter kept next to the list and bumped by every write; each write also
+ * refreshes the conversation in the activity index and re-arms the expiry.
+ * <p>
+ * Where the keys of a conversation share a slot, a write is a single
+ * {@link RedisChatMemoryScripts#SAVE} call, which only trims and appends if the version
+ * is still the one the delta was computed against and otherwise rewrites the history.
+ * Elsewhere it falls back to one command per step.
+ *
+ * @since 1.1.0
+ */
+class RedissonConversationStore implements ConversationStore {
+
+	private final BaseRedisChatMemoryRepository repository;
+
+	private final RedissonClient redissonClient;
+
+	private final boolean cluster;
+
+	RedissonConversationStore(BaseRedisChatMemoryRepository repository, RedissonClient redissonClient) {
+		this.repository = repository;
+		this.redissonClient = redissonClient;
+		this.cluster = redissonClient.getConfig().isClusterConfig();
+	}
+
+	@Override
+	public long version(String conversationId) {
+		return versionOf(conversationId).get();
+	}
+
+	@Override
+	public List<Message> load(String conversationId) {
+		return this.repository.findByConversationId(conversationId);
+	}
+
+	@Override
+	public long write(String conversationId, ConversationDelta delta, long version) {
+		String key = this.repository.messagesKey(conversationId);
+		String versionKey = this.repository.versionKey(conversationId);
+		if (this.repository.scriptable(this.cluster)) {
+			List<Object> keys = this.cluster ? List.of(key, versionKey)
+					: List.of(key, versionKey, BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY);
+			Long next = script().eval(key, RScript.Mode.READ_WRITE, RedisChatMemoryScripts.SAVE,
+					RScript.ReturnType.INTEGER, keys,
+					RedisChatMemoryScripts.saveArgs(this.repository, conversationId, delta, version));
+			if (next != null && next == RedisChatMemoryScripts.VERSION_CONFLICT) {
+				// another writer got in after the delta was computed, replace the history
+				ConversationDelta rewrite = ConversationDelta.rewrite(delta.messages());
+				next = script().eval(key, RScript.Mode.READ_WRITE, RedisChatMemoryScripts.SAVE,
+						RScript.ReturnType.INTEGER, keys, RedisChatMemoryScripts.saveArgs(this.repository,
+								conversationId, rewrite, RedisChatMemoryScripts.ANY_VERSION));
+			}
+			if (this.cluster) {
+				touchIndex(conversationId);
+			}
+			return next != null ? next : ConversationStore.UNVERSIONED;
+		}
+		RList<byte[]> redisList = listOf(key);
+		if (delta.kind() == ConversationDelta.Kind.REWRITE) {
+			redisList.delete();
+		}
+		else if (delta.trimmed() > 0) {
+			redisList.trim(delta.trimmed(), -1);
+		}
+		List<Message> appended = delta.appended();
+		if (!appended.isEmpty()) {
+			redisList.addAll(appended.stream().map(this.repository::encodeMessage).toList());
+		}
+		RAtomicLong counter = versionOf(conversationId);
+		long next = counter.incrementAndGet();
+		Duration ttl = this.repository.ttl();
+		if (ttl != null) {
+			redisList.expire(ttl);
+			counter.expire(ttl);
+		}
+		touchIndex(conversationId);
+		return next;
+	}
+
+	/**
+	 * Drop the oldest {@code deleteSize} messages once a conversation holds
+	 * {@code maxLimit} or more.
+	 */
+	void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
+		String key = this.repository.messagesKey(conversationId);
+		if (this.repository.scriptable(this.cluster)) {
+			script().eval(key, RScript.Mode.READ_WRITE, RedisChatMemoryScripts.CLEAR_OVER_LIMIT,
+					RScript.ReturnType.INTEGER, List.of(key, this.repository.versionKey(conversationId)),
+					RedisChatMemoryScripts.arg(maxLimit), RedisChatMemoryScripts.arg(deleteSize));
+			return;
+		}
+		RList<byte[]> list = listOf(key);
+		if (list.size() < maxLimit) {
+			return;
+		}
+		list.trim(deleteSize, -1);
+		versionOf(conversationId).incrementAndGet();
+	}
+
+	/**
+	 * Messages are read and written as raw bytes whatever codec the client is
+	 * configured with, so that they stay readable by the Jedis and Lettuce repositories.
+	 */
+	RList<byte[]> listOf(String messagesKey) {
+		return this.redissonClient.getList(messagesKey, ByteArrayCodec.INSTANCE);
+	}
+
+	private RScript script() {
+		return this.redissonClient.getScript(ByteArrayCodec.INSTANCE);
+	}
+
+	private RAtomicLong versionOf(String conversationId) {
+		return this.redissonClient.getAtomicLong(this.repository.versionKey(conversationId));
+	}
+
+	/**
+	 * The index holds plain UTF-8 ids, as written by {@link RedisChatMemoryScripts#SAVE}
+	 * and the other repositories, whatever codec the client is configured with.
+	 */
+	private void touchIndex(String conversationId) {
+		this.redissonClient
+			.<String>getScoredSortedSet(BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY, StringCodec.INSTANCE)
+			.add(System.currentTimeMillis(), conversationId);
+	}
+
+}
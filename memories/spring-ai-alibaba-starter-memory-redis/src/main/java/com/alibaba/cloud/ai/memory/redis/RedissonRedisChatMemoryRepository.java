@@ -15,10 +15,13 @@
  */
 package com.alibaba.cloud.ai.memory.redis;
 
+import com.alibaba.cloud.ai.memory.common.ConversationDeltaWriter;
 import com.alibaba.cloud.ai.memory.redis.builder.RedisChatMemoryBuilder;
+import com.alibaba.cloud.ai.memory.redis.serializer.MessageCodec;
 import org.redisson.Redisson;
 import org.redisson.api.RKeys;
 import org.redisson.api.RList;
+import org.redisson.api.RScoredSortedSet;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.options.KeysScanOptions;
 import org.redisson.client.codec.StringCodec;
@@ -31,10 +34,12 @@ import org.springframework.boot.ssl.SslManagerBundle;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 /**
  * Redis implementation of ChatMemoryRepository using Redisson
@@ -48,10 +53,17 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 
 	private final RedissonClient redissonClient;
 
-	private RedissonRedisChatMemoryRepository(RedissonClient redissonClient) {
-		super();
+	private final RedissonConversationStore store;
+
+	private final ConversationDeltaWriter writer;
+
+	private RedissonRedisChatMemoryRepository(RedissonClient redissonClient, boolean hashTags, Duration ttl,
+			MessageCodec codec) {
+		super(hashTags, ttl, codec);
 		Assert.notNull(redissonClient, "redissonClient cannot be null");
 		this.redissonClient = redissonClient;
+		this.store = new RedissonConversationStore(this, redissonClient);
+		this.writer = new ConversationDeltaWriter(this.store);
 	}
 
 	public static RedissonBuilder builder() {
@@ -86,7 +98,8 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 				if (redissonConfig.getCodec() == null) {
 					redissonConfig.setCodec(new StringCodec());
 				}
-				return new RedissonRedisChatMemoryRepository(Redisson.create(redissonConfig));
+				return new RedissonRedisChatMemoryRepository(Redisson.create(redissonConfig), hashTags, ttl,
+						codec);
 			}
 			Config config = new Config();
 			config.setCodec(new StringCodec());
@@ -134,7 +147,7 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 					config.useSingleServer().setPassword(password);
 				}
 			}
-			return new RedissonRedisChatMemoryRepository(Redisson.create(config));
+			return new RedissonRedisChatMemoryRepository(Redisson.create(config), hashTags, ttl, codec);
 
 		}
 
@@ -142,21 +155,63 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 
 	@Override
 	public List<String> findConversationIds() {
+		ensureIndexed();
+		pruneIndex();
+		// iterator(count) walks the index with ZSCAN
+		Iterator<String> iterator = index().iterator(DEFAULT_SCAN_COUNT);
+		List<String> conversationIds = new ArrayList<>();
+		iterator.forEachRemaining(conversationIds::add);
+		return conversationIds;
+	}
+
+	@Override
+	public List<String> findConversationIds(long offset, int limit) {
+		Assert.isTrue(offset >= 0 && limit > 0, "offset cannot be negative and limit must be positive");
+		ensureIndexed();
+		pruneIndex();
+		int start = Math.toIntExact(offset);
+		return new ArrayList<>(index().valueRangeReversed(start, Math.toIntExact(offset + limit - 1)));
+	}
+
+	@Override
+	public long rebuildIndex() {
 		RKeys keys = redissonClient.getKeys();
-		KeysScanOptions scanOptions = KeysScanOptions.defaults().pattern(DEFAULT_KEY_PREFIX + "*");
-		Iterable<String> keysIter = keys.getKeys(scanOptions);
-		return StreamSupport.stream(keysIter.spliterator(), false)
-			.map(key -> key.substring(DEFAULT_KEY_PREFIX.length()))
-			.collect(Collectors.toList());
+		KeysScanOptions scanOptions = KeysScanOptions.defaults()
+			.pattern(DEFAULT_KEY_PREFIX + "*")
+			.chunkSize(DEFAULT_SCAN_COUNT);
+		RScoredSortedSet<String> index = index();
+		double now = System.currentTimeMillis();
+		long count = 0;
+		for (String key : keys.getKeys(scanOptions)) {
+			index.addIfAbsent(now, conversationIdOf(key));
+			count++;
+		}
+		return count;
+	}
+
+	private RScoredSortedSet<String> index() {
+		// plain strings like the script and the other repositories, not the client codec
+		return redissonClient.getScoredSortedSet(DEFAULT_INDEX_KEY, StringCodec.INSTANCE);
+	}
+
+	@Override
+	protected boolean indexExists() {
+		return index().isExists();
+	}
+
+	private void pruneIndex() {
+		if (ttl() != null) {
+			index().removeRangeByScore(Double.NEGATIVE_INFINITY, true, expiredBefore(), false);
+		}
 	}
 
 	@Override
 	public List<Message> findByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
-		RList<String> redisList = redissonClient.getList(DEFAULT_KEY_PREFIX + conversationId);
+		RList<byte[]> redisList = store.listOf(messagesKey(conversationId));
 		return redisList.readAll()
-			.parallelStream()
-			.map(this::deserializeMessage)
+			.stream()
+			.map(this::decodeMessage)
 			.filter(Objects::nonNull)
 			.collect(Collectors.toList());
 	}
@@ -166,17 +221,16 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		Assert.notNull(messages, "messages cannot be null");
 		Assert.noNullElements(messages, "messages cannot contain null elements");
-		RList<String> redisList = redissonClient.getList(DEFAULT_KEY_PREFIX + conversationId);
-		redisList.delete();
-		List<String> serializedMessages = messages.stream().map(this::serializeMessage).toList();
-		redisList.addAll(serializedMessages);
+		ensureIndexed();
+		writer.save(conversationId, messages);
 	}
 
 	@Override
 	public void deleteByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
-		RList<String> redisList = redissonClient.getList(DEFAULT_KEY_PREFIX + conversationId);
-		redisList.delete();
+		redissonClient.getKeys().delete(messagesKey(conversationId), versionKey(conversationId));
+		index().remove(conversationId);
+		writer.forget(conversationId);
 	}
 
 	/**
@@ -187,13 +241,7 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 	 */
 	public void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
-		String key = DEFAULT_KEY_PREFIX + conversationId;
-		RList<Object> list = redissonClient.getList(key);
-		int size = list.size();
-		if (size < maxLimit) {
-			return;
-		}
-		list.trim(deleteSize, -1);
+		store.clearOverLimit(conversationId, maxLimit, deleteSize);
 	}
 
 	@Override
@@ -15,8 +15,10 @@
  */
 package com.alibaba.cloud.ai.memory.redis.builder;
 
+import com.alibaba.cloud.ai.memory.redis.serializer.MessageCodec;
 import org.springframework.boot.ssl.SslBundles;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -50,6 +52,21 @@ public abstract class RedisChatMemoryBuilder<T extends RedisChatMemoryBuilder<T>
 
 	protected SslBundles sslBundles;
 
+	/**
+	 * wrap conversation ids in cluster hash tags, e.g. spring_ai_alibaba_chat_memory:{id}
+	 */
+	protected boolean hashTags = false;
+
+	/**
+	 * expiry refreshed on every write, null keeps conversations until deleted
+	 */
+	protected Duration ttl;
+
+	/**
+	 * encoding of stored messages, null for JSON
+	 */
+	protected MessageCodec codec;
+
 	protected abstract T self();
 
 	public T host(String host) {
@@ -98,4 +115,19 @@ public abstract class RedisChatMemoryBuilder<T extends RedisChatMemoryBuilder<T>
 		return self();
 	}
 
+	public T hashTags(boolean hashTags) {
+		this.hashTags = hashTags;
+		return self();
+	}
+
+	public T ttl(Duration ttl) {
+		this.ttl = ttl;
+		return self();
+	}
+
+	public T codec(MessageCodec codec) {
+		this.codec = codec;
+		return self();
+	}
+
 }
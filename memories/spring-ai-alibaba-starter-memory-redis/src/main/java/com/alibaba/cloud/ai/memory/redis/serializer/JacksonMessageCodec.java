@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis.serializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.Message;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link MessageCodec} backed by Jackson, writing either UTF-8 JSON or Smile.
+ * <p>
+ * Smile is Jackson's binary JSON: the same document model as the JSON codec, so the
+ * {@code messageType} tag and {@link MessageDeserializer} work unchanged, but field
+ * names are back-referenced and strings carry their length instead of being quoted and
+ * escaped. Every Smile document starts with the {@code :)\n} header, which is how
+ * {@link #decode(byte[])} tells the two formats apart: either codec reads lists that
+ * mix JSON and Smile elements, so switching codecs needs no migration.
+ * <p>
+ * Older versions could store JSON in the platform default charset. A JSON element that
+ * is not valid UTF-8 is therefore read again in that legacy charset before giving up.
+ *
+ * @since 1.1.0
+ */
+public final class JacksonMessageCodec implements MessageCodec {
+
+	private static final Logger logger = LoggerFactory.getLogger(JacksonMessageCodec.class);
+
+	private static final ObjectMapper JSON = configure(JsonMapper.builder());
+
+	private static final ObjectMapper SMILE = configure(SmileMapper.builder());
+
+	private static final JacksonMessageCodec JSON_CODEC = new JacksonMessageCodec(JSON, Charset.defaultCharset());
+
+	private static final JacksonMessageCodec SMILE_CODEC = new JacksonMessageCodec(SMILE, Charset.defaultCharset());
+
+	private final ObjectMapper writer;
+
+	private final Charset legacyCharset;
+
+	private JacksonMessageCodec(ObjectMapper writer, Charset legacyCharset) {
+		this.writer = writer;
+		this.legacyCharset = legacyCharset;
+	}
+
+	/**
+	 * Codec writing UTF-8 JSON, readable by every earlier version of the repositories.
+	 */
+	public static JacksonMessageCodec json() {
+		return JSON_CODEC;
+	}
+
+	/**
+	 * Codec writing UTF-8 JSON that reads non UTF-8 JSON elements in
+	 * {@code legacyCharset}, for data written by another platform than the reader's.
+	 * @param legacyCharset charset older versions wrote JSON in
+	 */
+	public static JacksonMessageCodec json(Charset legacyCharset) {
+		return new JacksonMessageCodec(JSON, legacyCharset);
+	}
+
+	/**
+	 * Codec writing Smile.
+	 */
+	public static JacksonMessageCodec smile() {
+		return SMILE_CODEC;
+	}
+
+	@Override
+	public byte[] encode(Message message) {
+		try {
+			return this.writer.writeValueAsBytes(message);
+		}
+		catch (JsonProcessingException e) {
+			throw new RuntimeException("Error serializing message", e);
+		}
+	}
+
+	@Override
+	public Message decode(byte[] bytes) {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		boolean smile = isSmile(bytes);
+		try {
+			return (smile ? SMILE : JSON).readValue(bytes, Message.class);
+		}
+		catch (IOException e) {
+			if (!smile && !StandardCharsets.UTF_8.equals(this.legacyCharset)) {
+				Message legacy = decodeLegacy(bytes);
+				if (legacy != null) {
+					return legacy;
+				}
+			}
+			logger.error("Deserialization error for message of {} bytes", bytes.length, e);
+			return null;
+		}
+	}
+
+	private Message decodeLegacy(byte[] bytes) {
+		try {
+			return JSON.readValue(new String(bytes, this.legacyCharset), Message.class);
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static boolean isSmile(byte[] bytes) {
+		return bytes.length >= 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+	}
+
+	private static ObjectMapper configure(MapperBuilder<?, ?> builder) {
+		SimpleModule module = new SimpleModule();
+		module.addDeserializer(Message.class, new MessageDeserializer());
+		return builder.configure(MapperFeature.AUTO_DETECT_GETTERS, false)
+			.configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
+			.visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+			.addModule(module)
+			.build();
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis.serializer;
+
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * Turns chat messages into the bytes stored in a Redis list element and back.
+ *
+ * @since 1.1.0
+ */
+public interface MessageCodec {
+
+	/**
+	 * @param message the message to encode
+	 * @return the stored representation
+	 */
+	byte[] encode(Message message);
+
+	/**
+	 * @param bytes a stored representation
+	 * @return the message, or {@code null} if the bytes cannot be decoded
+	 */
+	Message decode(byte[] bytes);
+
+}
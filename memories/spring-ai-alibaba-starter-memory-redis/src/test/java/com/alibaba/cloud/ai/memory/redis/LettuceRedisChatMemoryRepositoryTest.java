@@ -34,6 +34,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -277,6 +278,85 @@ public class LettuceRedisChatMemoryRepositoryTest {
 			.contains("https://docs.spring.io/spring-ai/reference/_images/multimodal.test.png");
 	}
 
+	@Test
+	void findConversationIdsPagesByLastActivity() {
+		var repository = (LettuceRedisChatMemoryRepository) chatMemoryRepository;
+		// 'z' sorts after the hex ids of other tests should scores tie
+		var prefix = "z-" + UUID.randomUUID();
+		for (String suffix : List.of("a", "b", "c")) {
+			repository.saveAll(prefix + "-" + suffix, List.of(new UserMessage("Hello " + suffix)));
+		}
+
+		assertThat(repository.findConversationIds()).contains(prefix + "-a", prefix + "-b", prefix + "-c");
+		assertThat(repository.findConversationIds(0, 2)).containsExactly(prefix + "-c", prefix + "-b");
+		assertThat(repository.findConversationIds(2, 1)).containsExactly(prefix + "-a");
+
+		repository.deleteByConversationId(prefix + "-c");
+		assertThat(repository.findConversationIds()).doesNotContain(prefix + "-c");
+		assertThat(repository.findConversationIds(0, 1)).containsExactly(prefix + "-b");
+	}
+
+	@Test
+	void findConversationIdsPrunesExpiredIndexEntries() throws Exception {
+		try (var repository = LettuceRedisChatMemoryRepository.builder()
+			.host(redisContainer.getHost())
+			.port(redisContainer.getMappedPort(REDIS_PORT))
+			.ttl(Duration.ofMinutes(1))
+			.build()) {
+			var stale = UUID.randomUUID().toString();
+			redisCli("ZADD", BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY, "1", stale);
+			var live = UUID.randomUUID().toString();
+			repository.saveAll(live, List.of(new UserMessage("Hello")));
+
+			assertThat(repository.findConversationIds()).contains(live).doesNotContain(stale);
+			assertThat(redisCli("ZSCORE", BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY, stale)).isEmpty();
+			var ttl = Long.parseLong(redisCli("TTL", BaseRedisChatMemoryRepository.DEFAULT_KEY_PREFIX + live));
+			assertThat(ttl).isBetween(1L, 60L);
+		}
+	}
+
+	@Test
+	void hashTagsKeepConversationKeysInOneSlot() throws Exception {
+		try (var repository = LettuceRedisChatMemoryRepository.builder()
+			.host(redisContainer.getHost())
+			.port(redisContainer.getMappedPort(REDIS_PORT))
+			.hashTags(true)
+			.build()) {
+			var conversationId = UUID.randomUUID().toString();
+			repository.saveAll(conversationId, List.of(new UserMessage("Hello"), new AssistantMessage("Hi")));
+
+			var prefix = BaseRedisChatMemoryRepository.DEFAULT_KEY_PREFIX;
+			assertThat(redisCli("EXISTS", prefix + "{" + conversationId + "}")).isEqualTo("1");
+			assertThat(redisCli("EXISTS", prefix + conversationId)).isEqualTo("0");
+			assertThat(repository.findByConversationId(conversationId)).extracting(Message::getText)
+				.containsExactly("Hello", "Hi");
+			assertThat(repository.findConversationIds()).contains(conversationId);
+		}
+	}
+
+	@Test
+	void missingIndexIsRebuiltFromExistingConversations() throws Exception {
+		var conversationId = UUID.randomUUID().toString();
+		chatMemoryRepository.saveAll(conversationId, List.of(new UserMessage("Hello")));
+		// conversations written before the index existed
+		redisCli("DEL", BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY);
+
+		try (var repository = LettuceRedisChatMemoryRepository.builder()
+			.host(redisContainer.getHost())
+			.port(redisContainer.getMappedPort(REDIS_PORT))
+			.build()) {
+			assertThat(repository.findConversationIds()).contains(conversationId);
+		}
+		assertThat(redisCli("EXISTS", BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY)).isEqualTo("1");
+	}
+
+	private static String redisCli(String... args) throws Exception {
+		String[] command = new String[args.length + 1];
+		command[0] = "redis-cli";
+		System.arraycopy(args, 0, command, 1, args.length);
+		return redisContainer.execInContainer(command).getStdout().trim();
+	}
+
 	@SpringBootConfiguration
 	static class TestConfiguration {
 
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.cloud.ai.memory.redis;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Index rebuild of the Redis repositories without a running Redis: cluster key scans and
+ * the handling of a failed rebuild.
+ */
+class RedisChatMemoryIndexTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void rebuildScansEveryClusterMaster() {
+		RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+		ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+		RedisClusterConnection connection = mock(RedisClusterConnection.class);
+		RedisClusterNode master1 = node(7000, RedisNode.NodeType.MASTER);
+		RedisClusterNode master2 = node(7001, RedisNode.NodeType.MASTER);
+		RedisClusterNode replica = node(7002, RedisNode.NodeType.REPLICA);
+		when(connection.clusterGetNodes()).thenReturn(List.of(master1, master2, replica));
+		when(connection.scan(eq(master1), any(ScanOptions.class)))
+			.thenReturn(cursor("spring_ai_alibaba_chat_memory:c1", "spring_ai_alibaba_chat_memory:{c2}"));
+		when(connection.scan(eq(master2), any(ScanOptions.class)))
+			.thenReturn(cursor("spring_ai_alibaba_chat_memory:c3"));
+		when(redisTemplate.execute(any(RedisCallback.class)))
+			.thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+		when(redisTemplate.opsForZSet()).thenReturn(zSet);
+		RedisTemplateConversationStore store = new RedisTemplateConversationStore(new StubRepository(),
+				redisTemplate, mock(RedisTemplate.class), true);
+
+		assertThat(store.rebuildIndex()).isEqualTo(3);
+
+		verify(connection, never()).scan(eq(replica), any(ScanOptions.class));
+		verify(connection, never()).scan(any(ScanOptions.class));
+		for (String conversationId : List.of("c1", "c2", "c3")) {
+			verify(zSet).addIfAbsent(eq(BaseRedisChatMemoryRepository.DEFAULT_INDEX_KEY), eq(conversationId),
+					anyDouble());
+		}
+	}
+
+	@Test
+	void failedRebuildDoesNotBlockLaterCalls() {
+		StubRepository repository = new StubRepository();
+		repository.failRebuild = true;
+
+		repository.ensureIndexed();
+		repository.ensureIndexed();
+
+		assertThat(repository.rebuilds.get()).isEqualTo(1);
+	}
+
+	private static RedisClusterNode node(int port, RedisNode.NodeType type) {
+		return RedisClusterNode.newRedisClusterNode().listeningAt("127.0.0.1", port).promotedAs(type).build();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Cursor<byte[]> cursor(String... keys) {
+		Iterator<String> iterator = List.of(keys).iterator();
+		Cursor<byte[]> cursor = mock(Cursor.class);
+		when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+		when(cursor.next()).thenAnswer(invocation -> iterator.next().getBytes(StandardCharsets.UTF_8));
+		return cursor;
+	}
+
+	private static final class StubRepository extends BaseRedisChatMemoryRepository {
+
+		private final AtomicInteger rebuilds = new AtomicInteger();
+
+		private boolean failRebuild;
+
+		@Override
+		public List<String> findConversationIds(long offset, int limit) {
+			return List.of();
+		}
+
+		@Override
+		public long rebuildIndex() {
+			this.rebuilds.incrementAndGet();
+			if (this.failRebuild) {
+				throw new IllegalStateException("SCAN is not supported");
+			}
+			return 0;
+		}
+
+		@Override
+		protected boolean indexExists() {
+			return false;
+		}
+
+		@Override
+		public List<String> findConversationIds() {
+			return List.of();
+		}
+
+		@Override
+		public List<Message> findByConversationId(String conversationId) {
+			return List.of();
+		}
+
+		@Override
+		public void saveAll(String conversationId, List<Message> messages) {
+		}
+
+		@Override
+		public void deleteByConversationId(String conversationId) {
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
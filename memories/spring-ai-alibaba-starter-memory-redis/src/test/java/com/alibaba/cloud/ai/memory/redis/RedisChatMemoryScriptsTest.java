@@ -0,0 +1,273 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.memory.redis;
+
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.MessageFingerprints;
+import com.alibaba.cloud.ai.memory.redis.serializer.JacksonMessageCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips through the {@link RedisChatMemoryScripts}, the {@link JacksonMessageCodec}
+ * formats and {@link ReactiveRedisChatMemoryOperations} against a real Redis.
+ */
+@Testcontainers
+class RedisChatMemoryScriptsTest {
+
+	private static final int REDIS_PORT = 6379;
+
+	@Container
+	private static final GenericContainer<?> redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7.0"))
+		.withExposedPorts(REDIS_PORT);
+
+	private static LettuceConnectionFactory connectionFactory;
+
+	private static RedisTemplate<String, byte[]> rawTemplate;
+
+	private static LettuceRedisChatMemoryRepository repository;
+
+	@BeforeAll
+	static void setUp() {
+		connectionFactory = new LettuceConnectionFactory(
+				new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getMappedPort(REDIS_PORT)));
+		connectionFactory.afterPropertiesSet();
+		rawTemplate = new RedisTemplate<>();
+		rawTemplate.setConnectionFactory(connectionFactory);
+		rawTemplate.setKeySerializer(new StringRedisSerializer());
+		rawTemplate.setValueSerializer(RedisSerializer.byteArray());
+		rawTemplate.afterPropertiesSet();
+		repository = repository(JacksonMessageCodec.json());
+	}
+
+	@AfterAll
+	static void tearDown() {
+		repository.close();
+		connectionFactory.destroy();
+	}
+
+	@Test
+	void saveScriptPushesMoreThanOneChunkOfMessages() {
+		var conversationId = UUID.randomUUID().toString();
+		List<Message> messages = messages(0, 2500);
+
+		repository.saveAll(conversationId, messages);
+
+		assertThat(rawTemplate.opsForList().size(repository.messagesKey(conversationId))).isEqualTo(2500);
+		assertThat(texts(repository.findByConversationId(conversationId))).isEqualTo(texts(messages));
+	}
+
+	@Test
+	void saveScriptTrimsTheHeadAndAppends() {
+		var conversationId = UUID.randomUUID().toString();
+		repository.saveAll(conversationId, messages(0, 1500));
+		long version = version(conversationId);
+
+		// a sliding window: drop 1200 from the head, keep 300, append 1100
+		List<Message> window = messages(1200, 2600);
+		repository.saveAll(conversationId, window);
+
+		assertThat(texts(repository.findByConversationId(conversationId))).isEqualTo(texts(window));
+		assertThat(version(conversationId)).isEqualTo(version + 1);
+
+		// an edited history is rewritten
+		List<Message> edited = List.of(new UserMessage("edited"), new AssistantMessage("reply"));
+		repository.saveAll(conversationId, edited);
+		assertThat(texts(repository.findByConversationId(conversationId))).containsExactly("edited", "reply");
+	}
+
+	@Test
+	void saveScriptAppendsWithoutTouchingTheStoredHead() {
+		var conversationId = UUID.randomUUID().toString();
+		repository.saveAll(conversationId, messages(0, 3));
+		long version = version(conversationId);
+		// replace the head behind the writer's back without bumping the version, so only a
+		// rewrite would restore it
+		String key = repository.messagesKey(conversationId);
+		rawTemplate.opsForList().set(key, 0, JacksonMessageCodec.json().encode(new UserMessage("marker")));
+
+		// an unchanged history writes nothing
+		repository.saveAll(conversationId, messages(0, 3));
+		assertThat(version(conversationId)).isEqualTo(version);
+
+		repository.saveAll(conversationId, messages(0, 5));
+		assertThat(texts(repository.findByConversationId(conversationId))).containsExactly("marker", "message 1",
+				"message 2", "message 3", "message 4");
+		assertThat(version(conversationId)).isEqualTo(version + 1);
+	}
+
+	@Test
+	void saveScriptRewritesWhenAnotherWriterChangedTheVersion() {
+		var conversationId = UUID.randomUUID().toString();
+		repository.saveAll(conversationId, messages(0, 3));
+		long version = version(conversationId);
+		// another node drops the oldest message after this writer read the version
+		rawTemplate.opsForList().leftPop(repository.messagesKey(conversationId));
+		rawTemplate.opsForValue().increment(repository.versionKey(conversationId));
+
+		// computed against the old version: trim one, append one
+		List<Message> updated = messages(1, 4);
+		ConversationDelta delta = ConversationDelta.compute(MessageFingerprints.of(messages(0, 3)),
+				MessageFingerprints.of(updated), updated);
+		assertThat(delta.kind()).isEqualTo(ConversationDelta.Kind.APPEND);
+		StringRedisTemplate stringTemplate = new StringRedisTemplate(connectionFactory);
+		var store = new RedisTemplateConversationStore(repository, stringTemplate, rawTemplate, false);
+
+		long next = store.write(conversationId, delta, version);
+
+		// applying the trim would have dropped "message 1" as well
+		assertThat(texts(repository.findByConversationId(conversationId))).isEqualTo(texts(updated));
+		assertThat(next).isEqualTo(version + 2);
+	}
+
+	@Test
+	void clearOverLimitScriptTrimsOnlyAtTheLimit() {
+		var conversationId = UUID.randomUUID().toString();
+		repository.saveAll(conversationId, messages(0, 1200));
+		long version = version(conversationId);
+
+		repository.clearOverLimit(conversationId, 1000, 300);
+
+		List<Message> kept = repository.findByConversationId(conversationId);
+		assertThat(kept).hasSize(900);
+		assertThat(kept.get(0).getText()).isEqualTo("message 300");
+		assertThat(version(conversationId)).isEqualTo(version + 1);
+
+		// below the limit nothing changes, not even the version
+		repository.clearOverLimit(conversationId, 1000, 300);
+		assertThat(repository.findByConversationId(conversationId)).hasSize(900);
+		assertThat(version(conversationId)).isEqualTo(version + 1);
+
+		// the next save notices the trim and appends after the kept messages
+		List<Message> next = new ArrayList<>(kept);
+		next.add(new UserMessage("after trim"));
+		repository.saveAll(conversationId, next);
+		assertThat(texts(repository.findByConversationId(conversationId))).isEqualTo(texts(next));
+	}
+
+	@Test
+	void jsonAndSmileElementsCanBeMixed() {
+		var conversationId = UUID.randomUUID().toString();
+		List<Message> history = messages(0, 2);
+		repository.saveAll(conversationId, history);
+
+		try (var smileRepository = repository(JacksonMessageCodec.smile())) {
+			List<Message> extended = new ArrayList<>(history);
+			extended.addAll(messages(2, 4));
+			smileRepository.saveAll(conversationId, extended);
+
+			String key = repository.messagesKey(conversationId);
+			assertThat(rawTemplate.opsForList().index(key, 0)).startsWith('{');
+			assertThat(rawTemplate.opsForList().index(key, 3)).startsWith(':', ')', '\n');
+			assertThat(texts(repository.findByConversationId(conversationId))).isEqualTo(texts(extended));
+			assertThat(texts(smileRepository.findByConversationId(conversationId))).isEqualTo(texts(extended));
+		}
+	}
+
+	@Test
+	void legacyJsonInThePlatformCharsetIsDecoded() {
+		var conversationId = UUID.randomUUID().toString();
+		Charset legacyCharset = Charset.forName("GBK");
+		Message message = new UserMessage("你好，世界");
+		byte[] utf8 = JacksonMessageCodec.json().encode(message);
+		byte[] legacy = new String(utf8, StandardCharsets.UTF_8).getBytes(legacyCharset);
+		rawTemplate.opsForList().rightPush(repository.messagesKey(conversationId), legacy);
+
+		try (var legacyRepository = repository(JacksonMessageCodec.json(legacyCharset))) {
+			assertThat(texts(legacyRepository.findByConversationId(conversationId))).containsExactly("你好，世界");
+
+			// new writes are UTF-8 and both kinds of element stay readable
+			legacyRepository.saveAll(conversationId, List.of(message, new AssistantMessage("再见")));
+			assertThat(texts(legacyRepository.findByConversationId(conversationId))).containsExactly("你好，世界",
+					"再见");
+		}
+	}
+
+	@Test
+	void reactiveAppendFindAndDelete() {
+		var conversationId = UUID.randomUUID().toString();
+		ReactiveRedisChatMemoryOperations reactive = repository.reactive();
+
+		StepVerifier.create(reactive.append(conversationId, messages(0, 2))).expectNext(1L).verifyComplete();
+		StepVerifier.create(reactive.append(conversationId, messages(2, 3))).expectNext(2L).verifyComplete();
+		StepVerifier.create(reactive.findByConversationId(conversationId))
+			.assertNext(found -> assertThat(texts(found)).isEqualTo(texts(messages(0, 3))))
+			.verifyComplete();
+		StepVerifier.create(reactive.findConversationIds(0, 1)).expectNext(conversationId).verifyComplete();
+
+		// the blocking repository sees the reactive writes and appends after them
+		List<Message> next = messages(0, 4);
+		repository.saveAll(conversationId, next);
+		assertThat(texts(repository.findByConversationId(conversationId))).isEqualTo(texts(next));
+
+		StepVerifier.create(reactive.deleteByConversationId(conversationId)).verifyComplete();
+		StepVerifier.create(reactive.findByConversationId(conversationId))
+			.assertNext(found -> assertThat(found).isEmpty())
+			.verifyComplete();
+		assertThat(repository.findByConversationId(conversationId)).isEmpty();
+		assertThat(repository.findConversationIds()).doesNotContain(conversationId);
+	}
+
+	private static LettuceRedisChatMemoryRepository repository(JacksonMessageCodec codec) {
+		return LettuceRedisChatMemoryRepository.builder()
+			.host(redisContainer.getHost())
+			.port(redisContainer.getMappedPort(REDIS_PORT))
+			.codec(codec)
+			.build();
+	}
+
+	private long version(String conversationId) {
+		byte[] version = rawTemplate.opsForValue().get(repository.versionKey(conversationId));
+		return version != null ? Long.parseLong(new String(version, StandardCharsets.US_ASCII)) : 0L;
+	}
+
+	private static List<Message> messages(int from, int to) {
+		return IntStream.range(from, to)
+			.<Message>mapToObj(
+					i -> (i % 2 == 0) ? new UserMessage("message " + i) : new AssistantMessage("message " + i))
+			.toList();
+	}
+
+	private static List<String> texts(List<Message> messages) {
+		return messages.stream().map(Message::getText).toList();
+	}
+
+}
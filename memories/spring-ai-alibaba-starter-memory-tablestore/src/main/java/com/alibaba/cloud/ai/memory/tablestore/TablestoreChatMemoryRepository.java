@@ -15,6 +15,9 @@
  */
 package com.alibaba.cloud.ai.memory.tablestore;
 
+import com.alibaba.cloud.ai.memory.common.ConversationDelta;
+import com.alibaba.cloud.ai.memory.common.ConversationDeltaWriter;
+import com.alibaba.cloud.ai.memory.common.ConversationStore;
 import com.alicloud.openservices.tablestore.SyncClient;
 import com.aliyun.openservices.tablestore.agent.memory.MemoryStore;
 import com.aliyun.openservices.tablestore.agent.memory.MemoryStoreImpl;
@@ -48,6 +51,8 @@ public class TablestoreChatMemoryRepository implements ChatMemoryRepository {
 
 	private MemoryStoreImpl store;
 
+	private final ConversationDeltaWriter writer = new ConversationDeltaWriter(new TablestoreConversationStore());
+
 	public TablestoreChatMemoryRepository(MemoryStoreImpl store) {
 		this.store = store;
 	}
@@ -114,16 +119,7 @@ public class TablestoreChatMemoryRepository implements ChatMemoryRepository {
 
 	@Override
 	public void saveAll(String conversationId, List<Message> messages) {
-		deleteByConversationId(conversationId);
-		String md5UserId = MessageUtils.getMD5UserId(conversationId);
-		Session session = new Session(md5UserId, conversationId);
-		getStore().putSession(session);
-		session.getMetadata().put("messagesCount", messages.size());
-		for (Message message : messages) {
-			com.aliyun.openservices.tablestore.agent.model.Message tablestoreMessage = MessageUtils
-				.toTablestoreMessage(conversationId, message);
-			getStore().putMessage(tablestoreMessage);
-		}
+		writer.save(conversationId, messages);
 	}
 
 	@Override
@@ -132,6 +128,52 @@ public class TablestoreChatMemoryRepository implements ChatMemoryRepository {
 		getStore().deleteSessionAndMessages(md5UserId, conversationId);
 	}
 
+	/**
+	 * Sessions carry no cheap change marker, so the history is read back before each
+	 * save and only messages past the stored ones are put. Trimming the head falls back
+	 * to rewriting the session.
+	 */
+	private class TablestoreConversationStore implements ConversationStore {
+
+		@Override
+		public long version(String conversationId) {
+			return UNVERSIONED;
+		}
+
+		@Override
+		public List<Message> load(String conversationId) {
+			return findByConversationId(conversationId);
+		}
+
+		@Override
+		public long write(String conversationId, ConversationDelta delta, long version) {
+			List<Message> appended = delta.appended();
+			if (delta.kind() == ConversationDelta.Kind.REWRITE || delta.trimmed() > 0
+					|| appended.size() == delta.messages().size()) {
+				rewrite(conversationId, delta.messages());
+				return UNVERSIONED;
+			}
+			for (Message message : appended) {
+				getStore().putMessage(MessageUtils.toTablestoreMessage(conversationId, message));
+			}
+			return UNVERSIONED;
+		}
+
+		private void rewrite(String conversationId, List<Message> messages) {
+			deleteByConversationId(conversationId);
+			String md5UserId = MessageUtils.getMD5UserId(conversationId);
+			Session session = new Session(md5UserId, conversationId);
+			getStore().putSession(session);
+			session.getMetadata().put("messagesCount", messages.size());
+			for (Message message : messages) {
+				com.aliyun.openservices.tablestore.agent.model.Message tablestoreMessage = MessageUtils
+					.toTablestoreMessage(conversationId, message);
+				getStore().putMessage(tablestoreMessage);
+			}
+		}
+
+	}
+
 	public SyncClient getClient() {
 		return client;
 	}
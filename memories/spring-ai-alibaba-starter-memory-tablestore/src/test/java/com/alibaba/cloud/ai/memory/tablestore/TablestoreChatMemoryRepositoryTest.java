@@ -91,6 +91,70 @@ class TablestoreChatMemoryRepositoryTest {
 		assertThat(count).isEqualTo(1);
 	}
 
+	@Test
+	void appendKeepsStoredMessages() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+		var storedIds = messageIds(conversationId);
+
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"), new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(texts(chatMemoryRepository.findByConversationId(conversationId))).isEqualTo(texts(messages));
+		assertThat(messageIds(conversationId)).hasSize(4).startsWith(storedIds.toArray(String[]::new));
+	}
+
+	@Test
+	void slidingWindowRewritesTheSession() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"),
+				new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, history);
+
+		var window = List.<Message>of(new AssistantMessage("Answer 1"), new UserMessage("Question 2"),
+				new AssistantMessage("Answer 2"));
+		chatMemoryRepository.saveAll(conversationId, window);
+
+		assertThat(texts(chatMemoryRepository.findByConversationId(conversationId))).isEqualTo(texts(window));
+	}
+
+	@Test
+	void rewriteReplacesChangedHistory() {
+		var conversationId = UUID.randomUUID().toString();
+		var history = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, history);
+
+		var rewritten = List.<Message>of(new SystemMessage("Summary"), new UserMessage("Question 2"));
+		chatMemoryRepository.saveAll(conversationId, rewritten);
+
+		assertThat(texts(chatMemoryRepository.findByConversationId(conversationId))).isEqualTo(texts(rewritten));
+	}
+
+	@Test
+	void unchangedSaveKeepsStoredMessages() {
+		var conversationId = UUID.randomUUID().toString();
+		var messages = List.<Message>of(new UserMessage("Question 1"), new AssistantMessage("Answer 1"));
+		chatMemoryRepository.saveAll(conversationId, messages);
+		var storedIds = messageIds(conversationId);
+
+		chatMemoryRepository.saveAll(conversationId, messages);
+
+		assertThat(messageIds(conversationId)).isEqualTo(storedIds);
+	}
+
+	private static List<String> messageIds(String conversationId) {
+		return chatMemoryRepository.findByConversationId(conversationId)
+			.stream()
+			.map(message -> (String) message.getMetadata().get("messageId"))
+			.toList();
+	}
+
+	private static List<String> texts(List<Message> messages) {
+		return messages.stream().map(Message::getText).toList();
+	}
+
 	@Test
 	void deleteMessagesByConversationId() {
 		var conversationId = UUID.randomUUID().toString();
@@ -15,10 +15,30 @@
  */
 package com.alibaba.cloud.ai.advisor;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
@@ -28,6 +48,13 @@ import org.springframework.util.Assert;
 
 /**
  * Composite document retriever that combines multiple document retrievers.
+ * <p>
+ * All retrievers are queried concurrently on the configured executor, so the latency of
+ * a retrieval is the one of the slowest retriever instead of the sum of all of them.
+ * With a timeout set, retrievers that have not answered when it expires are interrupted
+ * and the results of the others are merged. A retriever the executor rejects runs on
+ * the calling thread once the others are submitted; it is not bound by the timeout.
+ * Documents returned by several retrievers are kept once, identified by their id.
  *
  * @author mengnankkkk
  * @since 1.0.0-M2
@@ -36,19 +63,49 @@ public class CompositeDocumentRetriever implements DocumentRetriever {
 
 	private static final Logger logger = LoggerFactory.getLogger(CompositeDocumentRetriever.class);
 
+	/**
+	 * Timer of every retriever call, tagged with {@code retriever} and {@code outcome}
+	 * ({@code success}, {@code error}, {@code timeout} or {@code cancelled} when the
+	 * caller was interrupted). Every call records exactly one outcome, including calls
+	 * that ran on the calling thread because the executor rejected them.
+	 */
+	public static final String METRIC_DURATION = "composite.retriever.duration";
+
+	/**
+	 * Counter of retriever calls abandoned at the deadline, tagged with {@code retriever}.
+	 */
+	public static final String METRIC_TIMEOUTS = "composite.retriever.timeouts";
+
+	/**
+	 * Rank constant of reciprocal rank fusion, as in the original paper.
+	 */
+	public static final int DEFAULT_RRF_K = 60;
+
 	private final List<DocumentRetriever> retrievers;
 
 	private final Integer maxResultsPerRetriever;
 
 	private final ResultMergeStrategy mergeStrategy;
 
+	private final Executor executor;
+
+	private final Duration timeout;
+
+	private final boolean deduplicate;
+
+	private final int rrfK;
+
+	private final MeterRegistry meterRegistry;
+
 	public enum ResultMergeStrategy {
 
 		SIMPLE_MERGE, // Simple merge strategy
 
 		SCORE_BASED, // Score-based merge strategy
 
-		ROUND_ROBIN// Round-robin merge strategy
+		ROUND_ROBIN, // Round-robin merge strategy
+
+		RECIPROCAL_RANK_FUSION // Reciprocal rank fusion, sum of 1 / (k + rank) per document
 
 	}
 
@@ -62,95 +119,256 @@ public class CompositeDocumentRetriever implements DocumentRetriever {
 
 	public CompositeDocumentRetriever(List<DocumentRetriever> retrievers, Integer maxResultsPerRetriever,
 			ResultMergeStrategy mergeStrategy) {
+		this(retrievers, maxResultsPerRetriever, mergeStrategy, null, null, true, DEFAULT_RRF_K, null);
+	}
+
+	/**
+	 * @param executor runs the retrievers, {@code null} for a shared bounded daemon pool
+	 * @param timeout deadline of a whole retrieval, {@code null} to wait for all
+	 * retrievers
+	 * @param deduplicate whether documents with the same id are kept once
+	 * @param rrfK rank constant of {@link ResultMergeStrategy#RECIPROCAL_RANK_FUSION}
+	 * @param meterRegistry registry for per-retriever latency and timeouts, may be
+	 * {@code null}
+	 */
+	public CompositeDocumentRetriever(List<DocumentRetriever> retrievers, Integer maxResultsPerRetriever,
+			ResultMergeStrategy mergeStrategy, Executor executor, Duration timeout, boolean deduplicate, int rrfK,
+			MeterRegistry meterRegistry) {
 		Assert.notNull(retrievers, "Retrievers list must not be null!");
 		Assert.isTrue(!retrievers.isEmpty(), "Retrievers list must not be empty!");
 		Assert.isTrue(maxResultsPerRetriever > 0, "MaxResultsPerRetriever must be positive!");
 		Assert.notNull(mergeStrategy, "MergeStrategy must not be null!");
+		Assert.isTrue(timeout == null || (!timeout.isNegative() && !timeout.isZero()), "Timeout must be positive!");
+		Assert.isTrue(rrfK > 0, "RrfK must be positive!");
 
 		this.retrievers = new ArrayList<>(retrievers);
 		this.maxResultsPerRetriever = maxResultsPerRetriever;
 		this.mergeStrategy = mergeStrategy;
+		this.executor = executor;
+		this.timeout = timeout;
+		this.deduplicate = deduplicate;
+		this.rrfK = rrfK;
+		this.meterRegistry = meterRegistry;
 	}
 
 	@Override
 	public List<Document> retrieve(Query query) {
-		if (mergeStrategy == ResultMergeStrategy.ROUND_ROBIN) {
-			return roundRobinRetrieve(query);
+		List<List<Document>> allResults = retrieveAll(query);
+
+		return switch (mergeStrategy) {
+			case ROUND_ROBIN -> distinct(roundRobin(allResults));
+			case RECIPROCAL_RANK_FUSION -> reciprocalRankFusion(allResults);
+			case SCORE_BASED -> distinct(allResults.stream().flatMap(List::stream).sorted((d1, d2) -> {
+				Double score1 = d1.getScore();
+				Double score2 = d2.getScore();
+
+				if (score1 == null)
+					score1 = 0.0;
+				if (score2 == null)
+					score2 = 0.0;
+				return Double.compare(score2, score1);
+			}).collect(Collectors.toList()));
+			default -> distinct(allResults.stream().flatMap(List::stream).collect(Collectors.toList()));
+		};
+	}
+
+	/**
+	 * Query all retrievers concurrently. The result has one list per retriever, in
+	 * retriever order; failed and timed out retrievers contribute an empty list.
+	 * Retrievers rejected by the executor run on the calling thread, like
+	 * {@link ThreadPoolExecutor.CallerRunsPolicy}, after all others were submitted.
+	 */
+	private List<List<Document>> retrieveAll(Query query) {
+		if (retrievers.size() == 1 && timeout == null) {
+			return List.of(retrieveFrom(0, query, new AtomicBoolean()));
 		}
 
-		List<Document> allDocuments = new ArrayList<>();
+		Executor taskExecutor = executor != null ? executor : DefaultExecutorHolder.EXECUTOR;
+		long start = System.nanoTime();
+		// FutureTask, unlike CompletableFuture, interrupts the retriever when cancelled
+		List<FutureTask<List<Document>>> tasks = new ArrayList<>(retrievers.size());
+		// set by whoever records the outcome of a call first, the call itself or the caller
+		List<AtomicBoolean> recorded = new ArrayList<>(retrievers.size());
+		List<FutureTask<List<Document>>> rejected = new ArrayList<>();
+		for (int i = 0; i < retrievers.size(); i++) {
+			int index = i;
+			AtomicBoolean callRecorded = new AtomicBoolean();
+			FutureTask<List<Document>> task = new FutureTask<>(() -> retrieveFrom(index, query, callRecorded));
+			tasks.add(task);
+			recorded.add(callRecorded);
+			try {
+				taskExecutor.execute(task);
+			}
+			catch (RejectedExecutionException e) {
+				logger.warn("Retriever {} was rejected by the executor, running it on the calling thread",
+						retrieverName(i));
+				rejected.add(task);
+			}
+		}
+		// run after the loop so that the rejected retrievers do not delay submitting the others
+		rejected.forEach(FutureTask::run);
 
-		for (DocumentRetriever retriever : retrievers) {
+		long deadline = timeout != null ? start + timeout.toNanos() : 0;
+		List<List<Document>> allResults = new ArrayList<>(retrievers.size());
+		for (int i = 0; i < tasks.size(); i++) {
+			FutureTask<List<Document>> task = tasks.get(i);
 			try {
-				List<Document> documents = retriever.retrieve(query);
-				if (documents != null && !documents.isEmpty()) {
-					List<Document> limitedDocuments = documents.stream()
-						.limit(maxResultsPerRetriever)
-						.collect(Collectors.toList());
-					allDocuments.addAll(limitedDocuments);
+				allResults.add(timeout == null ? task.get()
+						: task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+			}
+			catch (TimeoutException e) {
+				if (recorded.get(i).compareAndSet(false, true)) {
+					task.cancel(true);
+					logger.warn("Retriever {} did not answer within {}, continuing without it", retrieverName(i),
+							timeout);
+					recordTimeout(i, System.nanoTime() - start);
+					allResults.add(List.of());
+				}
+				else {
+					// the retriever finished right at the deadline and recorded its own outcome
+					allResults.add(completedResult(task));
 				}
 			}
-			catch (Exception e) {
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				for (int j = 0; j < tasks.size(); j++) {
+					if (recorded.get(j).compareAndSet(false, true)) {
+						tasks.get(j).cancel(true);
+						recordDuration(j, "cancelled", System.nanoTime() - start);
+					}
+				}
+				throw new IllegalStateException("Interrupted while waiting for retrievers", e);
+			}
+			catch (CancellationException e) {
+				// cancelled outside this retriever, e.g. by the executor
+				logger.warn("Retriever {} was cancelled, continuing without it", retrieverName(i));
+				allResults.add(List.of());
+			}
+			catch (ExecutionException e) {
+				// retrieveFrom handles retriever exceptions, this is an Error
 				logger.error("Error retrieving from one of the retrievers: {}", e.getMessage(), e);
+				allResults.add(List.of());
 			}
 		}
+		return allResults;
+	}
 
-		return mergeResults(allDocuments);
+	private List<Document> completedResult(FutureTask<List<Document>> task) throws InterruptedException {
+		try {
+			return task.get();
+		}
+		catch (ExecutionException | CancellationException e) {
+			logger.error("Error retrieving from one of the retrievers: {}", e.getMessage(), e);
+			return List.of();
+		}
 	}
 
-	private List<Document> roundRobinRetrieve(Query query) {
-		List<List<Document>> allResults = new ArrayList<>();
+	private List<Document> retrieveFrom(int index, Query query, AtomicBoolean recorded) {
+		long start = System.nanoTime();
+		String outcome = "error";
+		try {
+			List<Document> documents = retrievers.get(index).retrieve(query);
+			outcome = "success";
+			if (documents == null || documents.isEmpty()) {
+				return List.of();
+			}
+			return documents.stream().limit(maxResultsPerRetriever).collect(Collectors.toList());
+		}
+		catch (Exception e) {
+			if (recorded.get()) {
+				// abandoned at the deadline, the failure is most likely the interruption
+				logger.debug("Abandoned retriever {} failed: {}", retrieverName(index), e.getMessage());
+			}
+			else {
+				logger.error("Error retrieving from one of the retrievers: {}", e.getMessage(), e);
+			}
+			return List.of();
+		}
+		finally {
+			if (recorded.compareAndSet(false, true)) {
+				recordDuration(index, outcome, System.nanoTime() - start);
+			}
+		}
+	}
 
-		for (DocumentRetriever retriever : retrievers) {
-			try {
-				List<Document> documents = retriever.retrieve(query);
-				if (documents != null && !documents.isEmpty()) {
+	private List<Document> roundRobin(List<List<Document>> allResults) {
+		int maxSize = allResults.stream().mapToInt(List::size).max().orElse(0);
 
-					List<Document> limitedDocuments = documents.stream()
-						.limit(maxResultsPerRetriever)
-						.collect(Collectors.toList());
-					allResults.add(limitedDocuments);
-				}
-				else {
-					allResults.add(new ArrayList<>());
+		List<Document> merged = new ArrayList<>();
+		for (int i = 0; i < maxSize; i++) {
+			for (List<Document> documents : allResults) {
+				if (i < documents.size()) {
+					merged.add(documents.get(i));
 				}
 			}
-			catch (Exception e) {
-				logger.error("Error retrieving from one of the retrievers: {}", e.getMessage(), e);
-				allResults.add(new ArrayList<>());
-			}
 		}
+		return merged;
+	}
 
-		Integer maxSize = allResults.stream().mapToInt(List::size).max().orElse(0);
+	/**
+	 * Rank documents by the sum of {@code 1 / (k + rank)} over the retrievers that
+	 * returned them; the fused value replaces the document score.
+	 */
+	private List<Document> reciprocalRankFusion(List<List<Document>> allResults) {
+		Map<String, Document> documentsById = new LinkedHashMap<>();
+		Map<String, Double> fusedScores = new HashMap<>();
+		for (List<Document> documents : allResults) {
+			Set<String> seen = new HashSet<>();
+			for (int rank = 0; rank < documents.size(); rank++) {
+				Document document = documents.get(rank);
+				if (!seen.add(document.getId())) {
+					continue;
+				}
+				documentsById.putIfAbsent(document.getId(), document);
+				fusedScores.merge(document.getId(), 1.0 / (rrfK + rank + 1), Double::sum);
+			}
+		}
 
-		return java.util.stream.IntStream.range(0, maxSize)
-			.boxed()
-			.flatMap(i -> allResults.stream()
-				.filter(documents -> i < documents.size())
-				.map(documents -> documents.get(i)))
+		return documentsById.values()
+			.stream()
+			.sorted((d1, d2) -> Double.compare(fusedScores.get(d2.getId()), fusedScores.get(d1.getId())))
+			.map(document -> document.mutate().score(fusedScores.get(document.getId())).build())
 			.collect(Collectors.toList());
 	}
 
-	private List<Document> mergeResults(List<Document> documents) {
-		if (documents.isEmpty()) {
+	/**
+	 * Keep the first document of every id, the input order decides which one wins.
+	 */
+	private List<Document> distinct(List<Document> documents) {
+		if (!deduplicate || documents.size() < 2) {
 			return documents;
 		}
+		Map<String, Document> documentsById = new LinkedHashMap<>();
+		for (Document document : documents) {
+			documentsById.putIfAbsent(document.getId(), document);
+		}
+		return documentsById.size() == documents.size() ? documents : new ArrayList<>(documentsById.values());
+	}
 
-		return switch (mergeStrategy) {
-			case SIMPLE_MERGE -> documents;
-			case SCORE_BASED -> documents.stream().sorted((d1, d2) -> {
-				Double score1 = d1.getScore();
-				Double score2 = d2.getScore();
+	private void recordDuration(int index, String outcome, long nanos) {
+		if (meterRegistry != null) {
+			Timer.builder(METRIC_DURATION)
+				.description("Latency of the retrievers of a composite document retriever")
+				.tag("retriever", retrieverName(index))
+				.tag("outcome", outcome)
+				.register(meterRegistry)
+				.record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
 
-				if (score1 == null)
-					score1 = 0.0;
-				if (score2 == null)
-					score2 = 0.0;
-				return Double.compare(score2, score1);
-			}).collect(Collectors.toList());
-			case ROUND_ROBIN -> documents;
-			default -> documents;
-		};
+	private void recordTimeout(int index, long nanos) {
+		recordDuration(index, "timeout", nanos);
+		if (meterRegistry != null) {
+			Counter.builder(METRIC_TIMEOUTS)
+				.description("Retriever calls abandoned at the deadline of a composite document retriever")
+				.tag("retriever", retrieverName(index))
+				.register(meterRegistry)
+				.increment();
+		}
+	}
+
+	private String retrieverName(int index) {
+		return index + "-" + retrievers.get(index).getClass().getSimpleName();
 	}
 
 	public static class Builder {
@@ -161,6 +379,16 @@ public class CompositeDocumentRetriever implements DocumentRetriever {
 
 		private ResultMergeStrategy mergeStrategy = ResultMergeStrategy.SCORE_BASED;
 
+		private Executor executor;
+
+		private Duration timeout;
+
+		private boolean deduplicate = true;
+
+		private int rrfK = DEFAULT_RRF_K;
+
+		private MeterRegistry meterRegistry;
+
 		private Builder() {
 		}
 
@@ -188,8 +416,34 @@ public class CompositeDocumentRetriever implements DocumentRetriever {
 			return this;
 		}
 
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		public Builder timeout(Duration timeout) {
+			this.timeout = timeout;
+			return this;
+		}
+
+		public Builder deduplicate(boolean deduplicate) {
+			this.deduplicate = deduplicate;
+			return this;
+		}
+
+		public Builder rrfK(int rrfK) {
+			this.rrfK = rrfK;
+			return this;
+		}
+
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
 		public CompositeDocumentRetriever build() {
-			return new CompositeDocumentRetriever(retrievers, maxResultsPerRetriever, mergeStrategy);
+			return new CompositeDocumentRetriever(retrievers, maxResultsPerRetriever, mergeStrategy, executor, timeout,
+					deduplicate, rrfK, meterRegistry);
 		}
 
 	}
@@ -198,4 +452,32 @@ public class CompositeDocumentRetriever implements DocumentRetriever {
 		return new Builder();
 	}
 
+	/**
+	 * Shared pool for retrievers without a configured executor, created on first use.
+	 * Threads and queued calls are bounded; calls beyond that run on the calling thread
+	 * instead of piling up threads behind slow retrievers.
+	 */
+	private static final class DefaultExecutorHolder {
+
+		private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+		private static final int QUEUE_CAPACITY = 1024;
+
+		private static final AtomicInteger COUNTER = new AtomicInteger();
+
+		private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+		private static ThreadPoolExecutor createExecutor() {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+						Thread thread = new Thread(runnable, "composite-retriever-" + COUNTER.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+
+	}
+
 }
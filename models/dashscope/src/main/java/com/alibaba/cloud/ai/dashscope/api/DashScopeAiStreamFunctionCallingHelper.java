@@ -28,9 +28,12 @@ import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionOutput
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.TokenUsage;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Helper class to support Streaming function calling. It can merge the streamed
@@ -40,6 +43,8 @@ import java.util.List;
  */
 public class DashScopeAiStreamFunctionCallingHelper {
 
+	private static final ChatCompletionChunk EMPTY_CHUNK = new ChatCompletionChunk(null, null, null, null);
+
 	private Boolean incrementalOutput = false;
 
 	public DashScopeAiStreamFunctionCallingHelper() {
@@ -84,6 +89,50 @@ public class DashScopeAiStreamFunctionCallingHelper {
 		return new ChatCompletionChunk(id, new ChatCompletionOutput(null, chunkChoices, null), usage, null);
 	}
 
+	/**
+	 * Merge the streamed tool call chunks into a single chunk per tool call. Chunks
+	 * outside a tool call are emitted as they arrive, only the chunks between the first
+	 * tool call delta and the {@link ChatCompletionFinishReason#TOOL_CALLS} finish chunk
+	 * are accumulated. A tool call left open when the stream completes is emitted as is.
+	 * <p>
+	 * Chunks outside a tool call are emitted as the server sent them, including
+	 * {@code output.text}, {@code search_info} and every choice. Only merged tool call
+	 * chunks are reduced to the first choice without text or search info, as
+	 * {@link #merge(ChatCompletionChunk, ChatCompletionChunk)} does.
+	 * @param chunks the streamed chunks
+	 * @return the chunks with every tool call merged
+	 * @since 1.1.0
+	 */
+	public Flux<ChatCompletionChunk> mergeToolCallChunks(Flux<ChatCompletionChunk> chunks) {
+		return Flux.defer(() -> {
+			AtomicReference<ChatCompletionChunk> toolCall = new AtomicReference<>();
+			return chunks.<ChatCompletionChunk>handle((chunk, sink) -> {
+				ChatCompletionChunk pending = toolCall.get();
+				if (pending == null && !isStreamingToolFunctionCall(chunk)) {
+					sink.next(passThrough(chunk));
+					return;
+				}
+				ChatCompletionChunk merged = merge(pending != null ? pending : EMPTY_CHUNK, chunk);
+				if (isStreamingToolFunctionCallFinish(chunk)) {
+					toolCall.set(null);
+					sink.next(merged);
+				}
+				else {
+					toolCall.set(merged);
+				}
+			}).concatWith(Mono.fromSupplier(() -> toolCall.getAndSet(null)));
+		});
+	}
+
+	private ChatCompletionChunk passThrough(ChatCompletionChunk chunk) {
+		// text deltas are emitted without a copy and keep output.text, search_info and
+		// all choices; only chunks without choices are normalized the way merge does
+		if (chunk.output() != null && chunk.output().choices() != null) {
+			return chunk;
+		}
+		return merge(EMPTY_CHUNK, chunk);
+	}
+
 	private Choice merge(Choice previous, Choice current) {
 		if (previous == null) {
 			return current;
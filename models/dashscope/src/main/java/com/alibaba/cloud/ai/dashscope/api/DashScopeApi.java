@@ -35,6 +35,8 @@ import org.springframework.ai.model.SimpleApiKey;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -59,9 +61,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -72,8 +72,6 @@ import java.util.stream.Collectors;
  */
 public class DashScopeApi {
 
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
-
 	// Store config fields for mutate/copy
 	private final String baseUrl;
 
@@ -534,7 +532,6 @@ public class DashScopeApi {
 		Assert.notNull(chatRequest, "The request body can not be null.");
 		Assert.isTrue(chatRequest.stream(), "Request must set the stream property to true.");
 
-		AtomicBoolean isInsideTool = new AtomicBoolean(false);
 		boolean incrementalOutput = chatRequest.parameters() != null
 				&& chatRequest.parameters().incrementalOutput() != null && chatRequest.parameters().incrementalOutput();
 		DashScopeAiStreamFunctionCallingHelper chunkMerger = new DashScopeAiStreamFunctionCallingHelper(
@@ -545,7 +542,7 @@ public class DashScopeApi {
 			chatCompletionUri = "/api/v1/services/aigc/multimodal-generation/generation";
 		}
 
-		return this.webClient.post().uri(chatCompletionUri).headers(headers -> {
+		Flux<DataBuffer> body = this.webClient.post().uri(chatCompletionUri).headers(headers -> {
 			headers.addAll(additionalHttpHeader);
 			// For DashScope stream
 			headers.add("X-DashScope-SSE", "enable");
@@ -553,31 +550,30 @@ public class DashScopeApi {
 		})
 			.body(Mono.just(chatRequest), DashScopeAPISpec.ChatCompletionRequest.class)
 			.retrieve()
-			.bodyToFlux(String.class)
-			.takeUntil(SSE_DONE_PREDICATE)
-			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, DashScopeAPISpec.ChatCompletionChunk.class))
-			.map(chunk -> {
-				if (chunkMerger.isStreamingToolFunctionCall(chunk)) {
-					isInsideTool.set(true);
+			.bodyToFlux(DataBuffer.class);
+
+		return chunkMerger.mergeToolCallChunks(decodeChunks(body));
+	}
+
+	/**
+	 * Decode the raw event stream into chat completion chunks. Every network buffer is
+	 * parsed in place and released right after, the stream completes on {@code [DONE]}.
+	 */
+	private static Flux<DashScopeAPISpec.ChatCompletionChunk> decodeChunks(Flux<DataBuffer> body) {
+		return Flux.defer(() -> {
+			DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+			return body.<List<DashScopeAPISpec.ChatCompletionChunk>>handle((buffer, sink) -> {
+				try {
+					sink.next(decoder.decode(buffer));
 				}
-				return chunk;
-			})
-			.windowUntil(chunk -> {
-				if (isInsideTool.get() && chunkMerger.isStreamingToolFunctionCallFinish(chunk)) {
-					isInsideTool.set(false);
-					return true;
+				finally {
+					DataBufferUtils.release(buffer);
 				}
-				return !isInsideTool.get();
-			})
-			.concatMapIterable(window -> {
-				Mono<DashScopeAPISpec.ChatCompletionChunk> monoChunk = window.reduce(
-                        new DashScopeAPISpec.ChatCompletionChunk(null, null, null, null),
-						chunkMerger::merge
-                );
-				return List.of(monoChunk);
-			})
-			.flatMap(mono -> mono);
+				if (decoder.isDone()) {
+					sink.complete();
+				}
+			}).doOnDiscard(DataBuffer.class, DataBufferUtils::release).concatMapIterable(chunks -> chunks);
+		});
 	}
 
 	/**
@@ -152,8 +152,27 @@ public class DashScopeAudioTranscriptionApi {
 		}
 	}
 
+	/**
+	 * Stream the results of the most recently started realtime task.
+	 * @deprecated use {@link #realtimeStream(String, Flux)}, which also works when
+	 * several tasks run concurrently
+	 */
+	@Deprecated(since = "1.1.0")
 	public Flux<RealtimeResponse> realtimeStream(Flux<ByteBuffer> audio) {
-		return this.webSocketClient.streamTextOut(audio).handle((msg, sink) -> {
+		return toRealtimeResponses(this.webSocketClient.streamTextOut(audio));
+	}
+
+	/**
+	 * Stream the results of the realtime task {@code taskId}, started before with
+	 * {@link #realtimeControl(RealtimeRequest)}. Several tasks may run concurrently on
+	 * the same api instance.
+	 */
+	public Flux<RealtimeResponse> realtimeStream(String taskId, Flux<ByteBuffer> audio) {
+		return toRealtimeResponses(this.webSocketClient.streamTextOut(taskId, audio));
+	}
+
+	private Flux<RealtimeResponse> toRealtimeResponses(Flux<String> messages) {
+		return messages.handle((msg, sink) -> {
 			try {
 				sink.next((new ObjectMapper()).readValue(msg, RealtimeResponse.class));
 			}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.api;
+
+import com.alibaba.cloud.ai.dashscope.common.DashScopeException;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionChunk;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder for the DashScope chat completion event stream. The bytes of the
+ * {@code data:} fields are fed straight from the network buffers into Jackson's
+ * non-blocking parser, so no intermediate {@code String} is built for an event before
+ * it is bound to a {@link ChatCompletionChunk}. Other SSE fields ({@code id:},
+ * {@code event:} and comments) are skipped, and a {@code [DONE]} payload ends the
+ * stream.
+ * <p>
+ * A decoder keeps the parser state between buffers and must be used by a single
+ * subscription at a time.
+ *
+ * @since 1.1.0
+ */
+public class DashScopeSseChunkDecoder {
+
+	private static final byte[] DATA_FIELD = "data:".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] DONE = "[DONE]".getBytes(StandardCharsets.US_ASCII);
+
+	/** Matching the field name at the start of a line. */
+	private static final int FIELD = 0;
+
+	/** Right after {@code data:}, an optional single space may follow. */
+	private static final int DATA_START = 1;
+
+	/** First byte of the payload. */
+	private static final int DATA_FIRST = 2;
+
+	/** The payload starts like {@code [DONE]}, the bytes are held back until decided. */
+	private static final int DONE_CHECK = 3;
+
+	/** Inside a payload, the bytes go to the parser. */
+	private static final int DATA = 4;
+
+	/** Inside a line that is not a data field. */
+	private static final int SKIP = 5;
+
+	private final ObjectMapper objectMapper;
+
+	private final JsonParser parser;
+
+	private final ByteBufferFeeder feeder;
+
+	private final byte[] pending = new byte[DONE.length];
+
+	private int pendingLength;
+
+	private int state = FIELD;
+
+	private int matched;
+
+	private TokenBuffer tokenBuffer;
+
+	private int depth;
+
+	private boolean done;
+
+	public DashScopeSseChunkDecoder() {
+		this(ModelOptionsUtils.OBJECT_MAPPER);
+	}
+
+	public DashScopeSseChunkDecoder(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "objectMapper must not be null");
+		this.objectMapper = objectMapper;
+		try {
+			this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+		}
+		catch (IOException ex) {
+			throw new DashScopeException("Failed to create the stream parser", ex);
+		}
+		this.feeder = (ByteBufferFeeder) this.parser.getNonBlockingInputFeeder();
+	}
+
+	/**
+	 * Decode the chunks completed by the given buffer. The buffer is only read, releasing
+	 * it is left to the caller.
+	 * @param buffer the next network buffer
+	 * @return the chunks completed by this buffer, possibly empty
+	 */
+	public List<ChatCompletionChunk> decode(DataBuffer buffer) {
+		List<ChatCompletionChunk> chunks = new ArrayList<>(2);
+		try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+			while (iterator.hasNext() && !this.done) {
+				decode(iterator.next(), chunks);
+			}
+		}
+		return chunks;
+	}
+
+	/**
+	 * Decode the chunks completed by the readable bytes of the given buffer. The position
+	 * of the buffer is left unchanged.
+	 * @param buffer the next bytes of the stream
+	 * @return the chunks completed by these bytes, possibly empty
+	 */
+	public List<ChatCompletionChunk> decode(ByteBuffer buffer) {
+		List<ChatCompletionChunk> chunks = new ArrayList<>(2);
+		decode(buffer, chunks);
+		return chunks;
+	}
+
+	/**
+	 * Whether the {@code [DONE]} event has been read, any later input is ignored.
+	 * @return true once the stream is done
+	 */
+	public boolean isDone() {
+		return this.done;
+	}
+
+	private void decode(ByteBuffer input, List<ChatCompletionChunk> chunks) {
+		int limit = input.limit();
+		int dataStart = (this.state == DATA) ? input.position() : -1;
+		for (int i = input.position(); i < limit && !this.done; i++) {
+			byte b = input.get(i);
+			switch (this.state) {
+				case FIELD -> {
+					if (b == '\n' || (b == '\r' && this.matched == 0)) {
+						this.matched = 0;
+					}
+					else if (b == DATA_FIELD[this.matched]) {
+						if (++this.matched == DATA_FIELD.length) {
+							this.matched = 0;
+							this.state = DATA_START;
+						}
+					}
+					else {
+						this.matched = 0;
+						this.state = SKIP;
+					}
+				}
+				case DATA_START, DATA_FIRST -> {
+					if (b == ' ' && this.state == DATA_START) {
+						this.state = DATA_FIRST;
+					}
+					else if (b == '\n') {
+						this.state = FIELD;
+					}
+					else if (b == DONE[0]) {
+						this.pending[0] = b;
+						this.pendingLength = 1;
+						this.state = DONE_CHECK;
+					}
+					else {
+						this.state = DATA;
+						dataStart = i;
+					}
+				}
+				case DONE_CHECK -> {
+					if (b == DONE[this.pendingLength]) {
+						this.pending[this.pendingLength++] = b;
+						if (this.pendingLength == DONE.length) {
+							this.done = true;
+						}
+					}
+					else {
+						feed(ByteBuffer.wrap(this.pending, 0, this.pendingLength), chunks);
+						if (b == '\n') {
+							this.state = FIELD;
+						}
+						else {
+							this.state = DATA;
+							dataStart = i;
+						}
+					}
+				}
+				case DATA -> {
+					if (b == '\n') {
+						// keep the line break, consecutive data lines of one event are
+						// joined by it
+						feed(input.duplicate().limit(i + 1).position(dataStart), chunks);
+						dataStart = -1;
+						this.state = FIELD;
+					}
+				}
+				default -> {
+					if (b == '\n') {
+						this.state = FIELD;
+					}
+				}
+			}
+		}
+		if (this.state == DATA && dataStart >= 0 && !this.done) {
+			feed(input.duplicate().limit(limit).position(dataStart), chunks);
+		}
+	}
+
+	private void feed(ByteBuffer bytes, List<ChatCompletionChunk> chunks) {
+		try {
+			this.feeder.feedInput(bytes);
+			JsonToken token;
+			while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+				if (this.tokenBuffer == null) {
+					if (!token.isStructStart()) {
+						// a scalar payload carries no chunk
+						continue;
+					}
+					this.tokenBuffer = TokenBuffer.forBuffering(this.parser, this.objectMapper);
+				}
+				this.tokenBuffer.copyCurrentEvent(this.parser);
+				if (token.isStructStart()) {
+					this.depth++;
+				}
+				else if (token.isStructEnd() && --this.depth == 0) {
+					try (JsonParser chunkParser = this.tokenBuffer.asParser(this.objectMapper)) {
+						chunks.add(this.objectMapper.readValue(chunkParser, ChatCompletionChunk.class));
+					}
+					this.tokenBuffer = null;
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new DashScopeException("Failed to decode the chat completion stream", ex);
+		}
+	}
+
+}
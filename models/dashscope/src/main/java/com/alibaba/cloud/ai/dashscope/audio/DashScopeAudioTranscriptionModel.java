@@ -19,6 +19,7 @@ import com.alibaba.cloud.ai.dashscope.api.DashScopeAudioTranscriptionApi;
 import com.alibaba.cloud.ai.dashscope.audio.transcription.AudioTranscriptionModel;
 import com.alibaba.cloud.ai.dashscope.common.DashScopeApiConstants;
 import com.alibaba.cloud.ai.dashscope.common.DashScopeException;
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller;
 import com.alibaba.cloud.ai.dashscope.protocol.DashScopeWebSocketClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +42,8 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Audio transcription: Input audio, output text.
@@ -54,11 +57,23 @@ public class DashScopeAudioTranscriptionModel implements AudioTranscriptionModel
 
 	private final DashScopeAudioTranscriptionOptions options;
 
+	private final DashScopeTaskPoller taskPoller;
+
 	public DashScopeAudioTranscriptionModel(DashScopeAudioTranscriptionApi api,
 			DashScopeAudioTranscriptionOptions options) {
+		this(api, options, null);
+	}
+
+	/**
+	 * @param taskPoller poller used to wait for transcription tasks, {@code null} to use
+	 * the shared one
+	 */
+	public DashScopeAudioTranscriptionModel(DashScopeAudioTranscriptionApi api,
+			DashScopeAudioTranscriptionOptions options, DashScopeTaskPoller taskPoller) {
 
 		this.api = Objects.requireNonNull(api, "api must not be null");
 		this.options = Objects.requireNonNull(options, "options must not be null");
+		this.taskPoller = taskPoller;
 	}
 
 	@Override
@@ -88,52 +103,61 @@ public class DashScopeAudioTranscriptionModel implements AudioTranscriptionModel
 
 	@Override
 	public AudioTranscriptionResponse call(AudioTranscriptionPrompt prompt) {
+		try {
+			return callAsync(prompt).join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new DashScopeException("transcription task failed", ex.getCause());
+		}
+	}
+
+	/**
+	 * Submit the transcription task and wait for its outcome on the task poller without
+	 * blocking the calling thread. Unlike {@link #asyncCall(AudioTranscriptionPrompt)},
+	 * which only submits, the returned future completes with the final task status.
+	 */
+	public CompletableFuture<AudioTranscriptionResponse> callAsync(AudioTranscriptionPrompt prompt) {
 		DashScopeAudioTranscriptionApi.Request request = createRequest(prompt);
 
 		ResponseEntity<DashScopeAudioTranscriptionApi.Response> submitResponse = this.api.call(request);
 
 		String taskId = Objects.requireNonNull(submitResponse.getBody()).output().taskId();
 
-		int waitMilliseconds = 1000;
-		int maxWaitMilliseconds = 5 * 1000;
-		int incrementSteps = 3;
-		int step = 0;
-		while (true) {
-			DashScopeAudioTranscriptionApi.Response fetchResponse = (this.api.callWithTaskId(request, taskId))
-				.getBody();
-
-			DashScopeAudioTranscriptionApi.TaskStatus taskStatus = Objects.requireNonNull(fetchResponse)
-				.output()
-				.taskStatus();
-
-			if (taskStatus == DashScopeAudioTranscriptionApi.TaskStatus.FAILED
-					|| taskStatus == DashScopeAudioTranscriptionApi.TaskStatus.CANCELED
-					|| taskStatus == DashScopeAudioTranscriptionApi.TaskStatus.UNKNOWN) {
-				logger.error("task failed");
-				return toResponse(fetchResponse);
-			}
-			else if (taskStatus == DashScopeAudioTranscriptionApi.TaskStatus.SUCCEEDED) {
-				logger.info("task succeeded");
-				return toResponse(fetchResponse);
-			}
-			else {
-				step += 1;
-				if (waitMilliseconds < maxWaitMilliseconds && step % incrementSteps == 0) {
-					waitMilliseconds = Math.min(waitMilliseconds * 2, maxWaitMilliseconds);
-				}
-				try {
-					Thread.sleep(waitMilliseconds);
+		DashScopeTaskPoller poller = this.taskPoller != null ? this.taskPoller : DashScopeTaskPoller.shared();
+		return poller
+			.poll("transcription", taskId, id -> this.api.callWithTaskId(request, id).getBody(),
+					DashScopeAudioTranscriptionModel::taskState)
+			.thenApply(fetchResponse -> {
+				if (fetchResponse.output().taskStatus() == DashScopeAudioTranscriptionApi.TaskStatus.SUCCEEDED) {
+					logger.info("task succeeded");
 				}
-				catch (InterruptedException ignored) {
+				else {
+					logger.error("task failed");
 				}
-			}
+				return toResponse(fetchResponse);
+			});
+	}
+
+	private static DashScopeTaskPoller.TaskState taskState(DashScopeAudioTranscriptionApi.Response response) {
+		if (response.output() == null || response.output().taskStatus() == null) {
+			return DashScopeTaskPoller.TaskState.PENDING;
 		}
+		return switch (response.output().taskStatus()) {
+			case SUCCEEDED -> DashScopeTaskPoller.TaskState.SUCCEEDED;
+			case FAILED, CANCELED, UNKNOWN -> DashScopeTaskPoller.TaskState.FAILED;
+			default -> DashScopeTaskPoller.TaskState.PENDING;
+		};
 	}
 
 	@Override
 	public Flux<AudioTranscriptionResponse> stream(AudioTranscriptionPrompt prompt) {
+		// run-task and finish-task must carry the same task id
+		String taskId = UUID.randomUUID().toString();
 		DashScopeAudioTranscriptionApi.RealtimeRequest run_request = createRealtimeRequest(prompt,
-				DashScopeWebSocketClient.EventType.RUN_TASK);
+				DashScopeWebSocketClient.EventType.RUN_TASK, taskId);
 
 		logger.info("send run-task");
 		this.api.realtimeControl(run_request);
@@ -151,13 +175,13 @@ public class DashScopeAudioTranscriptionModel implements AudioTranscriptionModel
 			.delayElements(Duration.ofMillis(100), Schedulers.boundedElastic())
 			.doOnComplete(() -> {
 				DashScopeAudioTranscriptionApi.RealtimeRequest finish_request = createRealtimeRequest(prompt,
-						DashScopeWebSocketClient.EventType.FINISH_TASK);
+						DashScopeWebSocketClient.EventType.FINISH_TASK, taskId);
 
 				logger.info("send finish-task");
 				this.api.realtimeControl(finish_request);
 			});
 
-		return this.api.realtimeStream(audio).map(this::toResponse);
+		return this.api.realtimeStream(taskId, audio).map(this::toResponse);
 	}
 
 	private DashScopeAudioTranscriptionApi.Request createRequest(AudioTranscriptionPrompt prompt) {
@@ -180,12 +204,11 @@ public class DashScopeAudioTranscriptionModel implements AudioTranscriptionModel
 	}
 
 	private DashScopeAudioTranscriptionApi.RealtimeRequest createRealtimeRequest(AudioTranscriptionPrompt prompt,
-			DashScopeWebSocketClient.EventType action) {
+			DashScopeWebSocketClient.EventType action, String taskId) {
 		DashScopeAudioTranscriptionOptions options = mergeOptions(prompt);
 
 		return new DashScopeAudioTranscriptionApi.RealtimeRequest(
-				new DashScopeAudioTranscriptionApi.RealtimeRequest.Header(action, UUID.randomUUID().toString(),
-						"duplex"),
+				new DashScopeAudioTranscriptionApi.RealtimeRequest.Header(action, taskId, "duplex"),
 				new DashScopeAudioTranscriptionApi.RealtimeRequest.Payload(options.getModel(), "audio", "asr",
 						"recognition", new DashScopeAudioTranscriptionApi.RealtimeRequest.Payload.Input(),
 						new DashScopeAudioTranscriptionApi.RealtimeRequest.Payload.Parameters(options.getSampleRate(),
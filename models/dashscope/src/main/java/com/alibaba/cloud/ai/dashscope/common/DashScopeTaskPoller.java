@@ -0,0 +1,457 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.common;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.util.Assert;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Polls DashScope asynchronous tasks (image, video, transcription) without pinning a
+ * thread per task. Pending tasks are kept in memory and a single scheduler thread wakes
+ * up periodically to dispatch all status checks that are due to a small, bounded check
+ * pool. The interval of a task grows while it stays pending, the number of tasks being
+ * polled is capped, and extra tasks wait in a queue until a slot frees up.
+ * <p>
+ * Results are exposed as {@link CompletableFuture} or {@link Mono}. A task that does not
+ * finish before its timeout completes exceptionally with a {@link TimeoutException}.
+ *
+ * @since 1.1.0
+ */
+public class DashScopeTaskPoller implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(DashScopeTaskPoller.class);
+
+	private static final String METRIC_PREFIX = "dashscope.task.poll";
+
+	private static volatile DashScopeTaskPoller sharedInstance;
+
+	/**
+	 * Normalized status of a DashScope task.
+	 */
+	public enum TaskState {
+
+		PENDING, SUCCEEDED, FAILED
+
+	}
+
+	private final Duration initialInterval;
+
+	private final Duration maxInterval;
+
+	private final double backoffMultiplier;
+
+	private final Duration defaultTimeout;
+
+	private final int maxInFlight;
+
+	private final MeterRegistry meterRegistry;
+
+	private final ScheduledExecutorService scheduler;
+
+	private final ExecutorService checkExecutor;
+
+	private final Set<PolledTask<?>> active = ConcurrentHashMap.newKeySet();
+
+	private final Queue<PolledTask<?>> waiting = new ConcurrentLinkedQueue<>();
+
+	private volatile boolean closed;
+
+	private DashScopeTaskPoller(Builder builder) {
+		this.initialInterval = builder.initialInterval;
+		this.maxInterval = builder.maxInterval;
+		this.backoffMultiplier = builder.backoffMultiplier;
+		this.defaultTimeout = builder.timeout;
+		this.maxInFlight = builder.maxInFlight;
+		this.meterRegistry = builder.meterRegistry;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("dashscope-task-poller"));
+		this.checkExecutor = Executors.newFixedThreadPool(builder.checkConcurrency,
+				daemonThreadFactory("dashscope-task-check"));
+		long tickMillis = builder.tickInterval.toMillis();
+		this.scheduler.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+
+		if (this.meterRegistry != null) {
+			Gauge.builder(METRIC_PREFIX + ".queue", this.waiting, Queue::size)
+				.description("DashScope tasks waiting for a polling slot")
+				.register(this.meterRegistry);
+			Gauge.builder(METRIC_PREFIX + ".inflight", this.active, Set::size)
+				.description("DashScope tasks being polled")
+				.register(this.meterRegistry);
+		}
+	}
+
+	/**
+	 * Poller shared by all models that were not given a dedicated one. It uses the
+	 * builder defaults and publishes no metrics; Spring Boot applications get a
+	 * configured poller bean from the DashScope auto-configuration instead.
+	 */
+	public static DashScopeTaskPoller shared() {
+		DashScopeTaskPoller poller = sharedInstance;
+		if (poller == null) {
+			synchronized (DashScopeTaskPoller.class) {
+				poller = sharedInstance;
+				if (poller == null) {
+					poller = builder().build();
+					sharedInstance = poller;
+				}
+			}
+		}
+		return poller;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Poll a task with the default timeout.
+	 * @param taskType task kind used as metric tag, e.g. {@code image}
+	 * @param taskId DashScope task id
+	 * @param statusFetcher fetches the current task status, may return {@code null} when
+	 * nothing was returned yet
+	 * @param stateResolver maps a status response to a {@link TaskState}
+	 * @return future completed with the final status response
+	 */
+	public <T> CompletableFuture<T> poll(String taskType, String taskId, Function<String, T> statusFetcher,
+			Function<T, TaskState> stateResolver) {
+		return poll(taskType, taskId, statusFetcher, stateResolver, this.defaultTimeout);
+	}
+
+	public <T> CompletableFuture<T> poll(String taskType, String taskId, Function<String, T> statusFetcher,
+			Function<T, TaskState> stateResolver, Duration timeout) {
+		Assert.hasText(taskId, "taskId must not be empty");
+		Assert.notNull(statusFetcher, "statusFetcher must not be null");
+		Assert.notNull(stateResolver, "stateResolver must not be null");
+		Assert.notNull(timeout, "timeout must not be null");
+		if (this.closed) {
+			return CompletableFuture.failedFuture(new IllegalStateException("DashScopeTaskPoller is closed"));
+		}
+
+		PolledTask<T> task = new PolledTask<>(taskType, taskId, statusFetcher, stateResolver, timeout,
+				this.initialInterval);
+		task.future.whenComplete((result, error) -> onDone(task, error));
+		this.waiting.offer(task);
+		admit();
+		return task.future;
+	}
+
+	/**
+	 * Lazy {@link Mono} variant of
+	 * {@link #poll(String, String, Function, Function)}; polling starts on subscription
+	 * and stops when the subscription is cancelled.
+	 */
+	public <T> Mono<T> pollMono(String taskType, String taskId, Function<String, T> statusFetcher,
+			Function<T, TaskState> stateResolver) {
+		return Mono.fromFuture(() -> poll(taskType, taskId, statusFetcher, stateResolver));
+	}
+
+	/**
+	 * Timeout applied by {@link #poll(String, String, Function, Function)}.
+	 */
+	public Duration getDefaultTimeout() {
+		return this.defaultTimeout;
+	}
+
+	public int getQueueDepth() {
+		return this.waiting.size();
+	}
+
+	public int getInFlight() {
+		return this.active.size();
+	}
+
+	private synchronized void admit() {
+		long now = System.nanoTime();
+		while (this.active.size() < this.maxInFlight) {
+			PolledTask<?> task = this.waiting.poll();
+			if (task == null) {
+				return;
+			}
+			if (task.future.isDone()) {
+				continue;
+			}
+			// first check right away, later ones back off
+			task.nextCheckNanos = now;
+			this.active.add(task);
+		}
+	}
+
+	private void tick() {
+		try {
+			long now = System.nanoTime();
+			for (PolledTask<?> task : this.waiting) {
+				if (now - task.deadlineNanos > 0) {
+					task.timeout();
+				}
+			}
+			for (PolledTask<?> task : this.active) {
+				if (task.future.isDone()) {
+					continue;
+				}
+				if (now - task.deadlineNanos > 0) {
+					task.timeout();
+				}
+				else if (!task.checking && now - task.nextCheckNanos >= 0) {
+					task.checking = true;
+					dispatch(task);
+				}
+			}
+		}
+		catch (Throwable ex) {
+			logger.error("DashScope task poller tick failed", ex);
+		}
+	}
+
+	private void dispatch(PolledTask<?> task) {
+		try {
+			this.checkExecutor.execute(() -> check(task));
+		}
+		catch (RejectedExecutionException ex) {
+			task.checking = false;
+			task.future.completeExceptionally(ex);
+		}
+	}
+
+	private <T> void check(PolledTask<T> task) {
+		try {
+			T status = task.statusFetcher.apply(task.taskId);
+			TaskState state = status != null ? task.stateResolver.apply(status) : TaskState.PENDING;
+			if (state == null || state == TaskState.PENDING) {
+				task.backoff(this.backoffMultiplier, this.maxInterval);
+				return;
+			}
+			task.outcome = state == TaskState.SUCCEEDED ? "succeeded" : "failed";
+			task.future.complete(status);
+		}
+		catch (TransientAiException | ResourceAccessException ex) {
+			logger.debug("Transient error while polling {} task {}: {}", task.taskType, task.taskId, ex.getMessage());
+			task.backoff(this.backoffMultiplier, this.maxInterval);
+		}
+		catch (RuntimeException ex) {
+			task.outcome = "error";
+			task.future.completeExceptionally(ex);
+		}
+		finally {
+			task.checking = false;
+		}
+	}
+
+	private void onDone(PolledTask<?> task, Throwable error) {
+		this.waiting.remove(task);
+		if (this.active.remove(task)) {
+			admit();
+		}
+		String outcome = task.outcome;
+		if (outcome == null) {
+			outcome = error instanceof TimeoutException ? "timeout" : (error != null ? "cancelled" : "succeeded");
+		}
+		if (this.meterRegistry != null) {
+			Timer.builder(METRIC_PREFIX + ".duration")
+				.description("Time from submission to completion of DashScope tasks")
+				.tag("type", task.taskType != null ? task.taskType : "unknown")
+				.tag("outcome", outcome)
+				.register(this.meterRegistry)
+				.record(System.nanoTime() - task.submittedNanos, TimeUnit.NANOSECONDS);
+		}
+		logger.debug("DashScope {} task {} done: {}", task.taskType, task.taskId, outcome);
+	}
+
+	@Override
+	public void close() {
+		this.closed = true;
+		this.scheduler.shutdownNow();
+		this.checkExecutor.shutdownNow();
+		IllegalStateException closedException = new IllegalStateException("DashScopeTaskPoller is closed");
+		for (PolledTask<?> task : this.waiting) {
+			task.future.completeExceptionally(closedException);
+		}
+		for (PolledTask<?> task : this.active) {
+			task.future.completeExceptionally(closedException);
+		}
+	}
+
+	private static ThreadFactory daemonThreadFactory(String prefix) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static final class PolledTask<T> {
+
+		private final String taskType;
+
+		private final String taskId;
+
+		private final Function<String, T> statusFetcher;
+
+		private final Function<T, TaskState> stateResolver;
+
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+
+		private final long submittedNanos = System.nanoTime();
+
+		private final long deadlineNanos;
+
+		private final Duration timeout;
+
+		private volatile long intervalNanos;
+
+		private volatile long nextCheckNanos;
+
+		private volatile boolean checking;
+
+		private volatile String outcome;
+
+		private PolledTask(String taskType, String taskId, Function<String, T> statusFetcher,
+				Function<T, TaskState> stateResolver, Duration timeout, Duration initialInterval) {
+			this.taskType = taskType;
+			this.taskId = taskId;
+			this.statusFetcher = statusFetcher;
+			this.stateResolver = stateResolver;
+			this.timeout = timeout;
+			this.deadlineNanos = this.submittedNanos + timeout.toNanos();
+			this.intervalNanos = initialInterval.toNanos();
+		}
+
+		private void backoff(double multiplier, Duration maxInterval) {
+			long interval = this.intervalNanos;
+			this.nextCheckNanos = System.nanoTime() + interval;
+			this.intervalNanos = Math.min((long) (interval * multiplier), maxInterval.toNanos());
+		}
+
+		private void timeout() {
+			this.outcome = "timeout";
+			this.future.completeExceptionally(
+					new TimeoutException("DashScope task " + this.taskId + " not finished after " + this.timeout));
+		}
+
+	}
+
+	public static final class Builder {
+
+		private Duration initialInterval = Duration.ofSeconds(1);
+
+		private Duration maxInterval = Duration.ofSeconds(10);
+
+		private double backoffMultiplier = 1.5;
+
+		private Duration timeout = Duration.ofMinutes(10);
+
+		private Duration tickInterval = Duration.ofMillis(100);
+
+		private int maxInFlight = 512;
+
+		private int checkConcurrency = 8;
+
+		private MeterRegistry meterRegistry;
+
+		private Builder() {
+		}
+
+		/**
+		 * Interval between the first and the second status check.
+		 */
+		public Builder initialInterval(Duration initialInterval) {
+			this.initialInterval = initialInterval;
+			return this;
+		}
+
+		public Builder maxInterval(Duration maxInterval) {
+			this.maxInterval = maxInterval;
+			return this;
+		}
+
+		/**
+		 * Factor applied to the interval after every pending status.
+		 */
+		public Builder backoffMultiplier(double backoffMultiplier) {
+			this.backoffMultiplier = backoffMultiplier;
+			return this;
+		}
+
+		public Builder timeout(Duration timeout) {
+			this.timeout = timeout;
+			return this;
+		}
+
+		/**
+		 * Resolution of the scheduler that dispatches due status checks.
+		 */
+		public Builder tickInterval(Duration tickInterval) {
+			this.tickInterval = tickInterval;
+			return this;
+		}
+
+		/**
+		 * Maximum number of tasks polled at the same time, others wait in a queue.
+		 */
+		public Builder maxInFlight(int maxInFlight) {
+			this.maxInFlight = maxInFlight;
+			return this;
+		}
+
+		/**
+		 * Number of threads issuing status requests.
+		 */
+		public Builder checkConcurrency(int checkConcurrency) {
+			this.checkConcurrency = checkConcurrency;
+			return this;
+		}
+
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public DashScopeTaskPoller build() {
+			Assert.isTrue(!initialInterval.isNegative() && !initialInterval.isZero(),
+					"initialInterval must be positive");
+			Assert.isTrue(maxInterval.compareTo(initialInterval) >= 0, "maxInterval must not be below initialInterval");
+			Assert.isTrue(backoffMultiplier >= 1.0, "backoffMultiplier must be at least 1");
+			Assert.isTrue(!tickInterval.isNegative() && !tickInterval.isZero(), "tickInterval must be positive");
+			Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+			Assert.isTrue(checkConcurrency > 0, "checkConcurrency must be positive");
+			return new DashScopeTaskPoller(this);
+		}
+
+	}
+
+}
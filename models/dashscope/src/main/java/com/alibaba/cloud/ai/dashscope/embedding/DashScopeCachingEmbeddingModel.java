@@ -0,0 +1,242 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.ai.chat.metadata.EmptyUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.AbstractEmbeddingModel;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+import org.springframework.util.Assert;
+
+/**
+ * Caching decorator for {@link DashScopeEmbeddingModel}. Vectors are cached under a key
+ * made of the model, dimensions, text type and the SHA-256 of the text, so the same
+ * text embedded with different options is cached separately.
+ * <p>
+ * A call first looks up all of its texts in the {@link EmbeddingCache} and only sends
+ * the misses, deduplicated, to the delegate. Hit and miss counts are available from
+ * {@link #getHitCount()} and {@link #getMissCount()}, and are exported as the
+ * {@code dashscope.embedding.cache.gets} counter tagged with {@code result} when a
+ * {@link MeterRegistry} is given.
+ *
+ * @since 1.1.0
+ */
+public class DashScopeCachingEmbeddingModel extends AbstractEmbeddingModel {
+
+	public static final String METRIC_NAME = "dashscope.embedding.cache.gets";
+
+	private final DashScopeEmbeddingModel delegate;
+
+	private final EmbeddingCache cache;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final Counter hitCounter;
+
+	private final Counter missCounter;
+
+	public DashScopeCachingEmbeddingModel(DashScopeEmbeddingModel delegate) {
+		this(delegate, new InMemoryEmbeddingCache());
+	}
+
+	public DashScopeCachingEmbeddingModel(DashScopeEmbeddingModel delegate, EmbeddingCache cache) {
+		this(delegate, cache, null);
+	}
+
+	/**
+	 * @param meterRegistry registry for the hit and miss counters, may be {@code null}
+	 */
+	public DashScopeCachingEmbeddingModel(DashScopeEmbeddingModel delegate, EmbeddingCache cache,
+			MeterRegistry meterRegistry) {
+		Assert.notNull(delegate, "delegate must not be null");
+		Assert.notNull(cache, "cache must not be null");
+		this.delegate = delegate;
+		this.cache = cache;
+		if (meterRegistry != null) {
+			this.hitCounter = Counter.builder(METRIC_NAME)
+				.description("Lookups of DashScope embeddings in the embedding cache")
+				.tag("result", "hit")
+				.register(meterRegistry);
+			this.missCounter = Counter.builder(METRIC_NAME)
+				.description("Lookups of DashScope embeddings in the embedding cache")
+				.tag("result", "miss")
+				.register(meterRegistry);
+		}
+		else {
+			this.hitCounter = null;
+			this.missCounter = null;
+		}
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		Assert.notNull(request, "EmbeddingRequest must not be null");
+		EmbeddingRequest embeddingRequest = this.delegate.buildEmbeddingRequest(request);
+		DashScopeEmbeddingOptions options = (DashScopeEmbeddingOptions) embeddingRequest.getOptions();
+		List<String> texts = embeddingRequest.getInstructions();
+
+		String[] keys = new String[texts.size()];
+		Set<String> uniqueKeys = new LinkedHashSet<>();
+		for (int i = 0; i < texts.size(); i++) {
+			keys[i] = cacheKey(options, texts.get(i));
+			uniqueKeys.add(keys[i]);
+		}
+
+		Map<String, float[]> vectors = new HashMap<>(this.cache.getAll(uniqueKeys));
+
+		// misses keep the input order, identical texts are sent once
+		Map<String, String> missingTexts = new LinkedHashMap<>();
+		int hitCount = 0;
+		for (int i = 0; i < texts.size(); i++) {
+			if (vectors.containsKey(keys[i])) {
+				hitCount++;
+			}
+			else {
+				missingTexts.putIfAbsent(keys[i], texts.get(i));
+			}
+		}
+		record(hitCount, texts.size() - hitCount);
+
+		Usage usage = new EmptyUsage();
+		if (!missingTexts.isEmpty()) {
+			List<String> missingKeys = new ArrayList<>(missingTexts.keySet());
+			EmbeddingResponse response = this.delegate
+				.call(new EmbeddingRequest(new ArrayList<>(missingTexts.values()), options));
+
+			Map<String, float[]> loaded = new HashMap<>();
+			for (Embedding embedding : response.getResults()) {
+				Integer index = embedding.getIndex();
+				if (index != null && index >= 0 && index < missingKeys.size()) {
+					loaded.put(missingKeys.get(index), embedding.getOutput());
+				}
+			}
+			this.cache.putAll(loaded);
+			vectors.putAll(loaded);
+			if (response.getMetadata() != null && response.getMetadata().getUsage() != null) {
+				usage = response.getMetadata().getUsage();
+			}
+		}
+
+		// identical texts get their own copy, one array must not back two results
+		List<Embedding> embeddings = new ArrayList<>(texts.size());
+		Set<String> returnedKeys = new HashSet<>();
+		for (int i = 0; i < texts.size(); i++) {
+			float[] vector = vectors.get(keys[i]);
+			if (vector != null) {
+				embeddings.add(new Embedding(returnedKeys.add(keys[i]) ? vector : vector.clone(), i));
+			}
+		}
+
+		Map<String, Object> metadata = new HashMap<>();
+		metadata.put("model", options.getModel());
+		metadata.put("total-tokens", usage.getTotalTokens());
+		metadata.put("cache-hits", hitCount);
+		return new EmbeddingResponse(embeddings, new EmbeddingResponseMetadata(options.getModel(), usage, metadata));
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		Assert.notNull(document, "Document must not be null");
+		return this.embed(document.getFormattedContent(this.delegate.getMetadataMode()));
+	}
+
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		if (batchingStrategy instanceof DashScopeEmbeddingBatchingStrategy) {
+			// one lookup for all documents, the delegate splits and parallelizes the misses
+			Assert.notNull(documents, "Documents must not be null");
+			List<String> texts = documents.stream()
+				.map(document -> document.getFormattedContent(this.delegate.getMetadataMode()))
+				.toList();
+			return this.call(new EmbeddingRequest(texts, options))
+				.getResults()
+				.stream()
+				.map(Embedding::getOutput)
+				.toList();
+		}
+		return super.embed(documents, options, batchingStrategy);
+	}
+
+	@Override
+	public int dimensions() {
+		return this.delegate.dimensions();
+	}
+
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	public EmbeddingCache getCache() {
+		return this.cache;
+	}
+
+	private void record(int hitCount, int missCount) {
+		this.hits.add(hitCount);
+		this.misses.add(missCount);
+		if (this.hitCounter != null) {
+			this.hitCounter.increment(hitCount);
+			this.missCounter.increment(missCount);
+		}
+	}
+
+	static String cacheKey(DashScopeEmbeddingOptions options, String text) {
+		StringBuilder key = new StringBuilder();
+		key.append(options.getModel())
+			.append(':')
+			.append(options.getDimensions() != null ? options.getDimensions() : "")
+			.append(':')
+			.append(options.getTextType() != null ? options.getTextType() : "")
+			.append(':');
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			key.append(HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8))));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+		return key.toString();
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.util.Assert;
+
+/**
+ * {@link BatchingStrategy} that packs inputs into batches the DashScope embedding
+ * endpoint accepts: at most {@code maxTextsPerBatch} texts and at most
+ * {@code maxTokensPerBatch} estimated tokens per request. Batches are contiguous, so
+ * the position of a text in the original input is the batch offset plus its
+ * {@code text_index} in the response.
+ * <p>
+ * The defaults follow the strictest current models ({@code text-embedding-v3} and
+ * {@code text-embedding-v4} accept 10 texts per request); {@code text-embedding-v1}
+ * and {@code v2} accept up to 25. A text that exceeds the token budget on its own is
+ * sent alone and left to the server to reject.
+ *
+ * @since 1.1.0
+ */
+public class DashScopeEmbeddingBatchingStrategy implements BatchingStrategy {
+
+	public static final int DEFAULT_MAX_TEXTS_PER_BATCH = 10;
+
+	public static final int DEFAULT_MAX_TOKENS_PER_BATCH = 8192 * DEFAULT_MAX_TEXTS_PER_BATCH;
+
+	private final int maxTextsPerBatch;
+
+	private final int maxTokensPerBatch;
+
+	private final TokenCountEstimator tokenCountEstimator;
+
+	private final MetadataMode metadataMode;
+
+	public DashScopeEmbeddingBatchingStrategy() {
+		this(DEFAULT_MAX_TEXTS_PER_BATCH, DEFAULT_MAX_TOKENS_PER_BATCH);
+	}
+
+	public DashScopeEmbeddingBatchingStrategy(int maxTextsPerBatch, int maxTokensPerBatch) {
+		this(maxTextsPerBatch, maxTokensPerBatch, new JTokkitTokenCountEstimator(), MetadataMode.EMBED);
+	}
+
+	public DashScopeEmbeddingBatchingStrategy(int maxTextsPerBatch, int maxTokensPerBatch,
+			TokenCountEstimator tokenCountEstimator, MetadataMode metadataMode) {
+		Assert.isTrue(maxTextsPerBatch > 0, "maxTextsPerBatch must be positive");
+		Assert.isTrue(maxTokensPerBatch > 0, "maxTokensPerBatch must be positive");
+		Assert.notNull(tokenCountEstimator, "tokenCountEstimator must not be null");
+		Assert.notNull(metadataMode, "metadataMode must not be null");
+		this.maxTextsPerBatch = maxTextsPerBatch;
+		this.maxTokensPerBatch = maxTokensPerBatch;
+		this.tokenCountEstimator = tokenCountEstimator;
+		this.metadataMode = metadataMode;
+	}
+
+	@Override
+	public List<List<Document>> batch(List<Document> documents) {
+		Assert.notNull(documents, "documents must not be null");
+		return pack(documents, document -> document.getFormattedContent(this.metadataMode));
+	}
+
+	/**
+	 * Split texts into contiguous request-sized batches.
+	 */
+	public List<List<String>> batchTexts(List<String> texts) {
+		Assert.notNull(texts, "texts must not be null");
+		return pack(texts, Function.identity());
+	}
+
+	/**
+	 * Whether the texts fit in a single request, without estimating tokens when the
+	 * count alone already decides. A single text is always sent on its own, so it fits
+	 * whatever its size.
+	 */
+	public boolean fitsSingleBatch(List<String> texts) {
+		if (texts.size() <= 1) {
+			return true;
+		}
+		if (texts.size() > this.maxTextsPerBatch) {
+			return false;
+		}
+		int tokens = 0;
+		for (String text : texts) {
+			tokens += this.tokenCountEstimator.estimate(text);
+			if (tokens > this.maxTokensPerBatch) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private <T> List<List<T>> pack(List<T> items, Function<T, String> content) {
+		List<List<T>> batches = new ArrayList<>();
+		int start = 0;
+		int tokens = 0;
+		for (int i = 0; i < items.size(); i++) {
+			int itemTokens = this.tokenCountEstimator.estimate(content.apply(items.get(i)));
+			boolean full = i - start >= this.maxTextsPerBatch || tokens + itemTokens > this.maxTokensPerBatch;
+			if (full && i > start) {
+				batches.add(items.subList(start, i));
+				start = i;
+				tokens = 0;
+			}
+			tokens += itemTokens;
+		}
+		if (start < items.size()) {
+			batches.add(items.subList(start, items.size()));
+		}
+		return batches;
+	}
+
+	public int getMaxTextsPerBatch() {
+		return this.maxTextsPerBatch;
+	}
+
+	public int getMaxTokensPerBatch() {
+		return this.maxTokensPerBatch;
+	}
+
+}
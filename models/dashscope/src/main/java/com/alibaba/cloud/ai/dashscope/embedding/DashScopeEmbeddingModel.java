@@ -15,10 +15,19 @@
  */
 package com.alibaba.cloud.ai.dashscope.embedding;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec;
@@ -64,6 +73,8 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 
 	private static final EmbeddingModelObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingModelObservationConvention();
 
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
 	private final DashScopeEmbeddingOptions defaultOptions;
 
 	private final RetryTemplate retryTemplate;
@@ -77,6 +88,16 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 	 */
 	private final ObservationRegistry observationRegistry;
 
+	/**
+	 * Splits requests that exceed the per-request limits of the embedding endpoint.
+	 */
+	private final DashScopeEmbeddingBatchingStrategy batchingStrategy;
+
+	/**
+	 * Runs sub-batches of a split request, bounded to the configured concurrency.
+	 */
+	private final ExecutorService batchExecutor;
+
 	/**
 	 * Conventions to use for generating observations.
 	 */
@@ -106,17 +127,45 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 
 	public DashScopeEmbeddingModel(DashScopeApi dashScopeApi, MetadataMode metadataMode,
 			DashScopeEmbeddingOptions options, RetryTemplate retryTemplate, ObservationRegistry observationRegistry) {
+		this(dashScopeApi, metadataMode, options, retryTemplate, observationRegistry,
+				new DashScopeEmbeddingBatchingStrategy(), DEFAULT_MAX_CONCURRENCY);
+	}
+
+	/**
+	 * @param batchingStrategy splits requests into sub-batches the endpoint accepts
+	 * @param maxConcurrency maximum number of sub-batches of one model sent at the same
+	 * time
+	 */
+	public DashScopeEmbeddingModel(DashScopeApi dashScopeApi, MetadataMode metadataMode,
+			DashScopeEmbeddingOptions options, RetryTemplate retryTemplate, ObservationRegistry observationRegistry,
+			DashScopeEmbeddingBatchingStrategy batchingStrategy, int maxConcurrency) {
 		Assert.notNull(dashScopeApi, "DashScopeApi must not be null");
 		Assert.notNull(metadataMode, "metadataMode must not be null");
 		Assert.notNull(options, "options must not be null");
 		Assert.notNull(retryTemplate, "retryTemplate must not be null");
 		Assert.notNull(observationRegistry, "observationRegistry must not be null");
+		Assert.notNull(batchingStrategy, "batchingStrategy must not be null");
+		Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be positive");
 
 		this.dashScopeApi = dashScopeApi;
 		this.metadataMode = metadataMode;
 		this.defaultOptions = options;
 		this.retryTemplate = retryTemplate;
 		this.observationRegistry = observationRegistry;
+		this.batchingStrategy = batchingStrategy;
+		this.batchExecutor = createBatchExecutor(maxConcurrency);
+	}
+
+	private static ExecutorService createBatchExecutor(int maxConcurrency) {
+		AtomicInteger counter = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "dashscope-embedding-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 
 	@Override
@@ -127,65 +176,140 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 
 	@Override
 	public EmbeddingResponse call(EmbeddingRequest request) {
+		return call(request, this.batchingStrategy);
+	}
+
+	private EmbeddingResponse call(EmbeddingRequest request, DashScopeEmbeddingBatchingStrategy strategy) {
 		// Before moving any further, build the final request EmbeddingRequest,
 		// merging runtime and default options.
 		EmbeddingRequest embeddingRequest = buildEmbeddingRequest(request);
 
-        DashScopeAPISpec.EmbeddingRequest apiRequest = createRequest(embeddingRequest);
-
 		var observationContext = EmbeddingModelObservationContext.builder()
 			.embeddingRequest(embeddingRequest)
 			.provider(DashScopeApiConstants.PROVIDER_NAME)
 			.build();
 
 		return Objects.requireNonNull(EmbeddingModelObservationDocumentation.EMBEDDING_MODEL_OPERATION
-                .observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
-                        this.observationRegistry)
-                .observe(() -> {
-                    DashScopeAPISpec.EmbeddingList apiEmbeddingResponse = this.retryTemplate.execute(ctx -> {
-                        try {
-                            return this.dashScopeApi.embeddings(apiRequest).getBody();
-                        } catch (Exception e) {
-                            logger.error("Error embedding request: {}", request.getInstructions(), e);
-                            throw e;
-                        }
-                    });
-
-                    if (apiEmbeddingResponse == null) {
-                        logger.warn("No embeddings returned for request: {}", request);
-                        return new EmbeddingResponse(List.of());
-                    }
-
-                    if (apiEmbeddingResponse.message() != null) {
-                        logger.error("Error message returned for request: {}", apiEmbeddingResponse.message());
-                        throw new RuntimeException("Embedding failed: error code:" + apiEmbeddingResponse.code()
-                                + ", message:" + apiEmbeddingResponse.message());
-                    }
-
-                    DashScopeAPISpec.EmbeddingUsage usage = apiEmbeddingResponse.usage();
-
-                    Usage embeddingUsage = usage != null ? this.getDefaultUsage(usage) : new EmptyUsage();
-
-                    var metadata = generateResponseMetadata(apiRequest.model(), embeddingUsage);
-                    List<Embedding> embeddings = apiEmbeddingResponse.output()
-                            .embeddings()
-                            .stream()
-                            .map(e -> new Embedding(e.embedding(), e.textIndex()))
-                            .toList();
-
-                    EmbeddingResponse embeddingResponse = new EmbeddingResponse(embeddings, metadata);
-
-                    observationContext.setResponse(embeddingResponse);
-
-                    return embeddingResponse;
-                }));
+			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry)
+			.observe(() -> {
+				EmbeddingResponse embeddingResponse = embedInBatches(embeddingRequest, strategy);
+				observationContext.setResponse(embeddingResponse);
+				return embeddingResponse;
+			}));
+	}
+
+	/**
+	 * Send the texts in one request when they fit, otherwise split them into contiguous
+	 * sub-batches, send those concurrently and put the results back in input order.
+	 * Every sub-batch is retried on its own, so a transient failure does not resend
+	 * the batches that already succeeded.
+	 */
+	private EmbeddingResponse embedInBatches(EmbeddingRequest request, DashScopeEmbeddingBatchingStrategy strategy) {
+		DashScopeEmbeddingOptions options = (DashScopeEmbeddingOptions) request.getOptions();
+		List<String> texts = request.getInstructions();
+
+		if (strategy.fitsSingleBatch(texts)) {
+			DashScopeAPISpec.EmbeddingList apiEmbeddingResponse = embedBatch(options, texts);
+			if (apiEmbeddingResponse == null) {
+				logger.warn("No embeddings returned for request: {}", request);
+				return new EmbeddingResponse(List.of());
+			}
+			return toEmbeddingResponse(options.getModel(), List.of(apiEmbeddingResponse), List.of(0));
+		}
+
+		List<List<String>> batches = strategy.batchTexts(texts);
+		logger.debug("Splitting {} texts into {} embedding requests", texts.size(), batches.size());
+
+		List<Integer> offsets = new ArrayList<>(batches.size());
+		List<CompletableFuture<DashScopeAPISpec.EmbeddingList>> futures = new ArrayList<>(batches.size());
+		int offset = 0;
+		for (List<String> batch : batches) {
+			offsets.add(offset);
+			offset += batch.size();
+			futures.add(CompletableFuture.supplyAsync(() -> {
+				DashScopeAPISpec.EmbeddingList response = embedBatch(options, batch);
+				if (response == null) {
+					throw new IllegalStateException("No embeddings returned for a batch of " + batch.size() + " texts");
+				}
+				return response;
+			}, this.batchExecutor));
+		}
+
+		try {
+			CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+		}
+		catch (CompletionException ex) {
+			futures.forEach(future -> future.cancel(false));
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+
+		return toEmbeddingResponse(options.getModel(), futures.stream().map(CompletableFuture::join).toList(),
+				offsets);
+	}
+
+	private DashScopeAPISpec.EmbeddingList embedBatch(DashScopeEmbeddingOptions options, List<String> texts) {
+		DashScopeAPISpec.EmbeddingRequest apiRequest = createRequest(options, texts);
+
+		DashScopeAPISpec.EmbeddingList apiEmbeddingResponse = this.retryTemplate.execute(ctx -> {
+			try {
+				return this.dashScopeApi.embeddings(apiRequest).getBody();
+			}
+			catch (Exception e) {
+				logger.error("Error embedding request: {}", texts, e);
+				throw e;
+			}
+		});
+
+		if (apiEmbeddingResponse != null && apiEmbeddingResponse.message() != null) {
+			logger.error("Error message returned for request: {}", apiEmbeddingResponse.message());
+			throw new RuntimeException("Embedding failed: error code:" + apiEmbeddingResponse.code() + ", message:"
+					+ apiEmbeddingResponse.message());
+		}
+		return apiEmbeddingResponse;
+	}
+
+	private EmbeddingResponse toEmbeddingResponse(String model, List<DashScopeAPISpec.EmbeddingList> responses,
+			List<Integer> offsets) {
+		List<Embedding> embeddings = new ArrayList<>();
+		Long totalTokens = null;
+		for (int i = 0; i < responses.size(); i++) {
+			DashScopeAPISpec.EmbeddingList response = responses.get(i);
+			int offset = offsets.get(i);
+			if (response.output() != null && response.output().embeddings() != null) {
+				List<DashScopeAPISpec.Embedding> batchEmbeddings = response.output().embeddings();
+				for (int j = 0; j < batchEmbeddings.size(); j++) {
+					DashScopeAPISpec.Embedding e = batchEmbeddings.get(j);
+					int textIndex = e.textIndex() != null ? e.textIndex() : j;
+					embeddings.add(new Embedding(e.embedding(), offset + textIndex));
+				}
+			}
+			if (response.usage() != null && response.usage().totalTokens() != null) {
+				totalTokens = (totalTokens != null ? totalTokens : 0L) + response.usage().totalTokens();
+			}
+		}
+		if (responses.size() > 1) {
+			embeddings.sort(Comparator.comparingInt(Embedding::getIndex));
+		}
+
+		DashScopeAPISpec.EmbeddingUsage usage = responses.size() == 1 ? responses.get(0).usage()
+				: (totalTokens != null ? new DashScopeAPISpec.EmbeddingUsage(totalTokens) : null);
+		Usage embeddingUsage = usage != null ? this.getDefaultUsage(usage) : new EmptyUsage();
+
+		return new EmbeddingResponse(embeddings, generateResponseMetadata(model, embeddingUsage));
 	}
 
 	private DefaultUsage getDefaultUsage(DashScopeAPISpec.EmbeddingUsage usage) {
 		return new DefaultUsage(usage.getPromptTokens(), usage.getCompletionTokens(), usage.getTotalTokens(), usage);
 	}
 
-	private EmbeddingRequest buildEmbeddingRequest(EmbeddingRequest embeddingRequest) {
+	/**
+	 * Merge the runtime options of the request with the default options.
+	 */
+	EmbeddingRequest buildEmbeddingRequest(EmbeddingRequest embeddingRequest) {
 		// Process runtime options
 		DashScopeEmbeddingOptions runtimeOptions = null;
 		if (embeddingRequest.getOptions() != null) {
@@ -208,11 +332,11 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 		return new EmbeddingRequest(embeddingRequest.getInstructions(), requestOptions);
 	}
 
-	private DashScopeAPISpec.EmbeddingRequest createRequest(EmbeddingRequest request) {
-		DashScopeEmbeddingOptions requestOptions = (DashScopeEmbeddingOptions) request.getOptions();
+	private DashScopeAPISpec.EmbeddingRequest createRequest(DashScopeEmbeddingOptions requestOptions,
+			List<String> texts) {
 		return DashScopeAPISpec.EmbeddingRequest.builder()
 			.model(requestOptions.getModel())
-			.texts(request.getInstructions())
+			.texts(texts)
 			.textType(requestOptions.getTextType())
 			.dimension(requestOptions.getDimensions())
 			.build();
@@ -226,6 +350,10 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 		return new EmbeddingResponseMetadata(model, usage, map);
 	}
 
+	MetadataMode getMetadataMode() {
+		return this.metadataMode;
+	}
+
 	/**
 	 * Use the provided convention for reporting observation data
 	 * @param observationConvention The provided convention
@@ -258,6 +386,18 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 		if (options.getModel() == null && options.getDimensions() == null && defaultOptions != null) {
 			options = defaultOptions;
 		}
+		if (batchingStrategy instanceof DashScopeEmbeddingBatchingStrategy dashScopeBatchingStrategy) {
+			// send everything at once, the sub-batches are then dispatched concurrently
+			Assert.notNull(documents, "Documents must not be null");
+			List<String> texts = documents.stream()
+				.map(document -> document.getFormattedContent(this.metadataMode))
+				.toList();
+			return this.call(new EmbeddingRequest(texts, options), dashScopeBatchingStrategy)
+				.getResults()
+				.stream()
+				.map(Embedding::getOutput)
+				.toList();
+		}
 		return super.embed(documents, options, batchingStrategy);
 	}
 
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Storage tier of {@link DashScopeCachingEmbeddingModel}. Keys are built by the model
+ * from the model name, dimensions, text type and a hash of the text, values are the
+ * embedding vectors.
+ *
+ * @since 1.1.0
+ */
+public interface EmbeddingCache {
+
+	/**
+	 * Look up several keys at once.
+	 * @return the vectors found, keyed by key; missing keys are absent
+	 */
+	Map<String, float[]> getAll(Collection<String> keys);
+
+	void putAll(Map<String, float[]> vectors);
+
+	void clear();
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * In-process {@link EmbeddingCache} with a maximum number of entries, evicting the
+ * least recently used one, and an optional time to live per entry. Vectors are copied
+ * on the way in and out, so callers may modify the arrays they pass or receive.
+ *
+ * @since 1.1.0
+ */
+public class InMemoryEmbeddingCache implements EmbeddingCache {
+
+	public static final int DEFAULT_MAX_SIZE = 10_000;
+
+	private final int maxSize;
+
+	private final long ttlNanos;
+
+	private final LinkedHashMap<String, Entry> entries;
+
+	public InMemoryEmbeddingCache() {
+		this(DEFAULT_MAX_SIZE, null);
+	}
+
+	/**
+	 * @param maxSize maximum number of cached vectors
+	 * @param ttl time to live of an entry, {@code null} or zero to keep entries until
+	 * evicted by size
+	 */
+	public InMemoryEmbeddingCache(int maxSize, Duration ttl) {
+		Assert.isTrue(maxSize > 0, "maxSize must be positive");
+		Assert.isTrue(ttl == null || !ttl.isNegative(), "ttl must not be negative");
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl == null || ttl.isZero() ? 0 : ttl.toNanos();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > InMemoryEmbeddingCache.this.maxSize;
+			}
+		};
+	}
+
+	@Override
+	public synchronized Map<String, float[]> getAll(Collection<String> keys) {
+		long now = System.nanoTime();
+		Map<String, float[]> found = new HashMap<>();
+		for (String key : keys) {
+			Entry entry = this.entries.get(key);
+			if (entry == null) {
+				continue;
+			}
+			if (entry.expiresAt != 0 && now - entry.expiresAt > 0) {
+				this.entries.remove(key);
+				continue;
+			}
+			found.put(key, entry.vector.clone());
+		}
+		return found;
+	}
+
+	@Override
+	public synchronized void putAll(Map<String, float[]> vectors) {
+		long expiresAt = this.ttlNanos == 0 ? 0 : System.nanoTime() + this.ttlNanos;
+		vectors.forEach((key, vector) -> this.entries.put(key, new Entry(vector.clone(), expiresAt)));
+	}
+
+	@Override
+	public synchronized void clear() {
+		this.entries.clear();
+	}
+
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	private record Entry(float[] vector, long expiresAt) {
+	}
+
+}
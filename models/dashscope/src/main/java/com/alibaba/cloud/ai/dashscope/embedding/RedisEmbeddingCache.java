@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.util.Assert;
+
+/**
+ * Redis backed {@link EmbeddingCache}. Vectors are stored as raw little-endian
+ * {@code float32} bytes, looked up with a single {@code MGET} and written in one
+ * pipeline. Redis errors are logged and treated as misses, so an unavailable Redis
+ * only costs the remote embedding call.
+ *
+ * @since 1.1.0
+ */
+public class RedisEmbeddingCache implements EmbeddingCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(RedisEmbeddingCache.class);
+
+	public static final String DEFAULT_KEY_PREFIX = "spring-ai:dashscope:embedding:";
+
+	private final RedisConnectionFactory connectionFactory;
+
+	private final String keyPrefix;
+
+	private final Duration ttl;
+
+	public RedisEmbeddingCache(RedisConnectionFactory connectionFactory) {
+		this(connectionFactory, DEFAULT_KEY_PREFIX, null);
+	}
+
+	/**
+	 * @param ttl expiration of the stored vectors, {@code null} or zero for none
+	 */
+	public RedisEmbeddingCache(RedisConnectionFactory connectionFactory, String keyPrefix, Duration ttl) {
+		Assert.notNull(connectionFactory, "connectionFactory must not be null");
+		Assert.notNull(keyPrefix, "keyPrefix must not be null");
+		this.connectionFactory = connectionFactory;
+		this.keyPrefix = keyPrefix;
+		this.ttl = ttl;
+	}
+
+	@Override
+	public Map<String, float[]> getAll(Collection<String> keys) {
+		if (keys.isEmpty()) {
+			return Map.of();
+		}
+		List<String> keyList = new ArrayList<>(keys);
+		byte[][] redisKeys = new byte[keyList.size()][];
+		for (int i = 0; i < keyList.size(); i++) {
+			redisKeys[i] = redisKey(keyList.get(i));
+		}
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+			List<byte[]> values = connection.stringCommands().mGet(redisKeys);
+			Map<String, float[]> found = new HashMap<>();
+			if (values != null) {
+				for (int i = 0; i < values.size(); i++) {
+					byte[] value = values.get(i);
+					if (value != null) {
+						found.put(keyList.get(i), decode(value));
+					}
+				}
+			}
+			return found;
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to read embeddings from Redis: {}", ex.getMessage());
+			return Map.of();
+		}
+	}
+
+	@Override
+	public void putAll(Map<String, float[]> vectors) {
+		if (vectors.isEmpty()) {
+			return;
+		}
+		Expiration expiration = this.ttl == null || this.ttl.isZero() ? Expiration.persistent()
+				: Expiration.from(this.ttl);
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+			connection.openPipeline();
+			try {
+				vectors.forEach((key, vector) -> connection.stringCommands()
+					.set(redisKey(key), encode(vector), expiration, SetOption.upsert()));
+			}
+			finally {
+				connection.closePipeline();
+			}
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to write embeddings to Redis: {}", ex.getMessage());
+		}
+	}
+
+	@Override
+	public void clear() {
+		ScanOptions options = ScanOptions.scanOptions().match(this.keyPrefix + "*").count(1000).build();
+		try (RedisConnection connection = this.connectionFactory.getConnection();
+				Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+			List<byte[]> batch = new ArrayList<>();
+			while (cursor.hasNext()) {
+				batch.add(cursor.next());
+				if (batch.size() == 1000) {
+					connection.keyCommands().del(batch.toArray(byte[][]::new));
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				connection.keyCommands().del(batch.toArray(byte[][]::new));
+			}
+		}
+	}
+
+	private byte[] redisKey(String key) {
+		return (this.keyPrefix + key).getBytes(StandardCharsets.UTF_8);
+	}
+
+	static byte[] encode(float[] vector) {
+		ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.asFloatBuffer().put(vector);
+		return buffer.array();
+	}
+
+	static float[] decode(byte[] bytes) {
+		float[] vector = new float[bytes.length / Float.BYTES];
+		ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+		return vector;
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * Two level {@link EmbeddingCache}: keys missing from the near tier (usually
+ * {@link InMemoryEmbeddingCache}) are looked up in the far tier (usually
+ * {@link RedisEmbeddingCache}), and far hits are copied into the near tier.
+ *
+ * @since 1.1.0
+ */
+public class TieredEmbeddingCache implements EmbeddingCache {
+
+	private final EmbeddingCache near;
+
+	private final EmbeddingCache far;
+
+	public TieredEmbeddingCache(EmbeddingCache near, EmbeddingCache far) {
+		Assert.notNull(near, "near cache must not be null");
+		Assert.notNull(far, "far cache must not be null");
+		this.near = near;
+		this.far = far;
+	}
+
+	@Override
+	public Map<String, float[]> getAll(Collection<String> keys) {
+		Map<String, float[]> found = new HashMap<>(this.near.getAll(keys));
+		if (found.size() == keys.size()) {
+			return found;
+		}
+		List<String> remaining = new ArrayList<>(keys.size() - found.size());
+		for (String key : keys) {
+			if (!found.containsKey(key)) {
+				remaining.add(key);
+			}
+		}
+		Map<String, float[]> farHits = this.far.getAll(remaining);
+		if (!farHits.isEmpty()) {
+			this.near.putAll(farHits);
+			found.putAll(farHits);
+		}
+		return found;
+	}
+
+	@Override
+	public void putAll(Map<String, float[]> vectors) {
+		this.near.putAll(vectors);
+		this.far.putAll(vectors);
+	}
+
+	@Override
+	public void clear() {
+		this.near.clear();
+		this.far.clear();
+	}
+
+}
@@ -17,6 +17,7 @@ package com.alibaba.cloud.ai.dashscope.image;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeImageApi;
 import com.alibaba.cloud.ai.dashscope.common.DashScopeApiConstants;
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller;
 import com.alibaba.cloud.ai.dashscope.image.observation.DashScopeImageModelObservationConvention;
 import com.alibaba.cloud.ai.dashscope.image.observation.DashScopeImagePromptContentObservationHandler;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec;
@@ -38,7 +39,6 @@ import org.springframework.ai.image.observation.ImageModelObservationConvention;
 import org.springframework.ai.image.observation.ImageModelObservationDocumentation;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.retry.RetryUtils;
-import org.springframework.ai.retry.TransientAiException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
@@ -47,6 +47,9 @@ import org.springframework.util.CollectionUtils;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * @author nuocheng.lxm
@@ -74,9 +77,9 @@ public class DashScopeImageModel implements ImageModel {
 	private final DashScopeImageOptions defaultOptions;
 
 	/**
-	 * The retry template used to retry the OpenAI Image API calls.
+	 * Poller used to wait for image tasks, {@code null} to use the shared one.
 	 */
-	private final RetryTemplate retryTemplate;
+	private final DashScopeTaskPoller taskPoller;
 
 	/**
 	 * Observation registry used for instrumentation.
@@ -111,16 +114,27 @@ public class DashScopeImageModel implements ImageModel {
 
 	public DashScopeImageModel(DashScopeImageApi dashScopeImageApi, DashScopeImageOptions options,
 			RetryTemplate retryTemplate, ObservationRegistry observationRegistry) {
+		this(dashScopeImageApi, options, retryTemplate, observationRegistry, null);
+	}
+
+	/**
+	 * @param retryTemplate not used: the task submission is not retried, since every
+	 * accepted submission is a billed task, and waiting for the task is bounded by the
+	 * timeout of the task poller
+	 * @param taskPoller poller used to wait for image tasks, {@code null} to use the
+	 * shared one
+	 */
+	public DashScopeImageModel(DashScopeImageApi dashScopeImageApi, DashScopeImageOptions options,
+			RetryTemplate retryTemplate, ObservationRegistry observationRegistry, DashScopeTaskPoller taskPoller) {
 
 		Assert.notNull(dashScopeImageApi, "DashScopeImageApi must not be null");
 		Assert.notNull(options, "options must not be null");
-		Assert.notNull(retryTemplate, "retryTemplate must not be null");
 		Assert.notNull(observationRegistry, "observationRegistry must not be null");
 
 		this.dashScopeImageApi = dashScopeImageApi;
 		this.defaultOptions = options;
-		this.retryTemplate = retryTemplate;
 		this.observationRegistry = observationRegistry;
+		this.taskPoller = taskPoller;
 
 		this.observationRegistry.observationConfig()
 			.observationHandler(new DashScopeImagePromptContentObservationHandler());
@@ -134,12 +148,29 @@ public class DashScopeImageModel implements ImageModel {
 
 	@Override
 	public ImageResponse call(ImagePrompt request) {
+		try {
+			return callAsync(request).join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Submit the image task and wait for it on the task poller without blocking the
+	 * calling thread.
+	 */
+	public CompletableFuture<ImageResponse> callAsync(ImagePrompt request) {
 		Assert.notNull(request, "Prompt must not be null");
 		Assert.isTrue(!CollectionUtils.isEmpty(request.getInstructions()), "Prompt messages must not be empty");
 
+		// submitted once: a retried submission may start a second billed task
 		String taskId = submitImageGenTask(request);
 		if (taskId == null) {
-			return new ImageResponse(List.of(), toMetadataEmpty());
+			return CompletableFuture.completedFuture(new ImageResponse(List.of(), toMetadataEmpty()));
 		}
 
 		ImageModelObservationContext observationContext = ImageModelObservationContext.builder()
@@ -150,31 +181,46 @@ public class DashScopeImageModel implements ImageModel {
 		Observation observation = ImageModelObservationDocumentation.IMAGE_MODEL_OPERATION.observation(
 				observationConvention, new DefaultImageModelObservationConvention(), () -> observationContext,
 				this.observationRegistry);
+		observation.start();
+
+		return taskPoller().poll("image", taskId, this::getImageGenTask, DashScopeImageModel::taskState)
+			.handle((resp, error) -> {
+				try {
+					if (error != null) {
+						Throwable cause = error instanceof CompletionException && error.getCause() != null
+								? error.getCause() : error;
+						if (cause instanceof TimeoutException) {
+							observation.lowCardinalityKeyValue("timeout", "true");
+							return new ImageResponse(List.of(), toMetadataTimeout(taskId));
+						}
+						observation.error(cause);
+						throw new CompletionException(cause);
+					}
+					observation.lowCardinalityKeyValue("task.status", resp.output().taskStatus());
+					ImageResponse response = "SUCCEEDED".equals(resp.output().taskStatus()) ? toImageResponse(resp)
+							: new ImageResponse(List.of(), toMetadata(resp));
+					observationContext.setResponse(response);
+					return response;
+				}
+				finally {
+					observation.stop();
+				}
+			});
+	}
+
+	private static DashScopeTaskPoller.TaskState taskState(DashScopeAPISpec.DashScopeImageAsyncResponse resp) {
+		if (resp.output() == null || resp.output().taskStatus() == null) {
+			return DashScopeTaskPoller.TaskState.PENDING;
+		}
+		return switch (resp.output().taskStatus()) {
+			case "SUCCEEDED" -> DashScopeTaskPoller.TaskState.SUCCEEDED;
+			case "FAILED", "UNKNOWN" -> DashScopeTaskPoller.TaskState.FAILED;
+			default -> DashScopeTaskPoller.TaskState.PENDING;
+		};
+	}
 
-		return Objects.requireNonNull(observation.observe(() ->
-
-                retryTemplate.execute(ctx -> {
-                    observation.lowCardinalityKeyValue("retry.attempt", String.valueOf(ctx.getRetryCount()));
-
-                    DashScopeAPISpec.DashScopeImageAsyncResponse resp = getImageGenTask(taskId);
-                    if (resp != null) {
-                        String status = resp.output().taskStatus();
-                        observation.lowCardinalityKeyValue("task.status", status);
-
-                        switch (status) {
-                            case "SUCCEEDED" -> {
-                                return toImageResponse(resp);
-                            }
-                            case "FAILED", "UNKNOWN" -> {
-                                return new ImageResponse(List.of(), toMetadata(resp));
-                            }
-                        }
-                    }
-                    throw new TransientAiException("Image generation still pending");
-                }, context -> {
-                    observation.lowCardinalityKeyValue("timeout", "true");
-                    return new ImageResponse(List.of(), toMetadataTimeout(taskId));
-                })));
+	private DashScopeTaskPoller taskPoller() {
+		return this.taskPoller != null ? this.taskPoller : DashScopeTaskPoller.shared();
 	}
 
 	public String submitImageGenTask(ImagePrompt request) {
@@ -315,6 +361,8 @@ public class DashScopeImageModel implements ImageModel {
 
 		private ObservationHandler<ImageModelObservationContext> promptHandler = new DashScopeImagePromptContentObservationHandler();
 
+		private DashScopeTaskPoller taskPoller;
+
 		private Builder() {
 		}
 
@@ -348,9 +396,14 @@ public class DashScopeImageModel implements ImageModel {
 			return this;
 		}
 
+		public Builder taskPoller(DashScopeTaskPoller taskPoller) {
+			this.taskPoller = taskPoller;
+			return this;
+		}
+
 		public DashScopeImageModel build() {
 			DashScopeImageModel model = new DashScopeImageModel(dashScopeImageApi, defaultOptions, retryTemplate,
-					observationRegistry);
+					observationRegistry, taskPoller);
 
 			model.setObservationConvention(this.observationConvention);
 			this.observationRegistry.observationConfig().observationHandler(this.promptHandler);
@@ -34,22 +34,39 @@ import okhttp3.logging.HttpLoggingInterceptor;
 import okio.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
+ * WebSocket client for DashScope duplex tasks (speech synthesis, realtime
+ * transcription). One client can drive several tasks at the same time: every task gets
+ * its own bounded sink, text events are routed by {@code task_id}, and binary frames by
+ * the connection that owns the task. Connections are opened through a single shared
+ * {@link OkHttpClient} and are kept for reuse once their task is done.
+ *
  * @author kevinlin09
  */
 public class DashScopeWebSocketClient extends WebSocketListener {
 
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+		.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
 	private final Logger logger = LoggerFactory.getLogger(DashScopeWebSocketClient.class);
 
 	private final DashScopeWebSocketClientOptions options;
@@ -58,11 +75,15 @@ public class DashScopeWebSocketClient extends WebSocketListener {
 
 	private AtomicBoolean isOpen;
 
-	FluxSink<ByteBuffer> emitter;
+	private volatile boolean connecting;
+
+	private final Map<String, TaskSession> sessions = new ConcurrentHashMap<>();
+
+	private final Map<WebSocket, TaskSession> socketOwners = new ConcurrentHashMap<>();
 
-	FluxSink<ByteBuffer> binary_emitter;
+	private final Deque<WebSocket> idleSockets = new ConcurrentLinkedDeque<>();
 
-	FluxSink<String> text_emitter;
+	private volatile TaskSession lastSession;
 
 	public DashScopeWebSocketClient(DashScopeWebSocketClientOptions options) {
 		this.options = options;
@@ -70,80 +91,305 @@ public class DashScopeWebSocketClient extends WebSocketListener {
 	}
 
 	public Flux<ByteBuffer> streamBinaryOut(String text) {
-		Flux<ByteBuffer> flux = Flux.<ByteBuffer>create(emitter -> {
-			this.binary_emitter = emitter;
-		}, FluxSink.OverflowStrategy.BUFFER);
+		TaskSession session = openSession(readTaskId(text));
+		Flux<ByteBuffer> flux = session.binary.asFlux().doFinally(signal -> release(session));
 
-		sendText(text);
+		send(session, text);
 
 		return flux;
 	}
 
+	/**
+	 * Stream text events of the most recently started task while uploading
+	 * {@code binary}, or of a new task when none is running.
+	 * @deprecated the most recent task is ambiguous when several tasks run at the same
+	 * time, use {@link #streamTextOut(String, Flux)}
+	 * @throws IllegalStateException if more than one task is active
+	 */
+	@Deprecated(since = "1.1.0")
 	public Flux<String> streamTextOut(Flux<ByteBuffer> binary) {
-		Flux<String> flux = Flux.<String>create(emitter -> {
-			this.text_emitter = emitter;
-		}, FluxSink.OverflowStrategy.BUFFER);
+		TaskSession session = lastActiveSession();
+		if (session == null) {
+			session = openSession(null);
+		}
+		return streamTextOut(session, binary);
+	}
+
+	/**
+	 * Stream text events of the given task while uploading {@code binary} on the
+	 * connection that runs it. The task is usually started before with
+	 * {@link #sendText(String)}.
+	 */
+	public Flux<String> streamTextOut(String taskId, Flux<ByteBuffer> binary) {
+		TaskSession session = taskId != null ? sessions.get(taskId) : null;
+		if (session == null) {
+			session = openSession(taskId);
+		}
+		return streamTextOut(session, binary);
+	}
 
-		binary.subscribe(this::sendBinary);
+	private Flux<String> streamTextOut(TaskSession session, Flux<ByteBuffer> binary) {
+		Flux<String> flux = session.text.asFlux().doFinally(signal -> release(session));
+
+		// pace the upload on the connection send queue instead of requesting unbounded
+		session.upstream = binary.delayUntil(buffer -> awaitWritable(session))
+			.subscribe(buffer -> send(session, buffer), error -> fail(session, "upload failed", error));
 
 		return flux;
 	}
 
 	public void sendText(String text) {
-		if (!isOpen.get()) {
-			establishWebSocketClient();
+		JsonNode header = readHeader(text);
+		String taskId = header != null ? header.path("task_id").asText(null) : null;
+		TaskSession session = taskId != null ? sessions.get(taskId) : null;
+		if (session == null && taskId != null
+				&& EventType.RUN_TASK.getValue().equals(header.path("action").asText(null))) {
+			session = openSession(taskId);
 		}
 
-		boolean success = webSocketClient.send(text);
+		if (session != null) {
+			send(session, text);
+			return;
+		}
 
-		if (!success) {
+		WebSocket socket = ensurePrimaryConnection();
+		if (socket == null || !socket.send(text)) {
 			logger.error("send text failed");
 		}
 	}
 
+	/**
+	 * Send binary data to the most recently started task, or on the primary connection
+	 * when no task is running.
+	 * @deprecated the most recent task is ambiguous when several tasks run at the same
+	 * time, use {@link #sendBinary(String, ByteBuffer)}
+	 * @throws IllegalStateException if more than one task is active
+	 */
+	@Deprecated(since = "1.1.0")
 	public void sendBinary(ByteBuffer binary) {
-		if (!isOpen.get()) {
-			establishWebSocketClient();
+		if (binary == null) {
+			logger.error("binary data is null");
+			return;
+		}
+
+		TaskSession session = lastActiveSession();
+		if (session != null) {
+			send(session, binary);
+			return;
+		}
+
+		WebSocket socket = ensurePrimaryConnection();
+		if (socket == null || !socket.send(ByteString.of(binary))) {
+			logger.error("send binary failed");
 		}
+	}
 
+	/**
+	 * Send binary data on the connection that runs the task {@code taskId}.
+	 */
+	public void sendBinary(String taskId, ByteBuffer binary) {
 		if (binary == null) {
 			logger.error("binary data is null");
 			return;
 		}
+		TaskSession session = taskId != null ? sessions.get(taskId) : null;
+		if (session == null || session.released.get()) {
+			logger.error("send binary failed: task {} is not active", taskId);
+			return;
+		}
+		send(session, binary);
+	}
+
+	/**
+	 * The session the legacy methods without a task id act on. Fails instead of guessing
+	 * when several tasks are active.
+	 */
+	private TaskSession lastActiveSession() {
+		TaskSession session = this.lastSession;
+		if (session == null || session.released.get()) {
+			return null;
+		}
+		if (socketOwners.size() > 1) {
+			throw new IllegalStateException(
+					"Several DashScope tasks are active, use the methods that take a task id to address one of them");
+		}
+		return session;
+	}
 
-		boolean success = webSocketClient.send(ByteString.of(binary));
+	private TaskSession openSession(String taskId) {
+		TaskSession session = new TaskSession(taskId, options.getSessionBufferSize());
+		if (taskId != null) {
+			sessions.put(taskId, session);
+		}
+		session.socket = acquireConnection(session);
+		this.lastSession = session;
+		return session;
+	}
 
-		if (!success) {
-			logger.error("send binary failed");
+	private synchronized WebSocket acquireConnection(TaskSession session) {
+		WebSocket socket = ensurePrimaryConnection();
+		if (socket == null || socketOwners.containsKey(socket)) {
+			socket = idleSockets.poll();
+			if (socket == null) {
+				socket = newWebSocket();
+			}
 		}
+		if (socket != null) {
+			socketOwners.put(socket, session);
+		}
+		return socket;
+	}
+
+	private synchronized WebSocket ensurePrimaryConnection() {
+		if (webSocketClient == null || (!isOpen.get() && !connecting)) {
+			establishWebSocketClient();
+		}
+		return webSocketClient;
 	}
 
 	private void establishWebSocketClient() {
-		HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-		logging.setLevel(HttpLoggingInterceptor.Level.valueOf(Constants.DEFAULT_HTTP_LOGGING_LEVEL));
-		Dispatcher dispatcher = new Dispatcher();
-		dispatcher.setMaxRequests(Constants.DEFAULT_MAXIMUM_ASYNC_REQUESTS);
-		dispatcher.setMaxRequestsPerHost(Constants.DEFAULT_MAXIMUM_ASYNC_REQUESTS_PER_HOST);
-
-		OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
-		clientBuilder.connectTimeout(Constants.DEFAULT_CONNECT_TIMEOUT)
-			.readTimeout(Constants.DEFAULT_READ_TIMEOUT)
-			.writeTimeout(Constants.DEFAULT_WRITE_TIMEOUT)
-			.addInterceptor(logging)
-			.dispatcher(dispatcher)
-			.protocols(Collections.singletonList(Protocol.HTTP_1_1))
-			.connectionPool(new ConnectionPool(Constants.DEFAULT_CONNECTION_POOL_SIZE,
-					Constants.DEFAULT_CONNECTION_IDLE_TIMEOUT.getSeconds(), TimeUnit.SECONDS));
-		OkHttpClient httpClient = clientBuilder.build();
+		connecting = true;
+		WebSocket socket = newWebSocket();
+		if (socket != null) {
+			webSocketClient = socket;
+		}
+		else {
+			connecting = false;
+		}
+	}
 
+	private WebSocket newWebSocket() {
 		try {
-			webSocketClient = httpClient.newWebSocket(buildConnectionRequest(), this);
+			return SharedHttpClient.INSTANCE.newWebSocket(buildConnectionRequest(), this);
 		}
 		catch (Throwable ex) {
 			logger.error("create websocket failed: msg={}", ex.getMessage());
+			return null;
+		}
+	}
+
+	private void send(TaskSession session, String text) {
+		WebSocket socket = session.socket;
+		if (socket == null) {
+			fail(session, "send text failed", new IllegalStateException("websocket is not available"));
+			return;
+		}
+		if (!socket.send(text)) {
+			logger.error("send text failed");
+		}
+	}
+
+	private void send(TaskSession session, ByteBuffer binary) {
+		WebSocket socket = session.socket;
+		if (socket == null) {
+			fail(session, "send binary failed", new IllegalStateException("websocket is not available"));
+			return;
+		}
+		if (!socket.send(ByteString.of(binary))) {
+			logger.error("send binary failed");
+		}
+	}
+
+	private Mono<Void> awaitWritable(TaskSession session) {
+		WebSocket socket = session.socket;
+		if (socket == null || socket.queueSize() < Constants.DEFAULT_SEND_QUEUE_HIGH_WATERMARK) {
+			return Mono.empty();
+		}
+		return Flux.interval(Constants.DEFAULT_SEND_QUEUE_POLL_INTERVAL)
+			.filter(tick -> socket.queueSize() < Constants.DEFAULT_SEND_QUEUE_HIGH_WATERMARK)
+			.next()
+			.then();
+	}
+
+	private TaskSession route(WebSocket webSocket, String taskId) {
+		TaskSession session = taskId != null ? sessions.get(taskId) : null;
+		if (session != null) {
+			return session;
+		}
+		session = socketOwners.get(webSocket);
+		if (session == null || taskId == null) {
+			return session;
+		}
+		if (session.taskId == null) {
+			// the task id is only known from the first server event
+			session.taskId = taskId;
+			sessions.put(taskId, session);
+			return session;
+		}
+		return taskId.equals(session.taskId) ? session : null;
+	}
+
+	private void release(TaskSession session) {
+		if (!session.released.compareAndSet(false, true)) {
+			return;
+		}
+		if (session.taskId != null) {
+			sessions.remove(session.taskId, session);
+		}
+		if (this.lastSession == session) {
+			this.lastSession = null;
+		}
+		Disposable upstream = session.upstream;
+		if (upstream != null) {
+			upstream.dispose();
+		}
+		WebSocket socket = session.socket;
+		if (socket != null && socketOwners.remove(socket, session) && socket != webSocketClient) {
+			if (idleSockets.size() < Constants.DEFAULT_MAXIMUM_IDLE_CONNECTIONS) {
+				idleSockets.offer(socket);
+			}
+			else {
+				socket.close(1000, "idle");
+			}
+		}
+	}
+
+	private void complete(TaskSession session, String event) {
+		if (session == null) {
+			return;
+		}
+		logger.info("task emitter handling: complete on {}", event);
+		session.binary.tryEmitComplete();
+		session.text.tryEmitComplete();
+		release(session);
+	}
+
+	private void fail(TaskSession session, String event, Throwable t) {
+		if (session == null) {
+			return;
+		}
+		logger.info("task emitter handling: error on {}", event);
+		session.binary.tryEmitError(t);
+		session.text.tryEmitError(t);
+		release(session);
+	}
+
+	private <T> void emit(TaskSession session, Sinks.Many<T> sink, T value) {
+		Sinks.EmitResult result = sink.tryEmitNext(value);
+		if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+			fail(session, "overflow", Exceptions.failWithOverflow(
+					"task " + session.taskId + " buffered more than " + options.getSessionBufferSize() + " messages"));
+		}
+		else if (result == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+			logger.warn("drop message of task {}: concurrent emission", session.taskId);
+		}
+	}
+
+	private JsonNode readHeader(String text) {
+		try {
+			JsonNode header = OBJECT_MAPPER.readTree(text).path("header");
+			return header.isObject() ? header : null;
+		}
+		catch (Exception e) {
+			return null;
 		}
 	}
 
+	private String readTaskId(String text) {
+		JsonNode header = readHeader(text);
+		return header != null ? header.path("task_id").asText(null) : null;
+	}
+
 	private Request buildConnectionRequest() {
 		Builder bd = new Request.Builder();
 		bd.headers(
@@ -167,20 +413,23 @@ public class DashScopeWebSocketClient extends WebSocketListener {
 	@Override
 	public void onOpen(WebSocket webSocket, Response response) {
 		logger.info("receive ws event onOpen: handle={}, body={}", webSocket, getRequestBody(response));
-		isOpen.set(true);
+		if (webSocket == webSocketClient) {
+			isOpen.set(true);
+			connecting = false;
+		}
 	}
 
 	@Override
 	public void onClosed(WebSocket webSocket, int code, String reason) {
 		logger.info("receive ws event onClosed: handle={}, code={}, reason={}", webSocket, code, reason);
-		isOpen.set(false);
-		emittersComplete("closed");
+		connectionLost(webSocket);
+		complete(socketOwners.get(webSocket), "closed");
 	}
 
 	@Override
 	public void onClosing(WebSocket webSocket, int code, String reason) {
 		logger.info("receive ws event onClosing: handle={}, code={}, reason={}", webSocket.toString(), code, reason);
-		emittersComplete("closing");
+		complete(socketOwners.get(webSocket), "closing");
 		webSocket.close(code, reason);
 	}
 
@@ -189,39 +438,46 @@ public class DashScopeWebSocketClient extends WebSocketListener {
 		String failureMessage = String.format("msg=%s, cause=%s, body=%s", t.getMessage(), t.getCause(),
 				getRequestBody(response));
 		logger.error("receive ws event onFailure: handle={}, {}", webSocket, failureMessage);
-		isOpen.set(false);
-		emittersError("failure", new Exception(failureMessage, t));
+		connectionLost(webSocket);
+		fail(socketOwners.get(webSocket), "failure", new Exception(failureMessage, t));
+	}
+
+	private void connectionLost(WebSocket webSocket) {
+		idleSockets.remove(webSocket);
+		if (webSocket == webSocketClient) {
+			isOpen.set(false);
+			connecting = false;
+		}
 	}
 
 	@Override
 	public void onMessage(WebSocket webSocket, String text) {
 		logger.debug("receive ws event onMessage(text): handle={}, text={}", webSocket, text);
 
-		ObjectMapper objectMapper = new ObjectMapper();
-		objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
 		try {
-			EventMessage message = objectMapper.readValue(text, EventMessage.class);
+			EventMessage message = OBJECT_MAPPER.readValue(text, EventMessage.class);
+			TaskSession session = route(webSocket, message.header.taskId);
 			switch (message.header.event) {
 				case TASK_STARTED:
 					logger.info("task started: text={}", text);
 					break;
 				case TASK_FINISHED:
 					logger.info("task finished: text={}", text);
-					emittersComplete("finished");
+					complete(session, "finished");
 					break;
 				case TASK_FAILED:
 					logger.error("task failed: text={}", text);
-					emittersError("task failed", new Exception());
+					fail(session, "task failed", new Exception(String.format("task failed: code=%s, message=%s",
+							message.header.code, message.header.message)));
 					break;
 				case RESULT_GENERATED:
-					if (this.text_emitter != null) {
-						text_emitter.next(text);
+					if (session != null) {
+						emit(session, session.text, text);
 					}
 					break;
 				default:
 					logger.error("task error: text={}", text);
-					emittersError("unsupported event", new Exception());
+					fail(session, "unsupported event", new Exception());
 			}
 		}
 		catch (Exception e) {
@@ -232,32 +488,64 @@ public class DashScopeWebSocketClient extends WebSocketListener {
 	@Override
 	public void onMessage(WebSocket webSocket, ByteString bytes) {
 		logger.debug("receive ws event onMessage(bytes): handle={}, size={}", webSocket, bytes.size());
-		if (this.binary_emitter != null) {
-			binary_emitter.next(bytes.asByteBuffer());
+		TaskSession session = socketOwners.get(webSocket);
+		if (session != null) {
+			emit(session, session.binary, bytes.asByteBuffer());
 		}
 	}
 
-	private void emittersComplete(String event) {
-		if (this.binary_emitter != null && !this.binary_emitter.isCancelled()) {
-			logger.info("binary emitter handling: complete on {}", event);
-			this.binary_emitter.complete();
-		}
-		if (this.text_emitter != null && !this.text_emitter.isCancelled()) {
-			logger.info("text emitter handling: complete on {}", event);
-			this.text_emitter.complete();
-			logger.info("done");
+	/**
+	 * State of one duplex task: its connection, the bounded output sinks and the upload
+	 * subscription.
+	 */
+	private static final class TaskSession {
+
+		private volatile String taskId;
+
+		private volatile WebSocket socket;
+
+		private volatile Disposable upstream;
+
+		private final Sinks.Many<ByteBuffer> binary;
+
+		private final Sinks.Many<String> text;
+
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		private TaskSession(String taskId, int bufferSize) {
+			this.taskId = taskId;
+			this.binary = Sinks.many().unicast().onBackpressureBuffer(Queues.<ByteBuffer>get(bufferSize).get());
+			this.text = Sinks.many().unicast().onBackpressureBuffer(Queues.<String>get(bufferSize).get());
 		}
+
 	}
 
-	private void emittersError(String event, Throwable t) {
-		if (this.binary_emitter != null && !this.binary_emitter.isCancelled()) {
-			logger.info("binary emitter handling: error on {}", event);
-			this.binary_emitter.error(t);
-		}
-		if (this.text_emitter != null && !this.text_emitter.isCancelled()) {
-			logger.info("text emitter handling: error on {}", event);
-			this.text_emitter.error(t);
+	/**
+	 * OkHttp client shared by all websocket clients, so that connections share one
+	 * dispatcher and connection pool instead of building them on every connect.
+	 */
+	private static final class SharedHttpClient {
+
+		private static final OkHttpClient INSTANCE = build();
+
+		private static OkHttpClient build() {
+			HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
+			logging.setLevel(HttpLoggingInterceptor.Level.valueOf(Constants.DEFAULT_HTTP_LOGGING_LEVEL));
+			Dispatcher dispatcher = new Dispatcher();
+			dispatcher.setMaxRequests(Constants.DEFAULT_MAXIMUM_ASYNC_REQUESTS);
+			dispatcher.setMaxRequestsPerHost(Constants.DEFAULT_MAXIMUM_ASYNC_REQUESTS_PER_HOST);
+
+			return new OkHttpClient.Builder().connectTimeout(Constants.DEFAULT_CONNECT_TIMEOUT)
+				.readTimeout(Constants.DEFAULT_READ_TIMEOUT)
+				.writeTimeout(Constants.DEFAULT_WRITE_TIMEOUT)
+				.addInterceptor(logging)
+				.dispatcher(dispatcher)
+				.protocols(Collections.singletonList(Protocol.HTTP_1_1))
+				.connectionPool(new ConnectionPool(Constants.DEFAULT_CONNECTION_POOL_SIZE,
+						Constants.DEFAULT_CONNECTION_IDLE_TIMEOUT.getSeconds(), TimeUnit.SECONDS))
+				.build();
 		}
+
 	}
 
 	public static class Constants {
@@ -278,6 +566,12 @@ public class DashScopeWebSocketClient extends WebSocketListener {
 
 		private static final String DEFAULT_HTTP_LOGGING_LEVEL = "NONE";
 
+		private static final int DEFAULT_MAXIMUM_IDLE_CONNECTIONS = 8;
+
+		private static final long DEFAULT_SEND_QUEUE_HIGH_WATERMARK = 1024 * 1024;
+
+		private static final Duration DEFAULT_SEND_QUEUE_POLL_INTERVAL = Duration.ofMillis(20);
+
 	}
 
 	// @formatter:off
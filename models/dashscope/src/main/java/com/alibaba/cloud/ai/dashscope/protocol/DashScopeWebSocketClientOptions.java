@@ -28,6 +28,8 @@ public class DashScopeWebSocketClientOptions {
 
 	private String workSpaceId = null;
 
+	private int sessionBufferSize = 1024;
+
 	public String getUrl() {
 		return url;
 	}
@@ -52,6 +54,14 @@ public class DashScopeWebSocketClientOptions {
 		this.workSpaceId = workSpaceId;
 	}
 
+	public int getSessionBufferSize() {
+		return sessionBufferSize;
+	}
+
+	public void setSessionBufferSize(int sessionBufferSize) {
+		this.sessionBufferSize = sessionBufferSize;
+	}
+
 	public static Builder builder() {
 		return new Builder();
 	}
@@ -83,6 +93,11 @@ public class DashScopeWebSocketClientOptions {
 			return this;
 		}
 
+		public Builder withSessionBufferSize(int sessionBufferSize) {
+			options.setSessionBufferSize(sessionBufferSize);
+			return this;
+		}
+
 		public DashScopeWebSocketClientOptions build() {
 			return options;
 		}
@@ -17,6 +17,7 @@
 package com.alibaba.cloud.ai.dashscope.video;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeVideoApi;
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +29,9 @@ import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 import static com.alibaba.cloud.ai.dashscope.video.DashScopeVideoOptions.DEFAULT_MODEL;
 
@@ -47,18 +51,29 @@ public class DashScopeVideoModel implements VideoModel {
 
 	private final DashScopeVideoOptions defaultOptions;
 
-	private final RetryTemplate retryTemplate;
+	private final DashScopeTaskPoller taskPoller;
 
 	public DashScopeVideoModel(DashScopeVideoApi dashScopeVideoApi, DashScopeVideoOptions defaultOptions,
 			RetryTemplate retryTemplate) {
+		this(dashScopeVideoApi, defaultOptions, retryTemplate, null);
+	}
+
+	/**
+	 * @param retryTemplate not used: the task submission is not retried, since every
+	 * accepted submission is a billed task, and waiting for the task is bounded by the
+	 * timeout of the task poller
+	 * @param taskPoller poller used to wait for video tasks, {@code null} to use the
+	 * shared one
+	 */
+	public DashScopeVideoModel(DashScopeVideoApi dashScopeVideoApi, DashScopeVideoOptions defaultOptions,
+			RetryTemplate retryTemplate, DashScopeTaskPoller taskPoller) {
 
 		Assert.notNull(dashScopeVideoApi, "DashScopeVideoApi must not be null");
 		Assert.notNull(defaultOptions, "DashScopeVideoOptions must not be null");
-		Assert.notNull(retryTemplate, "RetryTemplate must not be null");
 
 		this.dashScopeVideoApi = dashScopeVideoApi;
 		this.defaultOptions = defaultOptions;
-		this.retryTemplate = retryTemplate;
+		this.taskPoller = taskPoller;
 	}
 
 	public static Builder builder() {
@@ -70,42 +85,69 @@ public class DashScopeVideoModel implements VideoModel {
 	 */
 	@Override
 	public VideoResponse call(VideoPrompt prompt) {
+		try {
+			return callAsync(prompt).join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Submit the video generation task and wait for it on the task poller without
+	 * blocking the calling thread.
+	 */
+	public CompletableFuture<VideoResponse> callAsync(VideoPrompt prompt) {
 
 		// Video Prompt use template gen, can null.
 		Assert.notNull(prompt, "Prompt must not be null");
 		Assert.notEmpty(prompt.getInstructions(), "Prompt instructions must not be empty");
 
-		System.out.println("Video generation task submitted with prompt: " + prompt.getOptions());
-
+		// submitted once: a retried submission may start a second billed task
 		String taskId = submitGenTask(prompt);
 		if (Objects.isNull(taskId)) {
-			return new VideoResponse(null);
+			return CompletableFuture.completedFuture(new VideoResponse(null));
 		}
 
 		// todo: add observation
-		logger.warn("Video generation task submitted with taskId: {}", taskId);
-		return this.retryTemplate.execute(context -> {
-
-			var resp = getVideoTask(taskId);
-			if (Objects.nonNull(resp)) {
-
-				logger.debug(String.valueOf(resp));
-
-				String status = resp.getOutput().getTaskStatus();
-				switch (status) {
-					// status enum SUCCEEDED, FAILED, PENDING, RUNNING
-					case "SUCCEEDED" -> {
-						logger.info("Video generation task completed successfully: {}", taskId);
-						return toVideoResponse(resp);
-					}
-					case "FAILED" -> {
-						logger.error("Video generation task failed: {}", resp.getOutput());
-						return new VideoResponse(null);
+		logger.info("Video generation task submitted with taskId: {}", taskId);
+		return taskPoller().poll("video", taskId, this::getVideoTask, DashScopeVideoModel::taskState)
+			.handle((resp, error) -> {
+				if (error != null) {
+					Throwable cause = error instanceof CompletionException && error.getCause() != null
+							? error.getCause() : error;
+					if (cause instanceof TimeoutException) {
+						throw new TransientAiException("Video generation still pending: " + cause.getMessage());
 					}
+					throw new CompletionException(cause);
 				}
-			}
-			throw new TransientAiException("Video generation still pending, retry ...");
-		});
+				logger.debug(String.valueOf(resp));
+				if ("SUCCEEDED".equals(resp.getOutput().getTaskStatus())) {
+					logger.info("Video generation task completed successfully: {}", taskId);
+					return toVideoResponse(resp);
+				}
+				logger.error("Video generation task failed: {}", resp.getOutput());
+				return new VideoResponse(null);
+			});
+	}
+
+	private static DashScopeTaskPoller.TaskState taskState(DashScopeAPISpec.VideoGenerationResponse resp) {
+		if (resp.getOutput() == null || resp.getOutput().getTaskStatus() == null) {
+			return DashScopeTaskPoller.TaskState.PENDING;
+		}
+		// status enum SUCCEEDED, FAILED, PENDING, RUNNING
+		return switch (resp.getOutput().getTaskStatus()) {
+			case "SUCCEEDED" -> DashScopeTaskPoller.TaskState.SUCCEEDED;
+			case "FAILED", "CANCELED", "UNKNOWN" -> DashScopeTaskPoller.TaskState.FAILED;
+			default -> DashScopeTaskPoller.TaskState.PENDING;
+		};
+	}
+
+	private DashScopeTaskPoller taskPoller() {
+		return this.taskPoller != null ? this.taskPoller : DashScopeTaskPoller.shared();
 	}
 
 	/**
@@ -200,6 +242,8 @@ public class DashScopeVideoModel implements VideoModel {
 
 		private RetryTemplate retryTemplate = RetryUtils.DEFAULT_RETRY_TEMPLATE;
 
+		private DashScopeTaskPoller taskPoller;
+
 		private Builder() {
 		}
 
@@ -218,8 +262,13 @@ public class DashScopeVideoModel implements VideoModel {
 			return this;
 		}
 
+		public Builder taskPoller(DashScopeTaskPoller taskPoller) {
+			this.taskPoller = taskPoller;
+			return this;
+		}
+
 		public DashScopeVideoModel build() {
-			return new DashScopeVideoModel(this.videoApi, this.defaultOptions, this.retryTemplate);
+			return new DashScopeVideoModel(this.videoApi, this.defaultOptions, this.retryTemplate, this.taskPoller);
 		}
 
 	}
@@ -19,14 +19,24 @@ import com.alibaba.cloud.ai.tool.observation.ArmsToolCallingObservationContext;
 import com.alibaba.cloud.ai.tool.observation.ArmsToolCallingObservationConvention;
 import com.alibaba.cloud.ai.tool.observation.ArmsToolCallingObservationDocumentation;
 import com.alibaba.cloud.ai.tool.observation.inner.ToolCallReactiveContextHolder;
+import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.messages.AssistantMessage;
@@ -74,6 +84,8 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 
   private static final ArmsToolCallingObservationConvention DEFAULT_OBSERVATION_CONVENTION = new ArmsToolCallingObservationConvention();
 
+  private static final int DEFAULT_MAX_CONCURRENCY = 8;
+
   // @formatter:on
 
 	private final ObservationRegistry observationRegistry;
@@ -86,9 +98,33 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 	// officially supports for observation
 	private final ArmsToolCallingObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
 
+	private final boolean parallelToolExecution;
+
+	private final ExecutorService toolExecutor;
+
+	private final Duration defaultToolTimeout;
+
+	private final Map<String, Duration> toolTimeouts;
+
 	public ObservableToolCallingManager(ObservationRegistry observationRegistry,
 			ToolCallbackResolver toolCallbackResolver,
 			ToolExecutionExceptionProcessor toolExecutionExceptionProcessor) {
+		this(observationRegistry, toolCallbackResolver, toolExecutionExceptionProcessor, false, null, null,
+				Map.of());
+	}
+
+	/**
+	 * @param parallelToolExecution execute the tool calls of one assistant message
+	 * concurrently on {@code toolExecutor}; results keep the order of the tool calls
+	 * @param toolExecutor executor for parallel or timed tool calls, a bounded daemon
+	 * pool is created when {@code null}
+	 * @param defaultToolTimeout timeout applied to every tool call, {@code null} for none
+	 * @param toolTimeouts per tool name timeouts overriding {@code defaultToolTimeout}
+	 */
+	public ObservableToolCallingManager(ObservationRegistry observationRegistry,
+			ToolCallbackResolver toolCallbackResolver, ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
+			boolean parallelToolExecution, ExecutorService toolExecutor, Duration defaultToolTimeout,
+			Map<String, Duration> toolTimeouts) {
 		Assert.notNull(observationRegistry, "observationRegistry cannot be null");
 		Assert.notNull(toolCallbackResolver, "toolCallbackResolver cannot be null");
 		Assert.notNull(toolExecutionExceptionProcessor, "toolCallExceptionConverter cannot be null");
@@ -96,6 +132,11 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 		this.observationRegistry = observationRegistry;
 		this.toolCallbackResolver = toolCallbackResolver;
 		this.toolExecutionExceptionProcessor = toolExecutionExceptionProcessor;
+		this.parallelToolExecution = parallelToolExecution;
+		this.defaultToolTimeout = defaultToolTimeout;
+		this.toolTimeouts = toolTimeouts != null ? Map.copyOf(toolTimeouts) : Map.of();
+		this.toolExecutor = (parallelToolExecution || hasTimeouts()) && toolExecutor == null
+				? defaultToolExecutor(DEFAULT_MAX_CONCURRENCY) : toolExecutor;
 	}
 
 	@Override
@@ -179,30 +220,29 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 	 */
 	private InternalToolExecutionResult executeToolCall(Prompt prompt, AssistantMessage assistantMessage,
 			ToolContext toolContext) {
-		List<ToolCallback> toolCallbacks = List.of();
+		Map<String, ToolCallback> toolCallbacks = Map.of();
 		if (prompt.getOptions() instanceof ToolCallingChatOptions toolCallingChatOptions) {
-			toolCallbacks = toolCallingChatOptions.getToolCallbacks();
+			toolCallbacks = indexByName(toolCallingChatOptions.getToolCallbacks());
+		}
+
+		List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+		if (this.parallelToolExecution && toolCalls.size() > 1) {
+			return executeToolCallsOnExecutor(toolCalls, toolCallbacks, toolContext, true);
+		}
+		if (hasTimeouts()) {
+			// a timeout can only be enforced from another thread, even for a single call
+			return executeToolCallsOnExecutor(toolCalls, toolCallbacks, toolContext, false);
 		}
 
 		List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>();
 
 		Boolean returnDirect = null;
 
-		for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
+		for (AssistantMessage.ToolCall toolCall : toolCalls) {
 
 			logger.debug("Executing tool call: {}", toolCall.name());
 
-			String toolName = toolCall.name();
-			String toolInputArguments = toolCall.arguments();
-
-			ToolCallback toolCallback = toolCallbacks.stream()
-				.filter(tool -> toolName.equals(tool.getToolDefinition().name()))
-				.findFirst()
-				.orElseGet(() -> this.toolCallbackResolver.resolve(toolName));
-
-			if (toolCallback == null) {
-				throw new IllegalStateException("No ToolCallback found for tool name: " + toolName);
-			}
+			ToolCallback toolCallback = resolveToolCallback(toolCall.name(), toolCallbacks);
 
 			if (returnDirect == null) {
 				returnDirect = toolCallback.getToolMetadata().returnDirect();
@@ -211,39 +251,186 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 				returnDirect = returnDirect && toolCallback.getToolMetadata().returnDirect();
 			}
 
-			ArmsToolCallingObservationContext observationContext = ArmsToolCallingObservationContext.builder()
-				.toolCall(toolCall)
-				.description(toolCallback.getToolDefinition().description())
-				.returnDirect(returnDirect)
-				.build();
-
 			ContextView contextView = ToolCallReactiveContextHolder.getContext();
-			if (contextView != null) {
-				observationContext
-					.setParentObservation(contextView.getOrDefault(ObservationThreadLocalAccessor.KEY, null));
-			}
+			Observation parentObservation = contextView != null
+					? contextView.getOrDefault(ObservationThreadLocalAccessor.KEY, null) : null;
+
+			String toolResult = observeToolCall(toolCall, toolCallback, toolContext, returnDirect, parentObservation);
+
+			toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), toolResult));
+		}
 
-			String toolResult = ArmsToolCallingObservationDocumentation.EXECUTE_TOOL_OPERATION
-				.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
-						this.observationRegistry)
-				.observe(() -> {
-					String result;
+		return new InternalToolExecutionResult(new ToolResponseMessage(toolResponses, Map.of()), returnDirect);
+	}
+
+	/**
+	 * Execute the tool calls on the tool executor, all at once when {@code concurrent},
+	 * otherwise one after another so that each call gets its own timeout. Callbacks are
+	 * resolved up front so that an unknown tool fails before anything runs, the parent
+	 * observation and the reactive context of the calling thread are carried to the
+	 * workers, and the responses are collected in the order of the tool calls.
+	 */
+	private InternalToolExecutionResult executeToolCallsOnExecutor(List<AssistantMessage.ToolCall> toolCalls,
+			Map<String, ToolCallback> toolCallbacks, ToolContext toolContext, boolean concurrent) {
+		int size = toolCalls.size();
+		List<ToolCallback> resolved = new ArrayList<>(size);
+		List<Boolean> returnDirects = new ArrayList<>(size);
+		boolean returnDirect = true;
+		for (AssistantMessage.ToolCall toolCall : toolCalls) {
+			ToolCallback toolCallback = resolveToolCallback(toolCall.name(), toolCallbacks);
+			returnDirect = returnDirect && toolCallback.getToolMetadata().returnDirect();
+			resolved.add(toolCallback);
+			returnDirects.add(returnDirect);
+		}
+
+		ContextView contextView = ToolCallReactiveContextHolder.getContext();
+		Observation parentObservation = contextView != null
+				? contextView.getOrDefault(ObservationThreadLocalAccessor.KEY, null) : null;
+		if (parentObservation == null) {
+			// blocking callers keep the current observation in a thread local only
+			parentObservation = this.observationRegistry.getCurrentObservation();
+		}
+		Observation parent = parentObservation;
+
+		List<Future<String>> futures = new ArrayList<>(size);
+		List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>(size);
+		long startNanos = System.nanoTime();
+		try {
+			for (int i = 0; i < size; i++) {
+				AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+				ToolCallback toolCallback = resolved.get(i);
+				boolean toolReturnDirect = returnDirects.get(i);
+				logger.debug("Submitting tool call: {}", toolCall.name());
+				Future<String> future = this.toolExecutor.submit(() -> {
+					if (contextView != null) {
+						ToolCallReactiveContextHolder.setContext(contextView);
+					}
 					try {
-						result = toolCallback.call(toolInputArguments, toolContext);
+						return observeToolCall(toolCall, toolCallback, toolContext, toolReturnDirect, parent);
 					}
-					catch (ToolExecutionException ex) {
-						observationContext.setError(ex);
-						result = toolExecutionExceptionProcessor.process(ex);
+					finally {
+						ToolCallReactiveContextHolder.clearContext();
 					}
-
-					observationContext.setToolResult(result);
-					return result;
 				});
+				futures.add(future);
+				if (!concurrent) {
+					String toolResult = awaitToolResult(future, toolCall, toolCallback, System.nanoTime());
+					toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), toolResult));
+				}
+			}
 
-			toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolName, toolResult));
+			for (int i = toolResponses.size(); i < size; i++) {
+				AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+				String toolResult = awaitToolResult(futures.get(i), toolCall, resolved.get(i), startNanos);
+				toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), toolResult));
+			}
+			return new InternalToolExecutionResult(new ToolResponseMessage(toolResponses, Map.of()), returnDirect);
+		}
+		finally {
+			for (Future<String> future : futures) {
+				future.cancel(true);
+			}
 		}
+	}
 
-		return new InternalToolExecutionResult(new ToolResponseMessage(toolResponses, Map.of()), returnDirect);
+	private String awaitToolResult(Future<String> future, AssistantMessage.ToolCall toolCall,
+			ToolCallback toolCallback, long startNanos) {
+		Duration timeout = this.toolTimeouts.getOrDefault(toolCall.name(), this.defaultToolTimeout);
+		try {
+			if (timeout == null) {
+				return future.get();
+			}
+			long remainingNanos = timeout.toNanos() - (System.nanoTime() - startNanos);
+			return future.get(Math.max(remainingNanos, 0L), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			future.cancel(true);
+			logger.warn("Tool call {} timed out after {}", toolCall.name(), timeout);
+			return this.toolExecutionExceptionProcessor.process(new ToolExecutionException(
+					toolCallback.getToolDefinition(), new TimeoutException("Tool call timed out after " + timeout)));
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for tool call: " + toolCall.name(), ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Tool call failed: " + toolCall.name(), ex.getCause());
+		}
+	}
+
+	private String observeToolCall(AssistantMessage.ToolCall toolCall, ToolCallback toolCallback,
+			ToolContext toolContext, boolean returnDirect, Observation parentObservation) {
+		ArmsToolCallingObservationContext observationContext = ArmsToolCallingObservationContext.builder()
+			.toolCall(toolCall)
+			.description(toolCallback.getToolDefinition().description())
+			.returnDirect(returnDirect)
+			.build();
+
+		if (parentObservation != null) {
+			observationContext.setParentObservation(parentObservation);
+		}
+
+		return ArmsToolCallingObservationDocumentation.EXECUTE_TOOL_OPERATION
+			.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+					this.observationRegistry)
+			.observe(() -> {
+				String result;
+				try {
+					result = toolCallback.call(toolCall.arguments(), toolContext);
+				}
+				catch (ToolExecutionException ex) {
+					observationContext.setError(ex);
+					result = toolExecutionExceptionProcessor.process(ex);
+				}
+
+				observationContext.setToolResult(result);
+				return result;
+			});
+	}
+
+	private boolean hasTimeouts() {
+		return this.defaultToolTimeout != null || !this.toolTimeouts.isEmpty();
+	}
+
+	private ToolCallback resolveToolCallback(String toolName, Map<String, ToolCallback> toolCallbacks) {
+		ToolCallback toolCallback = toolCallbacks.get(toolName);
+		if (toolCallback == null) {
+			toolCallback = this.toolCallbackResolver.resolve(toolName);
+		}
+		if (toolCallback == null) {
+			throw new IllegalStateException("No ToolCallback found for tool name: " + toolName);
+		}
+		return toolCallback;
+	}
+
+	private static Map<String, ToolCallback> indexByName(List<ToolCallback> toolCallbacks) {
+		if (CollectionUtils.isEmpty(toolCallbacks)) {
+			return Map.of();
+		}
+		Map<String, ToolCallback> index = new HashMap<>(toolCallbacks.size() * 2);
+		for (ToolCallback toolCallback : toolCallbacks) {
+			// the first callback wins, same as a linear search over the list
+			index.putIfAbsent(toolCallback.getToolDefinition().name(), toolCallback);
+		}
+		return index;
+	}
+
+	private static ExecutorService defaultToolExecutor(int maxConcurrency) {
+		AtomicInteger counter = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "tool-call-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 
 	/**
@@ -304,6 +491,16 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 
 		private ToolExecutionExceptionProcessor toolExecutionExceptionProcessor = DEFAULT_TOOL_EXECUTION_EXCEPTION_PROCESSOR;
 
+		private boolean parallelToolExecution = false;
+
+		private ExecutorService toolExecutor;
+
+		private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+		private Duration defaultToolTimeout;
+
+		private Map<String, Duration> toolTimeouts = Map.of();
+
 		private Builder() {
 		}
 
@@ -323,9 +520,48 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 			return this;
 		}
 
+		/**
+		 * Run the tool calls of one assistant message concurrently, disabled by default.
+		 */
+		public ObservableToolCallingManager.Builder parallelToolExecution(boolean parallelToolExecution) {
+			this.parallelToolExecution = parallelToolExecution;
+			return this;
+		}
+
+		/**
+		 * Executor used in parallel mode and for calls with a timeout. When not set, a bounded pool of
+		 * {@link #maxConcurrency(int)} daemon threads is created.
+		 */
+		public ObservableToolCallingManager.Builder toolExecutor(ExecutorService toolExecutor) {
+			this.toolExecutor = toolExecutor;
+			return this;
+		}
+
+		public ObservableToolCallingManager.Builder maxConcurrency(int maxConcurrency) {
+			Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be positive");
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		public ObservableToolCallingManager.Builder defaultToolTimeout(Duration defaultToolTimeout) {
+			this.defaultToolTimeout = defaultToolTimeout;
+			return this;
+		}
+
+		public ObservableToolCallingManager.Builder toolTimeouts(Map<String, Duration> toolTimeouts) {
+			this.toolTimeouts = toolTimeouts;
+			return this;
+		}
+
 		public ObservableToolCallingManager build() {
+			ExecutorService executor = this.toolExecutor;
+			boolean timed = defaultToolTimeout != null || !CollectionUtils.isEmpty(toolTimeouts);
+			if ((parallelToolExecution || timed) && executor == null) {
+				executor = defaultToolExecutor(maxConcurrency);
+			}
 			return new ObservableToolCallingManager(observationRegistry, toolCallbackResolver,
-					toolExecutionExceptionProcessor);
+					toolExecutionExceptionProcessor, parallelToolExecution, executor, defaultToolTimeout,
+					toolTimeouts);
 		}
 
 	}
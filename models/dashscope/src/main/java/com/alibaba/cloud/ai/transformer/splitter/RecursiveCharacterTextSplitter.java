@@ -15,30 +15,51 @@
  */
 package com.alibaba.cloud.ai.transformer.splitter;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
 
 import org.springframework.ai.transformer.splitter.TextSplitter;
 
 /**
  * Title Recursive character text splitter.<br>
  * Description Text splitter implementation that recursively splits text by characters.
+ * Separators are matched literally, adjacent pieces are merged while they fit into
+ * {@code chunkSize}, and pieces that are still too long are split with the next
+ * separator. The text is only addressed by offsets until a chunk is emitted.
  *
  * @author HunterPorter
  */
 public class RecursiveCharacterTextSplitter extends TextSplitter {
 
+	private static final String[] DEFAULT_SEPARATORS = { "\n\n", "\n", "。", "！", "？", "；", "，", " " };
+
 	/**
 	 * Maximum size of each chunk
 	 */
 	private final int chunkSize;
 
+	/**
+	 * Maximum size of the trailing part of a chunk repeated at the start of the next one
+	 */
+	private final int chunkOverlap;
+
 	/**
 	 * Array of separators to use for splitting
 	 */
 	private final String[] separators;
 
+	/**
+	 * Measures a range of the text, {@code null} to count characters
+	 */
+	private final ToIntFunction<CharSequence> lengthFunction;
+
 	/**
 	 * Create with default separators
 	 */
@@ -55,68 +76,219 @@ public class RecursiveCharacterTextSplitter extends TextSplitter {
 	}
 
 	/**
-	 * Create with custom chunk size, overlap and separators
+	 * Create with custom chunk size and separators
 	 * @param chunkSize Maximum size of each chunk
 	 * @param separators Array of separators to use for splitting
 	 */
 	public RecursiveCharacterTextSplitter(int chunkSize, String[] separators) {
+		this(chunkSize, 0, separators);
+	}
+
+	/**
+	 * Create with custom chunk size, overlap and separators
+	 * @param chunkSize Maximum size of each chunk
+	 * @param chunkOverlap Maximum size of the overlap between adjacent chunks
+	 * @param separators Array of separators to use for splitting
+	 */
+	public RecursiveCharacterTextSplitter(int chunkSize, int chunkOverlap, String[] separators) {
+		this(chunkSize, chunkOverlap, separators, null);
+	}
+
+	/**
+	 * Create with custom chunk size, overlap, separators and length function
+	 * @param chunkSize Maximum size of each chunk
+	 * @param chunkOverlap Maximum size of the overlap between adjacent chunks
+	 * @param separators Array of separators to use for splitting
+	 * @param lengthFunction Measures chunks, e.g. {@link #tokenLength()}; {@code null}
+	 * counts characters
+	 */
+	public RecursiveCharacterTextSplitter(int chunkSize, int chunkOverlap, String[] separators,
+			ToIntFunction<CharSequence> lengthFunction) {
 		if (chunkSize <= 0) {
 			throw new IllegalArgumentException("Chunk size must be positive");
 		}
+		if (chunkOverlap < 0 || chunkOverlap >= chunkSize) {
+			throw new IllegalArgumentException("Chunk overlap must not be negative and must be smaller than chunk size");
+		}
 
 		this.chunkSize = chunkSize;
-		this.separators = Objects.requireNonNullElse(separators,
-				new String[] { "\n\n", "\n", "。", "！", "？", "；", "，", " " });
+		this.chunkOverlap = chunkOverlap;
+		this.separators = Objects.requireNonNullElse(separators, DEFAULT_SEPARATORS);
+		this.lengthFunction = lengthFunction;
+	}
+
+	/**
+	 * Length function counting {@code cl100k_base} tokens.
+	 */
+	public static ToIntFunction<CharSequence> tokenLength() {
+		return TokenLength.INSTANCE;
 	}
 
 	@Override
 	public List<String> splitText(String text) {
 		List<String> chunks = new ArrayList<>();
-		splitText(text, 0, chunks);
+		splitText(text, 0, text.length(), 0, chunks);
 		return chunks;
 	}
 
-	private void splitText(String text, int separatorIndex, List<String> chunks) {
-		if (text.isEmpty()) {
+	private void splitText(String text, int start, int end, int separatorIndex, List<String> chunks) {
+		if (start >= end) {
 			return;
 		}
 
-		if (text.length() <= chunkSize) {
-			chunks.add(text);
+		if (length(text, start, end) <= chunkSize) {
+			chunks.add(text.substring(start, end));
 			return;
 		}
 
-		if (separatorIndex >= separators.length) {
+		String separator = separatorIndex < separators.length ? separators[separatorIndex] : "";
+		if (separator.isEmpty()) {
 			// Final fallback - split by chunkSize
-			for (int i = 0; i < text.length(); i += chunkSize) {
-				int end = Math.min(i + chunkSize, text.length());
-				chunks.add(text.substring(i, end));
-			}
+			splitBySize(text, start, end, chunks);
 			return;
 		}
 
-		String separator = separators[separatorIndex];
-		String[] splits;
-		if (separator.isEmpty()) {
-			// Split by character
-			splits = new String[text.length()];
-			for (int i = 0; i < text.length(); i++) {
-				splits[i] = String.valueOf(text.charAt(i));
+		// Offsets of the non-empty pieces between literal separator matches
+		List<int[]> pieces = new ArrayList<>();
+		int pieceStart = start;
+		int match;
+		while ((match = indexOf(text, separator, pieceStart, end)) >= 0) {
+			if (match > pieceStart) {
+				pieces.add(new int[] { pieceStart, match });
 			}
+			pieceStart = match + separator.length();
 		}
-		else {
-			// Split by separator
-			splits = text.split(separator);
+		if (pieceStart < end) {
+			pieces.add(new int[] { pieceStart, end });
 		}
 
-		for (String split : splits) {
-			if (split.length() > chunkSize) {
-				splitText(split, separatorIndex + 1, chunks);
+		mergePieces(text, pieces, separatorIndex, chunks);
+	}
+
+	/**
+	 * Greedily merge adjacent pieces into chunks of at most {@code chunkSize}. A merged
+	 * chunk spans from its first to its last piece, separators included. After a chunk is
+	 * emitted its trailing pieces that fit into {@code chunkOverlap} start the next one.
+	 */
+	private void mergePieces(String text, List<int[]> pieces, int separatorIndex, List<String> chunks) {
+		// current chunk is pieces [first, i)
+		int first = -1;
+		for (int i = 0; i < pieces.size(); i++) {
+			int pieceStart = pieces.get(i)[0];
+			int pieceEnd = pieces.get(i)[1];
+
+			if (length(text, pieceStart, pieceEnd) > chunkSize) {
+				if (first >= 0) {
+					chunks.add(text.substring(pieces.get(first)[0], pieces.get(i - 1)[1]));
+					first = -1;
+				}
+				splitText(text, pieceStart, pieceEnd, separatorIndex + 1, chunks);
+				continue;
+			}
+
+			if (first >= 0 && length(text, pieces.get(first)[0], pieceEnd) > chunkSize) {
+				int previousEnd = pieces.get(i - 1)[1];
+				chunks.add(text.substring(pieces.get(first)[0], previousEnd));
+				while (first < i && (length(text, pieces.get(first)[0], previousEnd) > chunkOverlap
+						|| length(text, pieces.get(first)[0], pieceEnd) > chunkSize)) {
+					first++;
+				}
+			}
+			if (first < 0) {
+				first = i;
+			}
+		}
+		if (first >= 0) {
+			chunks.add(text.substring(pieces.get(first)[0], pieces.get(pieces.size() - 1)[1]));
+		}
+	}
+
+	/**
+	 * Cut the range into windows of at most {@code chunkSize}, consecutive windows share
+	 * up to {@code chunkOverlap}.
+	 */
+	private void splitBySize(String text, int start, int end, List<String> chunks) {
+		int windowStart = start;
+		while (windowStart < end) {
+			int windowEnd = lengthFunction == null ? Math.min(windowStart + chunkSize, end)
+					: longestFit(text, windowStart, end);
+			chunks.add(text.substring(windowStart, windowEnd));
+			if (windowEnd >= end) {
+				return;
+			}
+			int next = lengthFunction == null ? windowEnd - chunkOverlap : overlapStart(text, windowStart, windowEnd);
+			windowStart = Math.max(next, windowStart + 1);
+		}
+	}
+
+	/**
+	 * Largest end such that {@code [start, end)} fits into {@code chunkSize}, at least one
+	 * character.
+	 */
+	private int longestFit(String text, int start, int end) {
+		int low = start + 1;
+		int high = end;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (length(text, start, mid) <= chunkSize) {
+				low = mid;
 			}
 			else {
-				chunks.add(split);
+				high = mid - 1;
 			}
 		}
+		return low;
+	}
+
+	/**
+	 * Smallest start such that {@code [start, end)} fits into {@code chunkOverlap}.
+	 */
+	private int overlapStart(String text, int start, int end) {
+		if (chunkOverlap == 0) {
+			return end;
+		}
+		int low = start + 1;
+		int high = end;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (length(text, mid, end) <= chunkOverlap) {
+				high = mid;
+			}
+			else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Literal search for the separator inside {@code [from, end)}.
+	 */
+	private static int indexOf(String text, String separator, int from, int end) {
+		char first = separator.charAt(0);
+		for (int i = from, last = end - separator.length(); i <= last; i++) {
+			if (text.charAt(i) == first && text.startsWith(separator, i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int length(String text, int start, int end) {
+		return lengthFunction == null ? end - start : lengthFunction.applyAsInt(CharBuffer.wrap(text, start, end));
+	}
+
+	private static final class TokenLength implements ToIntFunction<CharSequence> {
+
+		private static final TokenLength INSTANCE = new TokenLength();
+
+		private final Encoding encoding = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+
+		@Override
+		public int applyAsInt(CharSequence value) {
+			return encoding.countTokens(value.toString());
+		}
+
 	}
 
 }
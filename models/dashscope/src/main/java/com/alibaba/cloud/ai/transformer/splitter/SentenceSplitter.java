@@ -24,17 +24,20 @@ import java.util.List;
 
 import com.knuddels.jtokkit.Encodings;
 import com.knuddels.jtokkit.api.Encoding;
-import com.knuddels.jtokkit.api.EncodingRegistry;
 import com.knuddels.jtokkit.api.EncodingType;
 import opennlp.tools.sentdetect.SentenceDetectorME;
 import opennlp.tools.sentdetect.SentenceModel;
+import opennlp.tools.util.Span;
 
+import org.springframework.ai.document.Document;
 import org.springframework.ai.transformer.splitter.TextSplitter;
 import org.springframework.util.Assert;
 
 /**
  * Title Sentence splitter with nlp model.<br>
- * Description Sentence splitter with nlp model.<br>
+ * Description Sentence splitter with nlp model. Sentences are packed into chunks of at
+ * most {@code chunkSize} tokens, optionally repeating up to {@code chunkOverlap} tokens
+ * of trailing sentences at the start of the next chunk.<br>
  *
  * @author yuanci.ytb
  * @since 1.0.0-M2
@@ -42,56 +45,108 @@ import org.springframework.util.Assert;
 
 public class SentenceSplitter extends TextSplitter {
 
-	private final EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+	private static final int DEFAULT_CHUNK_SIZE = 1024;
 
-	private final Encoding encoding = registry.getEncoding(EncodingType.CL100K_BASE);
+	private static final int DEFAULT_CHUNK_OVERLAP = 0;
 
-	private static final int DEFAULT_CHUNK_SIZE = 1024;
+	private static final String SENTENCE_MODEL_PATH = "/opennlp/opennlp-en-ud-ewt-sentence-1.2-2.5.0.bin";
+
+	/**
+	 * The encoding is thread safe and shared by all splitters.
+	 */
+	private static final Encoding ENCODING = Encodings.newLazyEncodingRegistry()
+		.getEncoding(EncodingType.CL100K_BASE);
 
-	private final SentenceModel sentenceModel;
+	/**
+	 * {@link SentenceDetectorME} is not thread safe, every thread gets its own detector
+	 * on top of the shared model.
+	 */
+	private static final ThreadLocal<SentenceDetectorME> SENTENCE_DETECTOR = ThreadLocal
+		.withInitial(() -> new SentenceDetectorME(SentenceModelHolder.MODEL));
 
 	private final int chunkSize;
 
+	private final int chunkOverlap;
+
+	private final boolean parallel;
+
 	public SentenceSplitter() {
 		this(DEFAULT_CHUNK_SIZE);
 	}
 
 	public SentenceSplitter(int chunkSize) {
+		this(chunkSize, DEFAULT_CHUNK_OVERLAP);
+	}
+
+	public SentenceSplitter(int chunkSize, int chunkOverlap) {
+		this(chunkSize, chunkOverlap, true);
+	}
+
+	/**
+	 * @param chunkSize maximum number of tokens per chunk
+	 * @param chunkOverlap maximum number of tokens of trailing sentences repeated at the
+	 * start of the next chunk
+	 * @param parallel whether {@link #apply(List)} splits several documents in parallel
+	 */
+	public SentenceSplitter(int chunkSize, int chunkOverlap, boolean parallel) {
+		Assert.isTrue(chunkSize > 0, "chunkSize must be positive");
+		Assert.isTrue(chunkOverlap >= 0 && chunkOverlap < chunkSize,
+				"chunkOverlap must not be negative and must be smaller than chunkSize");
 		this.chunkSize = chunkSize;
-		this.sentenceModel = getSentenceModel();
+		this.chunkOverlap = chunkOverlap;
+		this.parallel = parallel;
+		// fail fast when the model is missing
+		Assert.notNull(SentenceModelHolder.MODEL, "sentence model is invalid");
+	}
+
+	@Override
+	public List<Document> apply(List<Document> documents) {
+		if (!this.parallel || documents == null || documents.size() < 2) {
+			return super.apply(documents);
+		}
+		// split documents independently, parallel streams keep the encounter order
+		return documents.parallelStream().map(this::split).flatMap(List::stream).toList();
 	}
 
 	@Override
 	protected List<String> splitText(String text) {
-		SentenceDetectorME sentenceDetector = new SentenceDetectorME(sentenceModel);
-		String[] texts = sentenceDetector.sentDetect(text);
-		if (texts == null || texts.length == 0) {
+		Span[] spans = SENTENCE_DETECTOR.get().sentPosDetect(text);
+		if (spans == null || spans.length == 0) {
 			return Collections.emptyList();
 		}
 
-		List<String> chunks = new ArrayList<>();
-		StringBuilder chunk = new StringBuilder();
-		for (int i = 0; i < texts.length; i++) {
-			int currentChunkSize = getEncodedTokens(chunk.toString()).size();
-			int textTokenSize = getEncodedTokens(texts[i]).size();
-			if (currentChunkSize + textTokenSize > chunkSize) {
-				chunks.add(chunk.toString());
-				chunk = new StringBuilder(texts[i]);
-			}
-			else {
-				chunk.append(texts[i]);
-			}
+		int[] tokens = new int[spans.length];
+		for (int i = 0; i < spans.length; i++) {
+			tokens[i] = ENCODING.countTokens(text.substring(spans[i].getStart(), spans[i].getEnd()));
+		}
 
-			if (i == texts.length - 1) {
-				chunks.add(chunk.toString());
+		List<String> chunks = new ArrayList<>();
+		// current chunk is sentences [start, i), chunkTokens is their running token count
+		int start = 0;
+		int chunkTokens = 0;
+		for (int i = 0; i < spans.length; i++) {
+			if (i > start && chunkTokens + tokens[i] > this.chunkSize) {
+				chunks.add(text.substring(spans[start].getStart(), spans[i - 1].getEnd()));
+
+				int overlapStart = i;
+				int overlapTokens = 0;
+				while (overlapStart - 1 > start
+						&& overlapTokens + tokens[overlapStart - 1] <= Math.min(this.chunkOverlap,
+								this.chunkSize - tokens[i])) {
+					overlapTokens += tokens[--overlapStart];
+				}
+				start = overlapStart;
+				chunkTokens = overlapTokens;
 			}
+			chunkTokens += tokens[i];
 		}
+		chunks.add(text.substring(spans[start].getStart(), spans[spans.length - 1].getEnd()));
 
 		return chunks;
 	}
 
-	private SentenceModel getSentenceModel() {
-		try (InputStream is = getClass().getResourceAsStream("/opennlp/opennlp-en-ud-ewt-sentence-1.2-2.5.0.bin")) {
+	private static SentenceModel loadSentenceModel() {
+		try (InputStream is = SentenceSplitter.class.getResourceAsStream(SENTENCE_MODEL_PATH)) {
 			if (is == null) {
 				throw new RuntimeException("sentence model is invalid");
 			}
@@ -103,9 +158,13 @@ public class SentenceSplitter extends TextSplitter {
 		}
 	}
 
-	private List<Integer> getEncodedTokens(String text) {
-		Assert.notNull(text, "Text must not be null");
-		return this.encoding.encode(text).boxed();
+	/**
+	 * Loads the sentence model once per class loader, on first use.
+	 */
+	private static final class SentenceModelHolder {
+
+		private static final SentenceModel MODEL = loadSentenceModel();
+
 	}
 
 }
@@ -21,11 +21,19 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.ai.document.Document;
@@ -685,4 +693,131 @@ class CompositeDocumentRetrieverTests {
 		System.out.println("与现有代码兼容性验证成功：所有现有功能保持不变");
 	}
 
+	@Test
+	void testRetrieversAreQueriedConcurrently() {
+		// every retriever only answers once all of them are running at the same time
+		CountDownLatch allRunning = new CountDownLatch(3);
+		DocumentRetriever retrieverA = query -> awaitAllAndReturn(allRunning, createDocumentWithScore("1", "c1", 0.9));
+		DocumentRetriever retrieverB = query -> awaitAllAndReturn(allRunning, createDocumentWithScore("2", "c2", 0.8));
+		DocumentRetriever retrieverC = query -> awaitAllAndReturn(allRunning, createDocumentWithScore("3", "c3", 0.7));
+
+		CompositeDocumentRetriever composite = new CompositeDocumentRetriever(
+				Arrays.asList(retrieverA, retrieverB, retrieverC));
+
+		List<Document> results = composite.retrieve(testQuery);
+
+		assertThat(results).extracting(Document::getId).containsExactly("1", "2", "3");
+	}
+
+	@Test
+	void testTimeoutInterruptsRetrieverAndRecordsOneOutcome() throws InterruptedException {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		CountDownLatch neverReleased = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		DocumentRetriever fast = query -> List.of(createDocumentWithScore("fast", "fast content", 0.5));
+		DocumentRetriever blocked = query -> {
+			try {
+				neverReleased.await();
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+				throw new IllegalStateException("interrupted", e);
+			}
+			return List.of(createDocumentWithScore("blocked", "blocked content", 0.9));
+		};
+
+		CompositeDocumentRetriever composite = CompositeDocumentRetriever.builder()
+			.addRetriever(fast)
+			.addRetriever(blocked)
+			.executor(executor)
+			.timeout(Duration.ofMillis(100))
+			.meterRegistry(meterRegistry)
+			.build();
+
+		List<Document> results = composite.retrieve(testQuery);
+
+		assertThat(results).extracting(Document::getId).containsExactly("fast");
+		assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+		// wait for the interrupted call to finish so that anything it records is visible
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(meterRegistry.get(CompositeDocumentRetriever.METRIC_TIMEOUTS).counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get(CompositeDocumentRetriever.METRIC_DURATION).timers())
+			.extracting(timer -> timer.getId().getTag("outcome") + "=" + timer.count())
+			.containsExactlyInAnyOrder("success=1", "timeout=1");
+	}
+
+	@Test
+	void testRejectedRetrieversRunOnTheCallingThread() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		Executor rejecting = command -> {
+			throw new RejectedExecutionException("saturated");
+		};
+		when(retriever1.retrieve(any(Query.class))).thenReturn(List.of(createDocumentWithScore("1", "content1", 0.9)));
+		when(retriever2.retrieve(any(Query.class))).thenReturn(List.of(createDocumentWithScore("2", "content2", 0.8)));
+
+		CompositeDocumentRetriever composite = CompositeDocumentRetriever.builder()
+			.addRetriever(retriever1)
+			.addRetriever(retriever2)
+			.executor(rejecting)
+			.meterRegistry(meterRegistry)
+			.build();
+
+		List<Document> results = composite.retrieve(testQuery);
+
+		assertThat(results).extracting(Document::getId).containsExactly("1", "2");
+		assertThat(meterRegistry.get(CompositeDocumentRetriever.METRIC_DURATION).timers())
+			.extracting(timer -> timer.getId().getTag("outcome") + "=" + timer.count())
+			.containsExactlyInAnyOrder("success=1", "success=1");
+	}
+
+	@Test
+	void testReciprocalRankFusion() {
+		when(retriever1.retrieve(any(Query.class))).thenReturn(Arrays.asList(createDocumentWithScore("a", "a", 0.9),
+				createDocumentWithScore("b", "b", 0.8), createDocumentWithScore("c", "c", 0.7)));
+		when(retriever2.retrieve(any(Query.class))).thenReturn(Arrays.asList(createDocumentWithScore("c", "c", 12.0),
+				createDocumentWithScore("b", "b", 11.0), createDocumentWithScore("d", "d", 10.0)));
+
+		CompositeDocumentRetriever composite = new CompositeDocumentRetriever(Arrays.asList(retriever1, retriever2), 10,
+				CompositeDocumentRetriever.ResultMergeStrategy.RECIPROCAL_RANK_FUSION);
+
+		List<Document> results = composite.retrieve(testQuery);
+
+		// c: 1/63 + 1/61, b: 1/62 + 1/62, a: 1/61, d: 1/63
+		assertThat(results).extracting(Document::getId).containsExactly("c", "b", "a", "d");
+		assertThat(results.get(0).getScore()).isEqualTo(1.0 / 63 + 1.0 / 61);
+	}
+
+	@Test
+	void testDuplicateDocumentsAreKeptOnce() {
+		when(retriever1.retrieve(any(Query.class)))
+			.thenReturn(List.of(Document.builder().id("1").text("content1").score(0.6).build()));
+		when(retriever2.retrieve(any(Query.class)))
+			.thenReturn(List.of(Document.builder().id("1").text("content1").score(0.9).build(),
+					Document.builder().id("2").text("content2").score(0.8).build()));
+
+		CompositeDocumentRetriever composite = new CompositeDocumentRetriever(Arrays.asList(retriever1, retriever2));
+
+		List<Document> results = composite.retrieve(testQuery);
+
+		assertThat(results).extracting(Document::getId).containsExactly("1", "2");
+		assertThat(results.get(0).getScore()).isEqualTo(0.9);
+	}
+
+	private static List<Document> awaitAllAndReturn(CountDownLatch allRunning, Document document) {
+		allRunning.countDown();
+		try {
+			if (!allRunning.await(10, TimeUnit.SECONDS)) {
+				return List.of();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return List.of();
+		}
+		return List.of(document);
+	}
+
 }
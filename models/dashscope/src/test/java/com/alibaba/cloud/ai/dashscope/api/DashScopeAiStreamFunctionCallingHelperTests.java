@@ -23,15 +23,18 @@ import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionMessag
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionMessage.ToolCall;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionOutput;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionOutput.Choice;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.SearchInfo;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.TokenUsage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -222,6 +225,56 @@ public class DashScopeAiStreamFunctionCallingHelperTests {
 		return new ChatCompletionChunk(requestId, output, usage, null);
 	}
 
+	@Test
+	void testMergeToolCallChunksPassesTextChunksThroughUnchanged() {
+		// Chunks outside a tool call keep output.text, search_info and every choice
+		SearchInfo searchInfo = new SearchInfo(List.of(), List.of());
+		Choice first = new Choice(null, new ChatCompletionMessage("Hello", Role.ASSISTANT), null);
+		Choice second = new Choice(null, new ChatCompletionMessage("Hi", Role.ASSISTANT), null);
+		ChatCompletionChunk chunk = new ChatCompletionChunk("request-1",
+				new ChatCompletionOutput("Hello", List.of(first, second), searchInfo), null, null);
+
+		List<ChatCompletionChunk> result = helper.mergeToolCallChunks(Flux.just(chunk)).collectList().block();
+
+		assertNotNull(result);
+		assertEquals(1, result.size());
+		assertSame(chunk, result.get(0));
+		assertEquals("Hello", result.get(0).output().text());
+		assertSame(searchInfo, result.get(0).output().searchInfo());
+		assertEquals(2, result.get(0).output().choices().size());
+	}
+
+	@Test
+	void testMergeToolCallChunksReducesMergedToolCallToFirstChoice() {
+		ChatCompletionChunk start = toolCallChunk(new ToolCall("tool-1", "function",
+				new ChatCompletionFunction("weather", "{\"city\":"), 0), null);
+		ChatCompletionChunk finish = toolCallChunk(
+				new ToolCall(null, null, new ChatCompletionFunction(null, "\"hz\"}"), 0),
+				ChatCompletionFinishReason.TOOL_CALLS);
+
+		List<ChatCompletionChunk> result = helperWithIncrementalOutput
+			.mergeToolCallChunks(Flux.just(start, finish))
+			.collectList()
+			.block();
+
+		assertNotNull(result);
+		assertEquals(1, result.size());
+		assertEquals(null, result.get(0).output().text());
+		assertEquals(null, result.get(0).output().searchInfo());
+		assertEquals(1, result.get(0).output().choices().size());
+		assertEquals("{\"city\":\"hz\"}",
+				result.get(0).output().choices().get(0).message().toolCalls().get(0).function().arguments());
+	}
+
+	private ChatCompletionChunk toolCallChunk(ToolCall toolCall, ChatCompletionFinishReason finishReason) {
+		ChatCompletionMessage message = new ChatCompletionMessage("", Role.ASSISTANT, null, null, List.of(toolCall),
+				null, null, null, null, null);
+		Choice choice = new Choice(finishReason, message, null);
+		ChatCompletionOutput output = new ChatCompletionOutput("ignored", List.of(choice),
+				new SearchInfo(List.of(), List.of()));
+		return new ChatCompletionChunk("request-1", output, null, null);
+	}
+
 	// Helper method: Create a ChatCompletionChunk with tool call
 	private ChatCompletionChunk createChunkWithToolCall(String requestId, String toolId, String functionName,
 			String arguments) {
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.api;
+
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionChunk;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.ChatCompletionFinishReason;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DashScopeSseChunkDecoder} and the tool call merging of the chat
+ * completion stream.
+ *
+ * @since 1.1.0
+ */
+class DashScopeSseChunkDecoderTests {
+
+	private static final String STREAM = """
+			id:1
+			event:result
+			:HTTP_STATUS/200
+			data:{"output":{"choices":[{"message":{"content":"Hel","role":"assistant"},"finish_reason":"null"}]},"usage":{"input_tokens":3,"output_tokens":1,"total_tokens":4},"request_id":"r-1"}
+
+			id:2
+			event:result
+			:HTTP_STATUS/200
+			data: {"output":{"choices":[{"message":{"content":"lo, 世界","role":"assistant"},"finish_reason":"stop"}]},"usage":{"input_tokens":3,"output_tokens":2,"total_tokens":5},"request_id":"r-1"}
+
+			""";
+
+	private static final String TOOL_STREAM = """
+			data:{"output":{"choices":[{"message":{"content":"","role":"assistant","tool_calls":[{"id":"call-1","type":"function","index":0,"function":{"name":"weather","arguments":"{\\"city\\""}}]},"finish_reason":"null"}]},"request_id":"r-2"}
+
+			data:{"output":{"choices":[{"message":{"content":"","role":"assistant","tool_calls":[{"type":"function","index":0,"function":{"arguments":":\\"Hangzhou\\"}"}}]},"finish_reason":"null"}]},"request_id":"r-2"}
+
+			data:{"output":{"choices":[{"message":{"content":"","role":"assistant","tool_calls":[{"type":"function","index":0,"function":{"arguments":""}}]},"finish_reason":"tool_calls"}]},"request_id":"r-2"}
+
+			data:{"output":{"choices":[{"message":{"content":"done","role":"assistant"},"finish_reason":"stop"}]},"request_id":"r-2"}
+
+			""";
+
+	@Test
+	void decodesEventsFromSingleBuffer() {
+		DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+
+		List<ChatCompletionChunk> chunks = decoder.decode(ByteBuffer.wrap(STREAM.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(chunks).hasSize(2);
+		assertThat(chunks.get(0).requestId()).isEqualTo("r-1");
+		assertThat(chunks.get(0).output().choices().get(0).message().content()).isEqualTo("Hel");
+		assertThat(chunks.get(0).usage().totalTokens()).isEqualTo(4);
+		assertThat(chunks.get(1).output().choices().get(0).message().content()).isEqualTo("lo, 世界");
+		assertThat(chunks.get(1).output().choices().get(0).finishReason()).isEqualTo(ChatCompletionFinishReason.STOP);
+	}
+
+	@Test
+	void decodesEventsSplitAtEveryByte() {
+		byte[] bytes = STREAM.getBytes(StandardCharsets.UTF_8);
+		for (int split = 1; split < bytes.length; split++) {
+			DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+			List<ChatCompletionChunk> chunks = new ArrayList<>();
+			chunks.addAll(decoder.decode(ByteBuffer.wrap(bytes, 0, split)));
+			chunks.addAll(decoder.decode(ByteBuffer.wrap(bytes, split, bytes.length - split)));
+
+			assertThat(chunks).as("split at %d", split).hasSize(2);
+			assertThat(chunks.get(1).output().choices().get(0).message().content()).as("split at %d", split)
+				.isEqualTo("lo, 世界");
+		}
+	}
+
+	@Test
+	void joinsMultiLineDataAndCrLfLineEndings() {
+		String stream = "event:result\r\ndata:{\"request_id\":\r\ndata:\"r-3\"}\r\n\r\n";
+		DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+
+		List<ChatCompletionChunk> chunks = decoder.decode(ByteBuffer.wrap(stream.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(chunks).singleElement().extracting(ChatCompletionChunk::requestId).isEqualTo("r-3");
+	}
+
+	@Test
+	void stopsOnDone() {
+		String stream = "data:{\"request_id\":\"r-4\"}\n\ndata:[DONE]\n\ndata:{\"request_id\":\"r-5\"}\n\n";
+		DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+
+		List<ChatCompletionChunk> chunks = decoder.decode(ByteBuffer.wrap(stream.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(chunks).singleElement().extracting(ChatCompletionChunk::requestId).isEqualTo("r-4");
+		assertThat(decoder.isDone()).isTrue();
+	}
+
+	@Test
+	void mergesOnlyToolCallSegments() {
+		DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+		List<ChatCompletionChunk> decoded = decoder
+			.decode(ByteBuffer.wrap(TOOL_STREAM.getBytes(StandardCharsets.UTF_8)));
+		DashScopeAiStreamFunctionCallingHelper helper = new DashScopeAiStreamFunctionCallingHelper(true);
+
+		StepVerifier.create(helper.mergeToolCallChunks(Flux.fromIterable(decoded)))
+			.assertNext(chunk -> {
+				var choice = chunk.output().choices().get(0);
+				assertThat(choice.finishReason()).isEqualTo(ChatCompletionFinishReason.TOOL_CALLS);
+				assertThat(choice.message().toolCalls()).singleElement().satisfies(toolCall -> {
+					assertThat(toolCall.id()).isEqualTo("call-1");
+					assertThat(toolCall.function().name()).isEqualTo("weather");
+					assertThat(toolCall.function().arguments()).isEqualTo("{\"city\":\"Hangzhou\"}");
+				});
+			})
+			.assertNext(chunk -> assertThat(chunk).isSameAs(decoded.get(3)))
+			.verifyComplete();
+	}
+
+	@Test
+	void passesTextDeltasThroughUnchanged() {
+		DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+		List<ChatCompletionChunk> decoded = decoder.decode(ByteBuffer.wrap(STREAM.getBytes(StandardCharsets.UTF_8)));
+		DashScopeAiStreamFunctionCallingHelper helper = new DashScopeAiStreamFunctionCallingHelper(true);
+
+		StepVerifier.create(helper.mergeToolCallChunks(Flux.fromIterable(decoded)))
+			.expectNext(decoded.get(0), decoded.get(1))
+			.verifyComplete();
+	}
+
+	@Test
+	void emitsUnfinishedToolCallOnCompletion() {
+		String firstEvent = TOOL_STREAM.substring(0, TOOL_STREAM.indexOf("\n\n") + 2);
+		DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+		List<ChatCompletionChunk> decoded = decoder.decode(ByteBuffer.wrap(firstEvent.getBytes(StandardCharsets.UTF_8)));
+		DashScopeAiStreamFunctionCallingHelper helper = new DashScopeAiStreamFunctionCallingHelper(true);
+
+		StepVerifier.create(helper.mergeToolCallChunks(Flux.fromIterable(decoded)))
+			.assertNext(chunk -> assertThat(chunk.output().choices().get(0).message().toolCalls()).hasSize(1))
+			.verifyComplete();
+	}
+
+	@Test
+	void decodesDataBuffers() {
+		DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+		byte[] bytes = STREAM.getBytes(StandardCharsets.UTF_8);
+		DataBuffer first = factory.wrap(ByteBuffer.wrap(bytes, 0, 100).slice());
+		DataBuffer second = factory.wrap(ByteBuffer.wrap(bytes, 100, bytes.length - 100).slice());
+		DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder();
+
+		List<ChatCompletionChunk> chunks = new ArrayList<>(decoder.decode(first));
+		chunks.addAll(decoder.decode(second));
+
+		assertThat(chunks).extracting(ChatCompletionChunk::requestId).containsExactly("r-1", "r-1");
+	}
+
+}
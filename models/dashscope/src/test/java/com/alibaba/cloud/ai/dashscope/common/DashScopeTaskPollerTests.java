@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.common;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.cloud.ai.dashscope.common.DashScopeTaskPoller.TaskState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.retry.TransientAiException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link DashScopeTaskPoller}.
+ */
+class DashScopeTaskPollerTests {
+
+	private DashScopeTaskPoller poller;
+
+	@BeforeEach
+	void setUp() {
+		poller = DashScopeTaskPoller.builder()
+			.initialInterval(Duration.ofMillis(10))
+			.maxInterval(Duration.ofMillis(20))
+			.tickInterval(Duration.ofMillis(5))
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		poller.close();
+	}
+
+	@Test
+	void testCompletesWhenTaskSucceeds() throws Exception {
+		AtomicInteger checks = new AtomicInteger();
+		CompletableFuture<String> future = poller.poll("image", "task-1",
+				taskId -> checks.incrementAndGet() < 3 ? "RUNNING" : "SUCCEEDED",
+				status -> "SUCCEEDED".equals(status) ? TaskState.SUCCEEDED : TaskState.PENDING);
+
+		assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("SUCCEEDED");
+		assertThat(checks.get()).isEqualTo(3);
+	}
+
+	@Test
+	void testTransientErrorsAreRetried() throws Exception {
+		AtomicInteger checks = new AtomicInteger();
+		CompletableFuture<String> future = poller.poll("video", "task-2", taskId -> {
+			if (checks.incrementAndGet() == 1) {
+				throw new TransientAiException("busy");
+			}
+			return "SUCCEEDED";
+		}, status -> TaskState.SUCCEEDED);
+
+		assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("SUCCEEDED");
+		assertThat(checks.get()).isEqualTo(2);
+	}
+
+	@Test
+	void testFailsAfterTimeout() {
+		CompletableFuture<String> future = poller.poll("image", "task-3", taskId -> "RUNNING",
+				status -> TaskState.PENDING, Duration.ofMillis(50));
+
+		assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+			.hasCauseInstanceOf(TimeoutException.class);
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.Embedding;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.EmbeddingList;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.EmbeddingUsage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.Embeddings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link DashScopeCachingEmbeddingModel} and its cache tiers.
+ */
+class DashScopeCachingEmbeddingModelTests {
+
+	private DashScopeApi dashScopeApi;
+
+	private List<List<String>> sentTexts;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private DashScopeCachingEmbeddingModel cachingModel;
+
+	@BeforeEach
+	void setUp() {
+		dashScopeApi = Mockito.mock(DashScopeApi.class);
+		sentTexts = new ArrayList<>();
+		when(dashScopeApi.embeddings(any())).thenAnswer(invocation -> {
+			DashScopeAPISpec.EmbeddingRequest request = invocation.getArgument(0);
+			List<String> texts = request.input().texts();
+			sentTexts.add(texts);
+			List<Embedding> embeddings = new ArrayList<>();
+			for (int i = 0; i < texts.size(); i++) {
+				embeddings.add(new Embedding(i, new float[] { texts.get(i).length() }));
+			}
+			return ResponseEntity
+				.ok(new EmbeddingList("request-id", null, null, new Embeddings(embeddings), new EmbeddingUsage(1L)));
+		});
+
+		DashScopeEmbeddingOptions options = DashScopeEmbeddingOptions.builder()
+			.withModel("text-embedding-v3")
+			.withTextType("document")
+			.withDimensions(1024)
+			.build();
+		meterRegistry = new SimpleMeterRegistry();
+		cachingModel = new DashScopeCachingEmbeddingModel(
+				new DashScopeEmbeddingModel(dashScopeApi, MetadataMode.EMBED, options),
+				new InMemoryEmbeddingCache(100, null), meterRegistry);
+	}
+
+	@Test
+	void testOnlyMissesAreSentUpstream() {
+		cachingModel.embed(List.of("a", "bb"));
+		EmbeddingResponse response = cachingModel.embedForResponse(List.of("bb", "ccc", "a", "ccc"));
+
+		assertThat(sentTexts).containsExactly(List.of("a", "bb"), List.of("ccc"));
+		assertThat(response.getResults()).hasSize(4);
+		assertThat(response.getResults().get(0).getOutput()).containsExactly(2f);
+		assertThat(response.getResults().get(1).getOutput()).containsExactly(3f);
+		assertThat(response.getResults().get(2).getOutput()).containsExactly(1f);
+		assertThat(response.getResults().get(3).getIndex()).isEqualTo(3);
+
+		assertThat(cachingModel.getHitCount()).isEqualTo(2);
+		assertThat(cachingModel.getMissCount()).isEqualTo(4);
+		assertThat(meterRegistry.get(DashScopeCachingEmbeddingModel.METRIC_NAME).tag("result", "hit").counter().count())
+			.isEqualTo(2);
+	}
+
+	@Test
+	void testOptionsArePartOfTheKey() {
+		cachingModel.embed(List.of("a"));
+		cachingModel.call(new EmbeddingRequest(List.of("a"),
+				DashScopeEmbeddingOptions.builder().withTextType("query").build()));
+
+		assertThat(sentTexts).hasSize(2);
+	}
+
+	@Test
+	void testInMemoryCacheEvictsBySizeAndTtl() throws InterruptedException {
+		InMemoryEmbeddingCache sized = new InMemoryEmbeddingCache(2, null);
+		sized.putAll(Map.of("a", new float[] { 1f }));
+		sized.putAll(Map.of("b", new float[] { 2f }));
+		sized.getAll(List.of("a"));
+		sized.putAll(Map.of("c", new float[] { 3f }));
+		assertThat(sized.getAll(List.of("a", "b", "c"))).containsOnlyKeys("a", "c");
+
+		InMemoryEmbeddingCache expiring = new InMemoryEmbeddingCache(10, Duration.ofMillis(20));
+		expiring.putAll(Map.of("a", new float[] { 1f }));
+		Thread.sleep(50);
+		assertThat(expiring.getAll(List.of("a"))).isEmpty();
+	}
+
+	@Test
+	void testCachedVectorsAreCopies() {
+		float[] first = cachingModel.embed("abc");
+		first[0] = -1f;
+		assertThat(cachingModel.embed("abc")).containsExactly(3f);
+
+		List<float[]> duplicates = cachingModel.embed(List.of("xy", "xy"));
+		duplicates.get(0)[0] = -1f;
+		assertThat(duplicates.get(1)).containsExactly(2f);
+		assertThat(cachingModel.embed("xy")).containsExactly(2f);
+
+		InMemoryEmbeddingCache cache = new InMemoryEmbeddingCache();
+		float[] stored = { 1f };
+		cache.putAll(Map.of("a", stored));
+		stored[0] = -1f;
+		cache.getAll(List.of("a")).get("a")[0] = -2f;
+		assertThat(cache.getAll(List.of("a")).get("a")).containsExactly(1f);
+	}
+
+	@Test
+	void testRedisVectorEncoding() {
+		float[] vector = { 0.25f, -1.5f, 3.0e-7f };
+		assertThat(RedisEmbeddingCache.decode(RedisEmbeddingCache.encode(vector))).containsExactly(vector);
+	}
+
+}
@@ -16,10 +16,12 @@
 package com.alibaba.cloud.ai.dashscope.embedding;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.EmbeddingList;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.EmbeddingUsage;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.Embeddings;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeAPISpec.Embedding;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -27,15 +29,25 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.document.MetadataMode;
 import org.springframework.ai.embedding.EmbeddingRequest;
 import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
 import org.springframework.http.ResponseEntity;
+import org.springframework.retry.support.RetryTemplate;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -257,4 +269,81 @@ class DashScopeEmbeddingModelTests {
 		assertThat(response.getResults().get(0).getIndex()).isEqualTo(0);
 	}
 
+	@Test
+	void testLargeRequestIsSplitAndReassembled() {
+		// 23 texts with at most 10 per request: three sub-batches, results in input order
+		when(dashScopeApi.embeddings(any())).thenAnswer(invocation -> echoEmbeddings(invocation.getArgument(0)));
+
+		List<String> texts = IntStream.range(0, 23).mapToObj(i -> "text-" + i).toList();
+		EmbeddingResponse response = embeddingModel.embedForResponse(texts);
+
+		verify(dashScopeApi, times(3)).embeddings(any());
+		assertThat(response.getResults()).hasSize(23);
+		for (int i = 0; i < 23; i++) {
+			assertThat(response.getResults().get(i).getIndex()).isEqualTo(i);
+			assertThat(response.getResults().get(i).getOutput()).containsExactly((float) i);
+		}
+	}
+
+	@Test
+	void testOnlyFailedSubBatchIsRetried() {
+		RetryTemplate retryTemplate = RetryTemplate.builder()
+			.maxAttempts(3)
+			.fixedBackoff(1)
+			.retryOn(TransientAiException.class)
+			.build();
+		DashScopeEmbeddingModel model = new DashScopeEmbeddingModel(dashScopeApi, MetadataMode.EMBED, defaultOptions,
+				retryTemplate, ObservationRegistry.NOOP, new DashScopeEmbeddingBatchingStrategy(5, 8192), 2);
+
+		AtomicBoolean failed = new AtomicBoolean();
+		Map<String, AtomicInteger> callsPerBatch = new ConcurrentHashMap<>();
+		when(dashScopeApi.embeddings(any())).thenAnswer(invocation -> {
+			DashScopeAPISpec.EmbeddingRequest request = invocation.getArgument(0);
+			String first = request.input().texts().get(0);
+			callsPerBatch.computeIfAbsent(first, key -> new AtomicInteger()).incrementAndGet();
+			if ("text-5".equals(first) && failed.compareAndSet(false, true)) {
+				throw new TransientAiException("throttled");
+			}
+			return echoEmbeddings(request);
+		});
+
+		List<String> texts = IntStream.range(0, 12).mapToObj(i -> "text-" + i).toList();
+		EmbeddingResponse response = model.embedForResponse(texts);
+
+		assertThat(response.getResults()).hasSize(12);
+		assertThat(response.getResults().get(7).getOutput()).containsExactly(7f);
+		assertThat(callsPerBatch).containsOnlyKeys("text-0", "text-5", "text-10");
+		assertThat(callsPerBatch.get("text-0").get()).isEqualTo(1);
+		assertThat(callsPerBatch.get("text-5").get()).isEqualTo(2);
+		assertThat(callsPerBatch.get("text-10").get()).isEqualTo(1);
+	}
+
+	@Test
+	void testBatchingStrategyPacksByTokenBudget() {
+		TokenCountEstimator lengthEstimator = new JTokkitTokenCountEstimator() {
+			@Override
+			public int estimate(String text) {
+				return text.length();
+			}
+		};
+		DashScopeEmbeddingBatchingStrategy strategy = new DashScopeEmbeddingBatchingStrategy(10, 5, lengthEstimator,
+				MetadataMode.EMBED);
+
+		List<List<String>> batches = strategy.batchTexts(List.of("aa", "bb", "c", "dddddd", "e"));
+
+		assertThat(batches).containsExactly(List.of("aa", "bb", "c"), List.of("dddddd"), List.of("e"));
+		assertThat(strategy.fitsSingleBatch(List.of("aa", "bb"))).isTrue();
+		assertThat(strategy.fitsSingleBatch(List.of("aaa", "bbb"))).isFalse();
+		assertThat(strategy.fitsSingleBatch(List.of("dddddd"))).isTrue();
+	}
+
+	private static ResponseEntity<EmbeddingList> echoEmbeddings(DashScopeAPISpec.EmbeddingRequest request) {
+		List<String> texts = request.input().texts();
+		List<Embedding> embeddings = IntStream.range(0, texts.size())
+			.mapToObj(i -> new Embedding(i, new float[] { Float.parseFloat(texts.get(i).substring(5)) }))
+			.toList();
+		return ResponseEntity.ok(new EmbeddingList(TEST_REQUEST_ID, null, null, new Embeddings(embeddings),
+				new EmbeddingUsage((long) texts.size())));
+	}
+
 }
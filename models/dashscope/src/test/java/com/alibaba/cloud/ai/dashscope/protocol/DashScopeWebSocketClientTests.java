@@ -25,8 +25,10 @@ import reactor.test.StepVerifier;
 
 import java.nio.ByteBuffer;
 import java.lang.reflect.Field;
+import java.util.Deque;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -123,6 +125,7 @@ class DashScopeWebSocketClientTests {
 	}
 
 	@Test
+	@SuppressWarnings("deprecation")
 	void testStreamTextOut() {
 		// Test text streaming
 		ByteBuffer testBuffer = ByteBuffer.wrap("Test text streaming".getBytes());
@@ -146,6 +149,67 @@ class DashScopeWebSocketClientTests {
 		StepVerifier.create(client.streamBinaryOut(TEST_MESSAGE)).expectError().verify();
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void testConcurrentTasksAreRoutedByTaskId() throws Exception {
+		// Provide a second pooled connection so that both tasks can run at once
+		WebSocket secondWebSocket = mock(WebSocket.class);
+		when(secondWebSocket.send(any(String.class))).thenReturn(true);
+		Field idleSocketsField = DashScopeWebSocketClient.class.getDeclaredField("idleSockets");
+		idleSocketsField.setAccessible(true);
+		((Deque<WebSocket>) idleSocketsField.get(client)).offer(secondWebSocket);
+
+		client.sendText(createRunTaskMessage("task-a"));
+		client.sendText(createRunTaskMessage("task-b"));
+		verify(secondWebSocket).send(createRunTaskMessage("task-b"));
+
+		Flux<String> first = client.streamTextOut("task-a", Flux.empty());
+		Flux<String> second = client.streamTextOut("task-b", Flux.empty());
+
+		client.onMessage(secondWebSocket, createResultGeneratedMessage("task-b"));
+		client.onMessage(mockWebSocket, createResultGeneratedMessage("task-a"));
+		client.onMessage(secondWebSocket, createTaskFinishedMessage("task-b"));
+		client.onMessage(mockWebSocket, createTaskFinishedMessage("task-a"));
+
+		StepVerifier.create(first).expectNextMatches(text -> text.contains("task-a")).verifyComplete();
+		StepVerifier.create(second).expectNextMatches(text -> text.contains("task-b")).verifyComplete();
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	void testLegacyMethodsFailWhenSeveralTasksAreActive() throws Exception {
+		WebSocket secondWebSocket = mock(WebSocket.class);
+		when(secondWebSocket.send(any(String.class))).thenReturn(true);
+		when(secondWebSocket.send(any(ByteString.class))).thenReturn(true);
+		Field idleSocketsField = DashScopeWebSocketClient.class.getDeclaredField("idleSockets");
+		idleSocketsField.setAccessible(true);
+		((Deque<WebSocket>) idleSocketsField.get(client)).offer(secondWebSocket);
+
+		client.sendText(createRunTaskMessage("task-a"));
+		client.sendText(createRunTaskMessage("task-b"));
+
+		ByteBuffer audio = ByteBuffer.wrap("audio".getBytes());
+		assertThrows(IllegalStateException.class, () -> client.sendBinary(audio));
+		assertThrows(IllegalStateException.class, () -> client.streamTextOut(Flux.just(audio)));
+
+		client.sendBinary("task-b", audio);
+		verify(secondWebSocket).send(ByteString.of(audio));
+	}
+
+	private String createRunTaskMessage(String taskId) {
+		return """
+				{"header": {"action": "run-task", "task_id": "%s", "streaming": "duplex"}, "payload": {}}"""
+			.formatted(taskId);
+	}
+
+	private String createResultGeneratedMessage(String taskId) {
+		return createResultGeneratedMessage().replace("test-task-id", taskId);
+	}
+
+	private String createTaskFinishedMessage(String taskId) {
+		return createTaskFinishedMessage().replace("test-task-id", taskId);
+	}
+
 	private String createTaskStartedMessage() {
 		return """
 				{
@@ -15,12 +15,21 @@
  */
 package com.alibaba.cloud.ai.tool;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.AssistantMessage.ToolCall;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -46,4 +55,111 @@ class ObservableToolCallingManagerTests {
 		assertThat(second.arguments()).isEqualTo("{}");
 	}
 
+	@Test
+	void parallelExecutionShouldKeepToolCallOrder() {
+		ObservableToolCallingManager manager = ObservableToolCallingManager.builder()
+			.parallelToolExecution(true)
+			.build();
+
+		ToolExecutionResult result = manager.executeToolCalls(prompt(tool("slow", 200), tool("fast", 0)),
+				toolCallResponse(new ToolCall("1", "function", "slow", "a"), new ToolCall("2", "function", "fast", "b")));
+
+		List<ToolResponseMessage.ToolResponse> responses = toolResponses(result);
+		assertThat(responses).extracting(ToolResponseMessage.ToolResponse::id).containsExactly("1", "2");
+		assertThat(responses).extracting(ToolResponseMessage.ToolResponse::responseData)
+			.containsExactly("slow:a", "fast:b");
+	}
+
+	@Test
+	void parallelExecutionShouldApplyPerToolTimeout() {
+		ObservableToolCallingManager manager = ObservableToolCallingManager.builder()
+			.parallelToolExecution(true)
+			.toolTimeouts(Map.of("slow", Duration.ofMillis(100)))
+			.build();
+
+		ToolExecutionResult result = manager.executeToolCalls(prompt(tool("slow", 5000), tool("fast", 0)),
+				toolCallResponse(new ToolCall("1", "function", "slow", "a"), new ToolCall("2", "function", "fast", "b")));
+
+		List<ToolResponseMessage.ToolResponse> responses = toolResponses(result);
+		assertThat(responses.get(0).responseData()).contains("timed out");
+		assertThat(responses.get(1).responseData()).isEqualTo("fast:b");
+	}
+
+	@Test
+	void singleToolCallShouldApplyDefaultTimeout() {
+		ObservableToolCallingManager manager = ObservableToolCallingManager.builder()
+			.defaultToolTimeout(Duration.ofMillis(100))
+			.build();
+
+		ToolExecutionResult result = manager.executeToolCalls(prompt(tool("slow", 5000)),
+				toolCallResponse(new ToolCall("1", "function", "slow", "a")));
+
+		assertThat(toolResponses(result).get(0).responseData()).contains("timed out");
+	}
+
+	@Test
+	void singleToolCallShouldApplyPerToolTimeoutInParallelMode() {
+		ObservableToolCallingManager manager = ObservableToolCallingManager.builder()
+			.parallelToolExecution(true)
+			.toolTimeouts(Map.of("slow", Duration.ofMillis(100)))
+			.build();
+
+		ToolExecutionResult result = manager.executeToolCalls(prompt(tool("slow", 5000)),
+				toolCallResponse(new ToolCall("1", "function", "slow", "a")));
+
+		assertThat(toolResponses(result).get(0).responseData()).contains("timed out");
+	}
+
+	@Test
+	void sequentialToolCallsShouldEachGetTheirOwnTimeout() {
+		ObservableToolCallingManager manager = ObservableToolCallingManager.builder()
+			.defaultToolTimeout(Duration.ofSeconds(5))
+			.toolTimeouts(Map.of("slow", Duration.ofMillis(100)))
+			.build();
+
+		ToolExecutionResult result = manager.executeToolCalls(prompt(tool("slow", 5000), tool("fast", 0)),
+				toolCallResponse(new ToolCall("1", "function", "slow", "a"), new ToolCall("2", "function", "fast", "b")));
+
+		List<ToolResponseMessage.ToolResponse> responses = toolResponses(result);
+		assertThat(responses).extracting(ToolResponseMessage.ToolResponse::id).containsExactly("1", "2");
+		assertThat(responses.get(0).responseData()).contains("timed out");
+		assertThat(responses.get(1).responseData()).isEqualTo("fast:b");
+	}
+
+	private static Prompt prompt(ToolCallback... toolCallbacks) {
+		return new Prompt("question", ToolCallingChatOptions.builder().toolCallbacks(toolCallbacks).build());
+	}
+
+	private static ChatResponse toolCallResponse(ToolCall... toolCalls) {
+		return new ChatResponse(List.of(new Generation(new AssistantMessage("", Map.of(), List.of(toolCalls)))));
+	}
+
+	private static List<ToolResponseMessage.ToolResponse> toolResponses(ToolExecutionResult result) {
+		List<?> history = result.conversationHistory();
+		return ((ToolResponseMessage) history.get(history.size() - 1)).getResponses();
+	}
+
+	private static ToolCallback tool(String name, long sleepMillis) {
+		ToolDefinition definition = ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				try {
+					Thread.sleep(sleepMillis);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return name + ":" + toolInput;
+			}
+
+		};
+	}
+
 }
@@ -158,4 +158,56 @@ public class RecursiveCharacterTextSplitterTest {
 		assertEquals("test", result.get(3));
 	}
 
+	@Test
+	public void testSplitText_SeparatorsAreLiteral() {
+		splitter = new RecursiveCharacterTextSplitter(6, new String[] { "." });
+
+		List<String> result = splitter.splitText("abc.def.ghi");
+
+		assertEquals(List.of("abc", "def", "ghi"), result);
+	}
+
+	@Test
+	public void testSplitText_MergesSmallPieces() {
+		splitter = new RecursiveCharacterTextSplitter(10, new String[] { " " });
+
+		List<String> result = splitter.splitText("a b c d e f g h i j k l");
+
+		assertEquals(List.of("a b c d e", "f g h i j", "k l"), result);
+	}
+
+	@Test
+	public void testSplitText_WithOverlap() {
+		splitter = new RecursiveCharacterTextSplitter(10, 4, new String[] { " " });
+
+		List<String> result = splitter.splitText("a b c d e f g h i j k l");
+
+		assertEquals(List.of("a b c d e", "d e f g h", "g h i j k", "j k l"), result);
+	}
+
+	@Test
+	public void testSplitText_FallbackWindowsWithOverlap() {
+		splitter = new RecursiveCharacterTextSplitter(5, 2, new String[] {});
+
+		List<String> result = splitter.splitText("0123456789");
+
+		assertEquals(List.of("01234", "34567", "6789"), result);
+	}
+
+	@Test
+	public void testSplitText_WithTokenLength() {
+		splitter = new RecursiveCharacterTextSplitter(10, 0, new String[] { "\n" },
+				RecursiveCharacterTextSplitter.tokenLength());
+
+		String text = "one two three four\nfive six seven eight\nnine ten";
+		List<String> result = splitter.splitText(text);
+
+		assertEquals(List.of("one two three four\nfive six seven eight", "nine ten"), result);
+	}
+
+	@Test
+	public void testConstructor_WithOverlapNotSmallerThanChunkSize() {
+		assertThrows(IllegalArgumentException.class, () -> new RecursiveCharacterTextSplitter(5, 5, null));
+	}
+
 }
@@ -176,4 +176,43 @@ class SentenceSplitterTests {
 		assertThat(documents).hasSizeGreaterThan(1);
 	}
 
+	/**
+	 * Test chunk overlap. Verifies that trailing sentences of a chunk are repeated at the
+	 * start of the next chunk.
+	 */
+	@Test
+	void testSplitWithOverlap() {
+		SentenceSplitter overlapSplitter = new SentenceSplitter(16, 8, false);
+		String text = "Alpha beta gamma. Delta epsilon zeta. Eta theta iota. Kappa lambda mu. "
+				+ "Nu xi omicron. Pi rho sigma.";
+
+		List<Document> documents = overlapSplitter.apply(Collections.singletonList(new Document(text)));
+
+		assertThat(documents).hasSizeGreaterThan(1);
+		for (int i = 1; i < documents.size(); i++) {
+			String previous = documents.get(i - 1).getText();
+			String firstSentence = documents.get(i).getText().split("(?<=\\.)\\s+")[0];
+			assertThat(previous).endsWith(firstSentence);
+		}
+	}
+
+	/**
+	 * Test parallel splitting of many documents. Verifies that chunks keep the order of
+	 * the input documents.
+	 */
+	@Test
+	void testParallelSplitKeepsDocumentOrder() {
+		List<Document> inputDocs = new ArrayList<>();
+		for (int i = 0; i < 32; i++) {
+			inputDocs.add(new Document("Document number " + i + ". It has two sentences."));
+		}
+
+		List<Document> documents = splitter.apply(inputDocs);
+
+		assertThat(documents).hasSize(32);
+		for (int i = 0; i < 32; i++) {
+			assertThat(documents.get(i).getText()).startsWith("Document number " + i + ".");
+		}
+	}
+
 }
@@ -17,10 +17,14 @@ package com.alibaba.cloud.ai.toolcalling.memcached;
 
 import com.fasterxml.jackson.annotation.JsonClassDescription;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
 import net.spy.memcached.MemcachedClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -42,6 +46,14 @@ public class MemcachedService {
 
 	private final MemcachedServiceAppender appender;
 
+	private final MemcachedServiceAdder adder;
+
+	private final MemcachedServiceCasGetter casGetter;
+
+	private final MemcachedServiceCasSetter casSetter;
+
+	private final MemcachedServiceBulkGetter bulkGetter;
+
 	public MemcachedService(MemcachedClient memcachedClient) {
 		this.memcachedClient = memcachedClient;
 		setter = new MemcachedServiceSetter();
@@ -49,6 +61,10 @@ public class MemcachedService {
 		deleter = new MemcachedServiceDeleter();
 		replacer = new MemcachedServiceReplacer();
 		appender = new MemcachedServiceAppender();
+		adder = new MemcachedServiceAdder();
+		casGetter = new MemcachedServiceCasGetter();
+		casSetter = new MemcachedServiceCasSetter();
+		bulkGetter = new MemcachedServiceBulkGetter();
 	}
 
 	public class MemcachedServiceSetter implements Function<MemcachedServiceSetter.Request, Boolean> {
@@ -155,6 +171,96 @@ public class MemcachedService {
 
 	}
 
+	public class MemcachedServiceAdder implements Function<MemcachedServiceAdder.Request, Boolean> {
+
+		@Override
+		public Boolean apply(MemcachedServiceAdder.Request request) {
+			try {
+				return memcachedClient.add(request.key(), request.ttl(), request.value()).get();
+			}
+			catch (Exception e) {
+				logger.error("Add data to memcached failed. key {} value {} exception {}", request.key(),
+						request.value(), e.getMessage(), e);
+			}
+			return false;
+		}
+
+		@JsonClassDescription("add data to memcached api, only if the key does not exist")
+		public record Request(@JsonPropertyDescription("key to memcached") String key,
+				@JsonPropertyDescription("value to memcached") Object value,
+				@JsonPropertyDescription("key ttl") int ttl) {
+		}
+
+	}
+
+	/**
+	 * Returns {@code null} only for a missing key; a failed read is thrown, since a caller
+	 * that took it for a missing key would overwrite the stored value.
+	 */
+	public class MemcachedServiceCasGetter implements Function<MemcachedServiceCasGetter.Request, CASValue<Object>> {
+
+		@Override
+		public CASValue<Object> apply(MemcachedServiceCasGetter.Request request) {
+			try {
+				return memcachedClient.gets(request.key());
+			}
+			catch (Exception e) {
+				throw new IllegalStateException("Gets data from memcached failed. key " + request.key(), e);
+			}
+		}
+
+		@JsonClassDescription("get data and its cas unique from memcached api")
+		public record Request(@JsonPropertyDescription("key to memcached") String key) {
+		}
+
+	}
+
+	/**
+	 * A failed write is thrown rather than returned, so that it is not retried as if
+	 * another client had modified the key.
+	 */
+	public class MemcachedServiceCasSetter implements Function<MemcachedServiceCasSetter.Request, CASResponse> {
+
+		@Override
+		public CASResponse apply(MemcachedServiceCasSetter.Request request) {
+			try {
+				return memcachedClient.cas(request.key(), request.casId(), request.ttl(), request.value());
+			}
+			catch (Exception e) {
+				throw new IllegalStateException("Cas data to memcached failed. key " + request.key(), e);
+			}
+		}
+
+		@JsonClassDescription("set data to memcached api if it was not modified since it was read")
+		public record Request(@JsonPropertyDescription("key to memcached") String key,
+				@JsonPropertyDescription("cas unique returned when the key was read") long casId,
+				@JsonPropertyDescription("value to memcached") Object value,
+				@JsonPropertyDescription("key ttl") int ttl) {
+		}
+
+	}
+
+	public class MemcachedServiceBulkGetter
+			implements Function<MemcachedServiceBulkGetter.Request, Map<String, Object>> {
+
+		@Override
+		public Map<String, Object> apply(MemcachedServiceBulkGetter.Request request) {
+			try {
+				return memcachedClient.getBulk(request.keys());
+			}
+			catch (Exception e) {
+				logger.error("Get bulk data from memcached failed. keys {} exception {}", request.keys(),
+						e.getMessage(), e);
+			}
+			return Map.of();
+		}
+
+		@JsonClassDescription("get data of several keys from memcached api")
+		public record Request(@JsonPropertyDescription("keys to memcached") Collection<String> keys) {
+		}
+
+	}
+
 	public MemcachedServiceSetter setter() {
 		return setter;
 	}
@@ -175,6 +281,22 @@ public class MemcachedService {
 		return appender;
 	}
 
+	public MemcachedServiceAdder adder() {
+		return adder;
+	}
+
+	public MemcachedServiceCasGetter casGetter() {
+		return casGetter;
+	}
+
+	public MemcachedServiceCasSetter casSetter() {
+		return casSetter;
+	}
+
+	public MemcachedServiceBulkGetter bulkGetter() {
+		return bulkGetter;
+	}
+
 	public void close() {
 		if (this.memcachedClient != null) {
 			this.memcachedClient.shutdown();